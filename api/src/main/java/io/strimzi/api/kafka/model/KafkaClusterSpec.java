@@ -40,7 +40,8 @@ import java.util.Map;
         "affinity", "tolerations",
         "livenessProbe", "readinessProbe",
         "jvmOptions", "jmxOptions", "resources",
-        "metrics", "logging", "tlsSidecar", "template"})
+        "metrics", "logging", "tlsSidecar", "template",
+        "rollingUpdate"})
 @EqualsAndHashCode
 public class KafkaClusterSpec implements UnknownPropertyPreserving, Serializable {
 
@@ -81,6 +82,7 @@ public class KafkaClusterSpec implements UnknownPropertyPreserving, Serializable
     private KafkaListeners listeners;
     private KafkaAuthorization authorization;
     private KafkaClusterTemplate template;
+    private KafkaRollingUpdate rollingUpdate;
     private Map<String, Object> additionalProperties = new HashMap<>(0);
 
     @Description("The kafka broker version. Defaults to {DefaultKafkaVersion}. " +
@@ -297,6 +299,16 @@ public class KafkaClusterSpec implements UnknownPropertyPreserving, Serializable
         this.template = template;
     }
 
+    @Description("Configuration of the rolling updates of the Kafka brokers.")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public KafkaRollingUpdate getRollingUpdate() {
+        return rollingUpdate;
+    }
+
+    public void setRollingUpdate(KafkaRollingUpdate rollingUpdate) {
+        this.rollingUpdate = rollingUpdate;
+    }
+
     @Override
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
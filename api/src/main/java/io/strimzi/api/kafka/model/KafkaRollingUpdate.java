@@ -0,0 +1,101 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.api.kafka.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.strimzi.crdgenerator.annotations.Description;
+import io.strimzi.crdgenerator.annotations.Minimum;
+import io.sundr.builder.annotations.Buildable;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Representation of the configuration of the rolling updates of the Kafka brokers.
+ */
+@Buildable(
+        editableEnabled = false,
+        builderPackage = Constants.FABRIC8_KUBERNETES_API
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@EqualsAndHashCode
+public class KafkaRollingUpdate implements UnknownPropertyPreserving, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MAX_CONCURRENT_RESTARTS = 1;
+    public static final int DEFAULT_REPLICATION_CATCH_UP_TIMEOUT_SECONDS = 300;
+    public static final int DEFAULT_LEADERSHIP_MIGRATION_TIMEOUT_SECONDS = 120;
+
+    private int maxConcurrentRestarts = DEFAULT_MAX_CONCURRENT_RESTARTS;
+    private int replicationCatchUpTimeoutSeconds = DEFAULT_REPLICATION_CATCH_UP_TIMEOUT_SECONDS;
+    private LeadershipMigration leadershipMigration;
+    private int leadershipMigrationTimeoutSeconds = DEFAULT_LEADERSHIP_MIGRATION_TIMEOUT_SECONDS;
+    private Map<String, Object> additionalProperties = new HashMap<>(0);
+
+    @Description("The maximum number of brokers restarted at the same time during a rolling update. " +
+            "Brokers are restarted together only if no partition would fall below its `min.insync.replicas` " +
+            "and brokers in the same rack are preferred. The controller is always restarted last. " +
+            "Defaults to 1, which restarts the brokers one by one.")
+    @Minimum(1)
+    public int getMaxConcurrentRestarts() {
+        return maxConcurrentRestarts;
+    }
+
+    public void setMaxConcurrentRestarts(int maxConcurrentRestarts) {
+        this.maxConcurrentRestarts = maxConcurrentRestarts;
+    }
+
+    @Description("The maximum time in seconds to wait after a broker was restarted for its partitions to be " +
+            "fully replicated again before the next broker is restarted. " +
+            "When the timeout elapses, the next broker is still only restarted if no partition would fall below " +
+            "its `min.insync.replicas`. Defaults to 300 seconds. 0 disables the wait.")
+    @Minimum(0)
+    public int getReplicationCatchUpTimeoutSeconds() {
+        return replicationCatchUpTimeoutSeconds;
+    }
+
+    public void setReplicationCatchUpTimeoutSeconds(int replicationCatchUpTimeoutSeconds) {
+        this.replicationCatchUpTimeoutSeconds = replicationCatchUpTimeoutSeconds;
+    }
+
+    @Description("How the partition leadership is moved off a broker before it is restarted. " +
+            "`preferred-replica-election` moves the broker to the end of the replicas of the partitions it leads " +
+            "and elects their preferred leaders. `cruise-control-demote` demotes the broker with Cruise Control, " +
+            "which has to be deployed. In both cases the broker is restarted once it leads no partition anymore " +
+            "or the `leadershipMigrationTimeoutSeconds` elapsed, and the original order of the replicas is " +
+            "restored once its partitions are fully replicated again. " +
+            "Defaults to `none`, which leaves the migration of the leadership to the controlled shutdown of the broker.")
+    public LeadershipMigration getLeadershipMigration() {
+        return leadershipMigration;
+    }
+
+    public void setLeadershipMigration(LeadershipMigration leadershipMigration) {
+        this.leadershipMigration = leadershipMigration;
+    }
+
+    @Description("The maximum time in seconds to wait for the partition leadership to move off a broker before it " +
+            "is restarted. Defaults to 120 seconds.")
+    @Minimum(1)
+    public int getLeadershipMigrationTimeoutSeconds() {
+        return leadershipMigrationTimeoutSeconds;
+    }
+
+    public void setLeadershipMigrationTimeoutSeconds(int leadershipMigrationTimeoutSeconds) {
+        this.leadershipMigrationTimeoutSeconds = leadershipMigrationTimeoutSeconds;
+    }
+
+    @Override
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @Override
+    public void setAdditionalProperty(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.api.kafka.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * How the partition leadership is moved off a Kafka broker before it is restarted by a rolling update.
+ */
+public enum LeadershipMigration {
+    NONE,
+    PREFERRED_REPLICA_ELECTION,
+    CRUISE_CONTROL_DEMOTE;
+
+    @JsonCreator
+    public static LeadershipMigration forValue(String value) {
+        switch (value.toLowerCase(Locale.ENGLISH)) {
+            case "none":
+                return NONE;
+            case "preferred-replica-election":
+                return PREFERRED_REPLICA_ELECTION;
+            case "cruise-control-demote":
+                return CRUISE_CONTROL_DEMOTE;
+            default:
+                return null;
+        }
+    }
+
+    @JsonValue
+    public String toValue() {
+        switch (this) {
+            case NONE:
+                return "none";
+            case PREFERRED_REPLICA_ELECTION:
+                return "preferred-replica-election";
+            case CRUISE_CONTROL_DEMOTE:
+                return "cruise-control-demote";
+            default:
+                return null;
+        }
+    }
+}
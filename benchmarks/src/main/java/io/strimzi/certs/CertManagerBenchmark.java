@@ -0,0 +1,120 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link OpenSslCertManager} with the {@link JavaCertManager} on the certificates the operators issue:
+ *
+ * <ul>
+ * <li>{@code brokers} issues the certificates of a cluster of {@link #BROKERS} Kafka brokers, with their subject
+ *     alternative names, and puts each of them into a PKCS12 key store, as the Cluster CA does.
+ * <li>{@code users} issues the certificates of {@link #USERS} TLS users, as the Clients CA does.
+ * </ul>
+ *
+ * Each invocation is a full reconciliation worth of certificates, so it is measured as a single shot. The
+ * {@code openssl} case needs the {@code openssl} binary. Run with
+ * {@code java -jar benchmarks/target/benchmarks.jar CertManagerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CertManagerBenchmark {
+    private static final int BROKERS = 50;
+    private static final int USERS = 1_000;
+    private static final int VALIDITY_DAYS = 365;
+
+    @Param({"openssl", "java"})
+    public String implementation;
+
+    private CertManager certManager;
+    private File caKey;
+    private File caCert;
+    private File key;
+    private File csr;
+    private File cert;
+    private File keyStore;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        certManager = "openssl".equals(implementation) ? new OpenSslCertManager() : new JavaCertManager();
+        caKey = File.createTempFile("benchmark-ca", ".key");
+        caCert = File.createTempFile("benchmark-ca", ".crt");
+        key = File.createTempFile("benchmark", ".key");
+        csr = File.createTempFile("benchmark", ".csr");
+        cert = File.createTempFile("benchmark", ".crt");
+        keyStore = File.createTempFile("benchmark", ".p12");
+
+        Subject subject = new Subject();
+        subject.setOrganizationName("io.strimzi");
+        subject.setCommonName("cluster-ca");
+        certManager.generateSelfSignedCert(caKey, caCert, subject, VALIDITY_DAYS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        caKey.delete();
+        caCert.delete();
+        key.delete();
+        csr.delete();
+        cert.delete();
+        keyStore.delete();
+    }
+
+    private void issue(Subject subject, String alias) throws Exception {
+        certManager.generateCsr(key, csr, subject);
+        certManager.generateCert(csr, caKey, caCert, cert, subject, VALIDITY_DAYS);
+        certManager.addKeyAndCertToKeyStore(key, cert, alias, keyStore, "123456");
+    }
+
+    @Benchmark
+    public void brokers() throws Exception {
+        for (int i = 0; i < BROKERS; i++) {
+            String pod = "my-cluster-kafka-" + i;
+            Map<String, String> sans = new HashMap<>(4);
+            sans.put("DNS.1", "my-cluster-kafka-bootstrap");
+            sans.put("DNS.2", "my-cluster-kafka-bootstrap.my-namespace.svc");
+            sans.put("DNS.3", pod + ".my-cluster-kafka-brokers.my-namespace.svc");
+            sans.put("DNS.4", pod + ".my-cluster-kafka-brokers.my-namespace.svc.cluster.local");
+
+            Subject subject = new Subject();
+            subject.setOrganizationName("io.strimzi");
+            subject.setCommonName("my-cluster-kafka");
+            subject.setSubjectAltNames(sans);
+            issue(subject, pod);
+        }
+    }
+
+    @Benchmark
+    public void users() throws Exception {
+        for (int i = 0; i < USERS; i++) {
+            Subject subject = new Subject();
+            subject.setCommonName("my-user-" + i);
+            issue(subject, "my-user-" + i);
+        }
+    }
+}
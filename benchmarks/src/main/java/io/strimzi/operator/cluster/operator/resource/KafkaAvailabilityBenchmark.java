@@ -0,0 +1,153 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.vertx.core.Future;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.TopicConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@link KafkaAvailability} check of one broker during a rolling restart of all the brokers, depending
+ * on the number of partitions in the cluster. Each invocation rolls all brokers:
+ *
+ * <ul>
+ * <li>{@code perPodAvailability} creates a new {@link KafkaAvailability} for each broker, so all topics are
+ *     described for each broker (as the rolling restart did before the topic metadata were shared).
+ * <li>{@code sharedAvailability} uses one {@link KafkaAvailability} for all brokers, so after the first broker
+ *     only the topics with a replica on the restarted broker are described again.
+ * </ul>
+ *
+ * The Admin client is simulated: each description of a topic creates new {@link TopicDescription} instances, as
+ * deserializing a response would. The network round trips and the load on the controller are not measured, but they
+ * grow with the number of described partitions in the same way.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar KafkaAvailabilityBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaAvailabilityBenchmark {
+    private static final int BROKERS = 24;
+    private static final int REPLICAS = 3;
+    private static final int PARTITIONS_PER_TOPIC = 3;
+
+    @Param({"1000", "10000", "40000"})
+    public int partitions;
+
+    private Node[] nodes;
+    private Set<String> topicNames;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        nodes = new Node[BROKERS];
+        for (int i = 0; i < BROKERS; i++) {
+            nodes[i] = new Node(i, "my-cluster-kafka-" + i, 9091);
+        }
+
+        topicNames = new HashSet<>();
+        for (int i = 0; i < partitions / PARTITIONS_PER_TOPIC; i++) {
+            topicNames.add("topic-" + i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BROKERS)
+    public void perPodAvailability(Blackhole blackhole) {
+        for (int broker = 0; broker < BROKERS; broker++) {
+            blackhole.consume(new SimulatedKafkaAvailability().canRoll(broker).result());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BROKERS)
+    public void sharedAvailability(Blackhole blackhole) {
+        KafkaAvailability availability = new SimulatedKafkaAvailability();
+
+        for (int broker = 0; broker < BROKERS; broker++) {
+            blackhole.consume(availability.canRoll(broker).result());
+            availability.brokerRestarted(broker);
+        }
+    }
+
+    private TopicDescription describe(String topicName) {
+        int topic = Integer.parseInt(topicName.substring("topic-".length()));
+        List<TopicPartitionInfo> partitionInfos = new ArrayList<>(PARTITIONS_PER_TOPIC);
+
+        for (int partition = 0; partition < PARTITIONS_PER_TOPIC; partition++) {
+            List<Node> replicas = new ArrayList<>(REPLICAS);
+            for (int replica = 0; replica < REPLICAS; replica++) {
+                Node node = nodes[(topic + partition + replica) % BROKERS];
+                replicas.add(new Node(node.id(), node.host(), node.port()));
+            }
+
+            partitionInfos.add(new TopicPartitionInfo(partition, replicas.get(0), replicas, new ArrayList<>(replicas)));
+        }
+
+        return new TopicDescription(topicName, false, partitionInfos);
+    }
+
+    /**
+     * Availability check with a simulated Admin client
+     */
+    private class SimulatedKafkaAvailability extends KafkaAvailability {
+        SimulatedKafkaAvailability() {
+            super(null);
+        }
+
+        @Override
+        protected Future<Set<String>> topicNames() {
+            return Future.succeededFuture(new HashSet<>(topicNames));
+        }
+
+        @Override
+        protected Future<Collection<TopicDescription>> describeTopics(Set<String> names) {
+            List<TopicDescription> descriptions = new ArrayList<>(names.size());
+            for (String name : names) {
+                descriptions.add(describe(name));
+            }
+            return Future.succeededFuture(descriptions);
+        }
+
+        @Override
+        protected Future<Map<String, Config>> topicConfigs(Collection<String> names) {
+            Map<String, Config> configs = new HashMap<>(names.size());
+            for (String name : names) {
+                configs.put(name, new Config(Collections.singletonList(new ConfigEntry(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2"))));
+            }
+            return Future.succeededFuture(configs);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of checking whether one broker can be rolled, once the topic descriptions and the
+ * {@code min.in.sync.replicas} are known, depending on the number of partitions in the cluster:
+ *
+ * <ul>
+ * <li>{@code streamScan} groups the topic descriptions by broker and checks the partitions of the topics on the
+ *     broker with streams over the replica and ISR {@link Node} lists (as {@link KafkaAvailability} did before the
+ *     {@link PartitionIndex}).
+ * <li>{@code indexScan} scans the partitions on the broker in the {@link PartitionIndex}.
+ * <li>{@code indexBuild} builds the {@link PartitionIndex}, which is done once for each refresh of the topic
+ *     descriptions.
+ * </ul>
+ *
+ * The scans check each broker in turn and report the time per broker. One replica of every 100th partition is out of
+ * the ISR, so that some partitions are found to be affected.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar PartitionIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PartitionIndexBenchmark {
+    private static final int BROKERS = 24;
+    private static final int REPLICAS = 3;
+    private static final int PARTITIONS_PER_TOPIC = 10;
+    private static final int MIN_ISR = 2;
+
+    @Param({"10000", "100000", "500000"})
+    public int partitions;
+
+    private List<TopicDescription> descriptions;
+    private Map<String, Integer> minIsrs;
+    private PartitionIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Node[] nodes = new Node[BROKERS];
+        for (int i = 0; i < BROKERS; i++) {
+            nodes[i] = new Node(i, "my-cluster-kafka-" + i, 9091);
+        }
+
+        descriptions = new ArrayList<>(partitions / PARTITIONS_PER_TOPIC);
+        minIsrs = new HashMap<>();
+        int p = 0;
+
+        for (int topic = 0; topic < partitions / PARTITIONS_PER_TOPIC; topic++) {
+            List<TopicPartitionInfo> partitionInfos = new ArrayList<>(PARTITIONS_PER_TOPIC);
+
+            for (int partition = 0; partition < PARTITIONS_PER_TOPIC; partition++, p++) {
+                List<Node> replicas = new ArrayList<>(REPLICAS);
+                for (int replica = 0; replica < REPLICAS; replica++) {
+                    replicas.add(nodes[(topic + partition + replica) % BROKERS]);
+                }
+
+                List<Node> isr = new ArrayList<>(replicas);
+                if (p % 100 == 0) {
+                    isr.remove(REPLICAS - 1);
+                }
+
+                partitionInfos.add(new TopicPartitionInfo(partition, replicas.get(0), replicas, isr));
+            }
+
+            descriptions.add(new TopicDescription("topic-" + topic, false, partitionInfos));
+            minIsrs.put("topic-" + topic, MIN_ISR);
+        }
+
+        index = indexBuild();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BROKERS)
+    public void streamScan(Blackhole blackhole) {
+        for (int broker = 0; broker < BROKERS; broker++) {
+            blackhole.consume(streamScan(broker));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BROKERS)
+    public void indexScan(Blackhole blackhole) {
+        for (int broker = 0; broker < BROKERS; broker++) {
+            blackhole.consume(indexScan(broker));
+        }
+    }
+
+    private int streamScan(int broker) {
+        Map<Integer, List<TopicDescription>> byBroker = new HashMap<>();
+        for (TopicDescription td : descriptions) {
+            Set<Integer> brokers = new HashSet<>();
+            td.partitions().forEach(pi -> pi.replicas().forEach(node -> brokers.add(node.id())));
+            brokers.forEach(b -> byBroker.computeIfAbsent(b, k -> new ArrayList<>()).add(td));
+        }
+
+        int affected = 0;
+        for (TopicDescription td : byBroker.getOrDefault(broker, new ArrayList<>())) {
+            int minIsr = minIsrs.get(td.name());
+            affected += td.partitions().stream()
+                    .filter(pi -> pi.replicas().stream().anyMatch(node -> node.id() == broker))
+                    .filter(pi -> pi.isr().size() < minIsr
+                            || pi.isr().size() == minIsr && pi.isr().stream().anyMatch(node -> node.id() == broker))
+                    .count();
+        }
+        return affected;
+    }
+
+    private int indexScan(int broker) {
+        int affected = 0;
+        for (int partition : index.partitionsOn(broker)) {
+            int minIsr = index.minIsr(index.topic(partition));
+            int isr = index.isrSize(partition);
+            if (isr < minIsr || isr == minIsr && index.isInIsr(partition, broker)) {
+                affected++;
+            }
+        }
+        return affected;
+    }
+
+    @Benchmark
+    public PartitionIndex indexBuild() {
+        PartitionIndex index = new PartitionIndex(descriptions);
+        for (int topic = 0; topic < index.topicCount(); topic++) {
+            index.minIsr(topic, minIsrs.get(index.topicName(topic)));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.strimzi.certs.OpenSslCertManager;
+import io.strimzi.certs.Subject;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.security.ssl.SslFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.net.ssl.SSLEngine;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of setting up the TLS of a Kafka Admin client connection from the key and trust material in the Secrets, up to
+ * the first {@link SSLEngine}. The TLS handshake itself and the network round trips cost the same in both cases and are
+ * not measured.
+ *
+ * <ul>
+ * <li>{@code fileStores} generates a password, writes the PKCS12 trust store and key store to temporary files, lets
+ *     Kafka load them and deletes the files (as the {@link DefaultAdminClientProvider} did before).
+ * <li>{@code pemMaterial} registers the PEM material with the {@link PemSslContextProvider}, which parses it only the
+ *     first time, and lets Kafka create the {@code SSLContext} from it.
+ * </ul>
+ *
+ * Needs the {@code openssl} binary to generate the certificates. Run with
+ * {@code java -jar benchmarks/target/benchmarks.jar AdminClientSslBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminClientSslBenchmark {
+    private String caCertPem;
+    private X509Certificate caCert;
+    private String keyPem;
+    private String certPem;
+    private byte[] keyStore;
+    private String keyStorePassword;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, GeneralSecurityException {
+        OpenSslCertManager certManager = new OpenSslCertManager();
+        File keyFile = File.createTempFile("benchmark", ".key");
+        File certFile = File.createTempFile("benchmark", ".crt");
+        File keyStoreFile = File.createTempFile("benchmark", ".p12");
+
+        try {
+            Subject subject = new Subject();
+            subject.setCommonName("cluster-operator");
+            certManager.generateSelfSignedCert(keyFile, certFile, subject, 365);
+            keyStorePassword = new PasswordGenerator(12).generate();
+            certManager.addKeyAndCertToKeyStore(keyFile, certFile, "cluster-operator", keyStoreFile, keyStorePassword);
+
+            keyPem = new String(Files.readAllBytes(keyFile.toPath()), StandardCharsets.US_ASCII);
+            certPem = new String(Files.readAllBytes(certFile.toPath()), StandardCharsets.US_ASCII);
+            keyStore = Files.readAllBytes(keyStoreFile.toPath());
+        } finally {
+            keyFile.delete();
+            certFile.delete();
+            keyStoreFile.delete();
+        }
+
+        // The certificate is self-signed, so it is used as the CA certificate as well
+        caCertPem = certPem;
+        caCert = (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(caCertPem.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static Properties baseProperties() {
+        Properties props = new Properties();
+        props.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, "my-cluster-kafka-0:9091");
+        props.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
+        return props;
+    }
+
+    private static SSLEngine sslEngine(Properties props) {
+        SslFactory sslFactory = new SslFactory(org.apache.kafka.common.network.Mode.CLIENT);
+        sslFactory.configure(new AdminClientConfig(props).values());
+        return sslFactory.createSslEngine("my-cluster-kafka-0", 9091);
+    }
+
+    @Benchmark
+    public SSLEngine fileStores() {
+        String trustStorePassword = new PasswordGenerator(12).generate();
+        File trustStoreFile = Util.createFileTrustStore(getClass().getName(), "ts", caCert, trustStorePassword.toCharArray());
+        File keyStoreFile = Util.createFileStore(getClass().getName(), "ts", keyStore);
+
+        try {
+            Properties props = baseProperties();
+            props.setProperty(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, trustStoreFile.getAbsolutePath());
+            props.setProperty(SslConfigs.SSL_TRUSTSTORE_TYPE_CONFIG, "PKCS12");
+            props.setProperty(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, trustStorePassword);
+            props.setProperty(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG, keyStoreFile.getAbsolutePath());
+            props.setProperty(SslConfigs.SSL_KEYSTORE_TYPE_CONFIG, "PKCS12");
+            props.setProperty(SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG, keyStorePassword);
+            return sslEngine(props);
+        } finally {
+            keyStoreFile.delete();
+            trustStoreFile.delete();
+        }
+    }
+
+    @Benchmark
+    public SSLEngine pemMaterial() {
+        Properties props = baseProperties();
+        PemSslContextProvider.configure(props, caCertPem, keyPem, certPem);
+        return sslEngine(props);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link KeyedLock} with the Vert.x shared data lock it replaces. Each invocation acquires and releases
+ * {@link #OPERATIONS} locks from the event loop, spread over the given number of keys. The fewer keys, the more
+ * contention: with a single key, all but the first acquisition have to wait for the previous holder.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar KeyedLockBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedLockBenchmark {
+    private static final int OPERATIONS = 1_000;
+    private static final long TIMEOUT_MS = 10_000;
+    private static final String KIND = "Kafka";
+    private static final String NAMESPACE = "my-namespace";
+
+    @Param({"1", "16", "1024"})
+    public int keys;
+
+    private Vertx vertx;
+    private KeyedLock<NamespaceAndName> keyedLock;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vertx = Vertx.vertx();
+        keyedLock = new KeyedLock<>(vertx, KIND, null, "");
+
+        names = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            names[i] = "my-cluster-" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void keyedLock() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(OPERATIONS);
+
+        vertx.runOnContext(v -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                keyedLock.acquire(new NamespaceAndName(NAMESPACE, names[i % keys]), TIMEOUT_MS).onComplete(res -> {
+                    res.result().release();
+                    done.countDown();
+                });
+            }
+        });
+
+        done.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void sharedDataLock() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(OPERATIONS);
+
+        vertx.runOnContext(v -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                // The lock name used by the operators before the KeyedLock
+                String lockName = "lock::" + NAMESPACE + "::" + KIND + "::" + names[i % keys];
+                vertx.sharedData().getLockWithTimeout(lockName, TIMEOUT_MS, res -> {
+                    res.result().release();
+                    done.countDown();
+                });
+            }
+        });
+
+        done.await();
+    }
+}
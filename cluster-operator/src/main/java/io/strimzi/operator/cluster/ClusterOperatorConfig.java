@@ -9,12 +9,16 @@ import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
 import io.strimzi.operator.cluster.model.ImagePullPolicy;
 import io.strimzi.operator.cluster.model.KafkaVersion;
 import io.strimzi.operator.cluster.model.NoImageException;
+import io.strimzi.operator.common.AbstractOperator;
 import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkQueue;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -23,6 +27,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 
 /**
@@ -35,6 +40,13 @@ public class ClusterOperatorConfig {
     public static final String STRIMZI_CREATE_CLUSTER_ROLES = "STRIMZI_CREATE_CLUSTER_ROLES";
     public static final String STRIMZI_IMAGE_PULL_POLICY = "STRIMZI_IMAGE_PULL_POLICY";
     public static final String STRIMZI_IMAGE_PULL_SECRETS = "STRIMZI_IMAGE_PULL_SECRETS";
+    public static final String STRIMZI_RESOURCE_CACHE_ENABLED = "STRIMZI_RESOURCE_CACHE_ENABLED";
+    public static final String STRIMZI_RECONCILIATION_WORKERS = "STRIMZI_RECONCILIATION_WORKERS";
+    public static final String STRIMZI_RECONCILIATION_RATE_LIMIT = "STRIMZI_RECONCILIATION_RATE_LIMIT";
+    public static final String STRIMZI_PERIODIC_RECONCILIATION_SPREAD_MS = "STRIMZI_PERIODIC_RECONCILIATION_SPREAD_MS";
+    public static final String STRIMZI_PERIODIC_RECONCILIATIONS_IN_FLIGHT = "STRIMZI_PERIODIC_RECONCILIATIONS_IN_FLIGHT";
+    public static final String STRIMZI_WORKER_POOL_SIZES = "STRIMZI_WORKER_POOL_SIZES";
+    public static final String STRIMZI_JAVA_CERT_MANAGER_ENABLED = "STRIMZI_JAVA_CERT_MANAGER_ENABLED";
 
     // Env vars for configuring images
     public static final String STRIMZI_KAFKA_IMAGES = "STRIMZI_KAFKA_IMAGES";
@@ -55,6 +67,11 @@ public class ClusterOperatorConfig {
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final long DEFAULT_OPERATION_TIMEOUT_MS = 300_000;
     public static final boolean DEFAULT_CREATE_CLUSTER_ROLES = false;
+    public static final boolean DEFAULT_RESOURCE_CACHE_ENABLED = false;
+    public static final boolean DEFAULT_JAVA_CERT_MANAGER_ENABLED = false;
+    public static final int DEFAULT_RECONCILIATION_WORKERS = WorkQueue.DEFAULT_WORKERS;
+    public static final int DEFAULT_RECONCILIATION_RATE_LIMIT = WorkQueue.DEFAULT_RATE_LIMIT;
+    public static final int DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT = AbstractOperator.DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT;
 
     private final Set<String> namespaces;
     private final long reconciliationIntervalMs;
@@ -63,6 +80,13 @@ public class ClusterOperatorConfig {
     private final KafkaVersion.Lookup versions;
     private final ImagePullPolicy imagePullPolicy;
     private final List<LocalObjectReference> imagePullSecrets;
+    private final boolean resourceCacheEnabled;
+    private final int reconciliationWorkers;
+    private final int reconciliationRateLimit;
+    private final long periodicReconciliationSpreadMs;
+    private final int periodicReconciliationsInFlight;
+    private final Map<WorkerPools.Pool, Integer> workerPoolSizes;
+    private final boolean javaCertManagerEnabled;
 
     /**
      * Constructor
@@ -74,8 +98,15 @@ public class ClusterOperatorConfig {
      * @param versions The configured Kafka versions
      * @param imagePullPolicy Image pull policy configured by the user
      * @param imagePullSecrets Set of secrets for pulling container images from secured repositories
+     * @param resourceCacheEnabled true to serve reads of the watched resources from a local cache
+     * @param reconciliationWorkers Maximal number of concurrent reconciliations of each kind
+     * @param reconciliationRateLimit Maximal number of reconciliations of each kind started per second
+     * @param periodicReconciliationSpreadMs Time window across which the periodic reconciliations are spread
+     * @param periodicReconciliationsInFlight Maximal number of not completed periodic reconciliations of each kind
+     * @param workerPoolSizes Sizes of the worker pools used for blocking operations which differ from the defaults
+     * @param javaCertManagerEnabled true to generate the keys and certificates in the JVM instead of with OpenSSL
      */
-    public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs, boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy, List<LocalObjectReference> imagePullSecrets) {
+    public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs, boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy, List<LocalObjectReference> imagePullSecrets, boolean resourceCacheEnabled, int reconciliationWorkers, int reconciliationRateLimit, long periodicReconciliationSpreadMs, int periodicReconciliationsInFlight, Map<WorkerPools.Pool, Integer> workerPoolSizes, boolean javaCertManagerEnabled) {
         this.namespaces = unmodifiableSet(new HashSet<>(namespaces));
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.operationTimeoutMs = operationTimeoutMs;
@@ -83,6 +114,13 @@ public class ClusterOperatorConfig {
         this.versions = versions;
         this.imagePullPolicy = imagePullPolicy;
         this.imagePullSecrets = imagePullSecrets;
+        this.resourceCacheEnabled = resourceCacheEnabled;
+        this.reconciliationWorkers = reconciliationWorkers;
+        this.reconciliationRateLimit = reconciliationRateLimit;
+        this.periodicReconciliationSpreadMs = periodicReconciliationSpreadMs;
+        this.periodicReconciliationsInFlight = periodicReconciliationsInFlight;
+        this.workerPoolSizes = unmodifiableMap(new HashMap<>(workerPoolSizes));
+        this.javaCertManagerEnabled = javaCertManagerEnabled;
     }
 
     /**
@@ -111,7 +149,14 @@ public class ClusterOperatorConfig {
         boolean createClusterRoles = parseCreateClusterRoles(map.get(ClusterOperatorConfig.STRIMZI_CREATE_CLUSTER_ROLES));
         ImagePullPolicy imagePullPolicy = parseImagePullPolicy(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_POLICY));
         List<LocalObjectReference> imagePullSecrets = parseImagePullSecrets(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_SECRETS));
-        return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles, lookup, imagePullPolicy, imagePullSecrets);
+        boolean resourceCacheEnabled = parseResourceCacheEnabled(map.get(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_ENABLED));
+        int reconciliationWorkers = parseReconciliationWorkers(map.get(ClusterOperatorConfig.STRIMZI_RECONCILIATION_WORKERS));
+        int reconciliationRateLimit = parseReconciliationRateLimit(map.get(ClusterOperatorConfig.STRIMZI_RECONCILIATION_RATE_LIMIT));
+        long periodicReconciliationSpread = parsePeriodicReconciliationSpread(map.get(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_SPREAD_MS), reconciliationInterval);
+        int periodicReconciliationsInFlight = parsePeriodicReconciliationsInFlight(map.get(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATIONS_IN_FLIGHT));
+        Map<WorkerPools.Pool, Integer> workerPoolSizes = parseWorkerPoolSizes(map.get(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES));
+        boolean javaCertManagerEnabled = parseJavaCertManagerEnabled(map.get(ClusterOperatorConfig.STRIMZI_JAVA_CERT_MANAGER_ENABLED));
+        return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles, lookup, imagePullPolicy, imagePullSecrets, resourceCacheEnabled, reconciliationWorkers, reconciliationRateLimit, periodicReconciliationSpread, periodicReconciliationsInFlight, workerPoolSizes, javaCertManagerEnabled);
 
     }
 
@@ -164,6 +209,93 @@ public class ClusterOperatorConfig {
         return createClusterRoles;
     }
 
+    private static boolean parseResourceCacheEnabled(String resourceCacheEnabledEnvVar) {
+        boolean resourceCacheEnabled = DEFAULT_RESOURCE_CACHE_ENABLED;
+
+        if (resourceCacheEnabledEnvVar != null) {
+            resourceCacheEnabled = Boolean.parseBoolean(resourceCacheEnabledEnvVar);
+        }
+
+        return resourceCacheEnabled;
+    }
+
+    private static boolean parseJavaCertManagerEnabled(String javaCertManagerEnabledEnvVar) {
+        boolean javaCertManagerEnabled = DEFAULT_JAVA_CERT_MANAGER_ENABLED;
+
+        if (javaCertManagerEnabledEnvVar != null) {
+            javaCertManagerEnabled = Boolean.parseBoolean(javaCertManagerEnabledEnvVar);
+        }
+
+        return javaCertManagerEnabled;
+    }
+
+    private static int parseReconciliationWorkers(String reconciliationWorkersEnvVar) {
+        int reconciliationWorkers = DEFAULT_RECONCILIATION_WORKERS;
+
+        if (reconciliationWorkersEnvVar != null) {
+            reconciliationWorkers = Integer.parseInt(reconciliationWorkersEnvVar);
+
+            if (reconciliationWorkers <= 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_RECONCILIATION_WORKERS
+                        + " has to be a positive number");
+            }
+        }
+
+        return reconciliationWorkers;
+    }
+
+    private static int parseReconciliationRateLimit(String reconciliationRateLimitEnvVar) {
+        int reconciliationRateLimit = DEFAULT_RECONCILIATION_RATE_LIMIT;
+
+        if (reconciliationRateLimitEnvVar != null) {
+            reconciliationRateLimit = Integer.parseInt(reconciliationRateLimitEnvVar);
+        }
+
+        return reconciliationRateLimit;
+    }
+
+    /**
+     * The periodic reconciliations are spread across the whole reconciliation interval unless configured otherwise
+     */
+    private static long parsePeriodicReconciliationSpread(String periodicReconciliationSpreadEnvVar, long reconciliationInterval) {
+        long periodicReconciliationSpread = reconciliationInterval;
+
+        if (periodicReconciliationSpreadEnvVar != null) {
+            periodicReconciliationSpread = Long.parseLong(periodicReconciliationSpreadEnvVar);
+
+            if (periodicReconciliationSpread > reconciliationInterval) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_SPREAD_MS
+                        + " cannot be longer than " + ClusterOperatorConfig.STRIMZI_FULL_RECONCILIATION_INTERVAL_MS);
+            }
+        }
+
+        return periodicReconciliationSpread;
+    }
+
+    private static int parsePeriodicReconciliationsInFlight(String periodicReconciliationsInFlightEnvVar) {
+        int periodicReconciliationsInFlight = DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT;
+
+        if (periodicReconciliationsInFlightEnvVar != null) {
+            periodicReconciliationsInFlight = Integer.parseInt(periodicReconciliationsInFlightEnvVar);
+
+            if (periodicReconciliationsInFlight <= 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATIONS_IN_FLIGHT
+                        + " has to be a positive number");
+            }
+        }
+
+        return periodicReconciliationsInFlight;
+    }
+
+    private static Map<WorkerPools.Pool, Integer> parseWorkerPoolSizes(String workerPoolSizesEnvVar) {
+        try {
+            return WorkerPools.parseSizes(workerPoolSizesEnvVar);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES
+                    + " is not valid: " + e.getMessage(), e);
+        }
+    }
+
     private static ImagePullPolicy parseImagePullPolicy(String imagePullPolicyEnvVar) {
         ImagePullPolicy imagePullPolicy = null;
 
@@ -286,6 +418,55 @@ public class ClusterOperatorConfig {
         return imagePullSecrets;
     }
 
+    /**
+     * @return  Indicates whether reads of the watched resources should be served from a local cache
+     */
+    public boolean isResourceCacheEnabled() {
+        return resourceCacheEnabled;
+    }
+
+    /**
+     * @return  Maximal number of concurrent reconciliations of each kind
+     */
+    public int getReconciliationWorkers() {
+        return reconciliationWorkers;
+    }
+
+    /**
+     * @return  Maximal number of reconciliations of each kind started per second. 0 or less means no limit.
+     */
+    public int getReconciliationRateLimit() {
+        return reconciliationRateLimit;
+    }
+
+    /**
+     * @return  Time window across which the periodic reconciliations are spread
+     */
+    public long getPeriodicReconciliationSpreadMs() {
+        return periodicReconciliationSpreadMs;
+    }
+
+    /**
+     * @return  Maximal number of periodic reconciliations of each kind which did not complete yet
+     */
+    public int getPeriodicReconciliationsInFlight() {
+        return periodicReconciliationsInFlight;
+    }
+
+    /**
+     * @return  Sizes of the worker pools used for blocking operations which differ from the defaults
+     */
+    public Map<WorkerPools.Pool, Integer> getWorkerPoolSizes() {
+        return workerPoolSizes;
+    }
+
+    /**
+     * @return  Indicates whether the keys and certificates should be generated in the JVM instead of with OpenSSL
+     */
+    public boolean isJavaCertManagerEnabled() {
+        return javaCertManagerEnabled;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -296,6 +477,13 @@ public class ClusterOperatorConfig {
                 ",versions=" + versions +
                 ",imagePullPolicy=" + imagePullPolicy +
                 ",imagePullSecrets=" + imagePullSecrets +
+                ",resourceCacheEnabled=" + resourceCacheEnabled +
+                ",reconciliationWorkers=" + reconciliationWorkers +
+                ",reconciliationRateLimit=" + reconciliationRateLimit +
+                ",periodicReconciliationSpreadMs=" + periodicReconciliationSpreadMs +
+                ",periodicReconciliationsInFlight=" + periodicReconciliationsInFlight +
+                ",workerPoolSizes=" + workerPoolSizes +
+                ",javaCertManagerEnabled=" + javaCertManagerEnabled +
                 ")";
     }
 }
@@ -9,6 +9,8 @@ import io.fabric8.kubernetes.api.model.rbac.ClusterRole;
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.strimzi.api.kafka.Crds;
+import io.strimzi.certs.CertManager;
+import io.strimzi.certs.JavaCertManager;
 import io.strimzi.certs.OpenSslCertManager;
 import io.strimzi.operator.PlatformFeaturesAvailability;
 import io.strimzi.operator.cluster.operator.assembly.KafkaAssemblyOperator;
@@ -21,6 +23,7 @@ import io.strimzi.operator.cluster.operator.assembly.KafkaRebalanceAssemblyOpera
 import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.ClusterRoleOperator;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -106,8 +109,9 @@ public class Main {
         Util.printEnvInfo();
 
         ResourceOperatorSupplier resourceOperatorSupplier = new ResourceOperatorSupplier(vertx, client, pfa, config.getOperationTimeoutMs());
+        WorkerPools.configure(config.getWorkerPoolSizes(), resourceOperatorSupplier.metricsProvider);
 
-        OpenSslCertManager certManager = new OpenSslCertManager();
+        CertManager certManager = config.isJavaCertManagerEnabled() ? new JavaCertManager() : new OpenSslCertManager();
         PasswordGenerator passwordGenerator = new PasswordGenerator(12,
                 "abcdefghijklmnopqrstuvwxyz" +
                         "ABCDEFGHIJKLMNOPQRSTUVWXYZ",
@@ -153,16 +157,23 @@ public class Main {
                     kafkaBridgeAssemblyOperator,
                     kafkaRebalanceAssemblyOperator,
                     resourceOperatorSupplier.metricsProvider);
-            vertx.deployVerticle(operator,
-                res -> {
-                    if (res.succeeded()) {
-                        log.info("Cluster Operator verticle started in namespace {}", namespace);
-                    } else {
-                        log.error("Cluster Operator verticle in namespace {} failed to start", namespace, res.cause());
-                        System.exit(1);
-                    }
-                    prom.handle(res);
-                });
+            Future<Void> caches = config.isResourceCacheEnabled() ? resourceOperatorSupplier.enableCaches(namespace) : Future.succeededFuture();
+            caches.onComplete(cachesRes -> {
+                if (cachesRes.failed()) {
+                    log.warn("Failed to sync resource caches in namespace {}, reads will go to the Kubernetes API server", namespace, cachesRes.cause());
+                }
+
+                vertx.deployVerticle(operator,
+                    res -> {
+                        if (res.succeeded()) {
+                            log.info("Cluster Operator verticle started in namespace {}", namespace);
+                        } else {
+                            log.error("Cluster Operator verticle in namespace {} failed to start", namespace, res.cause());
+                            System.exit(1);
+                        }
+                        prom.handle(res);
+                    });
+            });
         }
         return CompositeFuture.join(futures);
     }
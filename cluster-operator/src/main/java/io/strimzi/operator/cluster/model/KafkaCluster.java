@@ -65,7 +65,9 @@ import io.strimzi.api.kafka.model.KafkaAuthorization;
 import io.strimzi.api.kafka.model.KafkaAuthorizationKeycloak;
 import io.strimzi.api.kafka.model.KafkaClusterSpec;
 import io.strimzi.api.kafka.model.KafkaResources;
+import io.strimzi.api.kafka.model.KafkaRollingUpdate;
 import io.strimzi.api.kafka.model.KafkaSpec;
+import io.strimzi.api.kafka.model.LeadershipMigration;
 import io.strimzi.api.kafka.model.Logging;
 import io.strimzi.api.kafka.model.Probe;
 import io.strimzi.api.kafka.model.ProbeBuilder;
@@ -205,6 +207,30 @@ public class KafkaCluster extends AbstractModel {
      */
     public static final String ANNO_STRIMZI_BROKER_CONFIGURATION_HASH = Annotations.STRIMZI_DOMAIN + "broker-configuration-hash";
 
+    /**
+     * Records the maximum number of brokers restarted at the same time by a rolling update. Unset when the brokers
+     * are restarted one by one.
+     */
+    public static final String ANNO_STRIMZI_IO_MAX_CONCURRENT_RESTARTS = Annotations.STRIMZI_DOMAIN + "max-concurrent-restarts";
+
+    /**
+     * Records the maximum time in seconds a rolling update waits for the partitions of a restarted broker to be fully
+     * replicated again. Unset when it is the default.
+     */
+    public static final String ANNO_STRIMZI_IO_REPLICATION_CATCH_UP_TIMEOUT = Annotations.STRIMZI_DOMAIN + "replication-catch-up-timeout";
+
+    /**
+     * Records how a rolling update moves the partition leadership off a broker before restarting it. Unset when the
+     * leadership is not migrated.
+     */
+    public static final String ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION = Annotations.STRIMZI_DOMAIN + "leadership-migration";
+
+    /**
+     * Records the maximum time in seconds a rolling update waits for the partition leadership to move off a broker.
+     * Unset when it is the default.
+     */
+    public static final String ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION_TIMEOUT = Annotations.STRIMZI_DOMAIN + "leadership-migration-timeout";
+
     public static final String ANNO_STRIMZI_CUSTOM_CERT_THUMBPRINT_TLS_LISTENER = Annotations.STRIMZI_DOMAIN + "custom-cert-tls-listener-thumbprint";
     public static final String ANNO_STRIMZI_CUSTOM_CERT_THUMBPRINT_EXTERNAL_LISTENER = Annotations.STRIMZI_DOMAIN + "custom-cert-external-listener-thumbprint";
 
@@ -219,6 +245,10 @@ public class KafkaCluster extends AbstractModel {
     // Kafka configuration
     private String zookeeperConnect;
     private Rack rack;
+    private int maxConcurrentRestarts = KafkaRollingUpdate.DEFAULT_MAX_CONCURRENT_RESTARTS;
+    private int replicationCatchUpTimeoutSeconds = KafkaRollingUpdate.DEFAULT_REPLICATION_CATCH_UP_TIMEOUT_SECONDS;
+    private LeadershipMigration leadershipMigration = LeadershipMigration.NONE;
+    private int leadershipMigrationTimeoutSeconds = KafkaRollingUpdate.DEFAULT_LEADERSHIP_MIGRATION_TIMEOUT_SECONDS;
     private String initImage;
     private TlsSidecar tlsSidecar;
     private KafkaListeners listeners;
@@ -442,6 +472,23 @@ public class KafkaCluster extends AbstractModel {
 
         result.setRack(kafkaClusterSpec.getRack());
 
+        if (kafkaClusterSpec.getRollingUpdate() != null) {
+            result.setMaxConcurrentRestarts(kafkaClusterSpec.getRollingUpdate().getMaxConcurrentRestarts());
+            result.setReplicationCatchUpTimeoutSeconds(kafkaClusterSpec.getRollingUpdate().getReplicationCatchUpTimeoutSeconds());
+            result.setLeadershipMigrationTimeoutSeconds(kafkaClusterSpec.getRollingUpdate().getLeadershipMigrationTimeoutSeconds());
+
+            LeadershipMigration leadershipMigration = kafkaClusterSpec.getRollingUpdate().getLeadershipMigration();
+            if (leadershipMigration == LeadershipMigration.CRUISE_CONTROL_DEMOTE && kafkaSpec.getCruiseControl() == null) {
+                log.warn("Kafka {}/{} uses the cruise-control-demote leadership migration without Cruise Control, " +
+                        "the preferred-replica-election leadership migration is used instead",
+                        kafkaAssembly.getMetadata().getNamespace(), kafkaAssembly.getMetadata().getName());
+                leadershipMigration = LeadershipMigration.PREFERRED_REPLICA_ELECTION;
+            }
+            if (leadershipMigration != null) {
+                result.setLeadershipMigration(leadershipMigration);
+            }
+        }
+
         String initImage = kafkaClusterSpec.getBrokerRackInitImage();
         if (initImage == null) {
             initImage = System.getenv().getOrDefault(ClusterOperatorConfig.STRIMZI_DEFAULT_KAFKA_INIT_IMAGE, "strimzi/operator:latest");
@@ -1345,6 +1392,18 @@ public class KafkaCluster extends AbstractModel {
         Map<String, String> stsAnnotations = new HashMap<>(2);
         stsAnnotations.put(ANNO_STRIMZI_IO_KAFKA_VERSION, kafkaVersion.version());
         stsAnnotations.put(ANNO_STRIMZI_IO_STORAGE, ModelUtils.encodeStorageToJson(storage));
+        if (maxConcurrentRestarts > 1) {
+            stsAnnotations.put(ANNO_STRIMZI_IO_MAX_CONCURRENT_RESTARTS, String.valueOf(maxConcurrentRestarts));
+        }
+        if (replicationCatchUpTimeoutSeconds != KafkaRollingUpdate.DEFAULT_REPLICATION_CATCH_UP_TIMEOUT_SECONDS) {
+            stsAnnotations.put(ANNO_STRIMZI_IO_REPLICATION_CATCH_UP_TIMEOUT, String.valueOf(replicationCatchUpTimeoutSeconds));
+        }
+        if (leadershipMigration != LeadershipMigration.NONE) {
+            stsAnnotations.put(ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION, leadershipMigration.toValue());
+        }
+        if (leadershipMigrationTimeoutSeconds != KafkaRollingUpdate.DEFAULT_LEADERSHIP_MIGRATION_TIMEOUT_SECONDS) {
+            stsAnnotations.put(ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION_TIMEOUT, String.valueOf(leadershipMigrationTimeoutSeconds));
+        }
 
         return createStatefulSet(
                 stsAnnotations,
@@ -1959,6 +2018,51 @@ public class KafkaCluster extends AbstractModel {
         this.rack = rack;
     }
 
+    protected void setMaxConcurrentRestarts(int maxConcurrentRestarts) {
+        this.maxConcurrentRestarts = maxConcurrentRestarts;
+    }
+
+    /**
+     * @return The maximum number of brokers restarted at the same time by a rolling update
+     */
+    public int getMaxConcurrentRestarts() {
+        return maxConcurrentRestarts;
+    }
+
+    protected void setReplicationCatchUpTimeoutSeconds(int replicationCatchUpTimeoutSeconds) {
+        this.replicationCatchUpTimeoutSeconds = replicationCatchUpTimeoutSeconds;
+    }
+
+    /**
+     * @return The maximum time in seconds a rolling update waits for the partitions of a restarted broker to be
+     * fully replicated again
+     */
+    public int getReplicationCatchUpTimeoutSeconds() {
+        return replicationCatchUpTimeoutSeconds;
+    }
+
+    protected void setLeadershipMigration(LeadershipMigration leadershipMigration) {
+        this.leadershipMigration = leadershipMigration;
+    }
+
+    /**
+     * @return How a rolling update moves the partition leadership off a broker before restarting it
+     */
+    public LeadershipMigration getLeadershipMigration() {
+        return leadershipMigration;
+    }
+
+    protected void setLeadershipMigrationTimeoutSeconds(int leadershipMigrationTimeoutSeconds) {
+        this.leadershipMigrationTimeoutSeconds = leadershipMigrationTimeoutSeconds;
+    }
+
+    /**
+     * @return The maximum time in seconds a rolling update waits for the partition leadership to move off a broker
+     */
+    public int getLeadershipMigrationTimeoutSeconds() {
+        return leadershipMigrationTimeoutSeconds;
+    }
+
     protected void setInitImage(String initImage) {
         this.initImage = initImage;
     }
@@ -2476,6 +2580,10 @@ public class KafkaCluster extends AbstractModel {
         return (KafkaConfiguration) configuration;
     }
 
+    public KafkaVersion getKafkaVersion() {
+        return kafkaVersion;
+    }
+
     public boolean isJmxAuthenticated() {
         return isJmxAuthenticated;
     }
@@ -2503,6 +2611,25 @@ public class KafkaCluster extends AbstractModel {
     }
 
     private String generateBrokerConfiguration()   {
+        return generateBrokerConfiguration(getConfiguration());
+    }
+
+    /**
+     * Generates the broker configuration without the values of the user provided configs which the brokers can update
+     * dynamically (see {@link KafkaConfiguration#withoutDynamicallyUpdatableValues(KafkaVersion)}). The brokers need
+     * to be restarted only when this configuration changes.
+     *
+     * @return  The broker configuration without the values of the dynamically updatable configs
+     */
+    public String generateStaticBrokerConfiguration()   {
+        KafkaConfiguration configuration = getConfiguration();
+        if (configuration != null && kafkaVersion != null) {
+            configuration = configuration.withoutDynamicallyUpdatableValues(kafkaVersion);
+        }
+        return generateBrokerConfiguration(configuration);
+    }
+
+    private String generateBrokerConfiguration(KafkaConfiguration userConfiguration)   {
         return new KafkaBrokerConfigurationBuilder()
                 .withBrokerId()
                 .withRackId(rack)
@@ -2511,7 +2638,7 @@ public class KafkaCluster extends AbstractModel {
                 .withListeners(cluster, namespace, listeners)
                 .withAuthorization(cluster, authorization)
                 .withCruiseControl(cluster, cruiseControlSpec, ccNumPartitions, ccReplicationFactor)
-                .withUserConfiguration(configuration)
+                .withUserConfiguration(userConfiguration)
                 .build().trim();
     }
 
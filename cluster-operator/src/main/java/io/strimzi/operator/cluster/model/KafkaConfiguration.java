@@ -10,15 +10,18 @@ import io.strimzi.api.kafka.model.KafkaClusterSpec;
 import io.strimzi.kafka.config.model.ConfigModel;
 import io.strimzi.kafka.config.model.ConfigModels;
 import io.strimzi.kafka.config.model.Scope;
+import io.strimzi.kafka.config.model.Type;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
@@ -33,6 +36,11 @@ public class KafkaConfiguration extends AbstractConfiguration {
     private static final List<String> FORBIDDEN_PREFIXES;
     private static final List<String> FORBIDDEN_PREFIX_EXCEPTIONS;
 
+    /**
+     * The names of the dynamically updatable configs of each Kafka version, which are read from the config model once
+     */
+    private static final Map<KafkaVersion, Set<String>> DYNAMICALLY_UPDATABLE_CONFIG_NAMES = new ConcurrentHashMap<>();
+
     static {
         FORBIDDEN_PREFIXES = AbstractConfiguration.splitPrefixesToList(KafkaClusterSpec.FORBIDDEN_PREFIXES);
         FORBIDDEN_PREFIX_EXCEPTIONS = AbstractConfiguration.splitPrefixesToList(KafkaClusterSpec.FORBIDDEN_PREFIX_EXCEPTIONS);
@@ -83,7 +91,7 @@ public class KafkaConfiguration extends AbstractConfiguration {
         return errors;
     }
 
-    private Map<String, ConfigModel> readConfigModel(KafkaVersion kafkaVersion) {
+    private static Map<String, ConfigModel> readConfigModel(KafkaVersion kafkaVersion) {
         String name = "/kafka-" + kafkaVersion.version() + "-config-model.json";
         try {
             try (InputStream in = KafkaConfiguration.class.getResourceAsStream(name)) {
@@ -146,6 +154,61 @@ public class KafkaConfiguration extends AbstractConfiguration {
         return Collections.unmodifiableSet(result);
     }
 
+    /**
+     * Return the names of all the broker configs which the brokers can apply without being restarted: the per-broker
+     * and the cluster-wide configs, except passwords (whose current values the brokers do not describe) and the SSL
+     * and SASL configs (which the brokers only update dynamically per listener).
+     * @param kafkaVersion The broker version.
+     * @return The names of the dynamically updatable configs.
+     */
+    public static Set<String> dynamicallyUpdatableConfigNames(KafkaVersion kafkaVersion) {
+        return DYNAMICALLY_UPDATABLE_CONFIG_NAMES.computeIfAbsent(kafkaVersion, version -> Collections.unmodifiableSet(
+                readConfigModel(version).entrySet().stream()
+                        .filter(config -> isDynamicallyUpdatable(config.getKey(), config.getValue()))
+                        .map(config -> config.getKey())
+                        .collect(Collectors.toSet())));
+    }
+
+    private static boolean isDynamicallyUpdatable(String name, ConfigModel model) {
+        return !Scope.READ_ONLY.equals(model.getScope())
+                && !Type.PASSWORD.equals(model.getType())
+                && !name.startsWith("ssl.")
+                && !name.startsWith("sasl.");
+    }
+
+    /**
+     * Return the configs in this KafkaConfiguration which are dynamically updatable
+     * (see {@link #dynamicallyUpdatableConfigNames(KafkaVersion)}) with their values.
+     * @param kafkaVersion The broker version.
+     * @return The dynamically updatable configs.
+     */
+    public Map<String, String> dynamicallyUpdatableConfigs(KafkaVersion kafkaVersion) {
+        Set<String> names = dynamicallyUpdatableConfigNames(kafkaVersion);
+        Map<String, String> result = new LinkedHashMap<>();
+        asOrderedProperties().asMap().forEach((key, value) -> {
+            if (names.contains(key)) {
+                result.put(key, value);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns a copy of this KafkaConfiguration in which the values of the dynamically updatable configs
+     * (see {@link #dynamicallyUpdatableConfigNames(KafkaVersion)}) are left out. The brokers need to be restarted
+     * when it changes: when a config which is not dynamically updatable changes, or when a dynamically updatable
+     * config is added or removed, as a removed config would otherwise keep the value from the configuration file the
+     * brokers were started with.
+     * @param kafkaVersion The broker version.
+     * @return The KafkaConfiguration without the values of the dynamically updatable configs.
+     */
+    public KafkaConfiguration withoutDynamicallyUpdatableValues(KafkaVersion kafkaVersion) {
+        Set<String> names = dynamicallyUpdatableConfigNames(kafkaVersion);
+        KafkaConfiguration result = unvalidated(getConfiguration());
+        result.asOrderedProperties().asMap().replaceAll((key, value) -> names.contains(key) ? "" : value);
+        return result;
+    }
+
     /**
      * Return the configs in this KafkaConfiguration which are not known broker configs.
      * These might be consumed by broker plugins.
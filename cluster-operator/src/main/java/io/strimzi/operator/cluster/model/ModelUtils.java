@@ -44,6 +44,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * ModelUtils is a utility class that holds generic static helper functions
@@ -521,19 +523,37 @@ public class ModelUtils {
      * @return  True if there is a key which exists in the data sections of both secrets and which changed.
      */
     public static boolean doExistingCertificatesDiffer(Secret current, Secret desired) {
+        return !ownersOfChangedCertificates(current, desired).isEmpty();
+    }
+
+    /**
+     * Compares two Secrets with the certificates of pods (e.g. {@code my-cluster-kafka-0.crt} and
+     * {@code my-cluster-kafka-0.key}) and collects the pods whose existing certificates changed. This is used to roll
+     * only the pods whose certificates were renewed instead of all the pods using the Secret. Certificates which were
+     * added or removed (scale-up or scale-down) are not considered as changed.
+     *
+     * @param current   Existing secret
+     * @param desired   Desired secret
+     *
+     * @return  The names of the owners of the keys (the part before the extension) which exist in the data sections of
+     *          both secrets and which changed.
+     */
+    public static Set<String> ownersOfChangedCertificates(Secret current, Secret desired) {
         Map<String, String> currentData = current.getData();
         Map<String, String> desiredData = desired.getData();
+        Set<String> owners = new TreeSet<>();
 
         for (Map.Entry<String, String> entry : currentData.entrySet()) {
             String desiredValue = desiredData.get(entry.getKey());
             if (entry.getValue() != null
                     && desiredValue != null
                     && !entry.getValue().equals(desiredValue)) {
-                return true;
+                int extension = entry.getKey().lastIndexOf('.');
+                owners.add(extension > 0 ? entry.getKey().substring(0, extension) : entry.getKey());
             }
         }
 
-        return false;
+        return owners;
     }
 
     public static <T> List<T> asListOrEmptyList(List<T> list) {
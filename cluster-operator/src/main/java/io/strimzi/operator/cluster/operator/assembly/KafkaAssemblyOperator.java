@@ -83,7 +83,9 @@ import io.strimzi.operator.common.Annotations;
 import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.StepGraph;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractScalableResourceOperator;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
@@ -164,6 +166,13 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     private final CrdOperator<KubernetesClient, Kafka, KafkaList, DoneableKafka> crdOperator;
     private final ZookeeperScalerProvider zkScalerProvider;
 
+    /**
+     * The maximum number of reconciliation steps of one Kafka cluster running at the same time
+     */
+    private static final int MAX_CONCURRENT_STEPS = 4;
+
+    private final StepGraph<ReconciliationState> reconcileSteps;
+
     /**
      * @param vertx The Vertx instance
      * @param pfa Platform features availability properties
@@ -191,6 +200,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         this.crdOperator = supplier.kafkaOperator;
         this.nodeOperator = supplier.nodeOperator;
         this.zkScalerProvider = supplier.zkScalerProvider;
+        this.reconcileSteps = createReconcileSteps();
     }
 
     @Override
@@ -250,116 +260,146 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         return createOrUpdatePromise.future();
     }
 
+    /**
+     * The resources of a deleted Kafka cluster are deleted by the garbage collection of the resources it owns. Only
+     * what the operator holds in memory for the cluster is released here.
+     */
+    @Override
+    protected Future<Boolean> delete(Reconciliation reconciliation) {
+        kafkaSetOperations.clusterDeleted(reconciliation.namespace(), reconciliation.name());
+        return Future.succeededFuture(Boolean.FALSE);
+    }
+
     Future<Void> reconcile(ReconciliationState reconcileState)  {
-        Promise<Void> chainPromise = Promise.promise();
+        return reconcileSteps.execute(reconcileState.reconciliation, reconcileState, MAX_CONCURRENT_STEPS, stepTracer());
+    }
 
-        reconcileState.initialStatus()
-                .compose(state -> state.reconcileCas(this::dateSupplier))
-                .compose(state -> state.clusterOperatorSecret(this::dateSupplier))
+    /**
+     * Declares the steps of the reconciliation and their dependencies. Steps which do not depend on each other (for
+     * example the Services, NetworkPolicies and PodDisruptionBudgets of the same component or the Entity Operator,
+     * Cruise Control, Kafka Exporter and JmxTrans) run concurrently. The steps which roll or scale the pods and the
+     * steps which depend on the state collected by the previous steps (such as the listener addresses in the status)
+     * keep their order. The resources used by the pods are changed only after the manual rolling updates and the
+     * version change, so that the pods restarted by them are not rolled again by the next rolling update.
+     *
+     * @return  The graph of the reconciliation steps
+     */
+    private StepGraph<ReconciliationState> createReconcileSteps() {
+        return new StepGraph<ReconciliationState>(vertx)
+                .step("initialStatus", state -> state.initialStatus())
+                .step("reconcileCas", state -> state.reconcileCas(this::dateSupplier), "initialStatus")
+                .step("clusterOperatorSecret", state -> state.clusterOperatorSecret(this::dateSupplier), "reconcileCas")
                 // Roll everything if a new CA is added to the trust store.
-                .compose(state -> state.rollingUpdateForNewCaKey())
-                .compose(state -> state.getZookeeperDescription())
-                .compose(state -> state.zkModelWarnings())
-                .compose(state -> state.zkManualPodCleaning())
-                .compose(state -> state.zkNetPolicy())
-                .compose(state -> state.zkManualRollingUpdate())
-                .compose(state -> state.zkVersionChange())
-                .compose(state -> state.zookeeperServiceAccount())
-                .compose(state -> state.zkPvcs())
-                .compose(state -> state.zkService())
-                .compose(state -> state.zkHeadlessService())
-                .compose(state -> state.zkAncillaryCm())
-                .compose(state -> state.zkNodesSecret(this::dateSupplier))
-                .compose(state -> state.zkPodDisruptionBudget())
-                .compose(state -> state.zkStatefulSet())
-                .compose(state -> state.zkScalingDown())
-                .compose(state -> state.zkRollingUpdate())
-                .compose(state -> state.zkPodsReady())
-                .compose(state -> state.zkScalingUp())
-                .compose(state -> state.zkScalingCheck())
-                .compose(state -> state.zkServiceEndpointReadiness())
-                .compose(state -> state.zkHeadlessServiceEndpointReadiness())
-                .compose(state -> state.zkPersistentClaimDeletion())
-
-                .compose(state -> state.getKafkaClusterDescription())
-                .compose(state -> state.checkKafkaSpec())
-                .compose(state -> state.kafkaModelWarnings())
-                .compose(state -> state.kafkaManualPodCleaning())
-                .compose(state -> state.kafkaNetPolicy())
-                .compose(state -> state.kafkaManualRollingUpdate())
-                .compose(state -> state.kafkaVersionChange())
-                .compose(state -> state.kafkaPvcs())
-                .compose(state -> state.kafkaInitServiceAccount())
-                .compose(state -> state.kafkaInitClusterRoleBinding())
-                .compose(state -> state.kafkaScaleDown())
-                .compose(state -> state.kafkaService())
-                .compose(state -> state.kafkaHeadlessService())
-                .compose(state -> state.kafkaExternalBootstrapService())
-                .compose(state -> state.kafkaReplicaServices())
-                .compose(state -> state.kafkaBootstrapRoute())
-                .compose(state -> state.kafkaReplicaRoutes())
-                .compose(state -> state.kafkaBootstrapIngress())
-                .compose(state -> state.kafkaReplicaIngress())
-                .compose(state -> state.kafkaExternalBootstrapServiceReady())
-                .compose(state -> state.kafkaReplicaServicesReady())
-                .compose(state -> state.kafkaBootstrapRouteReady())
-                .compose(state -> state.kafkaReplicaRoutesReady())
-                .compose(state -> state.kafkaGenerateCertificates(this::dateSupplier))
-                .compose(state -> state.customTlsListenerCertificate())
-                .compose(state -> state.customExternalListenerCertificate())
-                .compose(state -> state.kafkaAncillaryCm())
-                .compose(state -> state.kafkaBrokersSecret())
-                .compose(state -> state.kafkaJmxSecret())
-                .compose(state -> state.kafkaPodDisruptionBudget())
-                .compose(state -> state.kafkaStatefulSet())
-                .compose(state -> state.kafkaRollingUpdate())
-                .compose(state -> state.kafkaScaleUp())
-                .compose(state -> state.kafkaPodsReady())
-                .compose(state -> state.kafkaServiceEndpointReady())
-                .compose(state -> state.kafkaHeadlessServiceEndpointReady())
-                .compose(state -> state.kafkaNodePortExternalListenerStatus())
-                .compose(state -> state.kafkaPersistentClaimDeletion())
-                .compose(state -> state.kafkaTlsListenerCertificatesToStatus())
-                .compose(state -> state.kafkaExternalListenerCertificatesToStatus())
-
-                .compose(state -> state.checkUnsupportedTopicOperator())
-
-                .compose(state -> state.getEntityOperatorDescription())
-                .compose(state -> state.entityOperatorServiceAccount())
-                .compose(state -> state.entityOperatorTopicOpRoleBinding())
-                .compose(state -> state.entityOperatorUserOpRoleBinding())
-                .compose(state -> state.entityOperatorTopicOpAncillaryCm())
-                .compose(state -> state.entityOperatorUserOpAncillaryCm())
-                .compose(state -> state.entityOperatorSecret(this::dateSupplier))
-                .compose(state -> state.entityOperatorDeployment())
-                .compose(state -> state.entityOperatorReady())
-
-                .compose(state -> state.getCruiseControlDescription())
-                .compose(state -> state.cruiseControlNetPolicy())
-                .compose(state -> state.cruiseControlServiceAccount())
-                .compose(state -> state.cruiseControlAncillaryCm())
-                .compose(state -> state.cruiseControlSecret(this::dateSupplier))
-                .compose(state -> state.cruiseControlDeployment())
-                .compose(state -> state.cruiseControlService())
-                .compose(state -> state.cruiseControlReady())
-
-                .compose(state -> state.getKafkaExporterDescription())
-                .compose(state -> state.kafkaExporterServiceAccount())
-                .compose(state -> state.kafkaExporterSecret(this::dateSupplier))
-                .compose(state -> state.kafkaExporterService())
-                .compose(state -> state.kafkaExporterDeployment())
-                .compose(state -> state.kafkaExporterReady())
-
-                .compose(state -> state.getJmxTransDescription())
-                .compose(state -> state.jmxTransServiceAccount())
-                .compose(state -> state.jmxTransConfigMap())
-                .compose(state -> state.jmxTransDeployment())
-                .compose(state -> state.jmxTransDeploymentReady())
-
-                .map((Void) null)
-                .onComplete(chainPromise);
-
-        return chainPromise.future();
+                .step("rollingUpdateForNewCaKey", state -> state.rollingUpdateForNewCaKey(), "clusterOperatorSecret")
+
+                .step("getZookeeperDescription", state -> state.getZookeeperDescription(), "rollingUpdateForNewCaKey")
+                .step("zkModelWarnings", state -> state.zkModelWarnings(), "getZookeeperDescription")
+                .step("zkNetPolicy", state -> state.zkNetPolicy(), "zkManualPodCleaning")
+                .step("zookeeperServiceAccount", state -> state.zookeeperServiceAccount(), "zkVersionChange")
+                .step("zkService", state -> state.zkService(), "zkVersionChange")
+                .step("zkHeadlessService", state -> state.zkHeadlessService(), "zkVersionChange")
+                .step("zkAncillaryCm", state -> state.zkAncillaryCm(), "zkVersionChange")
+                .step("zkNodesSecret", state -> state.zkNodesSecret(this::dateSupplier), "zkVersionChange")
+                .step("zkPodDisruptionBudget", state -> state.zkPodDisruptionBudget(), "zkVersionChange")
+                .step("zkManualPodCleaning", state -> state.zkManualPodCleaning(), "getZookeeperDescription")
+                .step("zkManualRollingUpdate", state -> state.zkManualRollingUpdate(), "zkManualPodCleaning")
+                .step("zkVersionChange", state -> state.zkVersionChange(), "zkManualRollingUpdate")
+                .step("zkPvcs", state -> state.zkPvcs(), "zkVersionChange")
+                .step("zkStatefulSet", state -> state.zkStatefulSet(), "zkModelWarnings", "zkNetPolicy", "zookeeperServiceAccount",
+                        "zkService", "zkHeadlessService", "zkAncillaryCm", "zkNodesSecret", "zkPodDisruptionBudget", "zkPvcs")
+                .step("zkScalingDown", state -> state.zkScalingDown(), "zkStatefulSet")
+                .step("zkRollingUpdate", state -> state.zkRollingUpdate(), "zkScalingDown")
+                .step("zkPodsReady", state -> state.zkPodsReady(), "zkRollingUpdate")
+                .step("zkScalingUp", state -> state.zkScalingUp(), "zkPodsReady")
+                .step("zkScalingCheck", state -> state.zkScalingCheck(), "zkScalingUp")
+                .step("zkServiceEndpointReadiness", state -> state.zkServiceEndpointReadiness(), "zkScalingCheck")
+                .step("zkHeadlessServiceEndpointReadiness", state -> state.zkHeadlessServiceEndpointReadiness(), "zkScalingCheck")
+                .step("zkPersistentClaimDeletion", state -> state.zkPersistentClaimDeletion(), "zkServiceEndpointReadiness", "zkHeadlessServiceEndpointReadiness")
+
+                .step("getKafkaClusterDescription", state -> state.getKafkaClusterDescription(), "zkPersistentClaimDeletion")
+                .step("checkKafkaSpec", state -> state.checkKafkaSpec(), "getKafkaClusterDescription")
+                .step("kafkaModelWarnings", state -> state.kafkaModelWarnings(), "checkKafkaSpec")
+                .step("kafkaNetPolicy", state -> state.kafkaNetPolicy(), "kafkaManualPodCleaning")
+                .step("kafkaInitServiceAccount", state -> state.kafkaInitServiceAccount(), "kafkaPvcs")
+                .step("kafkaInitClusterRoleBinding", state -> state.kafkaInitClusterRoleBinding(), "kafkaPvcs")
+                .step("kafkaJmxSecret", state -> state.kafkaJmxSecret(), "kafkaPvcs")
+                .step("kafkaPodDisruptionBudget", state -> state.kafkaPodDisruptionBudget(), "kafkaPvcs")
+                .step("customTlsListenerCertificate", state -> state.customTlsListenerCertificate(), "kafkaPvcs")
+                .step("customExternalListenerCertificate", state -> state.customExternalListenerCertificate(), "kafkaPvcs")
+                .step("kafkaManualPodCleaning", state -> state.kafkaManualPodCleaning(), "kafkaModelWarnings")
+                .step("kafkaManualRollingUpdate", state -> state.kafkaManualRollingUpdate(), "kafkaManualPodCleaning")
+                .step("kafkaVersionChange", state -> state.kafkaVersionChange(), "kafkaManualRollingUpdate")
+                .step("kafkaPvcs", state -> state.kafkaPvcs(), "kafkaVersionChange")
+                .step("kafkaScaleDown", state -> state.kafkaScaleDown(), "kafkaPvcs")
+                // The listener steps collect the advertised hostnames used in the broker configuration. They run
+                // after the version change which generates the broker configuration as well.
+                .step("kafkaService", state -> state.kafkaService(), "kafkaScaleDown")
+                .step("kafkaHeadlessService", state -> state.kafkaHeadlessService(), "kafkaScaleDown")
+                .step("kafkaExternalBootstrapService", state -> state.kafkaExternalBootstrapService(), "kafkaScaleDown")
+                .step("kafkaReplicaServices", state -> state.kafkaReplicaServices(), "kafkaScaleDown")
+                .step("kafkaBootstrapRoute", state -> state.kafkaBootstrapRoute(), "kafkaScaleDown")
+                .step("kafkaReplicaRoutes", state -> state.kafkaReplicaRoutes(), "kafkaScaleDown")
+                .step("kafkaBootstrapIngress", state -> state.kafkaBootstrapIngress(), "kafkaScaleDown")
+                .step("kafkaReplicaIngress", state -> state.kafkaReplicaIngress(), "kafkaScaleDown")
+                // The listener statuses are added in this order
+                .step("kafkaExternalBootstrapServiceReady", state -> state.kafkaExternalBootstrapServiceReady(), "kafkaService", "kafkaExternalBootstrapService")
+                .step("kafkaReplicaServicesReady", state -> state.kafkaReplicaServicesReady(), "kafkaExternalBootstrapServiceReady", "kafkaReplicaServices")
+                .step("kafkaBootstrapRouteReady", state -> state.kafkaBootstrapRouteReady(), "kafkaReplicaServicesReady", "kafkaBootstrapRoute")
+                .step("kafkaReplicaRoutesReady", state -> state.kafkaReplicaRoutesReady(), "kafkaBootstrapRouteReady", "kafkaReplicaRoutes")
+                .step("kafkaGenerateCertificates", state -> state.kafkaGenerateCertificates(this::dateSupplier), "kafkaReplicaRoutesReady", "kafkaBootstrapIngress", "kafkaReplicaIngress")
+                .step("kafkaAncillaryCm", state -> state.kafkaAncillaryCm(), "kafkaReplicaRoutesReady", "kafkaBootstrapIngress", "kafkaReplicaIngress")
+                .step("kafkaBrokersSecret", state -> state.kafkaBrokersSecret(), "kafkaGenerateCertificates")
+                .step("kafkaStatefulSet", state -> state.kafkaStatefulSet(), "kafkaNetPolicy", "kafkaInitServiceAccount", "kafkaInitClusterRoleBinding",
+                        "kafkaJmxSecret", "kafkaPodDisruptionBudget", "customTlsListenerCertificate", "customExternalListenerCertificate",
+                        "kafkaHeadlessService", "kafkaAncillaryCm", "kafkaBrokersSecret")
+                .step("kafkaRollingUpdate", state -> state.kafkaRollingUpdate(), "kafkaStatefulSet")
+                .step("kafkaScaleUp", state -> state.kafkaScaleUp(), "kafkaRollingUpdate")
+                .step("kafkaPodsReady", state -> state.kafkaPodsReady(), "kafkaScaleUp")
+                .step("kafkaServiceEndpointReady", state -> state.kafkaServiceEndpointReady(), "kafkaPodsReady")
+                .step("kafkaHeadlessServiceEndpointReady", state -> state.kafkaHeadlessServiceEndpointReady(), "kafkaPodsReady")
+                .step("kafkaNodePortExternalListenerStatus", state -> state.kafkaNodePortExternalListenerStatus(), "kafkaPodsReady")
+                .step("kafkaPersistentClaimDeletion", state -> state.kafkaPersistentClaimDeletion(),
+                        "kafkaServiceEndpointReady", "kafkaHeadlessServiceEndpointReady", "kafkaNodePortExternalListenerStatus")
+                .step("kafkaTlsListenerCertificatesToStatus", state -> state.kafkaTlsListenerCertificatesToStatus(), "kafkaPersistentClaimDeletion")
+                .step("kafkaExternalListenerCertificatesToStatus", state -> state.kafkaExternalListenerCertificatesToStatus(), "kafkaTlsListenerCertificatesToStatus")
+
+                .step("checkUnsupportedTopicOperator", state -> state.checkUnsupportedTopicOperator(), "kafkaExternalListenerCertificatesToStatus")
+
+                .step("getEntityOperatorDescription", state -> state.getEntityOperatorDescription(), "checkUnsupportedTopicOperator")
+                .step("entityOperatorServiceAccount", state -> state.entityOperatorServiceAccount(), "getEntityOperatorDescription")
+                .step("entityOperatorTopicOpRoleBinding", state -> state.entityOperatorTopicOpRoleBinding(), "getEntityOperatorDescription")
+                .step("entityOperatorUserOpRoleBinding", state -> state.entityOperatorUserOpRoleBinding(), "getEntityOperatorDescription")
+                .step("entityOperatorTopicOpAncillaryCm", state -> state.entityOperatorTopicOpAncillaryCm(), "getEntityOperatorDescription")
+                .step("entityOperatorUserOpAncillaryCm", state -> state.entityOperatorUserOpAncillaryCm(), "getEntityOperatorDescription")
+                .step("entityOperatorSecret", state -> state.entityOperatorSecret(this::dateSupplier), "getEntityOperatorDescription")
+                .step("entityOperatorDeployment", state -> state.entityOperatorDeployment(), "entityOperatorServiceAccount",
+                        "entityOperatorTopicOpRoleBinding", "entityOperatorUserOpRoleBinding", "entityOperatorTopicOpAncillaryCm",
+                        "entityOperatorUserOpAncillaryCm", "entityOperatorSecret")
+                .step("entityOperatorReady", state -> state.entityOperatorReady(), "entityOperatorDeployment")
+
+                .step("getCruiseControlDescription", state -> state.getCruiseControlDescription(), "checkUnsupportedTopicOperator")
+                .step("cruiseControlNetPolicy", state -> state.cruiseControlNetPolicy(), "getCruiseControlDescription")
+                .step("cruiseControlServiceAccount", state -> state.cruiseControlServiceAccount(), "getCruiseControlDescription")
+                .step("cruiseControlAncillaryCm", state -> state.cruiseControlAncillaryCm(), "getCruiseControlDescription")
+                .step("cruiseControlSecret", state -> state.cruiseControlSecret(this::dateSupplier), "getCruiseControlDescription")
+                .step("cruiseControlDeployment", state -> state.cruiseControlDeployment(), "cruiseControlNetPolicy",
+                        "cruiseControlServiceAccount", "cruiseControlAncillaryCm", "cruiseControlSecret")
+                .step("cruiseControlService", state -> state.cruiseControlService(), "getCruiseControlDescription")
+                .step("cruiseControlReady", state -> state.cruiseControlReady(), "cruiseControlDeployment", "cruiseControlService")
+
+                .step("getKafkaExporterDescription", state -> state.getKafkaExporterDescription(), "checkUnsupportedTopicOperator")
+                .step("kafkaExporterServiceAccount", state -> state.kafkaExporterServiceAccount(), "getKafkaExporterDescription")
+                .step("kafkaExporterSecret", state -> state.kafkaExporterSecret(this::dateSupplier), "getKafkaExporterDescription")
+                .step("kafkaExporterService", state -> state.kafkaExporterService(), "getKafkaExporterDescription")
+                .step("kafkaExporterDeployment", state -> state.kafkaExporterDeployment(), "kafkaExporterServiceAccount",
+                        "kafkaExporterSecret", "kafkaExporterService")
+                .step("kafkaExporterReady", state -> state.kafkaExporterReady(), "kafkaExporterDeployment")
+
+                .step("getJmxTransDescription", state -> state.getJmxTransDescription(), "checkUnsupportedTopicOperator")
+                .step("jmxTransServiceAccount", state -> state.jmxTransServiceAccount(), "getJmxTransDescription")
+                .step("jmxTransConfigMap", state -> state.jmxTransConfigMap(), "getJmxTransDescription")
+                .step("jmxTransDeployment", state -> state.jmxTransDeployment(), "jmxTransServiceAccount", "jmxTransConfigMap")
+                .step("jmxTransDeploymentReady", state -> state.jmxTransDeploymentReady(), "jmxTransDeployment");
     }
 
     ReconciliationState createReconciliationState(Reconciliation reconciliation, Kafka kafkaAssembly) {
@@ -417,8 +457,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         /* test */ Set<String> fsResizingRestartRequest = new HashSet<>();
 
         // Certificate change indicators
-        private boolean existingZookeeperCertsChanged = false;
-        private boolean existingKafkaCertsChanged = false;
+        private Set<String> zookeeperPodsWithChangedCerts = Collections.emptySet();
+        private Set<String> kafkaPodsWithChangedCerts = Collections.emptySet();
         private boolean existingKafkaExporterCertsChanged = false;
         private boolean existingEntityOperatorCertsChanged = false;
         private boolean existingCruiseControlCertsChanged = false;
@@ -576,7 +616,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             Labels selectorLabels = Labels.EMPTY.withStrimziKind(reconciliation.kind()).withStrimziCluster(reconciliation.name());
             Labels caLabels = Labels.generateDefaultLabels(kafkaAssembly, Labels.APPLICATION_NAME, AbstractModel.STRIMZI_CLUSTER_OPERATOR_NAME);
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.<ReconciliationState>executeBlocking(vertx, WorkerPools.Pool.CRYPTO,
                 future -> {
                     try {
                         String clusterCaCertName = AbstractModel.clusterCaCertSecretName(name);
@@ -1375,23 +1415,49 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
          * @return              Future with True if the existing certificates changed and False if they didn't
          */
         Future<Boolean> updateCertificateSecretWithDiff(String secretName, Secret secret)   {
+            return updatePodCertificatesSecretWithDiff(secretName, secret)
+                    .map(podsWithChangedCerts -> !podsWithChangedCerts.isEmpty());
+        }
+
+        /**
+         * Reconciles Secret with the certificates of the pods and evaluates which of the existing certificates inside
+         * changed. The Secret is only patched with the keys which changed, so the pods whose certificates were kept
+         * don't have to be rolled.
+         *
+         * @param secretName    Name of the secret
+         * @param secret        The new secret
+         * @return              Future with the names of the pods whose existing certificates changed
+         */
+        Future<Set<String>> updatePodCertificatesSecretWithDiff(String secretName, Secret secret)   {
             return secretOperations.getAsync(namespace, secretName)
                     .compose(oldSecret -> secretOperations.reconcile(namespace, secretName, secret)
                             .map(res -> {
                                 if (res instanceof ReconcileResult.Patched) {
                                     // The secret is patched and some changes to the existing certificates actually occured
-                                    return ModelUtils.doExistingCertificatesDiffer(oldSecret, res.resource());
+                                    return ModelUtils.ownersOfChangedCertificates(oldSecret, res.resource());
                                 }
 
-                                return false;
+                                return Collections.<String>emptySet();
                             })
                     );
         }
 
         Future<ReconciliationState> zkNodesSecret(Supplier<Date> dateSupplier) {
-            return updateCertificateSecretWithDiff(ZookeeperCluster.nodesSecretName(name), zkCluster.generateNodesSecret(clusterCa, kafkaAssembly, isMaintenanceTimeWindowsSatisfied(dateSupplier)))
-                    .map(changed -> {
-                        existingZookeeperCertsChanged = changed;
+            Promise<Secret> secretPromise = Promise.promise();
+            WorkerPools.<Secret>executeBlocking(vertx, WorkerPools.Pool.CRYPTO,
+                future -> {
+                    try {
+                        future.complete(zkCluster.generateNodesSecret(clusterCa, kafkaAssembly, isMaintenanceTimeWindowsSatisfied(dateSupplier)));
+                    } catch (Throwable e) {
+                        future.fail(e);
+                    }
+                },
+                true,
+                secretPromise);
+            return secretPromise.future()
+                    .compose(secret -> updatePodCertificatesSecretWithDiff(ZookeeperCluster.nodesSecretName(name), secret))
+                    .map(podsWithChangedCerts -> {
+                        zookeeperPodsWithChangedCerts = podsWithChangedCerts;
                         return this;
                     });
         }
@@ -1415,7 +1481,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             // Scale-down and Scale-up might have change the STS. we should get a fresh one.
             return zkSetOperations.getAsync(namespace, ZookeeperCluster.zookeeperClusterName(name))
                     .compose(sts -> zkSetOperations.maybeRollingUpdate(sts,
-                        pod -> getReasonsToRestartPod(zkDiffs.resource(), pod, existingZookeeperCertsChanged, this.clusterCa)))
+                        pod -> getReasonsToRestartPod(zkDiffs.resource(), pod, zookeeperPodsWithChangedCerts, this.clusterCa)))
                     .map(this);
         }
 
@@ -1655,7 +1721,11 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         }
 
         Future<ReconciliationState> kafkaScaleDown() {
-            return withVoid(kafkaSetOperations.scaleDown(namespace, kafkaCluster.getName(), kafkaCluster.getReplicas()));
+            return withVoid(kafkaSetOperations.scaleDown(namespace, kafkaCluster.getName(), kafkaCluster.getReplicas())
+                    .map(replicas -> {
+                        kafkaSetOperations.brokersScaledDown(namespace, name, kafkaCluster.getReplicas());
+                        return replicas;
+                    }));
         }
 
         Future<ReconciliationState> kafkaService() {
@@ -1777,7 +1847,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.executeBlocking(vertx, WorkerPools.Pool.POLLING,
                 future -> {
                     String serviceName = KafkaCluster.externalBootstrapServiceName(name);
                     Future<Void> address = null;
@@ -1898,7 +1968,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.executeBlocking(vertx, WorkerPools.Pool.POLLING,
                 future -> {
                     int replicas = kafkaCluster.getReplicas();
                     List<Future> serviceFutures = new ArrayList<>(replicas);
@@ -2015,7 +2085,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.executeBlocking(vertx, WorkerPools.Pool.POLLING,
                 future -> {
                     String routeName = KafkaCluster.serviceName(name);
                     Future<Void> address = routeOperations.hasAddress(namespace, routeName, 1_000, operationTimeoutMs);
@@ -2058,7 +2128,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.executeBlocking(vertx, WorkerPools.Pool.POLLING,
                 future -> {
                     int replicas = kafkaCluster.getReplicas();
                     List<Future> routeFutures = new ArrayList<>(replicas);
@@ -2126,7 +2196,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
         Future<ReconciliationState> kafkaGenerateCertificates(Supplier<Date> dateSupplier) {
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.<ReconciliationState>executeBlocking(vertx, WorkerPools.Pool.CRYPTO,
                 future -> {
                     try {
                         kafkaCluster.generateCertificates(kafkaAssembly,
@@ -2224,7 +2294,9 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             ConfigMap brokerCm = kafkaCluster.generateAncillaryConfigMap(loggingCm, kafkaExternalAdvertisedHostnames, kafkaExternalAdvertisedPorts);
 
-            String brokerConfiguration = brokerCm.getData().get(KafkaCluster.BROKER_CONFIGURATION_FILENAME);
+            // The values of the configs which the brokers can update dynamically are not part of the hash, so that
+            // changing them does not restart the brokers. They are updated by the rolling update instead.
+            String brokerConfiguration = kafkaCluster.generateStaticBrokerConfiguration();
             brokerConfiguration += brokerCm.getData().getOrDefault(KafkaCluster.BROKER_ADVERTISED_PORTS_FILENAME, "");
             brokerConfiguration += brokerCm.getData().getOrDefault(KafkaCluster.BROKER_ADVERTISED_HOSTNAMES_FILENAME, "");
             this.kafkaBrokerConfigurationHash = getStringHash(brokerConfiguration);
@@ -2240,9 +2312,9 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         }
 
         Future<ReconciliationState> kafkaBrokersSecret() {
-            return updateCertificateSecretWithDiff(KafkaCluster.brokersSecretName(name), kafkaCluster.generateBrokersSecret())
-                    .map(changed -> {
-                        existingKafkaCertsChanged = changed;
+            return updatePodCertificatesSecretWithDiff(KafkaCluster.brokersSecretName(name), kafkaCluster.generateBrokersSecret())
+                    .map(podsWithChangedCerts -> {
+                        kafkaPodsWithChangedCerts = podsWithChangedCerts;
                         return this;
                     });
         }
@@ -2427,7 +2499,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
         Future<ReconciliationState> kafkaRollingUpdate() {
             return withVoid(kafkaSetOperations.maybeRollingUpdate(kafkaDiffs.resource(), pod ->
-                    getReasonsToRestartPod(kafkaDiffs.resource(), pod, existingKafkaCertsChanged, this.clusterCa, this.clientsCa)
+                    getReasonsToRestartPod(kafkaDiffs.resource(), pod, kafkaPodsWithChangedCerts, this.clusterCa, this.clientsCa),
+                    kafkaCluster.getConfiguration(), kafkaCluster.getKafkaVersion()
             ));
         }
 
@@ -3073,11 +3146,12 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         /**
          * @param sts Stateful set to which pod belongs
          * @param pod Pod to restart
+         * @param podsWithChangedCerts Names of the pods whose server certificates changed
          * @param cas Certificate authorities to be checked for changes
          * @return null or empty if the restart is not needed, reason String otherwise
          */
         private String getReasonsToRestartPod(StatefulSet sts, Pod pod,
-                                       boolean nodeCertsChange,
+                                       Set<String> podsWithChangedCerts,
                                        Ca... cas) {
             if (pod == null)    {
                 // When the Pod doesn't exist, it doesn't need to be restarted.
@@ -3113,7 +3187,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             if (!isCustomCertExternalListenerUpToDate) {
                 reasons.add("custom certificate on the external listener changes");
             }
-            if (nodeCertsChange) {
+            if (podsWithChangedCerts.contains(pod.getMetadata().getName())) {
                 reasons.add("server certificates changed");
             }
             if (!reasons.isEmpty()) {
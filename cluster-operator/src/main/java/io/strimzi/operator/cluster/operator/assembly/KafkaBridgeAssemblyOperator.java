@@ -94,15 +94,15 @@ public class KafkaBridgeAssemblyOperator extends AbstractAssemblyOperator<Kubern
 
         boolean bridgeHasZeroReplicas = bridge.getReplicas() == 0;
         log.debug("{}: Updating Kafka Bridge cluster", reconciliation);
-        kafkaBridgeServiceAccount(namespace, bridge)
-            .compose(i -> deploymentOperations.scaleDown(namespace, bridge.getName(), bridge.getReplicas()))
-            .compose(scale -> serviceOperations.reconcile(namespace, bridge.getServiceName(), bridge.generateService()))
-            .compose(i -> configMapOperations.reconcile(namespace, bridge.getAncillaryConfigMapName(), logAndMetricsConfigMap))
-            .compose(i -> podDisruptionBudgetOperator.reconcile(namespace, bridge.getName(), bridge.generatePodDisruptionBudget()))
-            .compose(i -> deploymentOperations.reconcile(namespace, bridge.getName(), bridge.generateDeployment(annotations, pfa.isOpenshift(), imagePullPolicy, imagePullSecrets)))
-            .compose(i -> deploymentOperations.scaleUp(namespace, bridge.getName(), bridge.getReplicas()))
-            .compose(i -> deploymentOperations.waitForObserved(namespace, bridge.getName(), 1_000, operationTimeoutMs))
-            .compose(i -> bridgeHasZeroReplicas ? Future.succeededFuture() : deploymentOperations.readiness(namespace, bridge.getName(), 1_000, operationTimeoutMs))
+        step(reconciliation, "service-account", () -> kafkaBridgeServiceAccount(namespace, bridge))
+            .compose(i -> step(reconciliation, "scale-down", () -> deploymentOperations.scaleDown(namespace, bridge.getName(), bridge.getReplicas())))
+            .compose(scale -> step(reconciliation, "service", () -> serviceOperations.reconcile(namespace, bridge.getServiceName(), bridge.generateService())))
+            .compose(i -> step(reconciliation, "config-map", () -> configMapOperations.reconcile(namespace, bridge.getAncillaryConfigMapName(), logAndMetricsConfigMap)))
+            .compose(i -> step(reconciliation, "pod-disruption-budget", () -> podDisruptionBudgetOperator.reconcile(namespace, bridge.getName(), bridge.generatePodDisruptionBudget())))
+            .compose(i -> step(reconciliation, "deployment", () -> deploymentOperations.reconcile(namespace, bridge.getName(), bridge.generateDeployment(annotations, pfa.isOpenshift(), imagePullPolicy, imagePullSecrets))))
+            .compose(i -> step(reconciliation, "scale-up", () -> deploymentOperations.scaleUp(namespace, bridge.getName(), bridge.getReplicas())))
+            .compose(i -> step(reconciliation, "deployment-observed", () -> deploymentOperations.waitForObserved(namespace, bridge.getName(), 1_000, operationTimeoutMs)))
+            .compose(i -> step(reconciliation, "deployment-ready", () -> bridgeHasZeroReplicas ? Future.succeededFuture() : deploymentOperations.readiness(namespace, bridge.getName(), 1_000, operationTimeoutMs)))
             .onComplete(reconciliationResult -> {
                 StatusUtils.setStatusConditionAndObservedGeneration(assemblyResource, kafkaBridgeStatus, reconciliationResult.mapEmpty());
                 if (!bridgeHasZeroReplicas) {
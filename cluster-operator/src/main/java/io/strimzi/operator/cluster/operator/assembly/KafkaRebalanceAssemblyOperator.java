@@ -374,8 +374,8 @@ public class KafkaRebalanceAssemblyOperator
         }
         log.info("{}: Rebalance action from state [{}]", reconciliation, currentState);
 
-        return computeNextStatus(reconciliation, host, apiClient, kafkaRebalance, currentState, rebalanceAnnotation, rebalanceOptionsBuilder)
-           .compose(desiredStatus -> {
+        return step(reconciliation, "compute-next-status", () -> computeNextStatus(reconciliation, host, apiClient, kafkaRebalance, currentState, rebalanceAnnotation, rebalanceOptionsBuilder))
+           .compose(desiredStatus -> step(reconciliation, "update-status", () -> {
                // due to a long rebalancing operation that takes the lock for the entire period, more events related to resource modification could be
                // queued with a stale resource (updated by the rebalancing holding the lock), so we need to get the current fresh resource
                return kafkaRebalanceOperator.getAsync(reconciliation.namespace(), reconciliation.name())
@@ -408,7 +408,7 @@ public class KafkaRebalanceAssemblyOperator
                                     log.error("{}: Status updated to [NotReady] due to error: {}", reconciliation, exception.getMessage());
                                     return updateStatus(kafkaRebalance, new KafkaRebalanceStatus(), exception)
                                             .mapEmpty();
-                                }); },
+                                }); }),
                exception -> {
                    log.error("{}: Status updated to [NotReady] due to error: {}", reconciliation, exception.getMessage());
                    return updateStatus(kafkaRebalance, new KafkaRebalanceStatus(), exception)
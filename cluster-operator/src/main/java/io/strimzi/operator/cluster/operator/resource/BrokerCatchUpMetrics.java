@@ -0,0 +1,92 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.MetricsProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gauges of the replication catch-up of the Kafka brokers restarted by rolling updates: the percentage of the
+ * partitions with a replica on the broker which are fully replicated again. The gauge of a broker is registered when
+ * it is restarted for the first time and kept, so it shows the progress of the latest restart of the broker. The
+ * gauges are removed when the broker is removed by a scale-down or when the cluster is deleted.
+ */
+class BrokerCatchUpMetrics {
+    static final String METRIC_NAME = AbstractOperator.METRICS_PREFIX + "kafka.broker.replication.catchup.percent";
+
+    private final MetricsProvider metricsProvider;
+    // The gauges of the brokers by namespace/cluster and by broker id
+    private final Map<String, Map<Integer, AtomicInteger>> gauges = new ConcurrentHashMap<>();
+
+    BrokerCatchUpMetrics(MetricsProvider metricsProvider) {
+        this.metricsProvider = metricsProvider;
+    }
+
+    /**
+     * @param namespace The namespace of the Kafka cluster
+     * @param cluster   The name of the Kafka cluster
+     * @param broker    The id of the broker
+     * @return  The gauge of the catch-up progress of the broker
+     */
+    AtomicInteger progress(String namespace, String cluster, int broker) {
+        return gauges.computeIfAbsent(namespace + "/" + cluster, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(broker, key -> metricsProvider.gauge(METRIC_NAME,
+                    "Percentage of the partitions of a restarted Kafka broker which are fully replicated again",
+                    tags(namespace, cluster, broker)));
+    }
+
+    /**
+     * Removes the gauges of the brokers removed by a scale-down.
+     *
+     * @param namespace The namespace of the Kafka cluster
+     * @param cluster   The name of the Kafka cluster
+     * @param replicas  The number of brokers left, the gauges of the brokers with higher ids are removed
+     */
+    void removeBrokers(String namespace, String cluster, int replicas) {
+        Map<Integer, AtomicInteger> brokers = gauges.get(namespace + "/" + cluster);
+
+        if (brokers != null) {
+            brokers.keySet().removeIf(broker -> {
+                if (broker >= replicas) {
+                    remove(namespace, cluster, broker);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Removes the gauges of all the brokers of a deleted cluster.
+     *
+     * @param namespace The namespace of the Kafka cluster
+     * @param cluster   The name of the Kafka cluster
+     */
+    void removeCluster(String namespace, String cluster) {
+        Map<Integer, AtomicInteger> brokers = gauges.remove(namespace + "/" + cluster);
+
+        if (brokers != null) {
+            brokers.keySet().forEach(broker -> remove(namespace, cluster, broker));
+        }
+    }
+
+    private void remove(String namespace, String cluster, int broker) {
+        Gauge gauge = metricsProvider.meterRegistry().find(METRIC_NAME).tags(tags(namespace, cluster, broker)).gauge();
+
+        if (gauge != null) {
+            metricsProvider.meterRegistry().remove(gauge);
+        }
+    }
+
+    private static Tags tags(String namespace, String cluster, int broker) {
+        return Tags.of("namespace", namespace, "name", cluster, "broker", String.valueOf(broker));
+    }
+}
@@ -11,15 +11,21 @@ import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.admin.TopicDescription;
-import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.TopicConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,26 +34,70 @@ import java.util.stream.Collectors;
 import static java.lang.Integer.parseInt;
 
 /**
- * Determines whether the given broker can be rolled without affecting
- * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+ * <p>Determines whether the given broker can be rolled without affecting
+ * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.</p>
+ *
+ * <p>One instance is shared by all the pods of a rolling restart. The descriptions of all topics are fetched only
+ * once and indexed in a {@link PartitionIndex}, so checking a broker only scans the partitions with a replica on the
+ * broker. Afterwards, only the topics which might have changed are described again: the topics with a replica on a
+ * broker which was restarted in the meantime (see {@link #brokerRestarted(int)}) and the topics which prevented a
+ * broker from being rolled. The {@code min.in.sync.replicas} of each topic is fetched once, when a broker with a
+ * replica of the topic is checked for the first time.</p>
+ *
+ * <p>After a broker was restarted, {@link #underReplicatedPartitions(int)} tracks the catch-up of the partitions with
+ * a replica on the broker, describing again only the topics which are still under-replicated, so that the next broker
+ * is checked against up-to-date ISRs.</p>
  */
 class KafkaAvailability {
 
     private static final Logger log = LogManager.getLogger(KafkaAvailability.class.getName());
 
-    private final Admin ac;
-    private final Future<Collection<TopicDescription>> descriptions;
+    private volatile Admin ac;
+
+    private final Map<String, TopicDescription> descriptions = new HashMap<>();
+    private final Map<String, Integer> minIsrs = new HashMap<>();
+    private final Set<String> staleTopics = new HashSet<>();
+    // The partitions which were fully replicated when each broker was restarted
+    private final Map<Integer, Set<TopicPartition>> catchingUp = new HashMap<>();
+    private PartitionIndex index = new PartitionIndex(Collections.emptyList());
+    private Future<Void> snapshot;
 
     KafkaAvailability(Admin ac) {
         this.ac = ac;
-        // 1. Get all topic names
-        Future<Set<String>> topicNames = topicNames();
-        // 2. Get topic descriptions
-        descriptions = topicNames.compose(names -> {
-            log.debug("Got {} topic names", names.size());
-            log.trace("Topic names {}", names);
-            return describeTopics(names);
-        });
+    }
+
+    /**
+     * Sets the Admin client used for the following checks. The rolling restart leases one pooled Admin client for the
+     * whole rolling restart, so this is normally the client this was created with. The topic metadata are kept for the
+     * whole rolling restart, whichever client is used.
+     *
+     * @param ac    The Admin client
+     */
+    void useAdminClient(Admin ac) {
+        this.ac = ac;
+    }
+
+    /**
+     * Marks the topics with a replica on the given broker for refresh, because their ISRs changed when the broker
+     * was restarted, and notes the partitions of the broker which were fully replicated before, as they are expected
+     * to catch up.
+     *
+     * @param podId The id of the restarted broker
+     */
+    synchronized void brokerRestarted(int podId) {
+        Set<String> topics = topicsOn(podId);
+        if (!topics.isEmpty()) {
+            log.debug("Topics {} will be described again because broker {} was restarted", topics, podId);
+            staleTopics.addAll(topics);
+        }
+
+        Set<TopicPartition> replicated = new HashSet<>();
+        for (int partition : index.partitionsOn(podId)) {
+            if (index.isrSize(partition) >= index.replicaCount(partition)) {
+                replicated.add(topicPartition(partition));
+            }
+        }
+        catchingUp.put(podId, replicated);
     }
 
     /**
@@ -56,28 +106,275 @@ class KafkaAvailability {
      */
     Future<Boolean> canRoll(int podId) {
         log.debug("Determining whether broker {} can be rolled", podId);
-        return canRollBroker(descriptions, podId);
+        return canRollBroker(refreshSnapshot(), podId);
+    }
+
+    /**
+     * Counts the under-replicated partitions with a replica on the given broker, after it was restarted. Only the
+     * partitions which were fully replicated when the broker was restarted (see {@link #brokerRestarted(int)}) are
+     * counted, so that partitions which were under-replicated for other reasons do not hold up the rolling restart.
+     * The topics of the broker were marked for refresh when it was restarted, so they are described again. The topics
+     * with partitions which are still under-replicated are marked for refresh again, so that the next check describes
+     * only them.
+     *
+     * @param podId The id of the restarted broker
+     * @return  Future which completes with the number of under-replicated partitions
+     */
+    Future<Integer> underReplicatedPartitions(int podId) {
+        return refreshSnapshot().map(ignored -> {
+            synchronized (this) {
+                Set<TopicPartition> tracked = catchingUp.get(podId);
+                Set<String> underReplicatedTopics = new HashSet<>();
+                int underReplicated = 0;
+                for (int partition : index.partitionsOn(podId)) {
+                    if (index.isrSize(partition) < index.replicaCount(partition)
+                            && (tracked == null || tracked.contains(topicPartition(partition)))) {
+                        underReplicated++;
+                        underReplicatedTopics.add(index.topicName(index.topic(partition)));
+                    }
+                }
+
+                if (underReplicated > 0) {
+                    log.debug("Broker {} has {} under-replicated partitions of topics {}", podId, underReplicated, underReplicatedTopics);
+                    staleTopics.addAll(underReplicatedTopics);
+                }
+                return underReplicated;
+            }
+        });
+    }
+
+    /**
+     * @param podId The id of the restarted broker
+     * @return  The number of partitions counted by {@link #underReplicatedPartitions(int)}
+     */
+    synchronized int catchUpPartitions(int podId) {
+        Set<TopicPartition> tracked = catchingUp.get(podId);
+        return tracked != null ? tracked.size() : index.partitionsOn(podId).length;
+    }
+
+    private TopicPartition topicPartition(int partition) {
+        return new TopicPartition(index.topicName(index.topic(partition)), index.partitionId(partition));
+    }
+
+    /**
+     * Collects the partitions led by the given brokers from the topic metadata, which are refreshed first like for
+     * {@link #canRoll(int)}. Only the topics with a replica on the brokers are scanned, and no topic is described
+     * again unless it is stale.
+     *
+     * @param brokers   The ids of the brokers
+     * @return  Future which completes with the partitions led by the brokers
+     */
+    Future<Map<TopicPartition, TopicPartitionInfo>> partitionsLedBy(Collection<Integer> brokers) {
+        return refreshSnapshot().map(ignored -> {
+            synchronized (this) {
+                Set<String> topics = new HashSet<>();
+                for (int broker : brokers) {
+                    topics.addAll(topicsOn(broker));
+                }
+
+                Map<TopicPartition, TopicPartitionInfo> led = new LinkedHashMap<>();
+                for (String topic : topics) {
+                    for (TopicPartitionInfo partition : descriptions.get(topic).partitions()) {
+                        if (partition.leader() != null && brokers.contains(partition.leader().id())) {
+                            led.put(new TopicPartition(topic, partition.partition()), partition);
+                        }
+                    }
+                }
+                return led;
+            }
+        });
+    }
+
+    /**
+     * Determines which of the candidate brokers can be restarted together with the given broker, without any
+     * partition falling below its {@code min.in.sync.replicas}. The given broker has to be rollable on its own
+     * (see {@link #canRoll(int)}). The candidates in the same rack as the given broker are considered first, so when
+     * the replicas of all partitions are spread across racks, the group is made of the brokers of one rack.
+     *
+     * @param podId         The id of the broker to restart
+     * @param candidates    The ids of the other brokers which need to be restarted
+     * @param maxGroupSize  The maximum number of brokers in the group
+     * @return  Future which completes with the ids of the brokers to restart together, starting with the given broker
+     */
+    Future<List<Integer>> canRollTogether(int podId, List<Integer> candidates, int maxGroupSize) {
+        log.debug("Determining which of brokers {} can be rolled together with broker {}", candidates, podId);
+        return refreshSnapshot()
+                .map(ignored -> {
+                    synchronized (this) {
+                        Set<String> topics = topicsOn(podId);
+                        for (int candidate : candidates) {
+                            topics.addAll(topicsOn(candidate));
+                        }
+                        topics.removeAll(minIsrs.keySet());
+                        return topics;
+                    }
+                })
+                .compose(this::describeMinIsrs)
+                .map(ignored -> group(podId, candidates, maxGroupSize))
+                .recover(error -> {
+                    log.warn("Error determining which brokers can be restarted together with pod {}", podId, error);
+                    return Future.failedFuture(error);
+                });
+    }
+
+    private synchronized List<Integer> group(int podId, List<Integer> candidates, int maxGroupSize) {
+        List<Integer> group = new ArrayList<>(maxGroupSize);
+        // The number of replicas in the ISR of each partition which are on a broker of the group
+        int[] restartedInIsr = new int[index.partitionCount()];
+        join(podId, group, restartedInIsr);
+
+        String rack = index.rack(podId);
+        List<Integer> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparing(broker -> rack == null || !rack.equals(index.rack(broker))));
+
+        for (int candidate : ordered) {
+            if (group.size() >= maxGroupSize) {
+                break;
+            }
+
+            if (canJoin(candidate, restartedInIsr)) {
+                join(candidate, group, restartedInIsr);
+            }
+        }
+
+        log.debug("Brokers {} can be restarted together", group);
+        return group;
+    }
+
+    private void join(int broker, List<Integer> group, int[] restartedInIsr) {
+        group.add(broker);
+        for (int partition : index.partitionsOn(broker)) {
+            if (index.isInIsr(partition, broker)) {
+                restartedInIsr[partition]++;
+            }
+        }
+    }
+
+    private boolean canJoin(int broker, int[] restartedInIsr) {
+        for (int partition : index.partitionsOn(broker)) {
+            int minIsr = index.minIsr(index.topic(partition));
+            if (minIsr < 0 || index.replicaCount(partition) <= minIsr) {
+                continue;
+            }
+
+            int isr = index.isrSize(partition);
+            int restarted = restartedInIsr[partition] + (index.isInIsr(partition, broker) ? 1 : 0);
+            if (isr < minIsr || isr - restarted < minIsr) {
+                log.debug("{}/{} would be underreplicated if broker {} was restarted together with the group",
+                        index.topicName(index.topic(partition)), index.partitionId(partition), broker);
+                return false;
+            }
+        }
+        return true;
     }
 
-    private Future<Boolean> canRollBroker(Future<Collection<TopicDescription>> descriptions, int podId) {
-        Future<Set<TopicDescription>> topicsOnGivenBroker = descriptions
-                .compose(topicDescriptions -> {
-                    log.debug("Got {} topic descriptions", topicDescriptions.size());
-                    return Future.succeededFuture(groupTopicsByBroker(topicDescriptions, podId));
+    /**
+     * Refreshes the topic metadata. The first call (and the first call after a failed refresh) describes all the
+     * topics, the following calls describe only the stale topics. The refreshes are chained, so that concurrent checks
+     * see the topic metadata of all previous refreshes.
+     */
+    private synchronized Future<Void> refreshSnapshot() {
+        if (snapshot == null || snapshot.failed()) {
+            snapshot = describeAllTopics();
+        } else {
+            snapshot = snapshot.compose(ignored -> describeStaleTopics());
+        }
+
+        return snapshot;
+    }
+
+    private Future<Void> describeAllTopics() {
+        // 1. Get all topic names
+        return topicNames()
+                // 2. Get topic descriptions
+                .compose(names -> {
+                    log.debug("Got {} topic names", names.size());
+                    log.trace("Topic names {}", names);
+                    return describeTopics(names);
+                })
+                .map(tds -> {
+                    synchronized (this) {
+                        descriptions.clear();
+                        tds.forEach(td -> descriptions.put(td.name(), td));
+                        reindex();
+                    }
+                    return null;
+                });
+    }
+
+    private Future<Void> describeStaleTopics() {
+        Set<String> names;
+        synchronized (this) {
+            names = new HashSet<>(staleTopics);
+            names.retainAll(descriptions.keySet());
+            staleTopics.clear();
+        }
+
+        if (names.isEmpty()) {
+            return Future.succeededFuture();
+        }
+
+        log.debug("Describing {} topics which might have changed since they were last described", names.size());
+        return describeTopics(names)
+                .<Void>map(tds -> {
+                    synchronized (this) {
+                        tds.forEach(td -> descriptions.put(td.name(), td));
+                        reindex();
+                    }
+                    return null;
+                })
+                .recover(error -> {
+                    // For example a topic might have been deleted in the meantime
+                    log.debug("Failed to describe the changed topics, describing all topics", error);
+                    return describeAllTopics();
+                });
+    }
+
+    /**
+     * Rebuilds the index from the topic descriptions and the known {@code min.in.sync.replicas}. Building the index
+     * is linear in the number of partitions, which is negligible compared to describing the topics.
+     */
+    private void reindex() {
+        index = new PartitionIndex(descriptions.values());
+        log.debug("Indexed {} partitions of {} topics", index.partitionCount(), index.topicCount());
+
+        for (Map.Entry<String, Integer> minIsr : minIsrs.entrySet()) {
+            int topic = index.topicOrdinal(minIsr.getKey());
+            if (topic >= 0) {
+                index.minIsr(topic, minIsr.getValue());
+            }
+        }
+    }
+
+    private Set<String> topicsOn(int podId) {
+        Set<String> topics = new HashSet<>();
+        for (int partition : index.partitionsOn(podId)) {
+            topics.add(index.topicName(index.topic(partition)));
+        }
+        return topics;
+    }
+
+    private Future<Boolean> canRollBroker(Future<Void> snapshot, int podId) {
+        // 3. Get the topics on $broker without a known min.isr
+        Future<Set<String>> topicsWithoutMinIsr = snapshot
+                .map(ignored -> {
+                    synchronized (this) {
+                        Set<String> topics = topicsOn(podId);
+                        topics.removeAll(minIsrs.keySet());
+                        return topics;
+                    }
                 }).recover(error -> {
                     log.warn(error);
                     return Future.failedFuture(error);
                 });
 
         // 4. Get topic configs (for those on $broker)
-        Future<Map<String, Config>> topicConfigsOnGivenBroker = topicsOnGivenBroker
-                .compose(td -> topicConfigs(td.stream().map(t -> t.name()).collect(Collectors.toSet())));
+        Future<Void> minIsrsOnGivenBroker = topicsWithoutMinIsr.compose(this::describeMinIsrs);
 
         // 5. join
-        return topicConfigsOnGivenBroker.map(topicNameToConfig -> {
-            Collection<TopicDescription> tds = topicsOnGivenBroker.result();
-            boolean canRoll = tds.stream().noneMatch(
-                td -> wouldAffectAvailability(podId, topicNameToConfig, td));
+        return minIsrsOnGivenBroker.map(ignored -> {
+            Set<String> affected = affectedTopics(podId);
+            boolean canRoll = affected.isEmpty();
             if (!canRoll) {
                 log.debug("Restart pod {} would remove it from ISR, stalling producers with acks=all", podId);
             }
@@ -88,65 +385,99 @@ class KafkaAvailability {
         });
     }
 
-    private boolean wouldAffectAvailability(int broker, Map<String, Config> nameToConfig, TopicDescription td) {
-        Config config = nameToConfig.get(td.name());
-        ConfigEntry minIsrConfig = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
-        int minIsr;
-        if (minIsrConfig != null && minIsrConfig.value() != null) {
-            minIsr = parseInt(minIsrConfig.value());
-            log.debug("{} has {}={}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
-        } else {
-            minIsr = -1;
-            log.debug("{} lacks {}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
-        }
-
-        for (TopicPartitionInfo pi : td.partitions()) {
-            List<Node> isr = pi.isr();
-            if (minIsr >= 0) {
-                if (pi.replicas().size() <= minIsr) {
-                    log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
-                            pi.replicas().size());
-                } else if (isr.size() < minIsr
-                        && contains(pi.replicas(), broker)) {
-                    logIsrReplicas(td, pi, isr);
-                    log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker {} has a replica, " +
-                                    "so should not be restarted right now (it might be first to catch up).",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
-                    return true;
-                } else if (isr.size() == minIsr
-                        && contains(isr, broker)) {
-                    if (minIsr < pi.replicas().size()) {
-                        logIsrReplicas(td, pi, isr);
-                        log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
-                        return true;
-                    } else {
-                        log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
-                                pi.replicas().size());
+    /**
+     * Gets the {@code min.in.sync.replicas} of the given topics, -1 for topics which do not configure it.
+     */
+    private Future<Void> describeMinIsrs(Set<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return Future.succeededFuture();
+        }
+
+        return topicConfigs(topicNames).map(topicNameToConfig -> {
+            synchronized (this) {
+                for (Map.Entry<String, Config> entry : topicNameToConfig.entrySet()) {
+                    int minIsr = minIsr(entry.getKey(), entry.getValue());
+                    minIsrs.put(entry.getKey(), minIsr);
+
+                    int topic = index.topicOrdinal(entry.getKey());
+                    if (topic >= 0) {
+                        index.minIsr(topic, minIsr);
                     }
                 }
             }
+            return null;
+        });
+    }
+
+    private int minIsr(String topicName, Config config) {
+        ConfigEntry minIsrConfig = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+        if (minIsrConfig != null && minIsrConfig.value() != null) {
+            int minIsr = parseInt(minIsrConfig.value());
+            log.debug("{} has {}={}.", topicName, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
+            return minIsr;
+        } else {
+            log.debug("{} lacks {}.", topicName, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+            return -1;
         }
-        return false;
     }
 
-    private void logIsrReplicas(TopicDescription td, TopicPartitionInfo pi, List<Node> isr) {
-        if (log.isDebugEnabled()) {
-            log.debug("{}/{} has ISR={}, replicas={}", td.name(), pi.partition(), nodeList(isr), nodeList(pi.replicas()));
+    /**
+     * Scans the partitions with a replica on the given broker and returns the topics which would be affected by a
+     * restart of the broker. These topics are marked for refresh, because their ISRs are expected to change before
+     * the next check.
+     */
+    private synchronized Set<String> affectedTopics(int broker) {
+        Set<String> affected = new HashSet<>();
+
+        for (int partition : index.partitionsOn(broker)) {
+            int topic = index.topic(partition);
+            if (wouldAffectAvailability(broker, partition, index.minIsr(topic))) {
+                affected.add(index.topicName(topic));
+            }
         }
+
+        staleTopics.addAll(affected);
+        return affected;
     }
 
-    String nodeList(List<Node> nodes) {
-        return nodes.stream().map(n -> String.valueOf(n.id())).collect(Collectors.joining(",", "[", "]"));
+    private boolean wouldAffectAvailability(int broker, int partition, int minIsr) {
+        if (minIsr < 0) {
+            // No min.isr or not known
+            return false;
+        }
+
+        int replicas = index.replicaCount(partition);
+        int isr = index.isrSize(partition);
+        String topicName = index.topicName(index.topic(partition));
+        int partitionId = index.partitionId(partition);
+
+        if (replicas <= minIsr) {
+            log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
+                    topicName, partitionId, isr, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker, replicas);
+        } else if (isr < minIsr) {
+            logIsrReplicas(partition);
+            log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker {} has a replica, " +
+                            "so should not be restarted right now (it might be first to catch up).",
+                    topicName, partitionId, isr, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+            return true;
+        } else if (isr == minIsr && index.isInIsr(partition, broker)) {
+            logIsrReplicas(partition);
+            log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted.",
+                    topicName, partitionId, isr, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+            return true;
+        }
+
+        return false;
     }
 
-    private boolean contains(List<Node> isr, int broker) {
-        return isr.stream().anyMatch(node -> node.id() == broker);
+    private void logIsrReplicas(int partition) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}/{} has ISR={}, replicas={}", index.topicName(index.topic(partition)), index.partitionId(partition),
+                    Arrays.toString(index.isr(partition)), Arrays.toString(index.replicas(partition)));
+        }
     }
 
-    private Future<Map<String, Config>> topicConfigs(Collection<String> topicNames) {
+    protected Future<Map<String, Config>> topicConfigs(Collection<String> topicNames) {
         log.debug("Getting topic configs for {} topics", topicNames.size());
         List<ConfigResource> configs = topicNames.stream()
                 .map((String topicName) -> new ConfigResource(ConfigResource.Type.TOPIC, topicName))
@@ -166,21 +497,6 @@ class KafkaAvailability {
         return promise.future();
     }
 
-    private Set<TopicDescription> groupTopicsByBroker(Collection<TopicDescription> tds, int podId) {
-        Set<TopicDescription> topicPartitionInfos = new HashSet<>();
-        for (TopicDescription td : tds) {
-            log.trace("{}", td);
-            for (TopicPartitionInfo pd : td.partitions()) {
-                for (Node broker : pd.replicas()) {
-                    if (podId == broker.id()) {
-                        topicPartitionInfos.add(td);
-                    }
-                }
-            }
-        }
-        return topicPartitionInfos;
-    }
-
     protected Future<Collection<TopicDescription>> describeTopics(Set<String> names) {
         Promise<Collection<TopicDescription>> descPromise = Promise.promise();
         ac.describeTopics(names).all()
@@ -0,0 +1,100 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Difference between the dynamically updatable configs of a Kafka broker, as described by the broker, and the
+ * desired ones, as the operations which update the broker to the desired configs.</p>
+ *
+ * <ul>
+ * <li>A desired config is set when the broker has a different value for it.
+ * <li>A dynamically updatable config which was set dynamically for the broker but is not desired anymore is deleted,
+ *     so that the broker falls back to the value from its configuration file or its default.
+ * </ul>
+ */
+class KafkaBrokerConfigurationDiff {
+    private final List<AlterConfigOp> ops = new ArrayList<>();
+
+    /**
+     * @param current The current configuration of the broker.
+     * @param desired The desired dynamically updatable configs.
+     * @param dynamicallyUpdatable The names of all the dynamically updatable configs.
+     */
+    KafkaBrokerConfigurationDiff(Config current, Map<String, String> desired, Set<String> dynamicallyUpdatable) {
+        for (Map.Entry<String, String> entry : desired.entrySet()) {
+            ConfigEntry currentEntry = current.get(entry.getKey());
+            if (currentEntry == null || !sameValue(currentEntry.value(), entry.getValue())) {
+                ops.add(new AlterConfigOp(new ConfigEntry(entry.getKey(), entry.getValue()), AlterConfigOp.OpType.SET));
+            }
+        }
+
+        for (ConfigEntry currentEntry : current.entries()) {
+            if (currentEntry.source() == ConfigEntry.ConfigSource.DYNAMIC_BROKER_CONFIG
+                    && dynamicallyUpdatable.contains(currentEntry.name())
+                    && !desired.containsKey(currentEntry.name())) {
+                ops.add(new AlterConfigOp(new ConfigEntry(currentEntry.name(), null), AlterConfigOp.OpType.DELETE));
+            }
+        }
+    }
+
+    /**
+     * Compares the values ignoring the whitespace around them and around the items of lists and the case of booleans,
+     * as the broker describes the values in their canonical form.
+     */
+    private static boolean sameValue(String current, String desired) {
+        if (current == null || desired == null) {
+            return current == desired;
+        }
+        return normalize(current).equals(normalize(desired));
+    }
+
+    private static String normalize(String value) {
+        String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
+            return trimmed.toLowerCase(Locale.ENGLISH);
+        }
+        if (trimmed.indexOf(',') >= 0) {
+            return Arrays.stream(trimmed.split(",")).map(String::trim).collect(Collectors.joining(","));
+        }
+        return trimmed;
+    }
+
+    /**
+     * @return  Whether the broker already has the desired configs.
+     */
+    boolean isEmpty() {
+        return ops.isEmpty();
+    }
+
+    /**
+     * @return  The operations which update the broker to the desired configs.
+     */
+    Collection<AlterConfigOp> alterConfigOps() {
+        return Collections.unmodifiableList(ops);
+    }
+
+    @Override
+    public String toString() {
+        return ops.stream()
+                .map(op -> op.opType() == AlterConfigOp.OpType.DELETE ?
+                        "-" + op.configEntry().name() :
+                        op.configEntry().name() + "=" + op.configEntry().value())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.strimzi.operator.cluster.model.KafkaConfiguration;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.common.config.ConfigResource;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The desired dynamically updatable configs of the Kafka brokers
+ * (see {@link KafkaConfiguration#dynamicallyUpdatableConfigNames(KafkaVersion)}), which are compared with the
+ * configuration of each broker and applied to it with the Admin client.
+ */
+class KafkaBrokerDynamicConfiguration {
+    private final Map<String, String> desired;
+    private final Set<String> dynamicallyUpdatable;
+
+    /**
+     * @param brokerConfiguration The user provided broker configuration.
+     * @param kafkaVersion The Kafka version of the brokers.
+     */
+    KafkaBrokerDynamicConfiguration(KafkaConfiguration brokerConfiguration, KafkaVersion kafkaVersion) {
+        this.desired = brokerConfiguration.dynamicallyUpdatableConfigs(kafkaVersion);
+        this.dynamicallyUpdatable = KafkaConfiguration.dynamicallyUpdatableConfigNames(kafkaVersion);
+    }
+
+    /**
+     * @param current The current configuration of a broker.
+     * @return  The difference between the current configuration of the broker and the desired configs.
+     */
+    KafkaBrokerConfigurationDiff diff(Config current) {
+        return new KafkaBrokerConfigurationDiff(current, desired, dynamicallyUpdatable);
+    }
+
+    /**
+     * Completes the returned future with the configuration of the given broker.
+     * @param adminClient The AdminClient
+     * @param brokerId The id of the broker
+     * @return A Future which completes with the configuration of the broker.
+     */
+    static Future<Config> describe(Admin adminClient, int brokerId) {
+        ConfigResource resource = new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
+        Promise<Config> promise = Promise.promise();
+        adminClient.describeConfigs(Collections.singletonList(resource)).values().get(resource).whenComplete((config, error) -> {
+            if (error != null) {
+                promise.fail(error);
+            } else {
+                promise.complete(config);
+            }
+        });
+        return promise.future();
+    }
+
+    /**
+     * Completes the returned future once the configuration of the given broker was updated to the desired configs.
+     * @param adminClient The AdminClient
+     * @param brokerId The id of the broker
+     * @param diff The difference between the configuration of the broker and the desired configs.
+     * @return A Future which completes when the configuration of the broker was updated.
+     */
+    static Future<Void> update(Admin adminClient, int brokerId, KafkaBrokerConfigurationDiff diff) {
+        ConfigResource resource = new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
+        Promise<Void> promise = Promise.promise();
+        adminClient.incrementalAlterConfigs(Collections.singletonMap(resource, diff.alterConfigOps())).values().get(resource).whenComplete((ignored, error) -> {
+            if (error != null) {
+                promise.fail(error);
+            } else {
+                promise.complete();
+            }
+        });
+        return promise.future();
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.strimzi.api.kafka.model.LeadershipMigration;
+import io.strimzi.operator.cluster.operator.resource.cruisecontrol.CruiseControlApi;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.NewPartitionReassignment;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.ElectionType;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.ElectionNotNeededException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Moves the partition leadership off Kafka brokers before they are restarted, and back once they are fully
+ * replicated again.</p>
+ *
+ * <p>Only the partitions which are led by the brokers, are not being reassigned and have an in-sync replica on
+ * another broker are migrated. Their leadership is moved either by reordering their replicas so that the brokers are
+ * the last ones and electing their preferred leaders ({@link LeadershipMigration#PREFERRED_REPLICA_ELECTION}), or by
+ * demoting the brokers with Cruise Control ({@link LeadershipMigration#CRUISE_CONTROL_DEMOTE}), which reorders the
+ * replicas the same way.</p>
+ *
+ * <p>The original replicas of the migrated partitions are recorded in the {@link KafkaRollingRestartState} and
+ * persisted before the replicas are reordered, so that their original order is restored once the brokers were
+ * restarted, and otherwise by the end of the rolling restart, even when it fails, or by the next rolling restart
+ * when the operator is restarted in the meantime. The preferred leaders of the restored partitions are elected only
+ * once the restoring reassignments completed, and the partitions stay recorded until their leaders were elected. An
+ * instance is used for a single rolling restart.</p>
+ */
+class KafkaLeadershipMigration {
+
+    private static final Logger log = LogManager.getLogger(KafkaLeadershipMigration.class);
+
+    private final LeadershipMigration mode;
+    private final long timeoutMs;
+    private final CruiseControlApi cruiseControlApi;
+    private final String cruiseControlHost;
+    private final int cruiseControlPort;
+    // The migrated partitions by the brokers they were migrated off
+    private final Map<List<Integer>, Set<TopicPartition>> migrated = new ConcurrentHashMap<>();
+
+    /**
+     * @param mode How the leadership is moved.
+     * @param timeoutMs The maximum time to wait for the leadership to move off the brokers.
+     * @param cruiseControlApi The Cruise Control API, only used to demote brokers with Cruise Control.
+     * @param cruiseControlHost The Cruise Control host, only used to demote brokers with Cruise Control.
+     * @param cruiseControlPort The Cruise Control port, only used to demote brokers with Cruise Control.
+     */
+    KafkaLeadershipMigration(LeadershipMigration mode, long timeoutMs,
+                             CruiseControlApi cruiseControlApi, String cruiseControlHost, int cruiseControlPort) {
+        this.mode = mode;
+        this.timeoutMs = timeoutMs;
+        this.cruiseControlApi = cruiseControlApi;
+        this.cruiseControlHost = cruiseControlHost;
+        this.cruiseControlPort = cruiseControlPort;
+    }
+
+    /**
+     * @return The maximum time to wait for the leadership to move off the brokers.
+     */
+    long timeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Starts moving the leadership of the partitions led by the given brokers to other in-sync replicas, once their
+     * original replicas were recorded in the given state and persisted. The partitions led by the brokers are taken
+     * from the topic metadata of the rolling restart kept by the given {@link KafkaAvailability}, so the topics are
+     * not described again. A failure to move the leadership is only logged, because the controlled shutdown of the
+     * brokers moves the remaining leadership anyway. When the original replicas cannot be persisted, the leadership is
+     * not moved.
+     * @param ac The Admin client.
+     * @param availability The KafkaAvailability of the rolling restart.
+     * @param brokers The ids of the brokers.
+     * @param state The state of the rolling restart.
+     * @return A Future which completes with the number of migrated partitions.
+     */
+    Future<Integer> demote(Admin ac, KafkaAvailability availability, List<Integer> brokers, KafkaRollingRestartState state) {
+        return CompositeFuture.join(availability.partitionsLedBy(brokers), reassigningPartitions(ac)).compose(results -> {
+            Map<TopicPartition, TopicPartitionInfo> led = results.resultAt(0);
+            Set<TopicPartition> reassigning = results.resultAt(1);
+
+            Map<TopicPartition, List<Integer>> original = new LinkedHashMap<>();
+            Map<TopicPartition, Optional<NewPartitionReassignment>> reordered = new LinkedHashMap<>();
+            for (Map.Entry<TopicPartition, TopicPartitionInfo> partition : led.entrySet()) {
+                if (reassigning.contains(partition.getKey())) {
+                    continue;
+                }
+                List<Integer> demoted = demotedReplicas(partition.getValue(), brokers);
+                if (demoted != null) {
+                    original.put(partition.getKey(), ids(partition.getValue().replicas()));
+                    reordered.put(partition.getKey(), Optional.of(new NewPartitionReassignment(demoted)));
+                }
+            }
+
+            if (original.isEmpty()) {
+                log.debug("Brokers {} do not lead any partition which can be migrated", brokers);
+                return Future.succeededFuture(0);
+            }
+
+            state.reordered(original);
+            return state.persistOrFail()
+                    .map(true)
+                    .recover(error -> {
+                        log.warn("Not moving the leadership off brokers {}, because the original replicas could not be recorded", brokers, error);
+                        return Future.succeededFuture(false);
+                    })
+                    .<Integer>compose(recorded -> {
+                        if (!recorded) {
+                            return Future.succeededFuture(0);
+                        }
+                        migrated.put(brokers, original.keySet());
+
+                        log.info("Moving the leadership of {} partitions off brokers {}", original.size(), brokers);
+                        Future<Void> moved;
+                        if (mode == LeadershipMigration.CRUISE_CONTROL_DEMOTE) {
+                            moved = cruiseControlApi.demoteBrokers(cruiseControlHost, cruiseControlPort, brokers).mapEmpty();
+                        } else {
+                            moved = toFuture(ac.alterPartitionReassignments(reordered).all())
+                                    .compose(ignored -> electPreferredLeaders(ac, reordered.keySet()));
+                        }
+                        return moved
+                                .recover(error -> {
+                                    // Some of the replicas might have been reordered already, so they are restored anyway
+                                    log.warn("Error while moving the leadership off brokers {}", brokers, error);
+                                    return Future.succeededFuture();
+                                })
+                                .map(original.size());
+                    });
+        });
+    }
+
+    /**
+     * Counts the partitions migrated off the given brokers which are still led by them.
+     * @param ac The Admin client.
+     * @param brokers The ids of the brokers.
+     * @return A Future which completes with the number of migrated partitions still led by the brokers.
+     */
+    Future<Integer> leadersOn(Admin ac, List<Integer> brokers) {
+        Set<TopicPartition> partitions = migrated.getOrDefault(brokers, Collections.emptySet());
+        if (partitions.isEmpty()) {
+            return Future.succeededFuture(0);
+        }
+        return describeTopics(ac, partitions).map(topics -> {
+            int leaders = 0;
+            for (TopicDescription topic : topics) {
+                for (TopicPartitionInfo partition : topic.partitions()) {
+                    if (partitions.contains(new TopicPartition(topic.name(), partition.partition()))
+                            && partition.leader() != null && brokers.contains(partition.leader().id())) {
+                        leaders++;
+                    }
+                }
+            }
+            log.debug("Brokers {} still lead {} of {} migrated partitions", brokers, leaders, partitions.size());
+            return leaders;
+        });
+    }
+
+    /**
+     * Restores the original order of the replicas of all the partitions recorded in the given state, by this or by a
+     * previous rolling restart. The replicas of a partition are only reordered when they are still the same replicas.
+     * The partitions which do not exist anymore are removed from the state, which is persisted, while the other
+     * partitions are kept until their preferred leaders were elected (see
+     * {@link #electPreferredLeaders(Admin, Set, KafkaRollingRestartState)}), once they are not being reassigned
+     * anymore (see {@link #reassigningPartitions(Admin, Set)}).
+     * @param ac The Admin client.
+     * @param state The state of the rolling restart.
+     * @return A Future which completes with the recorded partitions which still exist, when their replicas were
+     * reordered.
+     */
+    static Future<Set<TopicPartition>> restoreReplicas(Admin ac, KafkaRollingRestartState state) {
+        Map<TopicPartition, List<Integer>> original = state.reorderedPartitions();
+        if (original.isEmpty()) {
+            return Future.succeededFuture(Collections.emptySet());
+        }
+        return describeTopics(ac, original.keySet()).compose(topics -> {
+            Map<TopicPartition, Optional<NewPartitionReassignment>> restored = new LinkedHashMap<>();
+            Set<TopicPartition> existing = new HashSet<>();
+            for (TopicDescription topic : topics) {
+                for (TopicPartitionInfo partition : topic.partitions()) {
+                    TopicPartition topicPartition = new TopicPartition(topic.name(), partition.partition());
+                    List<Integer> originalReplicas = original.get(topicPartition);
+                    if (originalReplicas == null) {
+                        continue;
+                    }
+                    existing.add(topicPartition);
+                    List<Integer> replicas = ids(partition.replicas());
+                    if (!replicas.equals(originalReplicas)
+                            && new HashSet<>(replicas).equals(new HashSet<>(originalReplicas))) {
+                        restored.put(topicPartition, Optional.of(new NewPartitionReassignment(originalReplicas)));
+                    }
+                }
+            }
+
+            log.debug("Restoring the original replicas of {} partitions", restored.size());
+            Future<Void> reordered = restored.isEmpty() ? Future.succeededFuture() : toFuture(ac.alterPartitionReassignments(restored).all());
+            return reordered.compose(ignored -> {
+                Set<TopicPartition> deleted = new HashSet<>(original.keySet());
+                deleted.removeAll(existing);
+                if (deleted.isEmpty()) {
+                    return Future.succeededFuture(existing);
+                }
+                state.restored(deleted);
+                return state.persist().map(existing);
+            });
+        });
+    }
+
+    /**
+     * Elects the preferred leaders of the given partitions, whose original replicas were restored, and removes the
+     * partitions from the given state, which is persisted. The partitions whose preferred leader could not be elected
+     * (e.g. when it is not in-sync) are kept in the state, so that their leaders are elected later.
+     * @param ac The Admin client.
+     * @param partitions The partitions.
+     * @param state The state of the rolling restart.
+     * @return A Future which completes when the leaders were elected.
+     */
+    static Future<Void> electPreferredLeaders(Admin ac, Set<TopicPartition> partitions, KafkaRollingRestartState state) {
+        return toFuture(ac.electLeaders(ElectionType.PREFERRED, partitions).partitions()).compose(results -> {
+            Set<TopicPartition> elected = electedPartitions(results);
+            log.debug("Elected the preferred leaders of {} of {} restored partitions", elected.size(), partitions.size());
+            state.restored(elected);
+            return state.persist();
+        });
+    }
+
+    /**
+     * @param results The results of a preferred leader election.
+     * @return The partitions which are led by their preferred leader, because it was elected or was the leader already.
+     */
+    static Set<TopicPartition> electedPartitions(Map<TopicPartition, Optional<Throwable>> results) {
+        Set<TopicPartition> elected = new HashSet<>();
+        for (Map.Entry<TopicPartition, Optional<Throwable>> result : results.entrySet()) {
+            if (!result.getValue().isPresent() || result.getValue().get() instanceof ElectionNotNeededException) {
+                elected.add(result.getKey());
+            }
+        }
+        return elected;
+    }
+
+    /**
+     * @param ac The Admin client.
+     * @param partitions The partitions.
+     * @return A Future which completes with the given partitions which are being reassigned.
+     */
+    static Future<Set<TopicPartition>> reassigningPartitions(Admin ac, Set<TopicPartition> partitions) {
+        return toFuture(ac.listPartitionReassignments(partitions).reassignments()).map(Map::keySet);
+    }
+
+    /**
+     * Orders the replicas of the given partition so that the in-sync replicas on other brokers come first and the
+     * replicas on the given brokers last.
+     * @param partition The partition.
+     * @param brokers The ids of the brokers.
+     * @return The reordered replicas, or null if the partition has no in-sync replica on another broker.
+     */
+    static List<Integer> demotedReplicas(TopicPartitionInfo partition, Collection<Integer> brokers) {
+        List<Integer> isr = ids(partition.isr());
+        List<Integer> inSync = new ArrayList<>();
+        List<Integer> outOfSync = new ArrayList<>();
+        List<Integer> demoted = new ArrayList<>();
+        for (int replica : ids(partition.replicas())) {
+            if (brokers.contains(replica)) {
+                demoted.add(replica);
+            } else if (isr.contains(replica)) {
+                inSync.add(replica);
+            } else {
+                outOfSync.add(replica);
+            }
+        }
+        if (inSync.isEmpty()) {
+            return null;
+        }
+        inSync.addAll(outOfSync);
+        inSync.addAll(demoted);
+        return inSync;
+    }
+
+    private static List<Integer> ids(List<Node> nodes) {
+        return nodes.stream().map(Node::id).collect(Collectors.toList());
+    }
+
+    private static Future<Void> electPreferredLeaders(Admin ac, Set<TopicPartition> partitions) {
+        return toFuture(ac.electLeaders(ElectionType.PREFERRED, partitions).partitions()).map(results -> {
+            // Errors of single partitions (e.g. when the preferred leader is not in-sync) are not fatal
+            long failed = results.values().stream().filter(Optional::isPresent).count();
+            log.debug("Elected the preferred leaders of {} partitions, {} elections were not done", results.size(), failed);
+            return null;
+        });
+    }
+
+    /**
+     * Describes the topics of the given partitions, ignoring the topics which do not exist anymore.
+     */
+    private static Future<Collection<TopicDescription>> describeTopics(Admin ac, Set<TopicPartition> partitions) {
+        Set<String> names = partitions.stream().map(TopicPartition::topic).collect(Collectors.toSet());
+        List<Future> described = new ArrayList<>(names.size());
+        for (KafkaFuture<TopicDescription> topic : ac.describeTopics(names).values().values()) {
+            described.add(toFuture(topic).recover(error -> error instanceof UnknownTopicOrPartitionException ?
+                    Future.succeededFuture() : Future.failedFuture(error)));
+        }
+        return CompositeFuture.all(described).map(all -> all.<TopicDescription>list().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    private static Future<Set<TopicPartition>> reassigningPartitions(Admin ac) {
+        return toFuture(ac.listPartitionReassignments().reassignments()).map(Map::keySet);
+    }
+
+    private static <T> Future<T> toFuture(KafkaFuture<T> kafkaFuture) {
+        Promise<T> promise = Promise.promise();
+        kafkaFuture.whenComplete((result, error) -> {
+            if (error != null) {
+                promise.fail(error);
+            } else {
+                promise.complete(result);
+            }
+        });
+        return promise.future();
+    }
+}
@@ -9,9 +9,9 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.strimzi.operator.cluster.model.KafkaCluster;
-import io.strimzi.operator.common.AdminClientProvider;
+import io.strimzi.operator.common.AdminClientPool;
 import io.strimzi.operator.common.BackOff;
-import io.strimzi.operator.common.DefaultAdminClientProvider;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.vertx.core.CompositeFuture;
@@ -19,7 +19,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.kafka.clients.admin.Admin;
-import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.logging.log4j.LogManager;
@@ -28,18 +28,24 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * <p>Manages the rolling restart of a Kafka cluster.</p>
@@ -52,8 +58,10 @@ import java.util.function.Supplier;
  *     2. Take the next pod from the list.
  *     3. Test whether the pod needs to be restarted.
  *         If not then:
- *           i.  Wait for it to be ready.
- *           ii. Continue from 1.
+ *           i.   Wait for it to be ready.
+ *           ii.  If the broker configuration is given, update the dynamically updatable configs of the broker
+ *                which differ from it. If that fails, reschedule the pod to be restarted.
+ *           iii. Continue from 1.
  *     4. Otherwise, check whether the pod is the controller
  *         If so, and there are still pods to be maybe-restarted then:
  *           i.  Reschedule the restart of this pod by appending it the list
@@ -63,12 +71,35 @@ import java.util.function.Supplier;
  *           i.  Reschedule the restart of this pod by appending it the list
  *           ii. Continue from 1.
  *     6. Otherwise:
- *         i.   Restart the pod
- *         ii.  Wait for it to become ready (in the kube sense)
- *         iii. Continue from 1.
+ *         i.   If a leadership migration is configured, move the partition leadership off the broker and wait
+ *              for it to lead no partition anymore (up to a configurable timeout)
+ *         ii.  Restart the pod
+ *         iii. Wait for it to become ready (in the kube sense), for the broker to be registered again
+ *              and for its partitions to be fully replicated again (up to a configurable timeout)
+ *         iv.  If the leadership was migrated, restore the original order of the replicas of the migrated
+ *              partitions and elect their preferred leaders
+ *         v.   Continue from 1.
  * </pre>
  *
- * <p>Where "impacting availability" is defined by {@link KafkaAvailability}.</p>
+ * <p>The waiting in steps 3.i, 3.ii, 6.i and 6.iii does not block: the pod deletion and readiness are watched and the
+ * broker is checked with the Admin client, and the next pod is considered as soon as the awaited pod is done.</p>
+ *
+ * <p>When more than one concurrent restart is allowed, step 6 restarts the pod together with other pods which
+ * still need to be restarted, are not the controller and can be restarted at the same time without any partition
+ * falling below its min.isr (preferring pods in the same rack). All of them are restarted at once and waited for
+ * before continuing from 1.</p>
+ *
+ * <p>The progress of the rolling restart is recorded in a {@link KafkaRollingRestartState}, so that a rolling restart
+ * which was interrupted by a restart of the operator is resumed: in step 3 the pods which it already restarted are not restarted again for the same
+ * reason, while the pods which it decided to restart are restarted even when their reason does not apply anymore.
+ * The original replicas of the partitions reordered in step 6.i are recorded there too, so that the replicas which were
+ * not restored in step 6.iv, because the rolling restart failed or was interrupted, are restored by the end of the
+ * rolling restart or before the next one starts.</p>
+ *
+ * <p>Where "impacting availability" is defined by {@link KafkaAvailability}. The same {@link KafkaAvailability}
+ * is used for all the pods of the rolling restart, so that the topic metadata are fetched only once and afterwards
+ * only the topics affected by the restarts are described again. Likewise one Admin client, leased from the
+ * {@link AdminClientPool} and bootstrapped from all the pods, is used for the whole rolling restart.</p>
  *
  * <p>Note the following important properties of this algorithm:</p>
  * <ul>
@@ -83,6 +114,11 @@ public class KafkaRoller {
 
     private static final Logger log = LogManager.getLogger(KafkaRoller.class);
 
+    /**
+     * How long to wait for the topic metadata which determine whether brokers can be rolled, alone or together
+     */
+    private static final long CAN_ROLL_TIMEOUT_MS = 60_000;
+
     private final PodOperator podOperations;
     private final long pollingIntervalMs;
     protected final long operationTimeoutMs;
@@ -93,19 +129,30 @@ public class KafkaRoller {
     private final Integer numPods;
     private final Supplier<BackOff> backoffSupplier;
     protected String namespace;
-    private final AdminClientProvider adminClientProvider;
+    private final AdminClientPool adminClientPool;
+    private final int maxConcurrentRestarts;
+    private final long replicationCatchUpTimeoutMs;
+    private final BrokerCatchUpMetrics catchUpMetrics;
+    private final KafkaBrokerDynamicConfiguration dynamicConfiguration;
+    private KafkaLeadershipMigration leadershipMigration;
+    private KafkaRollingRestartState restartState = KafkaRollingRestartState.inMemory();
 
     KafkaRoller(Vertx vertx, PodOperator podOperations,
                 long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
-                StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret) {
+                StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                AdminClientPool adminClientPool, int maxConcurrentRestarts,
+                long replicationCatchUpTimeoutMs, BrokerCatchUpMetrics catchUpMetrics) {
         this(vertx, podOperations, pollingIntervalMs, operationTimeoutMs, backOffSupplier,
-                sts, clusterCaCertSecret, coKeySecret, new DefaultAdminClientProvider());
+                sts, clusterCaCertSecret, coKeySecret, adminClientPool, maxConcurrentRestarts,
+                replicationCatchUpTimeoutMs, catchUpMetrics, null);
     }
 
     KafkaRoller(Vertx vertx, PodOperator podOperations,
                 long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
                 StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
-                AdminClientProvider adminClientProvider) {
+                AdminClientPool adminClientPool, int maxConcurrentRestarts,
+                long replicationCatchUpTimeoutMs, BrokerCatchUpMetrics catchUpMetrics,
+                KafkaBrokerDynamicConfiguration dynamicConfiguration) {
         this.namespace = sts.getMetadata().getNamespace();
         this.cluster = Labels.cluster(sts);
         this.numPods = sts.getSpec().getReplicas();
@@ -116,7 +163,32 @@ public class KafkaRoller {
         this.operationTimeoutMs = operationTimeoutMs;
         this.podOperations = podOperations;
         this.pollingIntervalMs = pollingIntervalMs;
-        this.adminClientProvider = adminClientProvider;
+        this.adminClientPool = adminClientPool;
+        this.maxConcurrentRestarts = maxConcurrentRestarts;
+        this.replicationCatchUpTimeoutMs = replicationCatchUpTimeoutMs;
+        this.catchUpMetrics = catchUpMetrics;
+        this.dynamicConfiguration = dynamicConfiguration;
+    }
+
+    /**
+     * Moves the partition leadership off each broker before it is restarted (see {@link KafkaLeadershipMigration}).
+     * @param leadershipMigration The leadership migration or null if the leadership is not migrated.
+     * @return This KafkaRoller.
+     */
+    KafkaRoller withLeadershipMigration(KafkaLeadershipMigration leadershipMigration) {
+        this.leadershipMigration = leadershipMigration;
+        return this;
+    }
+
+    /**
+     * Resumes the rolling restart from the given state and records its progress in it
+     * (see {@link KafkaRollingRestartState}).
+     * @param restartState The state of the rolling restart.
+     * @return This KafkaRoller.
+     */
+    KafkaRoller withRestartState(KafkaRollingRestartState restartState) {
+        this.restartState = restartState;
+        return this;
     }
 
     /**
@@ -132,6 +204,15 @@ public class KafkaRoller {
 
     private ConcurrentHashMap<Integer, RestartContext> podToContext = new ConcurrentHashMap<>();
     private Function<Pod, String> podNeedsRestart;
+    // Shared by all the pods of the rolling restart, created from the singleExecutor thread
+    private volatile KafkaAvailability kafkaAvailability;
+    // Whether the restart or the readiness of a pod is being awaited and the pods considered in the meantime,
+    // only used from the singleExecutor thread
+    private boolean awaitingPod = false;
+    private final List<Integer> deferredPods = new ArrayList<>();
+    // Leased for the whole rolling restart from the singleExecutor thread, released once all pods are done
+    private volatile AdminClientPool.Lease adminClientLease;
+    private volatile FatalProblem abortedBy;
 
     /**
      * Asynchronously perform a rolling restart of some subset of the pods,
@@ -151,26 +232,85 @@ public class KafkaRoller {
             podIds.add(podOperations.isReady(namespace, podName(podId)) ? podIds.size() : 0, podId);
         }
         log.debug("Initial order for rolling restart {}", podIds);
+        // Register all pods before any of them is considered, so that the controller and the
+        // restart groups see the other pods still to roll
         for (Integer podId: podIds) {
-            futures.add(schedule(podId, 0, TimeUnit.MILLISECONDS));
+            podToContext.computeIfAbsent(podId, k -> new RestartContext(backoffSupplier, restartState.attempts(podId)));
         }
         Promise<Void> result = Promise.promise();
-        CompositeFuture.join(futures).onComplete(ar -> {
-            singleExecutor.shutdown();
-            vertx.runOnContext(ignored -> result.handle(ar.map((Void) null)));
+        // The replicas reordered by an interrupted rolling restart are restored before any pod is considered
+        restoreReorderedPartitions().onComplete(resumed -> {
+            for (Integer podId: podIds) {
+                futures.add(schedule(podId, 0, TimeUnit.MILLISECONDS));
+            }
+            CompositeFuture.join(futures).onComplete(ar -> {
+                singleExecutor.shutdown();
+                restoreReorderedPartitions().onComplete(restored -> {
+                    releaseAdminClientLease();
+                    // Also cleared when the rolling restart failed, as the next one decides afresh which pods to restart
+                    restartState.clear().onComplete(cleared -> vertx.runOnContext(ignored -> result.handle(ar.map((Void) null))));
+                });
+            });
         });
         return result.future();
     }
 
+    /**
+     * Restores the original order of the replicas of the partitions which are still recorded as reordered in the
+     * {@link KafkaRollingRestartState}, because the restart of their brokers failed or was interrupted, so that the
+     * replicas are not left reordered (see {@link KafkaLeadershipMigration}). A failure is only logged, the partitions
+     * are restored by the next rolling restart then.
+     * @return A Future which completes when the replicas were restored.
+     */
+    private Future<Void> restoreReorderedPartitions() {
+        if (!restartState.hasReorderedPartitions()) {
+            return Future.succeededFuture();
+        }
+
+        Promise<Void> result = Promise.promise();
+        WorkerPools.<Admin>executeBlocking(vertx, WorkerPools.Pool.KAFKA_ADMIN,
+            promise -> {
+                try {
+                    promise.complete(adminClient(0));
+                } catch (ForceableProblem e) {
+                    promise.fail(e);
+                }
+            },
+            leased -> {
+                if (leased.failed()) {
+                    log.warn("Could not restore the original replicas of the reordered partitions", leased.cause());
+                    result.complete();
+                } else {
+                    Future<Void> restored = restoreLeadership(Collections.emptyList(), leased.result());
+                    releaseWhenComplete(leased.result(), restored);
+                    restored.onComplete(result);
+                }
+            });
+        return result.future();
+    }
+
     protected static class RestartContext {
         final Promise<Void> promise;
         final BackOff backOff;
         private long connectionErrorStart = 0L;
+        // Set when the broker could not be reconfigured, so that it is restarted instead
+        private String restartReason;
 
         RestartContext(Supplier<BackOff> backOffSupplier) {
+            this(backOffSupplier, 0);
+        }
+
+        /**
+         * @param backOffSupplier The supplier of the back-off.
+         * @param attempts The number of attempts already made by a previous rolling restart.
+         */
+        RestartContext(Supplier<BackOff> backOffSupplier, int attempts) {
             promise = Promise.promise();
             backOff = backOffSupplier.get();
             backOff.delayMs();
+            for (int i = 0; i < attempts && !backOff.done(); i++) {
+                backOff.delayMs();
+            }
         }
 
         public void clearConnectionError() {
@@ -201,6 +341,8 @@ public class KafkaRoller {
      * completed the returned Future when the pod is rolled.
      * When called multiple times with the same podId this method will return the same Future instance.
      * Pods will be rolled one-at-a-time so the delay may be overrun.
+     * While the restart or the readiness of a pod is awaited, the pods to be considered are deferred until it
+     * completes, so the singleExecutor thread is not blocked and the next pod is considered as soon as possible.
      * @param podId The pod to roll.
      * @param delay The delay.
      * @param unit The unit of the delay.
@@ -209,50 +351,106 @@ public class KafkaRoller {
     private Future<Void> schedule(int podId, long delay, TimeUnit unit) {
         RestartContext ctx = podToContext.computeIfAbsent(podId,
             k -> new RestartContext(backoffSupplier));
-        singleExecutor.schedule(() -> {
-            log.debug("Considering restart of pod {} after delay of {} {}", podId, delay, unit);
-            try {
-                restartIfNecessary(podId, ctx);
-                ctx.promise.complete();
-            } catch (InterruptedException e) {
-                // Let the executor deal with interruption.
-                Thread.currentThread().interrupt();
-            } catch (FatalProblem e) {
-                log.info("Could not restart pod {}, giving up after {} attempts/{}ms",
-                        podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
-                ctx.promise.fail(e);
-                singleExecutor.shutdownNow();
-                podToContext.forEachValue(Integer.MAX_VALUE, f -> {
-                    f.promise.tryFail(e);
-                });
-            } catch (Exception e) {
-                if (ctx.backOff.done()) {
-                    log.info("Could not roll pod {}, giving up after {} attempts/{}ms",
-                            podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
-                    ctx.promise.fail(e instanceof TimeoutException ?
-                            new io.strimzi.operator.common.operator.resource.TimeoutException() :
-                            e);
-                } else {
-                    long delay1 = ctx.backOff.delayMs();
-                    log.info("Could not roll pod {} due to {}, retrying after at least {}ms",
-                            podId, e, delay1);
-                    schedule(podId, delay1, TimeUnit.MILLISECONDS);
+        try {
+            singleExecutor.schedule(() -> {
+                if (ctx.promise.future().isComplete()) {
+                    log.debug("Pod {} was already restarted together with another pod", podId);
+                    return;
                 }
-            }
-        }, delay, unit);
+                if (awaitingPod) {
+                    log.debug("Deferring pod {} until the pod being awaited is done", podId);
+                    deferredPods.add(podId);
+                    return;
+                }
+                log.debug("Considering restart of pod {} after delay of {} {}", podId, delay, unit);
+                Future<Void> rolled;
+                try {
+                    rolled = restartIfNecessary(podId, ctx);
+                } catch (InterruptedException e) {
+                    // Let the executor deal with interruption.
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    handleFailure(podId, ctx, e);
+                    return;
+                }
+                awaitingPod = true;
+                rolled.onComplete(ar -> {
+                    try {
+                        singleExecutor.execute(() -> podDone(podId, ctx, ar.failed() ? ar.cause() : null));
+                    } catch (RejectedExecutionException e) {
+                        // The rolling restart was already aborted
+                        ctx.promise.tryFail(abortedBy != null ? abortedBy : e);
+                    }
+                });
+            }, delay, unit);
+        } catch (RejectedExecutionException e) {
+            // The rolling restart was already aborted
+            ctx.promise.tryFail(abortedBy != null ? abortedBy : e);
+        }
         return ctx.promise.future();
     }
 
+    /**
+     * Called from the singleExecutor thread once the restart or the readiness of the given pod is done,
+     * to complete the pod and consider the deferred pods.
+     * @param podId The id of the pod.
+     * @param ctx The restart context of the pod.
+     * @param error The error or null if the pod was rolled.
+     */
+    private void podDone(int podId, RestartContext ctx, Throwable error) {
+        awaitingPod = false;
+        if (error == null) {
+            ctx.promise.tryComplete();
+        } else {
+            handleFailure(podId, ctx, error);
+        }
+
+        List<Integer> deferred = new ArrayList<>(deferredPods);
+        deferredPods.clear();
+        for (Integer deferredPodId : deferred) {
+            schedule(deferredPodId, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void handleFailure(int podId, RestartContext ctx, Throwable e) {
+        if (e instanceof FatalProblem) {
+            log.info("Could not restart pod {}, giving up after {} attempts/{}ms",
+                    podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
+            abortedBy = (FatalProblem) e;
+            ctx.promise.tryFail(e);
+            singleExecutor.shutdownNow();
+            podToContext.forEachValue(Integer.MAX_VALUE, f -> {
+                f.promise.tryFail(e);
+            });
+        } else if (ctx.backOff.done()) {
+            log.info("Could not roll pod {}, giving up after {} attempts/{}ms",
+                    podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
+            ctx.promise.tryFail(e instanceof TimeoutException ?
+                    new io.strimzi.operator.common.operator.resource.TimeoutException() :
+                    e);
+        } else {
+            long delay = ctx.backOff.delayMs();
+            log.info("Could not roll pod {} due to {}, retrying after at least {}ms",
+                    podId, e, delay);
+            restartState.attemptFailed(podId);
+            restartState.persist();
+            schedule(podId, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
      * Restart the given pod now if necessary according to {@link #podNeedsRestart}.
-     * This method blocks.
+     * This method blocks while deciding whether the pod can be restarted, but not while the pod is restarted
+     * and awaited.
      * @param podId The id of the pod to roll.
      * @param restartContext
+     * @return A Future which completes when the pod was restarted (if necessary) and is ready.
      * @throws InterruptedException Interrupted while waiting.
      * @throws ForceableProblem Some error. Not thrown when finalAttempt==true.
      * @throws UnforceableProblem Some error, still thrown when finalAttempt==true.
      */
-    private void restartIfNecessary(int podId, RestartContext restartContext)
+    private Future<Void> restartIfNecessary(int podId, RestartContext restartContext)
             throws Exception {
         Pod pod;
         try {
@@ -261,10 +459,12 @@ public class KafkaRoller {
             throw new UnforceableProblem("Error getting pod " + podName(podId), e);
         }
 
-        String reasonToRestartPod = podNeedsRestart.apply(pod);
-        if (reasonToRestartPod != null && !reasonToRestartPod.isEmpty()) {
+        String reasonToRestartPod = restartReason(podId, pod, restartContext);
+        if (reasonToRestartPod != null) {
             log.info("Pod {} needs to be restarted. Reason: {}", podId, reasonToRestartPod);
+            restartState.restarting(podId, pod, reasonToRestartPod);
             Admin adminClient = null;
+            Future<Void> restarted = null;
             try {
                 try {
                     adminClient = adminClient(podId);
@@ -275,21 +475,26 @@ public class KafkaRoller {
                         log.debug("Pod {} is controller and there are other pods to roll", podId);
                         throw new ForceableProblem("Pod " + podName(podId) + " is currently the controller and there are other pods still to roll");
                     } else {
-                        if (canRoll(adminClient, podId, 60_000, TimeUnit.MILLISECONDS)) {
+                        if (canRoll(adminClient, podId, CAN_ROLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
                             log.debug("Pod {} can be rolled now", podId);
-                            restartAndAwaitReadiness(pod, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                            if (maxConcurrentRestarts > 1) {
+                                restarted = restartGroupAndAwaitReadiness(podId, pod, controller, adminClient, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                            } else {
+                                restarted = restartAndAwaitReadiness(podId, pod, adminClient, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                            }
                         } else {
                             log.debug("Pod {} cannot be rolled right now", podId);
                             throw new UnforceableProblem("Pod " + podName(podId) + " is currently not rollable");
                         }
                     }
                 } finally {
-                    closeLoggingAnyError(adminClient);
+                    releaseWhenComplete(adminClient, restarted);
                 }
+                return restarted;
             } catch (ForceableProblem e) {
                 if (restartContext.backOff.done() || e.forceNow) {
                     log.warn("Pod {} will be force-rolled", podName(podId));
-                    restartAndAwaitReadiness(pod, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                    return restartAndAwaitReadiness(podId, pod, null, operationTimeoutMs, TimeUnit.MILLISECONDS);
                 } else {
                     throw e;
                 }
@@ -300,21 +505,166 @@ public class KafkaRoller {
             // We rely on Kube to try restarting such pods.
             log.debug("Pod {} does not need to be restarted", podId);
             log.debug("Waiting for non-restarted pod {} to become ready", podId);
-            await(isReady(namespace, KafkaCluster.kafkaPodName(cluster, podId)), operationTimeoutMs, TimeUnit.MILLISECONDS, e -> new FatalProblem("Error while waiting for non-restarted pod " + podName(podId) + " to become ready", e));
-            log.debug("Pod {} is now ready", podId);
+            Future<Void> ready = withTimeout(isReady(namespace, KafkaCluster.kafkaPodName(cluster, podId)), operationTimeoutMs, TimeUnit.MILLISECONDS,
+                e -> new FatalProblem("Error while waiting for non-restarted pod " + podName(podId) + " to become ready", e))
+                    .map(ignored -> {
+                        log.debug("Pod {} is now ready", podId);
+                        return null;
+                    });
+            if (dynamicConfiguration == null) {
+                return ready;
+            }
+
+            Admin adminClient;
+            try {
+                adminClient = adminClient(podId);
+            } catch (ForceableProblem e) {
+                log.warn("Pod {} cannot be reconfigured because no admin client could be created", podName(podId), e);
+                return ready;
+            }
+            Future<Void> reconfigured = ready.compose(ignored -> reconfigure(podId, adminClient, restartContext));
+            releaseWhenComplete(adminClient, reconfigured);
+            return reconfigured;
+        }
+    }
+
+    /**
+     * Determines why the given pod needs to be restarted: for the reason given by {@link #podNeedsRestart}, unless the
+     * pod was already restarted for it by an interrupted rolling restart, or otherwise for the reason it was rescheduled
+     * to be restarted or for the reason recorded by an interrupted rolling restart which did not restart it yet
+     * (see {@link KafkaRollingRestartState}).
+     * @param podId The id of the pod.
+     * @param pod The pod.
+     * @param restartContext The restart context of the pod.
+     * @return The reason to restart the pod or null if the pod does not need to be restarted.
+     */
+    private String restartReason(int podId, Pod pod, RestartContext restartContext) {
+        String reason = podNeedsRestart.apply(pod);
+        if (reason != null && !reason.isEmpty()) {
+            if (restartState.wasRestarted(podId, pod, reason)) {
+                log.info("Pod {} was already restarted by an interrupted rolling restart. Reason: {}", podId, reason);
+                return null;
+            }
+            return reason;
+        } else if (restartContext.restartReason != null) {
+            return restartContext.restartReason;
+        }
+        return restartState.pendingReason(podId, pod);
+    }
+
+    /**
+     * Asynchronously updates the dynamically updatable configs of the given broker which differ from the desired ones
+     * (see {@link KafkaBrokerConfigurationDiff}). When the broker configuration cannot be described, the broker is left
+     * as it is until the next rolling update. When the broker rejects the update, it is rescheduled to be restarted,
+     * so that it starts with the desired configuration, unless it was just restarted.
+     * @param podId The id of the broker.
+     * @param adminClient The AdminClient.
+     * @param restartContext The restart context of the broker or null if the broker was just restarted.
+     * @return A Future which completes when the broker was reconfigured (if necessary).
+     */
+    private Future<Void> reconfigure(int podId, Admin adminClient, RestartContext restartContext) {
+        Future<Config> described;
+        try {
+            described = brokerConfig(adminClient, podId);
+        } catch (RuntimeException e) {
+            described = Future.failedFuture(e);
         }
+        return described
+                .recover(error -> {
+                    log.warn("Error while describing the configuration of pod {}, it is not reconfigured", podName(podId), error);
+                    return Future.succeededFuture();
+                })
+                .compose(config -> {
+                    if (config == null) {
+                        return Future.succeededFuture();
+                    }
+                    KafkaBrokerConfigurationDiff diff = dynamicConfiguration.diff(config);
+                    if (diff.isEmpty()) {
+                        log.debug("Pod {} does not need to be reconfigured", podId);
+                        return Future.succeededFuture();
+                    }
+                    log.info("Reconfiguring pod {}: {}", podId, diff);
+                    return alterBrokerConfig(adminClient, podId, diff)
+                            .recover(error -> {
+                                if (restartContext == null) {
+                                    log.warn("Restarted pod {} could not be reconfigured, it is retried by the next rolling update", podName(podId), error);
+                                    return Future.succeededFuture();
+                                }
+                                log.warn("Pod {} could not be reconfigured, it will be restarted instead", podName(podId), error);
+                                restartContext.restartReason = "dynamic reconfiguration failed";
+                                return Future.failedFuture(new ForceableProblem("Error while reconfiguring pod " + podName(podId), error));
+                            });
+                });
     }
 
-    private void closeLoggingAnyError(Admin adminClient) {
+    /**
+     * Asynchronously updates the dynamically updatable configs of restarted brokers once they rejoined the cluster.
+     * A restarted broker reads the desired configs from its configuration file, but the dynamic overrides stored in
+     * ZooKeeper (for example of configs which were removed from the desired configuration) still take precedence.
+     * @param podIds The ids of the restarted brokers.
+     * @param adminClient The AdminClient or null if the brokers were force-rolled.
+     * @return A Future which completes when the brokers were reconfigured (if necessary).
+     */
+    private Future<Void> reconfigureRestarted(List<Integer> podIds, Admin adminClient) {
+        if (dynamicConfiguration == null || adminClient == null) {
+            return Future.succeededFuture();
+        }
+
+        List<Future> reconfigured = podIds.stream()
+                .map(id -> reconfigure(id, adminClient, null))
+                .collect(Collectors.toList());
+        return CompositeFuture.join(reconfigured).map((Void) null);
+    }
+
+    /**
+     * Completes the returned future with the configuration of the given broker.
+     * @param adminClient The AdminClient
+     * @param podId The id of the broker
+     * @return A Future which completes with the configuration of the broker.
+     */
+    protected Future<Config> brokerConfig(Admin adminClient, int podId) {
+        return KafkaBrokerDynamicConfiguration.describe(adminClient, podId);
+    }
+
+    /**
+     * Completes the returned future once the configuration of the given broker was updated to the desired configs.
+     * @param adminClient The AdminClient
+     * @param podId The id of the broker
+     * @param diff The difference between the configuration of the broker and the desired configs.
+     * @return A Future which completes when the configuration of the broker was updated.
+     */
+    protected Future<Void> alterBrokerConfig(Admin adminClient, int podId, KafkaBrokerConfigurationDiff diff) {
+        return KafkaBrokerDynamicConfiguration.update(adminClient, podId, diff);
+    }
+
+    /**
+     * Releases the given AdminClient once the given Future completes, or right away if there is no Future.
+     */
+    private void releaseWhenComplete(Admin adminClient, Future<Void> future) {
+        if (future == null) {
+            releaseLoggingAnyError(adminClient);
+        } else {
+            future.onComplete(ignored -> releaseLoggingAnyError(adminClient));
+        }
+    }
+
+    private void releaseLoggingAnyError(Admin adminClient) {
         if (adminClient != null) {
             try {
-                adminClient.close(Duration.ofMinutes(2));
+                releaseAdminClient(adminClient);
             } catch (Exception e) {
-                log.warn("Ignoring exception when closing admin client", e);
+                log.warn("Ignoring exception when releasing admin client", e);
             }
         }
     }
 
+    private void releaseAdminClientLease() {
+        if (adminClientLease != null) {
+            adminClientLease.release();
+            adminClientLease = null;
+        }
+    }
+
     /** Exceptions which we're prepared to ignore (thus forcing a restart) in some circumstances. */
     static final class ForceableProblem extends Exception {
         final boolean forceNow;
@@ -355,25 +705,408 @@ public class KafkaRoller {
 
     private boolean canRoll(Admin adminClient, int podId, long timeout, TimeUnit unit)
             throws ForceableProblem, InterruptedException {
-        return await(availability(adminClient).canRoll(podId), timeout, unit,
+        if (kafkaAvailability == null) {
+            kafkaAvailability = availability(adminClient);
+        } else {
+            kafkaAvailability.useAdminClient(adminClient);
+        }
+
+        return await(kafkaAvailability.canRoll(podId), timeout, unit,
             t -> new ForceableProblem("An error while trying to determine rollability", t));
     }
 
     /**
-     * Synchronously restart the given pod
-     * by deleting it and letting it be recreated by K8s, then synchronously wait for it to be ready.
+     * Asynchronously restart the given pod
+     * by deleting it and letting it be recreated by K8s, then wait for it to be ready and, if an AdminClient is
+     * given, for the broker to rejoin the cluster (see {@link #awaitBrokerRejoined(int, Admin, long, TimeUnit)}).
+     * If an AdminClient is given, the partition leadership is also moved off the broker before the restart and back
+     * afterwards (see {@link #migrateLeadership(List, Admin)}).
+     * @param podId The id of the Pod to restart.
      * @param pod The Pod to restart.
+     * @param adminClient The AdminClient or null if the broker is not awaited.
      * @param timeout The timeout.
      * @param unit The timeout unit.
+     * @return A Future which completes when the pod is ready.
      */
-    private void restartAndAwaitReadiness(Pod pod, long timeout, TimeUnit unit)
-            throws InterruptedException, UnforceableProblem, FatalProblem {
+    private Future<Void> restartAndAwaitReadiness(int podId, Pod pod, Admin adminClient, long timeout, TimeUnit unit) {
         String podName = pod.getMetadata().getName();
-        log.debug("Rolling pod {}", podName);
-        await(restart(pod), timeout, unit, e -> new UnforceableProblem("Error while trying to restart pod " + podName + " to become ready", e));
-        log.debug("Waiting for restarted pod {} to become ready", podName);
-        await(isReady(pod), timeout, unit, e -> new FatalProblem("Error while waiting for restarted pod " + podName + " to become ready", e));
-        log.debug("Pod {} is now ready", podName);
+        return restartState.persist()
+                .compose(ignored -> migrateLeadership(Collections.singletonList(podId), adminClient))
+                .compose(ignored -> {
+                    log.debug("Rolling pod {}", podName);
+                    return withTimeout(restart(pod), timeout, unit, e -> new UnforceableProblem("Error while trying to restart pod " + podName + " to become ready", e));
+                })
+                .compose(ignored -> {
+                    if (kafkaAvailability != null) {
+                        kafkaAvailability.brokerRestarted(podId);
+                    }
+                    log.debug("Waiting for restarted pod {} to become ready", podName);
+                    return withTimeout(isReady(pod), timeout, unit, e -> new FatalProblem("Error while waiting for restarted pod " + podName + " to become ready", e));
+                })
+                .compose(ignored -> awaitBrokerRejoined(podId, adminClient, timeout, unit))
+                .compose(ignored -> restoreLeadership(Collections.singletonList(podId), adminClient))
+                .compose(ignored -> reconfigureRestarted(Collections.singletonList(podId), adminClient))
+                .map(ignored -> {
+                    log.debug("Pod {} is now ready", podName);
+                    return null;
+                });
+    }
+
+    /**
+     * Restart the given pod together with the other pods which need to be restarted and can be
+     * restarted at the same time (see {@link KafkaAvailability#canRollTogether(int, List, int)}), then asynchronously
+     * wait for all of them to be ready. The controller is never restarted together with other pods.
+     * @param podId The id of the Pod to restart.
+     * @param pod The Pod to restart.
+     * @param controller The id of the controller.
+     * @param adminClient The AdminClient.
+     * @param timeout The timeout.
+     * @param unit The timeout unit.
+     * @return A Future which completes when all the pods are ready.
+     */
+    private Future<Void> restartGroupAndAwaitReadiness(int podId, Pod pod, int controller, Admin adminClient, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Map<Integer, Pod> candidates = new LinkedHashMap<>();
+        Map<Integer, String> reasons = new LinkedHashMap<>();
+        for (int candidateId = 0; candidateId < numPods; candidateId++) {
+            RestartContext candidateContext = podToContext.get(candidateId);
+            if (candidateId == podId || candidateId == controller
+                    || candidateContext == null || candidateContext.promise.future().isComplete()) {
+                continue;
+            }
+
+            try {
+                Pod candidate = podOperations.get(namespace, podName(candidateId));
+                String reasonToRestartPod = candidate != null ? restartReason(candidateId, candidate, candidateContext) : null;
+                if (reasonToRestartPod != null) {
+                    candidates.put(candidateId, candidate);
+                    reasons.put(candidateId, reasonToRestartPod);
+                }
+            } catch (KubernetesClientException e) {
+                log.debug("Pod {} will not be restarted together with pod {}", candidateId, podId, e);
+            }
+        }
+
+        List<Integer> group;
+        if (candidates.isEmpty()) {
+            group = Collections.singletonList(podId);
+        } else {
+            try {
+                group = await(kafkaAvailability.canRollTogether(podId, new ArrayList<>(candidates.keySet()), maxConcurrentRestarts),
+                        CAN_ROLL_TIMEOUT_MS, TimeUnit.MILLISECONDS,
+                    t -> new ForceableProblem("An error while trying to determine the pods to restart together", t));
+            } catch (ForceableProblem e) {
+                log.warn("Pod {} will be restarted alone", podName(podId), e);
+                group = Collections.singletonList(podId);
+            }
+        }
+
+        if (group.size() == 1) {
+            return restartAndAwaitReadiness(podId, pod, adminClient, timeout, unit);
+        }
+
+        candidates.put(podId, pod);
+        List<Pod> pods = new ArrayList<>(group.size());
+        for (int id : group) {
+            pods.add(candidates.get(id));
+            if (id != podId) {
+                restartState.restarting(id, candidates.get(id), reasons.get(id));
+            }
+        }
+
+        List<Integer> restartedGroup = group;
+        List<String> podNames = pods.stream().map(p -> p.getMetadata().getName()).collect(Collectors.toList());
+        return restartState.persist()
+                .compose(ignored -> migrateLeadership(restartedGroup, adminClient))
+                .compose(ignored -> {
+                    log.info("Rolling pods {} together", podNames);
+                    List<Future> restarts = pods.stream().map(this::restart).collect(Collectors.toList());
+                    return withTimeout(CompositeFuture.join(restarts), timeout, unit, e -> new UnforceableProblem("Error while trying to restart pods " + podNames, e));
+                })
+                .compose(ignored -> {
+                    for (int id : restartedGroup) {
+                        kafkaAvailability.brokerRestarted(id);
+                    }
+
+                    log.debug("Waiting for restarted pods {} to become ready", podNames);
+                    List<Future> readiness = pods.stream().map(this::isReady).collect(Collectors.toList());
+                    return withTimeout(CompositeFuture.join(readiness), timeout, unit, e -> new FatalProblem("Error while waiting for restarted pods " + podNames + " to become ready", e));
+                })
+                .compose(ignored -> {
+                    List<Future> rejoined = restartedGroup.stream()
+                            .map(id -> awaitBrokerRejoined(id, adminClient, timeout, unit))
+                            .collect(Collectors.toList());
+                    return CompositeFuture.join(rejoined);
+                })
+                .compose(ignored -> restoreLeadership(restartedGroup, adminClient))
+                .compose(ignored -> reconfigureRestarted(restartedGroup, adminClient))
+                .map(ignored -> {
+                    log.debug("Pods {} are now ready", podNames);
+                    for (int id : restartedGroup) {
+                        if (id != podId) {
+                            podToContext.get(id).promise.tryComplete();
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Moves the partition leadership off the given brokers before they are restarted, if a leadership migration is
+     * configured, and waits without blocking for the brokers to lead none of the migrated partitions anymore, for up
+     * to the timeout of the leadership migration. A migration which fails or does not complete in time is only
+     * logged, because the controlled shutdown of the brokers moves the remaining leadership anyway.
+     * @param podIds The ids of the brokers.
+     * @param adminClient The AdminClient or null if the brokers are force-rolled.
+     * @return A Future which completes when the leadership was moved off the brokers.
+     */
+    private Future<Void> migrateLeadership(List<Integer> podIds, Admin adminClient) {
+        if (leadershipMigration == null || adminClient == null) {
+            return Future.succeededFuture();
+        }
+
+        long timeoutMs = leadershipMigration.timeoutMs();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        Future<Integer> demoted;
+        try {
+            demoted = demoteLeaders(adminClient, podIds);
+        } catch (RuntimeException e) {
+            demoted = Future.failedFuture(e);
+        }
+        return withTimeout(demoted, timeoutMs, TimeUnit.MILLISECONDS, e -> new ForceableProblem("Error while moving the leadership off pods " + podIds, e))
+                .<Void>compose(partitions -> {
+                    if (partitions == 0) {
+                        return Future.succeededFuture();
+                    }
+                    log.debug("Waiting for the leadership of {} partitions to move off pods {}", partitions, podIds);
+                    return pollUntil(() -> leadersOn(adminClient, podIds).map(leaders -> leaders == 0), deadline)
+                            .map(drained -> {
+                                if (!drained) {
+                                    log.warn("Pods {} still lead partitions after {}ms, they are restarted anyway", podIds, timeoutMs);
+                                }
+                                return null;
+                            });
+                })
+                .recover(error -> {
+                    log.warn("Could not move the leadership off pods {}, they are restarted anyway", podIds, error);
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * Restores the original order of the replicas of the partitions whose leadership was moved off brokers and elects
+     * their preferred leaders. A failure is only logged, because the order of the replicas does not affect the
+     * availability of the partitions, and the partitions stay recorded in the {@link KafkaRollingRestartState} so
+     * that they are restored later.
+     * @param podIds The ids of the restarted brokers.
+     * @param adminClient The AdminClient or null if the brokers were force-rolled.
+     * @return A Future which completes when the leadership was restored.
+     */
+    private Future<Void> restoreLeadership(List<Integer> podIds, Admin adminClient) {
+        if (adminClient == null || !restartState.hasReorderedPartitions()) {
+            return Future.succeededFuture();
+        }
+
+        Future<Void> restored;
+        try {
+            restored = restoreLeaders(adminClient, podIds);
+        } catch (RuntimeException e) {
+            restored = Future.failedFuture(e);
+        }
+        return restored.recover(error -> {
+            log.warn("Could not restore the leadership of pods {}", podIds, error);
+            return Future.succeededFuture();
+        });
+    }
+
+    /**
+     * Starts moving the leadership of the partitions led by the given brokers to other replicas. The partitions led
+     * by the brokers are taken from the {@link KafkaAvailability} of the rolling restart, which was used to check
+     * that the brokers can be rolled.
+     * @param adminClient The AdminClient
+     * @param podIds The ids of the brokers
+     * @return A Future which completes with the number of migrated partitions.
+     */
+    protected Future<Integer> demoteLeaders(Admin adminClient, List<Integer> podIds) {
+        return leadershipMigration.demote(adminClient, kafkaAvailability, podIds, restartState);
+    }
+
+    /**
+     * Completes the returned future with the number of the partitions migrated off the given brokers which are still
+     * led by them.
+     * @param adminClient The AdminClient
+     * @param podIds The ids of the brokers
+     * @return A Future which completes with the number of partitions led by the brokers.
+     */
+    protected Future<Integer> leadersOn(Admin adminClient, List<Integer> podIds) {
+        return leadershipMigration.leadersOn(adminClient, podIds);
+    }
+
+    /**
+     * Restores the original replicas of the partitions recorded as reordered in the {@link KafkaRollingRestartState},
+     * waits without blocking for the reassignments to complete, for up to {@link #operationTimeoutMs}, and then elects
+     * their preferred leaders. When the reassignments do not complete in time, the leaders are not elected and the
+     * partitions stay recorded, so that their leaders are elected later.
+     * @param adminClient The AdminClient
+     * @param podIds The ids of the restarted brokers
+     * @return A Future which completes when the leadership was restored.
+     */
+    protected Future<Void> restoreLeaders(Admin adminClient, List<Integer> podIds) {
+        long deadline = System.currentTimeMillis() + operationTimeoutMs;
+        return KafkaLeadershipMigration.restoreReplicas(adminClient, restartState)
+                .compose(partitions -> {
+                    if (partitions.isEmpty()) {
+                        return Future.succeededFuture();
+                    }
+                    return pollUntil(() -> KafkaLeadershipMigration.reassigningPartitions(adminClient, partitions).map(Set::isEmpty), deadline)
+                            .compose(reassigned -> reassigned ?
+                                    KafkaLeadershipMigration.electPreferredLeaders(adminClient, partitions, restartState) :
+                                    Future.failedFuture("The original replicas of " + partitions.size()
+                                            + " partitions were not restored after " + operationTimeoutMs + "ms"));
+                });
+    }
+
+    /**
+     * Waits, without blocking, for the restarted broker to rejoin the cluster: first for the broker to be
+     * registered again (to be among the nodes returned by {@link Admin#describeCluster()}) and then for its
+     * partitions to be fully replicated again (see {@link #awaitReplicationCatchUp(int, KafkaAvailability)}),
+     * polling every {@link #pollingIntervalMs}. The returned Future fails with a {@link FatalProblem} when the
+     * broker is not registered before the timeout.
+     * @param podId The id of the broker.
+     * @param adminClient The AdminClient or null if the broker is not awaited (e.g. when it was force-rolled).
+     * @param timeout The timeout.
+     * @param unit The timeout unit.
+     * @return A Future which completes when the broker rejoined the cluster.
+     */
+    private Future<Void> awaitBrokerRejoined(int podId, Admin adminClient, long timeout, TimeUnit unit) {
+        if (adminClient == null) {
+            return Future.succeededFuture();
+        }
+
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        log.debug("Waiting for broker {} to be registered", podId);
+        return pollUntil(() -> isBrokerRegistered(adminClient, podId), deadline)
+                .compose(registered -> {
+                    if (!registered) {
+                        return Future.failedFuture(new FatalProblem("Error while waiting for restarted pod " + podName(podId) + " to rejoin the cluster",
+                                new TimeoutException()));
+                    }
+                    KafkaAvailability availability = kafkaAvailability;
+                    if (availability == null || replicationCatchUpTimeoutMs <= 0) {
+                        return Future.succeededFuture();
+                    }
+                    return awaitReplicationCatchUp(podId, availability);
+                });
+    }
+
+    /**
+     * Waits, without blocking, for the partitions of the restarted broker which were fully replicated before the
+     * restart to be fully replicated again (see {@link KafkaAvailability#underReplicatedPartitions(int)}), for up to
+     * {@link #replicationCatchUpTimeoutMs}. The progress is reported in the catch-up gauge of the broker. A broker
+     * which has not caught up when the timeout elapses does not fail the rolling restart, because the next broker
+     * is restarted only if that does not affect the availability of the partitions anyway.
+     * @param podId The id of the broker.
+     * @param availability The KafkaAvailability of the rolling restart.
+     * @return A Future which completes when the broker caught up or the timeout elapsed.
+     */
+    private Future<Void> awaitReplicationCatchUp(int podId, KafkaAvailability availability) {
+        AtomicInteger progress = catchUpMetrics != null ? catchUpMetrics.progress(namespace, cluster, podId) : new AtomicInteger();
+        long deadline = System.currentTimeMillis() + replicationCatchUpTimeoutMs;
+        log.debug("Waiting for the partitions of broker {} to be fully replicated", podId);
+        return pollUntil(() -> availability.underReplicatedPartitions(podId).map(underReplicated -> {
+            int partitions = availability.catchUpPartitions(podId);
+            progress.set(partitions == 0 ? 100 : (int) (100L * (partitions - underReplicated) / partitions));
+            log.debug("Broker {} has {} of {} partitions under-replicated", podId, underReplicated, partitions);
+            return underReplicated == 0;
+        }), deadline)
+                .map(caughtUp -> {
+                    if (!caughtUp) {
+                        log.warn("Pod {} still has under-replicated partitions after {}ms", podName(podId), replicationCatchUpTimeoutMs);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Completes the returned future with whether the given broker is among the nodes of the cluster.
+     * @param adminClient The AdminClient
+     * @param podId The id of the broker
+     * @return A Future which completes with whether the broker is registered.
+     */
+    protected Future<Boolean> isBrokerRegistered(Admin adminClient, int podId) {
+        Promise<Boolean> promise = Promise.promise();
+        adminClient.describeCluster().nodes().whenComplete((nodes, error) -> {
+            if (error != null) {
+                promise.fail(error);
+            } else {
+                promise.complete(nodes.stream().anyMatch(node -> node.id() == podId));
+            }
+        });
+        return promise.future();
+    }
+
+    /**
+     * Repeats the given check every {@link #pollingIntervalMs} until it completes with true or the deadline is
+     * reached. A failed check is repeated as well.
+     * @param check The check
+     * @param deadline The deadline in milliseconds since the epoch
+     * @return A Future which completes with true if the check succeeded before the deadline and with false otherwise.
+     */
+    private Future<Boolean> pollUntil(Supplier<Future<Boolean>> check, long deadline) {
+        Promise<Boolean> promise = Promise.promise();
+        poll(check, deadline, promise);
+        return promise.future();
+    }
+
+    private void poll(Supplier<Future<Boolean>> check, long deadline, Promise<Boolean> promise) {
+        Future<Boolean> result;
+        try {
+            result = check.get();
+        } catch (RuntimeException e) {
+            result = Future.failedFuture(e);
+        }
+
+        result.onComplete(ar -> {
+            if (abortedBy != null) {
+                promise.fail(abortedBy);
+            } else if (ar.succeeded() && ar.result()) {
+                promise.complete(true);
+            } else {
+                if (ar.failed()) {
+                    log.debug("Check failed, it will be repeated", ar.cause());
+                }
+                if (System.currentTimeMillis() + pollingIntervalMs >= deadline) {
+                    promise.complete(false);
+                } else {
+                    vertx.setTimer(pollingIntervalMs, id -> poll(check, deadline, promise));
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a Future which completes with the result of the given Future, or fails if the given Future is not
+     * completed within the given timeout. Failures are mapped with the {@code exceptionMapper}.
+     * @param future The future to wait for.
+     * @param timeout The timeout
+     * @param unit The timeout unit
+     * @param exceptionMapper A function for mapping failures, given a {@link TimeoutException} on timeout.
+     * @param <T> The result type
+     * @return The Future
+     */
+    private <T> Future<T> withTimeout(Future<T> future, long timeout, TimeUnit unit,
+                                      Function<Throwable, Exception> exceptionMapper) {
+        Promise<T> promise = Promise.promise();
+        long timerId = vertx.setTimer(unit.toMillis(timeout), id -> promise.tryFail(exceptionMapper.apply(new TimeoutException())));
+        future.onComplete(ar -> {
+            vertx.cancelTimer(timerId);
+            if (ar.succeeded()) {
+                promise.tryComplete(ar.result());
+            } else {
+                promise.tryFail(exceptionMapper.apply(ar.cause()));
+            }
+        });
+        return promise.future();
     }
 
     /**
@@ -420,18 +1153,38 @@ public class KafkaRoller {
     }
 
     /**
-     * Returns an AdminClient instance bootstrapped from the given pod.
+     * Returns the AdminClient instance of the cluster to be used for handling the given pod. The instance is leased
+     * from the {@link AdminClientPool} when it is first needed and kept until the rolling restart completes.
      */
     protected Admin adminClient(Integer podId) throws ForceableProblem {
         try {
-            String hostname = KafkaCluster.podDnsName(this.namespace, this.cluster, podName(podId)) + ":" + KafkaCluster.REPLICATION_PORT;
-            log.debug("Creating AdminClient for {}", hostname);
-            return adminClientProvider.createAdminClient(hostname, this.clusterCaCertSecret, this.coKeySecret, "cluster-operator");
+            if (adminClientLease == null) {
+                String bootstrap = bootstrapServers();
+                log.debug("Leasing AdminClient for {}", bootstrap);
+                adminClientLease = adminClientPool.lease(this.namespace, this.cluster, bootstrap,
+                        this.clusterCaCertSecret, this.coKeySecret, "cluster-operator");
+            }
+            return adminClientLease.admin();
         } catch (RuntimeException e) {
             throw new ForceableProblem("An error while try to create an admin client for pod " + podName(podId), e);
         }
     }
 
+    /**
+     * Called once the AdminClient returned by {@link #adminClient(Integer)} is not used for the pod anymore.
+     * The leased instance stays open for the other pods, so this does nothing by default.
+     */
+    protected void releaseAdminClient(Admin adminClient) {
+    }
+
+    private String bootstrapServers() {
+        List<String> servers = new ArrayList<>(numPods);
+        for (int podId = 0; podId < numPods; podId++) {
+            servers.add(KafkaCluster.podDnsName(this.namespace, this.cluster, podName(podId)) + ":" + KafkaCluster.REPLICATION_PORT);
+        }
+        return String.join(",", servers);
+    }
+
     protected KafkaAvailability availability(Admin ac) {
         return new KafkaAvailability(ac);
     }
@@ -450,8 +1203,7 @@ public class KafkaRoller {
     int controller(int podId, Admin ac, long timeout, TimeUnit unit, RestartContext restartContext) throws Exception {
         Node controllerNode = null;
         try {
-            DescribeClusterResult describeClusterResult = ac.describeCluster();
-            KafkaFuture<Node> controller = describeClusterResult.controller();
+            KafkaFuture<Node> controller = ac.describeCluster().controller();
             controllerNode = controller.get(timeout, unit);
             restartContext.clearConnectionError();
         } catch (ExecutionException e) {
@@ -0,0 +1,316 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.strimzi.operator.common.Annotations;
+import io.vertx.core.Future;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>The progress of a rolling restart of the Kafka brokers, persisted in the
+ * {@link #ANNO_STRIMZI_IO_ROLLING_RESTART_STATE} annotation of their StatefulSet, so that a rolling restart which was
+ * interrupted because the operator was restarted is resumed by the next rolling restart instead of being
+ * started again from scratch.</p>
+ *
+ * <p>For each pod which needs to be restarted, the reason, the UID of the pod when its restart was decided and the
+ * number of failed attempts to restart it are recorded:</p>
+ * <ul>
+ * <li>A pod whose UID differs from the recorded one was already restarted, so it is not restarted again for the
+ *     same reason, it is only awaited.
+ * <li>A pod whose UID is the recorded one is still pending, so it is restarted for the recorded reason even when
+ *     the reason does not apply anymore, and its back-off continues from the recorded number of attempts.
+ * </ul>
+ *
+ * <p>The state of the pods only applies to the generation of the StatefulSet it was recorded for, and it is removed
+ * once the rolling restart completes, whether it succeeded or failed. So it is only used to resume a rolling restart
+ * which did not complete because the operator was restarted, while a rolling restart following a failed one decides
+ * afresh which pods need to be restarted, even when a pod was recreated with the same reason meanwhile.</p>
+ *
+ * <p>The original replicas of the partitions whose replicas were reordered to move their leadership off the restarted
+ * brokers (see {@link KafkaLeadershipMigration}) are recorded as well, before the replicas are reordered. They are
+ * kept regardless of the generation of the StatefulSet and of the outcome of the rolling restart until the original
+ * order of the replicas was restored.</p>
+ */
+class KafkaRollingRestartState {
+    private static final Logger log = LogManager.getLogger(KafkaRollingRestartState.class);
+
+    /**
+     * Annotation of the Kafka StatefulSet with the state of the rolling restart in progress.
+     */
+    static final String ANNO_STRIMZI_IO_ROLLING_RESTART_STATE = Annotations.STRIMZI_DOMAIN + "rolling-restart-state";
+
+    private static final String GENERATION = "generation";
+    private static final String PODS = "pods";
+    private static final String REASON = "reason";
+    private static final String UID = "uid";
+    private static final String ATTEMPTS = "attempts";
+    private static final String REORDERED = "reordered";
+
+    private final int generation;
+    private final JsonObject pods;
+    private final JsonObject reordered;
+    private final Function<String, Future<Void>> store;
+    private boolean stored;
+    private Future<Void> persisted = Future.succeededFuture();
+
+    /**
+     * @param generation The generation of the StatefulSet.
+     * @param pods The state of the pods.
+     * @param store Persists the given annotation value (null to remove the annotation), or null if the state is
+     *              only kept in memory.
+     */
+    KafkaRollingRestartState(int generation, JsonObject pods, Function<String, Future<Void>> store) {
+        this(generation, pods, new JsonObject(), store);
+    }
+
+    /**
+     * @param generation The generation of the StatefulSet.
+     * @param pods The state of the pods.
+     * @param reordered The original replicas of the reordered partitions.
+     * @param store Persists the given annotation value (null to remove the annotation), or null if the state is
+     *              only kept in memory.
+     */
+    KafkaRollingRestartState(int generation, JsonObject pods, JsonObject reordered, Function<String, Future<Void>> store) {
+        this.generation = generation;
+        this.pods = pods;
+        this.reordered = reordered;
+        this.store = store;
+        this.stored = !isEmpty();
+    }
+
+    /**
+     * @param sts The current StatefulSet.
+     * @param store Persists the given annotation value (null to remove the annotation).
+     * @return The state recorded in the annotation of the StatefulSet, or an empty state when there is none. The state
+     * of the pods is ignored when it was recorded for another generation of the StatefulSet.
+     */
+    static KafkaRollingRestartState fromStatefulSet(StatefulSet sts, Function<String, Future<Void>> store) {
+        int generation = StatefulSetOperator.getStsGeneration(sts);
+        String value = Annotations.stringAnnotation(sts, ANNO_STRIMZI_IO_ROLLING_RESTART_STATE, null);
+        JsonObject pods = new JsonObject();
+        JsonObject reordered = new JsonObject();
+        if (value != null) {
+            try {
+                JsonObject json = new JsonObject(value);
+                reordered = json.getJsonObject(REORDERED, reordered);
+                if (json.getInteger(GENERATION, StatefulSetOperator.NO_GENERATION) == generation) {
+                    pods = json.getJsonObject(PODS, pods);
+                    log.info("Resuming the rolling restart of StatefulSet {}/{}: {}",
+                            sts.getMetadata().getNamespace(), sts.getMetadata().getName(), pods);
+                } else {
+                    log.debug("Ignoring the rolling restart state of a previous generation of StatefulSet {}/{}",
+                            sts.getMetadata().getNamespace(), sts.getMetadata().getName());
+                }
+            } catch (DecodeException | ClassCastException e) {
+                log.warn("Ignoring the invalid rolling restart state of StatefulSet {}/{}",
+                        sts.getMetadata().getNamespace(), sts.getMetadata().getName(), e);
+            }
+        }
+        KafkaRollingRestartState state = new KafkaRollingRestartState(generation, pods, reordered, store);
+        // The state of a previous generation is removed once this rolling restart completes
+        state.stored = value != null;
+        return state;
+    }
+
+    /**
+     * @return A state which is only kept in memory.
+     */
+    static KafkaRollingRestartState inMemory() {
+        return new KafkaRollingRestartState(StatefulSetOperator.NO_GENERATION, new JsonObject(), null);
+    }
+
+    private boolean isEmpty() {
+        return pods.isEmpty() && reordered.isEmpty();
+    }
+
+    private JsonObject pod(int podId) {
+        return pods.getJsonObject(String.valueOf(podId));
+    }
+
+    private static String uid(Pod pod) {
+        return pod.getMetadata() != null ? pod.getMetadata().getUid() : null;
+    }
+
+    /**
+     * @param podId The id of the pod.
+     * @param pod The pod.
+     * @return The reason for which the restart of the given pod was decided but not done yet, or null.
+     */
+    synchronized String pendingReason(int podId, Pod pod) {
+        JsonObject state = pod(podId);
+        if (state != null && Objects.equals(state.getString(UID), uid(pod))) {
+            return state.getString(REASON);
+        }
+        return null;
+    }
+
+    /**
+     * @param podId The id of the pod.
+     * @param pod The pod.
+     * @param reason The reason to restart the pod.
+     * @return Whether the pod was already restarted for the given reason.
+     */
+    synchronized boolean wasRestarted(int podId, Pod pod, String reason) {
+        JsonObject state = pod(podId);
+        return state != null
+                && reason.equals(state.getString(REASON))
+                && !Objects.equals(state.getString(UID), uid(pod));
+    }
+
+    /**
+     * @param podId The id of the pod.
+     * @return The number of failed attempts to restart the pod.
+     */
+    synchronized int attempts(int podId) {
+        JsonObject state = pod(podId);
+        return state != null ? state.getInteger(ATTEMPTS, 0) : 0;
+    }
+
+    /**
+     * Records that the given pod is going to be restarted for the given reason.
+     * @param podId The id of the pod.
+     * @param pod The pod.
+     * @param reason The reason to restart the pod.
+     */
+    synchronized void restarting(int podId, Pod pod, String reason) {
+        JsonObject state = pod(podId);
+        if (state == null || !Objects.equals(state.getString(UID), uid(pod))) {
+            state = new JsonObject().put(ATTEMPTS, 0);
+            pods.put(String.valueOf(podId), state);
+        }
+        state.put(REASON, reason).put(UID, uid(pod));
+    }
+
+    /**
+     * Records a failed attempt to restart the given pod, if its restart was decided.
+     * @param podId The id of the pod.
+     */
+    synchronized void attemptFailed(int podId) {
+        JsonObject state = pod(podId);
+        if (state != null) {
+            state.put(ATTEMPTS, state.getInteger(ATTEMPTS, 0) + 1);
+        }
+    }
+
+    /**
+     * Records the original replicas of partitions which are going to be reordered. The replicas of a partition which
+     * is already recorded are kept, as they are the original ones.
+     * @param originalReplicas The original replicas by partition.
+     */
+    synchronized void reordered(Map<TopicPartition, List<Integer>> originalReplicas) {
+        for (Map.Entry<TopicPartition, List<Integer>> partition : originalReplicas.entrySet()) {
+            String key = partition.getKey().toString();
+            if (!reordered.containsKey(key)) {
+                reordered.put(key, new JsonArray(partition.getValue()));
+            }
+        }
+    }
+
+    /**
+     * @return Whether the original replicas of some partitions were not restored yet.
+     */
+    synchronized boolean hasReorderedPartitions() {
+        return !reordered.isEmpty();
+    }
+
+    /**
+     * @return The original replicas of the partitions which were not restored yet.
+     */
+    synchronized Map<TopicPartition, List<Integer>> reorderedPartitions() {
+        Map<TopicPartition, List<Integer>> partitions = new LinkedHashMap<>();
+        for (String key : reordered.fieldNames()) {
+            int separator = key.lastIndexOf('-');
+            try {
+                List<Integer> replicas = reordered.getJsonArray(key).stream()
+                        .map(replica -> ((Number) replica).intValue())
+                        .collect(Collectors.toList());
+                partitions.put(new TopicPartition(key.substring(0, separator), Integer.parseInt(key.substring(separator + 1))), replicas);
+            } catch (RuntimeException e) {
+                log.warn("Ignoring the invalid original replicas of partition {}", key, e);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Records that the original replicas of the given partitions were restored.
+     * @param partitions The partitions.
+     */
+    synchronized void restored(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            reordered.remove(partition.toString());
+        }
+    }
+
+    /**
+     * Persists the state. The writes are done one after the other and a failed write is only logged, because the
+     * rolling restart does not depend on it.
+     * @return A Future which completes when the state was persisted.
+     */
+    synchronized Future<Void> persist() {
+        return write().recover(error -> {
+            log.warn("Could not persist the rolling restart state", error);
+            return Future.succeededFuture();
+        });
+    }
+
+    /**
+     * Persists the state like {@link #persist()}, but fails when the state could not be persisted, for the writes
+     * which have to be durable before continuing.
+     * @return A Future which completes when the state was persisted.
+     */
+    synchronized Future<Void> persistOrFail() {
+        return write();
+    }
+
+    private Future<Void> write() {
+        if (store == null || (isEmpty() && !stored)) {
+            return Future.succeededFuture();
+        }
+        String value = isEmpty() ? null : encode();
+        stored = value != null;
+        Future<Void> written = persisted.compose(ignored -> store.apply(value));
+        persisted = written.recover(error -> Future.succeededFuture());
+        return written;
+    }
+
+    private String encode() {
+        JsonObject json = new JsonObject().put(GENERATION, generation).put(PODS, pods.copy());
+        if (!reordered.isEmpty()) {
+            json.put(REORDERED, reordered.copy());
+        }
+        return json.encode();
+    }
+
+    /**
+     * Removes the persisted state of the pods once the rolling restart completed or failed. The original replicas of
+     * the partitions which were not restored yet are kept.
+     * @return A Future which completes when the state was removed.
+     */
+    synchronized Future<Void> clear() {
+        pods.clear();
+        return persist();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return encode();
+    }
+}
@@ -8,13 +8,30 @@ import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.strimzi.api.kafka.model.CruiseControlResources;
+import io.strimzi.api.kafka.model.KafkaRollingUpdate;
+import io.strimzi.api.kafka.model.LeadershipMigration;
+import io.strimzi.operator.cluster.model.CruiseControl;
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.cluster.model.KafkaConfiguration;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.strimzi.operator.cluster.operator.resource.cruisecontrol.CruiseControlApiImpl;
+import io.strimzi.operator.common.AdminClientPool;
 import io.strimzi.operator.common.AdminClientProvider;
+import io.strimzi.operator.common.Annotations;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.WorkerPools;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.ReconcileResult;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -24,7 +41,8 @@ public class KafkaSetOperator extends StatefulSetOperator {
 
     private static final Logger log = LogManager.getLogger(KafkaSetOperator.class);
 
-    private final AdminClientProvider adminClientProvider;
+    private final AdminClientPool adminClientPool;
+    private volatile BrokerCatchUpMetrics catchUpMetrics;
 
     /**
      * Constructor
@@ -36,8 +54,63 @@ public class KafkaSetOperator extends StatefulSetOperator {
      */
     public KafkaSetOperator(Vertx vertx, KubernetesClient client, long operationTimeoutMs,
                             AdminClientProvider adminClientProvider) {
+        this(vertx, client, operationTimeoutMs, new AdminClientPool(vertx, adminClientProvider));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx  The Vertx instance
+     * @param client The Kubernetes client
+     * @param operationTimeoutMs The timeout.
+     * @param adminClientPool The pool of the AdminClients.
+     */
+    public KafkaSetOperator(Vertx vertx, KubernetesClient client, long operationTimeoutMs,
+                            AdminClientPool adminClientPool) {
         super(vertx, client, operationTimeoutMs);
-        this.adminClientProvider = adminClientProvider;
+        this.adminClientPool = adminClientPool;
+    }
+
+    /**
+     * Enables the metrics of the reconciliations and the gauges of the replication catch-up of the brokers
+     * restarted by rolling updates.
+     *
+     * @param metricsProvider The metrics provider
+     */
+    @Override
+    public void enableMetrics(MetricsProvider metricsProvider) {
+        super.enableMetrics(metricsProvider);
+        this.catchUpMetrics = new BrokerCatchUpMetrics(metricsProvider);
+    }
+
+    /**
+     * Releases what is held in memory for a deleted Kafka cluster: its Admin clients are closed instead of waiting
+     * for them to be evicted as idle and the gauges of its brokers are removed.
+     *
+     * @param namespace The namespace of the Kafka cluster
+     * @param cluster   The name of the Kafka cluster
+     */
+    public void clusterDeleted(String namespace, String cluster) {
+        adminClientPool.invalidate(namespace, cluster);
+
+        BrokerCatchUpMetrics catchUpMetrics = this.catchUpMetrics;
+        if (catchUpMetrics != null) {
+            catchUpMetrics.removeCluster(namespace, cluster);
+        }
+    }
+
+    /**
+     * Removes the gauges of the brokers removed by a scale-down of a Kafka cluster.
+     *
+     * @param namespace The namespace of the Kafka cluster
+     * @param cluster   The name of the Kafka cluster
+     * @param replicas  The number of brokers left
+     */
+    public void brokersScaledDown(String namespace, String cluster, int replicas) {
+        BrokerCatchUpMetrics catchUpMetrics = this.catchUpMetrics;
+        if (catchUpMetrics != null) {
+            catchUpMetrics.removeBrokers(namespace, cluster, replicas);
+        }
     }
 
     @Override
@@ -68,9 +141,103 @@ public class KafkaSetOperator extends StatefulSetOperator {
     @Override
     public Future<Void> maybeRollingUpdate(StatefulSet sts, Function<Pod, String> podNeedsRestart,
                                            Secret clusterCaCertSecret, Secret coKeySecret) {
-        return new KafkaRoller(vertx, podOperations, 1_000, operationTimeoutMs,
-            () -> new BackOff(250, 2, 10), sts, clusterCaCertSecret, coKeySecret, adminClientProvider)
-                .rollingRestart(podNeedsRestart);
+        return maybeRollingUpdate(sts, podNeedsRestart, clusterCaCertSecret, coKeySecret, null, null);
+    }
+
+    /**
+     * Asynchronously perform a rolling update of the Kafka brokers like {@link #maybeRollingUpdate(StatefulSet, Function)}.
+     * The brokers which do not need to be restarted are reconfigured instead when the dynamically updatable configs
+     * of the given broker configuration differ from their current configuration.
+     * @param sts The StatefulSet
+     * @param podNeedsRestart Predicate for deciding whether the pod needs to be restarted.
+     * @param brokerConfiguration The user provided broker configuration.
+     * @param kafkaVersion The Kafka version of the brokers.
+     * @return A future that completes when any necessary rolling and reconfiguration has been completed.
+     */
+    public Future<Void> maybeRollingUpdate(StatefulSet sts, Function<Pod, String> podNeedsRestart,
+                                           KafkaConfiguration brokerConfiguration, KafkaVersion kafkaVersion) {
+        return withRollingUpdateSecrets(sts, (clusterCaKeySecret, coKeySecret) ->
+                maybeRollingUpdate(sts, podNeedsRestart, clusterCaKeySecret, coKeySecret, brokerConfiguration, kafkaVersion));
+    }
+
+    private Future<Void> maybeRollingUpdate(StatefulSet sts, Function<Pod, String> podNeedsRestart,
+                                            Secret clusterCaCertSecret, Secret coKeySecret,
+                                            KafkaConfiguration brokerConfiguration, KafkaVersion kafkaVersion) {
+        int maxConcurrentRestarts = Annotations.intAnnotation(sts, KafkaCluster.ANNO_STRIMZI_IO_MAX_CONCURRENT_RESTARTS, 1);
+        int replicationCatchUpTimeoutSeconds = Annotations.intAnnotation(sts, KafkaCluster.ANNO_STRIMZI_IO_REPLICATION_CATCH_UP_TIMEOUT,
+                KafkaRollingUpdate.DEFAULT_REPLICATION_CATCH_UP_TIMEOUT_SECONDS);
+        String namespace = sts.getMetadata().getNamespace();
+        String name = sts.getMetadata().getName();
+        return getAsync(namespace, name)
+                .compose(current -> new KafkaRoller(vertx, podOperations, 1_000, operationTimeoutMs,
+                    () -> new BackOff(250, 2, 10), sts, clusterCaCertSecret, coKeySecret, adminClientPool, maxConcurrentRestarts,
+                        TimeUnit.SECONDS.toMillis(replicationCatchUpTimeoutSeconds), catchUpMetrics,
+                        brokerConfiguration != null ? new KafkaBrokerDynamicConfiguration(brokerConfiguration, kafkaVersion) : null)
+                        .withLeadershipMigration(leadershipMigration(sts))
+                        .withRestartState(KafkaRollingRestartState.fromStatefulSet(current != null ? current : sts,
+                            state -> persistRollingRestartState(namespace, name, state)))
+                        .rollingRestart(podNeedsRestart));
+    }
+
+    /**
+     * Sets the {@link KafkaRollingRestartState#ANNO_STRIMZI_IO_ROLLING_RESTART_STATE} annotation of the StatefulSet.
+     * @param namespace The namespace of the StatefulSet
+     * @param name The name of the StatefulSet
+     * @param state The state of the rolling restart or null to remove the annotation
+     * @return A future that completes when the StatefulSet was annotated.
+     */
+    private Future<Void> persistRollingRestartState(String namespace, String name, String state) {
+        Promise<Void> result = Promise.promise();
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_WRITE,
+            future -> {
+                StatefulSet current = operation().inNamespace(namespace).withName(name).get();
+                if (current != null && !Objects.equals(state,
+                        Annotations.stringAnnotation(current, KafkaRollingRestartState.ANNO_STRIMZI_IO_ROLLING_RESTART_STATE, null))) {
+                    if (state == null) {
+                        Annotations.annotations(current).remove(KafkaRollingRestartState.ANNO_STRIMZI_IO_ROLLING_RESTART_STATE);
+                    } else {
+                        Annotations.annotations(current).put(KafkaRollingRestartState.ANNO_STRIMZI_IO_ROLLING_RESTART_STATE, state);
+                    }
+                    operation().inNamespace(namespace).withName(name).cascading(false).patch(current);
+                }
+                future.complete();
+            }, true, result);
+        return result.future();
+    }
+
+    /**
+     * Overridden to keep the state of an interrupted rolling restart (see {@link KafkaRollingRestartState}), which is
+     * not part of the desired StatefulSet.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected Future<ReconcileResult<StatefulSet>> internalPatch(String namespace, String name, StatefulSet current, StatefulSet desired) {
+        String state = Annotations.stringAnnotation(current, KafkaRollingRestartState.ANNO_STRIMZI_IO_ROLLING_RESTART_STATE, null);
+        if (state != null) {
+            Annotations.annotations(desired).put(KafkaRollingRestartState.ANNO_STRIMZI_IO_ROLLING_RESTART_STATE, state);
+        }
+        return super.internalPatch(namespace, name, current, desired);
+    }
+
+    /**
+     * @param sts The StatefulSet
+     * @return The leadership migration recorded in the annotations of the StatefulSet or null if the partition
+     * leadership is not migrated before the brokers are restarted.
+     */
+    private KafkaLeadershipMigration leadershipMigration(StatefulSet sts) {
+        LeadershipMigration mode = LeadershipMigration.forValue(
+                Annotations.stringAnnotation(sts, KafkaCluster.ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION, LeadershipMigration.NONE.toValue()));
+        if (mode == null || mode == LeadershipMigration.NONE) {
+            return null;
+        }
+
+        int timeoutSeconds = Annotations.intAnnotation(sts, KafkaCluster.ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION_TIMEOUT,
+                KafkaRollingUpdate.DEFAULT_LEADERSHIP_MIGRATION_TIMEOUT_SECONDS);
+        return new KafkaLeadershipMigration(mode, TimeUnit.SECONDS.toMillis(timeoutSeconds),
+                new CruiseControlApiImpl(vertx),
+                CruiseControlResources.qualifiedServiceName(Labels.cluster(sts), sts.getMetadata().getNamespace()),
+                CruiseControl.REST_API_PORT);
     }
 
 }
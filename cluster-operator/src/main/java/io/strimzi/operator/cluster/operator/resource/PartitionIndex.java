@@ -0,0 +1,291 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Compact index of the partitions of a cluster built from the topic descriptions. The topics and the partitions
+ * are identified by their ordinals in the index and all data are held in primitive arrays:</p>
+ *
+ * <ul>
+ * <li>the replicas of all partitions are held in one array, the replicas of partition {@code p} being at the
+ *     indexes {@code [replicaStart[p], replicaStart[p + 1])},
+ * <li>the ISR membership is held in a bit set over the same indexes,
+ * <li>for each broker, the ordinals of the partitions with a replica on the broker are held in an int array,
+ * <li>the {@code min.in.sync.replicas} is held per topic. It is not part of the topic descriptions, so it is
+ *     {@link #UNKNOWN} until it is set.
+ * <li>the rack of each broker is taken from the replica nodes, if the brokers have a {@code broker.rack}.
+ * </ul>
+ *
+ * <p>So the partitions which might be affected by a restart of a broker can be checked in
+ * O(partitions on the broker), without iterating any other partition and without boxing.</p>
+ *
+ * <p>Instances are not thread safe.</p>
+ */
+class PartitionIndex {
+    /**
+     * The {@code min.in.sync.replicas} of a topic which was not set yet
+     */
+    static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private static final int[] NO_PARTITIONS = new int[0];
+
+    private final String[] topicNames;
+    private final Map<String, Integer> topicOrdinals;
+    private final int[] topicMinIsrs;
+
+    private final int[] partitionTopics;
+    private final int[] partitionIds;
+    private final int[] isrSizes;
+    private final int[] replicaStart;
+    private final int[] replicas;
+    private final BitSet inIsr;
+
+    private final int[][] partitionsByBroker;
+    private final String[] brokerRacks;
+
+    /**
+     * Constructor
+     *
+     * @param descriptions  The topic descriptions
+     */
+    PartitionIndex(Collection<TopicDescription> descriptions) {
+        int topicCount = descriptions.size();
+        int partitionCount = 0;
+        int replicaCount = 0;
+        int maxBroker = -1;
+
+        for (TopicDescription td : descriptions) {
+            for (TopicPartitionInfo pi : td.partitions()) {
+                partitionCount++;
+                for (Node replica : pi.replicas()) {
+                    replicaCount++;
+                    maxBroker = Math.max(maxBroker, replica.id());
+                }
+            }
+        }
+
+        topicNames = new String[topicCount];
+        topicOrdinals = new HashMap<>(topicCount * 4 / 3 + 1);
+        topicMinIsrs = new int[topicCount];
+        Arrays.fill(topicMinIsrs, UNKNOWN);
+
+        partitionTopics = new int[partitionCount];
+        partitionIds = new int[partitionCount];
+        isrSizes = new int[partitionCount];
+        replicaStart = new int[partitionCount + 1];
+        replicas = new int[replicaCount];
+        inIsr = new BitSet(replicaCount);
+
+        int[] replicasPerBroker = new int[maxBroker + 1];
+        brokerRacks = new String[maxBroker + 1];
+        int topic = 0;
+        int partition = 0;
+        int replica = 0;
+
+        for (TopicDescription td : descriptions) {
+            topicNames[topic] = td.name();
+            topicOrdinals.put(td.name(), topic);
+
+            for (TopicPartitionInfo pi : td.partitions()) {
+                partitionTopics[partition] = topic;
+                partitionIds[partition] = pi.partition();
+                isrSizes[partition] = pi.isr().size();
+                replicaStart[partition] = replica;
+
+                for (Node node : pi.replicas()) {
+                    int broker = node.id();
+                    replicas[replica] = broker;
+                    if (contains(pi.isr(), broker)) {
+                        inIsr.set(replica);
+                    }
+                    if (broker >= 0) {
+                        replicasPerBroker[broker]++;
+                        if (node.hasRack()) {
+                            brokerRacks[broker] = node.rack();
+                        }
+                    }
+                    replica++;
+                }
+
+                partition++;
+            }
+
+            topic++;
+        }
+
+        replicaStart[partitionCount] = replica;
+
+        partitionsByBroker = new int[maxBroker + 1][];
+        for (int broker = 0; broker <= maxBroker; broker++) {
+            partitionsByBroker[broker] = replicasPerBroker[broker] == 0 ? NO_PARTITIONS : new int[replicasPerBroker[broker]];
+            replicasPerBroker[broker] = 0;
+        }
+
+        for (int p = 0; p < partitionCount; p++) {
+            for (int r = replicaStart[p]; r < replicaStart[p + 1]; r++) {
+                int broker = replicas[r];
+                if (broker >= 0) {
+                    partitionsByBroker[broker][replicasPerBroker[broker]++] = p;
+                }
+            }
+        }
+    }
+
+    private static boolean contains(List<Node> nodes, int broker) {
+        for (Node node : nodes) {
+            if (node.id() == broker) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return  The number of topics
+     */
+    int topicCount() {
+        return topicNames.length;
+    }
+
+    /**
+     * @return  The number of partitions
+     */
+    int partitionCount() {
+        return partitionIds.length;
+    }
+
+    /**
+     * @param topicName The name of the topic
+     * @return  The ordinal of the topic or -1 if the topic is not in the index
+     */
+    int topicOrdinal(String topicName) {
+        Integer ordinal = topicOrdinals.get(topicName);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * @param topic The ordinal of the topic
+     * @return  The name of the topic
+     */
+    String topicName(int topic) {
+        return topicNames[topic];
+    }
+
+    /**
+     * @param topic The ordinal of the topic
+     * @return  The {@code min.in.sync.replicas} of the topic, -1 if the topic does not configure it or
+     *          {@link #UNKNOWN} if it was not set yet
+     */
+    int minIsr(int topic) {
+        return topicMinIsrs[topic];
+    }
+
+    /**
+     * Sets the {@code min.in.sync.replicas} of a topic.
+     *
+     * @param topic     The ordinal of the topic
+     * @param minIsr    The {@code min.in.sync.replicas} or -1 if the topic does not configure it
+     */
+    void minIsr(int topic, int minIsr) {
+        topicMinIsrs[topic] = minIsr;
+    }
+
+    /**
+     * @param broker    The id of the broker
+     * @return  The ordinals of the partitions with a replica on the broker, in ascending order. The returned array
+     *          must not be modified.
+     */
+    int[] partitionsOn(int broker) {
+        return broker >= 0 && broker < partitionsByBroker.length ? partitionsByBroker[broker] : NO_PARTITIONS;
+    }
+
+    /**
+     * @param broker    The id of the broker
+     * @return  The rack of the broker or null if the broker has no rack or no replica in the index
+     */
+    String rack(int broker) {
+        return broker >= 0 && broker < brokerRacks.length ? brokerRacks[broker] : null;
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @return  The ordinal of the topic of the partition
+     */
+    int topic(int partition) {
+        return partitionTopics[partition];
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @return  The id of the partition within its topic
+     */
+    int partitionId(int partition) {
+        return partitionIds[partition];
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @return  The number of replicas of the partition
+     */
+    int replicaCount(int partition) {
+        return replicaStart[partition + 1] - replicaStart[partition];
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @return  The size of the ISR of the partition
+     */
+    int isrSize(int partition) {
+        return isrSizes[partition];
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @param broker    The id of the broker
+     * @return  Whether the broker has a replica of the partition which is in the ISR
+     */
+    boolean isInIsr(int partition, int broker) {
+        for (int r = replicaStart[partition]; r < replicaStart[partition + 1]; r++) {
+            if (replicas[r] == broker) {
+                return inIsr.get(r);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @return  The ids of the brokers with a replica of the partition
+     */
+    int[] replicas(int partition) {
+        return Arrays.copyOfRange(replicas, replicaStart[partition], replicaStart[partition + 1]);
+    }
+
+    /**
+     * @param partition The ordinal of the partition
+     * @return  The ids of the brokers with a replica of the partition which is in the ISR
+     */
+    int[] isr(int partition) {
+        int[] isr = new int[replicaCount(partition)];
+        int size = 0;
+        for (int r = replicaStart[partition]; r < replicaStart[partition + 1]; r++) {
+            if (inIsr.get(r)) {
+                isr[size++] = replicas[r];
+            }
+        }
+        return Arrays.copyOf(isr, size);
+    }
+}
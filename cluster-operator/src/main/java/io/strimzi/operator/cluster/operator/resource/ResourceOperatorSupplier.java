@@ -36,6 +36,7 @@ import io.strimzi.operator.common.BackOff;
 import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.operator.resource.AbstractResourceOperator;
 import io.strimzi.operator.common.operator.resource.BuildConfigOperator;
 import io.strimzi.operator.common.operator.resource.ClusterRoleBindingOperator;
 import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
@@ -57,8 +58,15 @@ import io.strimzi.operator.common.operator.resource.ServiceOperator;
 
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.strimzi.operator.common.operator.resource.StorageClassOperator;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
 @SuppressWarnings("checkstyle:ClassDataAbstractionCoupling")
 public class ResourceOperatorSupplier {
     public final SecretOperator secretOperations;
@@ -198,5 +206,43 @@ public class ResourceOperatorSupplier {
         this.nodeOperator = nodeOperator;
         this.zkScalerProvider = zkScalerProvider;
         this.metricsProvider = metricsProvider;
+
+        if (metricsProvider != null) {
+            for (AbstractResourceOperator<?, ?, ?, ?, ?> operator : asList(serviceOperations, routeOperations, zkSetOperations,
+                    kafkaSetOperations, configMapOperations, secretOperations, pvcOperations, deploymentOperations,
+                    serviceAccountOperations, roleBindingOperations, networkPolicyOperator, podDisruptionBudgetOperator,
+                    podOperations, ingressOperations, imagesStreamOperations, buildConfigOperations, deploymentConfigOperations)) {
+                if (operator != null) {
+                    operator.enableMetrics(metricsProvider);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves reads of the custom resources and of the Secrets, ConfigMaps and Services in the given namespace from
+     * local watch-fed caches instead of from the Kubernetes API server.
+     *
+     * @param namespace The namespace or {@code *} for all namespaces.
+     * @return A future which completes when all caches are synced.
+     */
+    public Future<Void> enableCaches(String namespace) {
+        List<Future> futures = new ArrayList<>();
+        futures.add(kafkaOperator.enableCache(namespace));
+        futures.add(connectOperator.enableCache(namespace));
+        futures.add(mirrorMakerOperator.enableCache(namespace));
+        futures.add(kafkaBridgeOperator.enableCache(namespace));
+        futures.add(kafkaConnectorOperator.enableCache(namespace));
+        futures.add(mirrorMaker2Operator.enableCache(namespace));
+        futures.add(kafkaRebalanceOperator.enableCache(namespace));
+        futures.add(secretOperations.enableCache(namespace));
+        futures.add(configMapOperations.enableCache(namespace));
+        futures.add(serviceOperations.enableCache(namespace));
+
+        if (connectS2IOperator != null) {
+            futures.add(connectS2IOperator.enableCache(namespace));
+        }
+
+        return CompositeFuture.join(futures).map((Void) null);
     }
 }
@@ -19,6 +19,7 @@ import io.strimzi.operator.cluster.ClusterOperator;
 import io.strimzi.operator.cluster.model.KafkaCluster;
 import io.strimzi.operator.common.Annotations;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractScalableResourceOperator;
 import io.strimzi.operator.common.operator.resource.PodOperator;
@@ -35,6 +36,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
@@ -43,7 +45,7 @@ import java.util.function.Function;
  */
 public abstract class StatefulSetOperator extends AbstractScalableResourceOperator<KubernetesClient, StatefulSet, StatefulSetList, DoneableStatefulSet, RollableScalableResource<StatefulSet, DoneableStatefulSet>> {
 
-    private static final int NO_GENERATION = -1;
+    static final int NO_GENERATION = -1;
     private static final int INIT_GENERATION = 0;
 
     private static final Logger log = LogManager.getLogger(StatefulSetOperator.class.getName());
@@ -94,6 +96,18 @@ public abstract class StatefulSetOperator extends AbstractScalableResourceOperat
      * @return A future that completes when any necessary rolling has been completed.
      */
     public Future<Void> maybeRollingUpdate(StatefulSet sts, Function<Pod, String> podNeedsRestart) {
+        return withRollingUpdateSecrets(sts, (clusterCaKeySecret, coKeySecret) ->
+                maybeRollingUpdate(sts, podNeedsRestart, clusterCaKeySecret, coKeySecret));
+    }
+
+    /**
+     * Gets the cluster CA certificate Secret and the Cluster Operator key Secret of the cluster of the given
+     * StatefulSet and performs the given rolling update with them.
+     * @param sts The StatefulSet
+     * @param rollingUpdate The rolling update, given the cluster CA certificate Secret and the Cluster Operator key Secret.
+     * @return A future that completes when the rolling update has been completed.
+     */
+    protected Future<Void> withRollingUpdateSecrets(StatefulSet sts, BiFunction<Secret, Secret, Future<Void>> rollingUpdate) {
         String cluster = sts.getMetadata().getLabels().get(Labels.STRIMZI_CLUSTER_LABEL);
         String namespace = sts.getMetadata().getNamespace();
         Future<Secret> clusterCaKeySecretFuture = secretOperations.getAsync(
@@ -109,7 +123,7 @@ public abstract class StatefulSetOperator extends AbstractScalableResourceOperat
             if (coKeySecret == null) {
                 return Future.failedFuture(Util.missingSecretException(namespace, ClusterOperator.secretName(cluster)));
             }
-            return maybeRollingUpdate(sts, podNeedsRestart, clusterCaKeySecret, coKeySecret);
+            return rollingUpdate.apply(clusterCaKeySecret, coKeySecret);
         });
     }
 
@@ -359,7 +373,7 @@ public abstract class StatefulSetOperator extends AbstractScalableResourceOperat
      */
     public Future<Void> deleteAsync(String namespace, String name, boolean cascading) {
         Promise<Void> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_WRITE,
             future -> {
                 try {
                     Boolean deleted = operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete();
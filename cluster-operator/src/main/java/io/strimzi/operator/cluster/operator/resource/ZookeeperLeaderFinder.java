@@ -7,10 +7,9 @@ package io.strimzi.operator.cluster.operator.resource;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.strimzi.api.kafka.model.KafkaResources;
-import io.strimzi.certs.CertAndKey;
-import io.strimzi.operator.cluster.model.Ca;
 import io.strimzi.operator.cluster.model.ZookeeperCluster;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.CertificateCache;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.SecretOperator;
@@ -26,12 +25,8 @@ import io.vertx.core.net.PemTrustOptions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.ByteArrayInputStream;
 import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
-import java.util.Base64;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -68,35 +63,23 @@ public class ZookeeperLeaderFinder {
                 .setPemTrustOptions(trustOptions(clusterCaCertificateSecret));
     }
 
-    private CertificateFactory x509Factory() {
-        CertificateFactory x509;
-        try {
-            x509 = CertificateFactory.getInstance("X.509");
-        } catch (CertificateException e) {
-            throw new RuntimeException("No security provider supports X.509");
-        }
-        return x509;
-    }
-
     /**
      * Validate the cluster CA certificate(s) passed in the given Secret
      * and return the PemTrustOptions for trusting them.
+     * The certificates are parsed using the {@link CertificateCache}.
      */
     protected PemTrustOptions trustOptions(Secret clusterCaCertificateSecret) {
-        Base64.Decoder decoder = Base64.getDecoder();
-        CertificateFactory x509 = x509Factory();
+        CertificateCache cache = CertificateCache.instance();
         PemTrustOptions pto = new PemTrustOptions();
-        for (Map.Entry<String, String> entry : clusterCaCertificateSecret.getData().entrySet()) {
-            String entryName = entry.getKey();
+        for (String entryName : clusterCaCertificateSecret.getData().keySet()) {
             if (entryName.endsWith(".crt")) {
                 log.info("Trusting certificate {} from Secret {}", entryName, clusterCaCertificateSecret.getMetadata().getName());
-                byte[] certBytes = decoder.decode(entry.getValue());
                 try {
-                    x509.generateCertificate(new ByteArrayInputStream(certBytes));
+                    cache.certificate(clusterCaCertificateSecret, entryName);
                 } catch (CertificateException e) {
                     throw corruptCertificate(clusterCaCertificateSecret, entryName, e);
                 }
-                pto.addCertValue(Buffer.buffer(certBytes));
+                pto.addCertValue(Buffer.buffer(cache.decoded(clusterCaCertificateSecret, entryName)));
             } else {
                 log.warn("Ignoring non-certificate {} in Secret {}", entryName, clusterCaCertificateSecret.getMetadata().getName());
             }
@@ -112,23 +95,30 @@ public class ZookeeperLeaderFinder {
     /**
      * Validate the CO certificate and key passed in the given Secret
      * and return the PemKeyCertOptions for using it for TLS authentication.
+     * The certificate and the key are decoded using the {@link CertificateCache}.
      */
     protected PemKeyCertOptions keyCertOptions(Secret coCertKeySecret) {
-        CertAndKey coCertKey = Ca.asCertAndKey(coCertKeySecret,
-                                            "cluster-operator.key", "cluster-operator.crt",
-                                        "cluster-operator.p12", "cluster-operator.password");
-        if (coCertKey == null) {
+        if (coCertKeySecret.getData() == null) {
             throw Util.missingSecretException(coCertKeySecret.getMetadata().getNamespace(), coCertKeySecret.getMetadata().getName());
         }
-        CertificateFactory x509 = x509Factory();
+        byte[] key = decoded(coCertKeySecret, "cluster-operator.key");
+        byte[] cert = decoded(coCertKeySecret, "cluster-operator.crt");
         try {
-            x509.generateCertificate(new ByteArrayInputStream(coCertKey.cert()));
+            CertificateCache.instance().certificate(coCertKeySecret, "cluster-operator.crt");
         } catch (CertificateException e) {
             throw corruptCertificate(coCertKeySecret, "cluster-operator.crt", e);
         }
         return new PemKeyCertOptions()
-                .setCertValue(Buffer.buffer(coCertKey.cert()))
-                .setKeyValue(Buffer.buffer(coCertKey.key()));
+                .setCertValue(Buffer.buffer(cert))
+                .setKeyValue(Buffer.buffer(key));
+    }
+
+    private static byte[] decoded(Secret secret, String key) {
+        byte[] decoded = CertificateCache.instance().decoded(secret, key);
+        if (decoded == null) {
+            throw new RuntimeException("The Secret " + secret.getMetadata().getNamespace() + "/" + secret.getMetadata().getName() + " is missing the key " + key);
+        }
+        return decoded;
     }
 
     /**
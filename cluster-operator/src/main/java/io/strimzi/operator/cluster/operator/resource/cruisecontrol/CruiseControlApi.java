@@ -6,6 +6,8 @@ package io.strimzi.operator.cluster.operator.resource.cruisecontrol;
 
 import io.vertx.core.Future;
 
+import java.util.List;
+
 /**
  * Cruise Control REST API interface definition
  */
@@ -60,5 +62,17 @@ public interface CruiseControlApi {
      */
     Future<CruiseControlResponse> stopExecution(String host, int port);
 
+    /**
+     *  Send a request to the Cruise Control server to demote the given brokers, moving the leadership of the
+     *  partitions they lead to other replicas. The request completes when the demotion was started, which might be
+     *  before the leadership has moved.
+     *
+     * @param host The address of the Cruise Control server.
+     * @param port The port the Cruise Control Server is listening on.
+     * @param brokerIds The ids of the brokers to demote.
+     * @return A future for the response from the Cruise Control server indicating that the demotion was started.
+     */
+    Future<CruiseControlResponse> demoteBrokers(String host, int port, List<Integer> brokerIds);
+
 }
 
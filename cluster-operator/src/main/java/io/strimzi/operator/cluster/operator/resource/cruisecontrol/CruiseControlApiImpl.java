@@ -13,7 +13,9 @@ import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 
 import java.net.ConnectException;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 public class CruiseControlApiImpl implements CruiseControlApi {
 
@@ -298,6 +300,57 @@ public class CruiseControlApiImpl implements CruiseControlApi {
         return result.future();
     }
 
+    @Override
+    @SuppressWarnings("deprecation")
+    public Future<CruiseControlResponse> demoteBrokers(String host, int port, List<Integer> brokerIds) {
+
+        Promise<CruiseControlResponse> result = Promise.promise();
+        HttpClientOptions options = new HttpClientOptions().setLogActivity(HTTP_CLIENT_ACTIVITY_LOGGING);
+
+        String path = new PathBuilder(CruiseControlEndpoints.DEMOTE_BROKER)
+                .addParameter(CruiseControlParameters.JSON, "true")
+                .addParameter(CruiseControlParameters.DRY_RUN, "false")
+                .addParameter(CruiseControlParameters.BROKER_ID,
+                        brokerIds.stream().map(String::valueOf).collect(Collectors.toList()))
+                // Partitions which are already under-replicated and the follower replicas are left as they are,
+                // only the leadership is moved
+                .addParameter(CruiseControlParameters.SKIP_URP_DEMOTION, "true")
+                .addParameter(CruiseControlParameters.EXCLUDE_FOLLOWER_DEMOTION, "true")
+                .build();
+
+        HttpClientRequest request = vertx.createHttpClient(options)
+                .post(port, host, path, response -> {
+                    response.exceptionHandler(result::fail);
+                    // 202 means that the demotion is still being executed
+                    if (response.statusCode() == 200 || response.statusCode() == 201 || response.statusCode() == 202) {
+                        String userTaskID = response.getHeader(CC_REST_API_USER_ID_HEADER);
+                        response.bodyHandler(buffer -> {
+                            JsonObject json = buffer.toJsonObject();
+                            if (json.containsKey(CC_REST_API_ERROR_KEY)) {
+                                result.fail(new CruiseControlRestException(
+                                        "Error for request: " + host + ":" + port + path + ". Server returned: " +
+                                        json.getString(CC_REST_API_ERROR_KEY)));
+                            } else {
+                                result.complete(new CruiseControlResponse(userTaskID, json));
+                            }
+                        });
+                    } else {
+                        result.fail(new CruiseControlRestException(
+                                "Unexpected status code " + response.statusCode() + " for POST request to " +
+                                host + ":" + port + path));
+                    }
+                })
+                .exceptionHandler(t -> httpExceptionHandler(result, t));
+
+        if (idleTimeout != HTTP_DEFAULT_IDLE_TIMEOUT_SECONDS) {
+            request.setTimeout(idleTimeout * 1000);
+        }
+
+        request.end();
+
+        return result.future();
+    }
+
     private void httpExceptionHandler(Promise<? extends CruiseControlResponse> result, Throwable t) {
         if (t instanceof TimeoutException) {
             // Vert.x throws a NoStackTraceTimeoutException (inherits from TimeoutException) when the request times out
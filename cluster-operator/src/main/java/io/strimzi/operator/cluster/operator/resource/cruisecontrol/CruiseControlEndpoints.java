@@ -9,6 +9,7 @@ enum CruiseControlEndpoints {
     STATE("/kafkacruisecontrol/state"),
     REBALANCE("/kafkacruisecontrol/rebalance"),
     STOP("/kafkacruisecontrol/stop_proposal_execution"),
+    DEMOTE_BROKER("/kafkacruisecontrol/demote_broker"),
     USER_TASKS("/kafkacruisecontrol/user_tasks");
 
     String path;
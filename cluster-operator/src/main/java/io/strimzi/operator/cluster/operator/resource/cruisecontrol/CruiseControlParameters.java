@@ -16,7 +16,10 @@ public enum CruiseControlParameters {
     VERBOSE("verbose"),
     SKIP_HARD_GOAL_CHECK("skip_hard_goal_check"),
     FETCH_COMPLETE("fetch_completed_task"),
-    USER_TASK_IDS("user_task_ids");
+    USER_TASK_IDS("user_task_ids"),
+    BROKER_ID("brokerid"),
+    SKIP_URP_DEMOTION("skip_urp_demotion"),
+    EXCLUDE_FOLLOWER_DEMOTION("exclude_follower_demotion");
 
     String key;
 
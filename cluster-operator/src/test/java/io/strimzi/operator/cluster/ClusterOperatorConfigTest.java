@@ -9,6 +9,7 @@ import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
 import io.strimzi.operator.cluster.model.ImagePullPolicy;
 import io.strimzi.operator.cluster.model.KafkaVersion;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.WorkerPools;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -59,7 +60,7 @@ public class ClusterOperatorConfigTest {
     @Test
     public void testReconciliationInterval() {
 
-        ClusterOperatorConfig config = new ClusterOperatorConfig(singleton("namespace"), 60_000, 30_000, false, new KafkaVersion.Lookup(emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap()), null, null);
+        ClusterOperatorConfig config = new ClusterOperatorConfig(singleton("namespace"), 60_000, 30_000, false, new KafkaVersion.Lookup(emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap()), null, null, false, 5, 20, 30_000, 3, emptyMap(), false);
 
         assertThat(config.getNamespaces(), is(singleton("namespace")));
         assertThat(config.getReconciliationIntervalMs(), is(60_000L));
@@ -262,4 +263,75 @@ public class ClusterOperatorConfigTest {
             assertThat(e.getMessage(), containsString(envVar.getKey()));
         }
     }
+
+    @Test
+    public void testResourceCacheEnabled() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isResourceCacheEnabled(), is(false));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_ENABLED, "true");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isResourceCacheEnabled(), is(true));
+    }
+
+    @Test
+    public void testJavaCertManagerEnabled() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isJavaCertManagerEnabled(), is(false));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_JAVA_CERT_MANAGER_ENABLED, "true");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isJavaCertManagerEnabled(), is(true));
+    }
+
+    @Test
+    public void testReconciliationWorkersAndRateLimit() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getReconciliationWorkers(), is(ClusterOperatorConfig.DEFAULT_RECONCILIATION_WORKERS));
+        assertThat(config.getReconciliationRateLimit(), is(ClusterOperatorConfig.DEFAULT_RECONCILIATION_RATE_LIMIT));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_WORKERS, "20");
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_RATE_LIMIT, "0");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getReconciliationWorkers(), is(20));
+        assertThat(config.getReconciliationRateLimit(), is(0));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_WORKERS, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testPeriodicReconciliationSpreadAndInFlight() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getPeriodicReconciliationSpreadMs(), is(config.getReconciliationIntervalMs()));
+        assertThat(config.getPeriodicReconciliationsInFlight(), is(ClusterOperatorConfig.DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_SPREAD_MS, "0");
+        envVars.put(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATIONS_IN_FLIGHT, "20");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getPeriodicReconciliationSpreadMs(), is(0L));
+        assertThat(config.getPeriodicReconciliationsInFlight(), is(20));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_SPREAD_MS, String.valueOf(config.getReconciliationIntervalMs() + 1));
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testWorkerPoolSizes() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getWorkerPoolSizes().isEmpty(), is(true));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, "kube-read=20, crypto=4");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getWorkerPoolSizes().size(), is(2));
+        assertThat(config.getWorkerPoolSizes().get(WorkerPools.Pool.KUBE_READ), is(20));
+        assertThat(config.getWorkerPoolSizes().get(WorkerPools.Pool.CRYPTO), is(4));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, "kube-read=0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, "unknown-pool=10");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
 }
@@ -97,6 +97,7 @@ import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PemTrustOptions;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.DescribeClusterResult;
 import org.apache.kafka.clients.admin.DescribeConfigsResult;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
@@ -104,6 +105,7 @@ import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
+import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.internals.KafkaFutureImpl;
 
 import java.io.IOException;
@@ -112,11 +114,15 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
@@ -600,7 +606,10 @@ public class ResourceUtils {
                     Constructor<DescribeClusterResult> declaredConstructor = DescribeClusterResult.class.getDeclaredConstructor(KafkaFuture.class, KafkaFuture.class, KafkaFuture.class, KafkaFuture.class);
                     declaredConstructor.setAccessible(true);
                     KafkaFuture<Node> objectKafkaFuture = KafkaFutureImpl.completedFuture(new Node(0, "localhost", 9091));
-                    dcr = declaredConstructor.newInstance(null, objectKafkaFuture, null, null);
+                    // All the brokers of the test clusters are registered
+                    KafkaFuture<Collection<Node>> nodesFuture = KafkaFutureImpl.completedFuture(IntStream.range(0, 10)
+                            .mapToObj(id -> new Node(id, "localhost", 9091)).collect(Collectors.toList()));
+                    dcr = declaredConstructor.newInstance(nodesFuture, objectKafkaFuture, null, null);
                 } catch (ReflectiveOperationException e) {
                     throw new RuntimeException(e);
                 }
@@ -627,15 +636,17 @@ public class ResourceUtils {
                 }
                 when(mock.describeTopics(any())).thenReturn(dtr);
 
-                DescribeConfigsResult dcfr;
-                try {
-                    Constructor<DescribeConfigsResult> declaredConstructor = DescribeConfigsResult.class.getDeclaredConstructor(Map.class);
-                    declaredConstructor.setAccessible(true);
-                    dcfr = declaredConstructor.newInstance(emptyMap());
-                } catch (ReflectiveOperationException e) {
-                    throw new RuntimeException(e);
-                }
-                when(mock.describeConfigs(any())).thenReturn(dcfr);
+                when(mock.describeConfigs(any())).thenAnswer(invocation -> {
+                    Collection<ConfigResource> resources = invocation.getArgument(0);
+                    try {
+                        Constructor<DescribeConfigsResult> declaredConstructor = DescribeConfigsResult.class.getDeclaredConstructor(Map.class);
+                        declaredConstructor.setAccessible(true);
+                        return declaredConstructor.newInstance(resources.stream()
+                                .collect(Collectors.toMap(resource -> resource, resource -> KafkaFuture.completedFuture(new Config(emptyList())))));
+                    } catch (ReflectiveOperationException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
                 return mock;
             }
         };
@@ -739,7 +750,14 @@ public class ResourceUtils {
                 false,
                 versions,
                 null,
-                null);
+                null,
+                false,
+                ClusterOperatorConfig.DEFAULT_RECONCILIATION_WORKERS,
+                ClusterOperatorConfig.DEFAULT_RECONCILIATION_RATE_LIMIT,
+                0,
+                ClusterOperatorConfig.DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT,
+                emptyMap(),
+                false);
 
         return config;
     }
@@ -8,7 +8,10 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.strimzi.certs.CertAndKey;
 import io.strimzi.certs.Subject;
+import io.strimzi.operator.common.WorkerPools;
 import io.vertx.junit5.VertxExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -16,6 +19,7 @@ import java.io.File;
 import java.io.IOException;
 import java.security.cert.X509Certificate;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -25,6 +29,17 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 @ExtendWith(VertxExtension.class)
 public class CaRenewalTest {
+    @BeforeAll
+    public static void before() {
+        // A single thread generates the certificates of a batch in the order of the pods, as the tests expect
+        WorkerPools.configure(WorkerPools.parseSizes("crypto-batch=1"), null);
+    }
+
+    @AfterAll
+    public static void after() {
+        WorkerPools.configure(Collections.emptyMap(), null);
+    }
+
     @Test
     public void renewalOfStatefulSetCertificatesWithNullSecret() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
@@ -173,7 +188,7 @@ public class CaRenewalTest {
             }
 
             @Override
-            protected boolean certSubjectChanged(CertAndKey certAndKey, Subject desiredSubject, String podName)    {
+            protected boolean certSubjectChanged(Secret secret, String certKey, Subject desiredSubject, String podName)    {
                 return false;
             }
 
@@ -258,7 +273,7 @@ public class CaRenewalTest {
             }
 
             @Override
-            protected boolean certSubjectChanged(CertAndKey certAndKey, Subject desiredSubject, String podName)    {
+            protected boolean certSubjectChanged(Secret secret, String certKey, Subject desiredSubject, String podName)    {
                 return false;
             }
 
@@ -49,6 +49,8 @@ import io.strimzi.api.kafka.model.InlineLogging;
 import io.strimzi.api.kafka.model.storage.JbodStorageBuilder;
 import io.strimzi.api.kafka.model.Kafka;
 import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.api.kafka.model.KafkaRollingUpdate;
+import io.strimzi.api.kafka.model.LeadershipMigration;
 import io.strimzi.api.kafka.model.storage.PersistentClaimStorageBuilder;
 import io.strimzi.api.kafka.model.ProbeBuilder;
 import io.strimzi.api.kafka.model.Rack;
@@ -392,6 +394,85 @@ public class KafkaClusterTest {
         checkStatefulSet(sts, editKafkaAssembly, true);
     }
 
+    @Test
+    public void testGenerateStatefulSetWithMaxConcurrentRestarts() {
+        StatefulSet sts = kc.generateStatefulSet(false, null, null);
+        assertThat(sts.getMetadata().getAnnotations().containsKey(KafkaCluster.ANNO_STRIMZI_IO_MAX_CONCURRENT_RESTARTS), is(false));
+
+        Kafka editKafkaAssembly = new KafkaBuilder(kafkaAssembly)
+                .editSpec()
+                    .editKafka()
+                        .withNewRollingUpdate().withMaxConcurrentRestarts(3).endRollingUpdate()
+                    .endKafka()
+                .endSpec()
+                .build();
+        KafkaCluster kc = KafkaCluster.fromCrd(editKafkaAssembly, VERSIONS);
+        sts = kc.generateStatefulSet(false, null, null);
+        assertThat(kc.getMaxConcurrentRestarts(), is(3));
+        assertThat(sts.getMetadata().getAnnotations().get(KafkaCluster.ANNO_STRIMZI_IO_MAX_CONCURRENT_RESTARTS), is("3"));
+    }
+
+    @Test
+    public void testGenerateStatefulSetWithReplicationCatchUpTimeout() {
+        StatefulSet sts = kc.generateStatefulSet(false, null, null);
+        assertThat(kc.getReplicationCatchUpTimeoutSeconds(), is(KafkaRollingUpdate.DEFAULT_REPLICATION_CATCH_UP_TIMEOUT_SECONDS));
+        assertThat(sts.getMetadata().getAnnotations().containsKey(KafkaCluster.ANNO_STRIMZI_IO_REPLICATION_CATCH_UP_TIMEOUT), is(false));
+
+        Kafka editKafkaAssembly = new KafkaBuilder(kafkaAssembly)
+                .editSpec()
+                    .editKafka()
+                        .withNewRollingUpdate().withReplicationCatchUpTimeoutSeconds(900).endRollingUpdate()
+                    .endKafka()
+                .endSpec()
+                .build();
+        KafkaCluster kc = KafkaCluster.fromCrd(editKafkaAssembly, VERSIONS);
+        sts = kc.generateStatefulSet(false, null, null);
+        assertThat(kc.getReplicationCatchUpTimeoutSeconds(), is(900));
+        assertThat(sts.getMetadata().getAnnotations().get(KafkaCluster.ANNO_STRIMZI_IO_REPLICATION_CATCH_UP_TIMEOUT), is("900"));
+    }
+
+    @Test
+    public void testGenerateStatefulSetWithLeadershipMigration() {
+        StatefulSet sts = kc.generateStatefulSet(false, null, null);
+        assertThat(kc.getLeadershipMigration(), is(LeadershipMigration.NONE));
+        assertThat(sts.getMetadata().getAnnotations().containsKey(KafkaCluster.ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION), is(false));
+        assertThat(sts.getMetadata().getAnnotations().containsKey(KafkaCluster.ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION_TIMEOUT), is(false));
+
+        Kafka editKafkaAssembly = new KafkaBuilder(kafkaAssembly)
+                .editSpec()
+                    .editKafka()
+                        .withNewRollingUpdate()
+                            .withLeadershipMigration(LeadershipMigration.PREFERRED_REPLICA_ELECTION)
+                            .withLeadershipMigrationTimeoutSeconds(30)
+                        .endRollingUpdate()
+                    .endKafka()
+                .endSpec()
+                .build();
+        KafkaCluster kc = KafkaCluster.fromCrd(editKafkaAssembly, VERSIONS);
+        sts = kc.generateStatefulSet(false, null, null);
+        assertThat(sts.getMetadata().getAnnotations().get(KafkaCluster.ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION), is("preferred-replica-election"));
+        assertThat(sts.getMetadata().getAnnotations().get(KafkaCluster.ANNO_STRIMZI_IO_LEADERSHIP_MIGRATION_TIMEOUT), is("30"));
+    }
+
+    @Test
+    public void testCruiseControlDemoteWithoutCruiseControlFallsBackToPreferredReplicaElection() {
+        Kafka editKafkaAssembly = new KafkaBuilder(kafkaAssembly)
+                .editSpec()
+                    .editKafka()
+                        .withNewRollingUpdate().withLeadershipMigration(LeadershipMigration.CRUISE_CONTROL_DEMOTE).endRollingUpdate()
+                    .endKafka()
+                .endSpec()
+                .build();
+        assertThat(KafkaCluster.fromCrd(editKafkaAssembly, VERSIONS).getLeadershipMigration(), is(LeadershipMigration.PREFERRED_REPLICA_ELECTION));
+
+        editKafkaAssembly = new KafkaBuilder(editKafkaAssembly)
+                .editSpec()
+                    .withNewCruiseControl().endCruiseControl()
+                .endSpec()
+                .build();
+        assertThat(KafkaCluster.fromCrd(editKafkaAssembly, VERSIONS).getLeadershipMigration(), is(LeadershipMigration.CRUISE_CONTROL_DEMOTE));
+    }
+
     @Test
     public void testGenerateStatefulSetWithInitContainers() {
         Kafka editKafkaAssembly =
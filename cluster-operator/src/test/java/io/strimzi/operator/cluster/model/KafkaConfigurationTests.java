@@ -7,9 +7,14 @@ package io.strimzi.operator.cluster.model;
 import io.strimzi.operator.cluster.KafkaVersionTestUtils;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class KafkaConfigurationTests {
@@ -91,4 +96,47 @@ public class KafkaConfigurationTests {
     public void validVersion() {
         assertNoError("inter.broker.protocol.version", "2.5-IV0");
     }
+
+    @Test
+    public void dynamicallyUpdatableConfigs() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("num.io.threads", 16);
+        config.put("log.retention.ms", 3600000);
+        config.put("auto.create.topics.enable", false);
+        config.put("ssl.cipher.suites", "TLS_AES_256_GCM_SHA384");
+        config.put("foo", "bar");
+        KafkaConfiguration kafkaConfiguration = new KafkaConfiguration(config.entrySet());
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("num.io.threads", "16");
+        expected.put("log.retention.ms", "3600000");
+        assertThat(kafkaConfiguration.dynamicallyUpdatableConfigs(kafkaVersion), is(expected));
+
+        KafkaConfiguration withoutValues = kafkaConfiguration.withoutDynamicallyUpdatableValues(kafkaVersion);
+        assertThat(withoutValues.getConfigOption("num.io.threads"), is(""));
+        assertThat(withoutValues.getConfigOption("log.retention.ms"), is(""));
+        assertThat(withoutValues.getConfigOption("auto.create.topics.enable"), is("false"));
+        assertThat(withoutValues.getConfigOption("ssl.cipher.suites"), is("TLS_AES_256_GCM_SHA384"));
+        assertThat(withoutValues.getConfigOption("foo"), is("bar"));
+
+        // Changing the value of a dynamically updatable config does not change the configuration without the values
+        config.put("num.io.threads", 32);
+        assertThat(new KafkaConfiguration(config.entrySet()).withoutDynamicallyUpdatableValues(kafkaVersion).getConfiguration(),
+                is(withoutValues.getConfiguration()));
+    }
+
+    @Test
+    public void passwordsAreNotDynamicallyUpdatable() {
+        Set<String> names = KafkaConfiguration.dynamicallyUpdatableConfigNames(kafkaVersion);
+        assertThat(names.contains("num.io.threads"), is(true));
+        assertThat(names.contains("delegation.token.master.key"), is(false));
+        assertThat(names.contains("ssl.keystore.password"), is(false));
+        assertThat(names.contains("broker.id"), is(false));
+    }
+
+    @Test
+    public void dynamicallyUpdatableConfigNamesAreReadOncePerVersion() {
+        assertThat(KafkaConfiguration.dynamicallyUpdatableConfigNames(kafkaVersion),
+                is(sameInstance(KafkaConfiguration.dynamicallyUpdatableConfigNames(kafkaVersion))));
+    }
 }
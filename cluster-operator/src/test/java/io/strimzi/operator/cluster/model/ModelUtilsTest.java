@@ -333,6 +333,12 @@ public class ModelUtilsTest {
         assertThat(ModelUtils.doExistingCertificatesDiffer(defaultSecret, changedSecret), is(true));
         assertThat(ModelUtils.doExistingCertificatesDiffer(defaultSecret, changedScaleUpSecret), is(true));
         assertThat(ModelUtils.doExistingCertificatesDiffer(defaultSecret, changedScaleDownSecret), is(true));
+
+        assertThat(ModelUtils.ownersOfChangedCertificates(defaultSecret, sameAsDefaultSecret), is(Collections.emptySet()));
+        assertThat(ModelUtils.ownersOfChangedCertificates(defaultSecret, scaleUpSecret), is(Collections.emptySet()));
+        assertThat(ModelUtils.ownersOfChangedCertificates(defaultSecret, changedSecret), is(Collections.singleton("my-cluster-kafka-1")));
+        assertThat(ModelUtils.ownersOfChangedCertificates(defaultSecret, changedScaleUpSecret), is(Collections.singleton("my-cluster-kafka-2")));
+        assertThat(ModelUtils.ownersOfChangedCertificates(defaultSecret, changedScaleDownSecret), is(Collections.singleton("my-cluster-kafka-0")));
     }
 
     @Test
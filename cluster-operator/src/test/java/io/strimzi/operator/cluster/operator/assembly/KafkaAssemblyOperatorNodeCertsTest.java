@@ -0,0 +1,272 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.certs.CertManager;
+import io.strimzi.operator.KubernetesVersion;
+import io.strimzi.operator.PlatformFeaturesAvailability;
+import io.strimzi.operator.cluster.ClusterOperatorConfig;
+import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import io.strimzi.operator.cluster.ResourceUtils;
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.cluster.model.KafkaConfiguration;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.strimzi.operator.cluster.operator.resource.KafkaSetOperator;
+import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
+import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.operator.MockCertManager;
+import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
+import io.strimzi.operator.common.operator.resource.CrdOperator;
+import io.strimzi.operator.common.operator.resource.ReconcileResult;
+import io.strimzi.operator.common.operator.resource.SecretOperator;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Base64;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that renewing the certificates of some Kafka brokers only restarts these brokers.
+ */
+@ExtendWith(VertxExtension.class)
+public class KafkaAssemblyOperatorNodeCertsTest {
+    private final KubernetesVersion kubernetesVersion = KubernetesVersion.V1_11;
+    private final MockCertManager certManager = new MockCertManager();
+    private final PasswordGenerator passwordGenerator = new PasswordGenerator(10, "a", "a");
+    private final ClusterOperatorConfig config = ResourceUtils.dummyClusterOperatorConfig(VERSIONS);
+    private static final KafkaVersion.Lookup VERSIONS = KafkaVersionTestUtils.getKafkaVersionLookup();
+    private final String namespace = "testns";
+    private final String clusterName = "testkafka";
+    protected static Vertx vertx;
+
+    private Kafka kafka;
+    private KafkaCluster kafkaCluster;
+    private ResourceOperatorSupplier supplier;
+    private KafkaAssemblyOperator operator;
+    private ArgumentCaptor<StatefulSet> reconcileStsCaptor;
+    private ArgumentCaptor<Function<Pod, String>> isPodToRestartFunctionCaptor;
+
+    /**
+     * Mock the KafkaAssemblyOperator and override reconcile to only run through the steps we want to test
+     */
+    class MockKafkaAssemblyOperator extends KafkaAssemblyOperator  {
+        public MockKafkaAssemblyOperator(Vertx vertx, PlatformFeaturesAvailability pfa, CertManager certManager, PasswordGenerator passwordGenerator, ResourceOperatorSupplier supplier, ClusterOperatorConfig config) {
+            super(vertx, pfa, certManager, passwordGenerator, supplier, config);
+        }
+
+        @Override
+        Future<Void> reconcile(ReconciliationState reconcileState)  {
+            return reconcileState.reconcileCas(this::dateSupplier)
+                    .compose(state -> state.getKafkaClusterDescription())
+                    .compose(state -> state.kafkaGenerateCertificates(this::dateSupplier))
+                    .compose(state -> state.kafkaBrokersSecret())
+                    .compose(state -> state.kafkaStatefulSet())
+                    .compose(state -> state.kafkaRollingUpdate())
+                    .map((Void) null);
+        }
+    }
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @BeforeEach
+    public void setup() {
+        kafka = createKafka();
+        kafkaCluster = KafkaCluster.fromCrd(kafka, VERSIONS);
+
+        supplier = ResourceUtils.supplierWithMocks(false);
+        operator = new MockKafkaAssemblyOperator(vertx, new PlatformFeaturesAvailability(false, kubernetesVersion),
+                certManager,
+                passwordGenerator,
+                supplier,
+                config);
+
+        // Mock the Kafka CRD Operator
+        CrdOperator mockKafkaOps = supplier.kafkaOperator;
+        when(mockKafkaOps.getAsync(eq(namespace), eq(clusterName)))
+                .thenReturn(Future.succeededFuture(createKafka()));
+        when(mockKafkaOps.updateStatusAsync(any()))
+                .thenReturn(Future.succeededFuture());
+
+        // Mock the KafkaSetOperator
+        KafkaSetOperator mockKafkaSetOps = supplier.kafkaSetOperations;
+        when(mockKafkaSetOps.getAsync(eq(namespace), eq(KafkaCluster.kafkaClusterName(clusterName))))
+                .thenAnswer(i -> Future.succeededFuture(kafkaCluster.generateStatefulSet(false, null, null)));
+
+        reconcileStsCaptor = ArgumentCaptor.forClass(StatefulSet.class);
+        when(mockKafkaSetOps.reconcile(eq(namespace), eq(KafkaCluster.kafkaClusterName(clusterName)), reconcileStsCaptor.capture()))
+                .then(invocation -> Future.succeededFuture(ReconcileResult.patched(invocation.getArgument(2))));
+
+        isPodToRestartFunctionCaptor = ArgumentCaptor.forClass(Function.class);
+        when(mockKafkaSetOps.maybeRollingUpdate(any(StatefulSet.class), isPodToRestartFunctionCaptor.capture(),
+                any(KafkaConfiguration.class), any(KafkaVersion.class)))
+                .thenReturn(Future.succeededFuture());
+
+        // Mock the ConfigMapOperator
+        ConfigMapOperator mockCmOps = supplier.configMapOperations;
+        when(mockCmOps.get(eq(namespace), eq(clusterName)))
+                .thenReturn(kafkaCluster.generateMetricsAndLogConfigMap(null));
+        when(mockCmOps.getAsync(eq(namespace), eq(clusterName)))
+                .thenAnswer(i -> Future.succeededFuture(kafkaCluster.generateMetricsAndLogConfigMap(null)));
+
+        // Mock the SecretOperator
+        SecretOperator mockSecretOps = supplier.secretOperations;
+        when(mockSecretOps.getAsync(eq(namespace), eq(KafkaCluster.brokersSecretName(clusterName))))
+                .thenReturn(Future.succeededFuture(getBrokersSecret()));
+        when(mockSecretOps.reconcile(any(), any(), any()))
+                .then(invocation -> Future.succeededFuture(ReconcileResult.created(invocation.getArgument(2))));
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    public Kafka createKafka() {
+        return new KafkaBuilder()
+                .withNewMetadata()
+                    .withName(clusterName)
+                    .withNamespace(namespace)
+                    .withGeneration(2L)
+                .endMetadata()
+                .withNewSpec()
+                    .withNewKafka()
+                        .withReplicas(3)
+                        .withNewListeners()
+                            .withNewPlain()
+                            .endPlain()
+                            .withNewTls()
+                            .endTls()
+                        .endListeners()
+                        .withNewEphemeralStorage()
+                        .endEphemeralStorage()
+                    .endKafka()
+                    .withNewZookeeper()
+                        .withReplicas(3)
+                        .withNewEphemeralStorage()
+                        .endEphemeralStorage()
+                    .endZookeeper()
+                .endSpec()
+                .build();
+    }
+
+    /**
+     * @return  The existing Secret with the certificates of the brokers
+     */
+    public Secret getBrokersSecret() {
+        SecretBuilder builder = new SecretBuilder()
+                .withNewMetadata()
+                    .withName(KafkaCluster.brokersSecretName(clusterName))
+                    .withNamespace(namespace)
+                .endMetadata();
+
+        for (int i = 0; i < 3; i++) {
+            String podName = KafkaCluster.kafkaPodName(clusterName, i);
+            builder.addToData(podName + ".crt", base64(podName + "-crt"))
+                    .addToData(podName + ".key", base64(podName + "-key"))
+                    .addToData(podName + ".p12", base64(podName + "-p12"))
+                    .addToData(podName + ".password", base64(podName + "-password"));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param podId The index of the broker whose certificate is renewed
+     * @return  The Secret with the certificates of the brokers after the certificate of one broker was renewed
+     */
+    public Secret getBrokersSecretWithRenewedCert(int podId) {
+        String podName = KafkaCluster.kafkaPodName(clusterName, podId);
+        return new SecretBuilder(getBrokersSecret())
+                .addToData(podName + ".crt", base64(podName + "-renewed-crt"))
+                .addToData(podName + ".key", base64(podName + "-renewed-key"))
+                .addToData(podName + ".p12", base64(podName + "-renewed-p12"))
+                .build();
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(US_ASCII));
+    }
+
+    public Pod getPod(StatefulSet sts, int podId) {
+        return new PodBuilder()
+                .withNewMetadataLike(sts.getSpec().getTemplate().getMetadata())
+                    .withNewName(KafkaCluster.kafkaPodName(clusterName, podId))
+                .endMetadata()
+                .withNewSpecLike(sts.getSpec().getTemplate().getSpec())
+                .endSpec()
+                .build();
+    }
+
+    @Test
+    public void testOnlyPodsWithRenewedCertificatesAreRestarted(VertxTestContext context) {
+        when(supplier.secretOperations.reconcile(eq(namespace), eq(KafkaCluster.brokersSecretName(clusterName)), any()))
+                .thenReturn(Future.succeededFuture(ReconcileResult.patched(getBrokersSecretWithRenewedCert(1))));
+
+        Checkpoint async = context.checkpoint();
+        operator.createOrUpdate(new Reconciliation("test-trigger", Kafka.RESOURCE_KIND, namespace, clusterName), kafka)
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(reconcileStsCaptor.getAllValues(), hasSize(1));
+                StatefulSet reconcileSts = reconcileStsCaptor.getValue();
+
+                assertThat(isPodToRestartFunctionCaptor.getAllValues(), hasSize(1));
+                Function<Pod, String> isPodToRestart = isPodToRestartFunctionCaptor.getValue();
+                assertThat(isPodToRestart.apply(getPod(reconcileSts, 0)), is(nullValue()));
+                assertThat(isPodToRestart.apply(getPod(reconcileSts, 1)), is("server certificates changed"));
+                assertThat(isPodToRestart.apply(getPod(reconcileSts, 2)), is(nullValue()));
+
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testNoPodIsRestartedWhenNoCertificateWasRenewed(VertxTestContext context) {
+        when(supplier.secretOperations.reconcile(eq(namespace), eq(KafkaCluster.brokersSecretName(clusterName)), any()))
+                .thenReturn(Future.succeededFuture(ReconcileResult.noop(getBrokersSecret())));
+
+        Checkpoint async = context.checkpoint();
+        operator.createOrUpdate(new Reconciliation("test-trigger", Kafka.RESOURCE_KIND, namespace, clusterName), kafka)
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(reconcileStsCaptor.getAllValues(), hasSize(1));
+                StatefulSet reconcileSts = reconcileStsCaptor.getValue();
+
+                assertThat(isPodToRestartFunctionCaptor.getAllValues(), hasSize(1));
+                Function<Pod, String> isPodToRestart = isPodToRestartFunctionCaptor.getValue();
+                for (int i = 0; i < 3; i++) {
+                    assertThat(isPodToRestart.apply(getPod(reconcileSts, i)), is(nullValue()));
+                }
+
+                async.flag();
+            })));
+    }
+}
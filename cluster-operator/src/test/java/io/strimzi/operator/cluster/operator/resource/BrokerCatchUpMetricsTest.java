@@ -0,0 +1,49 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MetricsTestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BrokerCatchUpMetricsTest {
+    private static Object gauge(MeterRegistry registry, String cluster, int broker) {
+        return registry.find(BrokerCatchUpMetrics.METRIC_NAME)
+                .tag("namespace", "my-namespace").tag("name", cluster).tag("broker", String.valueOf(broker))
+                .gauge();
+    }
+
+    @Test
+    public void testGaugesOfRemovedBrokersAreRemoved() {
+        MetricsProvider metricsProvider = MetricsTestUtils.createCleanMetricsProvider();
+        MeterRegistry registry = metricsProvider.meterRegistry();
+        BrokerCatchUpMetrics metrics = new BrokerCatchUpMetrics(metricsProvider);
+
+        for (int broker = 0; broker < 3; broker++) {
+            metrics.progress("my-namespace", "my-cluster", broker).set(100);
+        }
+        metrics.progress("my-namespace", "my-other-cluster", 2).set(100);
+
+        metrics.removeBrokers("my-namespace", "my-cluster", 2);
+        assertThat(gauge(registry, "my-cluster", 1), is(notNullValue()));
+        assertThat(gauge(registry, "my-cluster", 2), is(nullValue()));
+        assertThat(gauge(registry, "my-other-cluster", 2), is(notNullValue()));
+
+        metrics.removeCluster("my-namespace", "my-cluster");
+        assertThat(gauge(registry, "my-cluster", 0), is(nullValue()));
+        assertThat(gauge(registry, "my-cluster", 1), is(nullValue()));
+        assertThat(gauge(registry, "my-other-cluster", 2), is(notNullValue()));
+
+        // A broker added again by a scale-up gets a new gauge
+        metrics.progress("my-namespace", "my-cluster", 2).set(50);
+        assertThat(gauge(registry, "my-cluster", 2), is(notNullValue()));
+    }
+}
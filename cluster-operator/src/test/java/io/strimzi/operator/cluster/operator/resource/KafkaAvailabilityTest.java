@@ -17,6 +17,7 @@ import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.TopicConfig;
@@ -36,12 +37,16 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -148,6 +153,14 @@ public class KafkaAvailabilityTest {
             return this;
         }
 
+        KSB rack(String rack, int... ids) {
+            addBroker(ids);
+            for (int id : ids) {
+                nodes.put(id, new Node(id, "localhost", 1234 + id, rack));
+            }
+            return this;
+        }
+
         static <T> KafkaFuture<T> failedFuture(Throwable t) {
             KafkaFutureImpl kafkaFuture = new KafkaFutureImpl();
             kafkaFuture.completeExceptionally(t);
@@ -270,6 +283,86 @@ public class KafkaAvailabilityTest {
         }
     }
 
+    @Test
+    public void testBrokersOfTheSameRackCanRollTogether(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .addNewTopic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 2, 4)
+                    .leader(0)
+                    .isr(0, 2, 4)
+                .endPartition()
+                .addNewPartition(1)
+                    .replicaOn(1, 3, 5)
+                    .leader(1)
+                    .isr(1, 3, 5)
+                .endPartition()
+                .addNewPartition(2)
+                    .replicaOn(1, 2, 5)
+                    .leader(2)
+                    .isr(1, 2, 5)
+                .endPartition()
+            .endTopic()
+            .addNewTopic("B", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 3, 4)
+                    .leader(3)
+                    .isr(0, 3, 4)
+                .endPartition()
+            .endTopic()
+            .rack("zone-a", 0, 1)
+            .rack("zone-b", 2, 3)
+            .rack("zone-c", 4, 5);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRollTogether(2, asList(0, 1, 3, 4, 5), 3)
+            .compose(group -> {
+                context.verify(() -> assertThat(group, is(asList(2, 3))));
+                // Brokers 0 and 1 do not share any partition
+                return kafkaAvailability.canRollTogether(0, asList(1, 4, 5), 2);
+            })
+            .onComplete(context.succeeding(group -> context.verify(() -> {
+                assertThat(group, is(asList(0, 1)));
+                a.flag();
+            })));
+    }
+
+    @Test
+    public void testBrokersWithTheLastReplicasAboveMinIsrCannotRollTogether(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .addNewTopic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 1, 2, 3)
+                    .leader(0)
+                    .isr(0, 1, 2)
+                .endPartition()
+            .endTopic()
+            .addNewTopic("B", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "1")
+                .addNewPartition(0)
+                    .replicaOn(0, 1, 2, 3)
+                    .leader(0)
+                    .isr(0, 1, 2, 3)
+                .endPartition()
+            .endTopic()
+            .addBroker(4);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRollTogether(0, asList(1, 2, 3, 4), 5)
+            .onComplete(context.succeeding(group -> context.verify(() -> {
+                // Only one of the in-sync replicas of A/0 can be restarted, broker 3 is out of sync
+                assertThat(group, is(asList(0, 3, 4)));
+                a.flag();
+            })));
+    }
+
     @Test
     public void testBelowMinIsr(VertxTestContext context) {
         KSB ksb = new KSB()
@@ -639,4 +732,155 @@ public class KafkaAvailabilityTest {
             }
         }
     }
+
+    @Test
+    public void testTopicMetadataAreSharedAndOnlyAffectedTopicsAreDescribedAgain(VertxTestContext context) {
+        KSB ksb = new KSB()
+                .addNewTopic("A", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                    .addNewPartition(0)
+                        .replicaOn(0, 1, 2)
+                        .leader(0)
+                        .isr(0, 1)
+                    .endPartition()
+                .endTopic()
+                .addNewTopic("B", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "1")
+                    .addNewPartition(0)
+                        .replicaOn(2, 3)
+                        .leader(2)
+                        .isr(2, 3)
+                    .endPartition()
+                .endTopic();
+
+        Admin ac = ksb.ac();
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ac);
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRoll(0)
+            .compose(canRoll -> {
+                context.verify(() -> assertFalse(canRoll, "broker 0 should not be rollable, A/0 being at min isr"));
+                // The ISR catches up, A is described again because it prevented the roll
+                ksb.addNewTopic("A", false).addNewPartition(0).isr(0, 1, 2);
+                return kafkaAvailability.canRoll(0);
+            })
+            .compose(canRoll -> {
+                context.verify(() -> {
+                    assertTrue(canRoll, "broker 0 should be rollable, A/0 being above min isr");
+                    verify(ac).describeTopics(new HashSet<>(Arrays.asList("A")));
+                });
+                return kafkaAvailability.canRoll(3);
+            })
+            .compose(canRoll -> {
+                context.verify(() -> assertTrue(canRoll, "broker 3 should be rollable"));
+                kafkaAvailability.brokerRestarted(3);
+                return kafkaAvailability.canRoll(2);
+            })
+            .onComplete(context.succeeding(canRoll -> context.verify(() -> {
+                assertTrue(canRoll, "broker 2 should be rollable");
+                // The topics are listed only once and only the topics on the restarted broker are described again
+                verify(ac, times(1)).listTopics(any());
+                verify(ac).describeTopics(new HashSet<>(Arrays.asList("A", "B")));
+                verify(ac).describeTopics(new HashSet<>(Arrays.asList("B")));
+                verify(ac, times(3)).describeTopics(any());
+                // The configs of each topic are described only once
+                verify(ac, times(2)).describeConfigs(any());
+                a.flag();
+            })));
+    }
+
+    @Test
+    public void testUnderReplicatedPartitionsOfRestartedBroker(VertxTestContext context) {
+        KSB ksb = new KSB()
+                .addNewTopic("A", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                    .addNewPartition(0)
+                        .replicaOn(0, 1, 2)
+                        .leader(0)
+                        .isr(0, 1, 2)
+                    .endPartition()
+                .endTopic()
+                .addNewTopic("B", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "1")
+                    .addNewPartition(0)
+                        .replicaOn(2, 3)
+                        .leader(3)
+                        .isr(3)
+                    .endPartition()
+                .endTopic();
+
+        Admin ac = ksb.ac();
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ac);
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRoll(2)
+            .compose(canRoll -> {
+                context.verify(() -> assertTrue(canRoll, "broker 2 should be rollable"));
+                // Broker 2 is restarted and has not caught up on A yet
+                kafkaAvailability.brokerRestarted(2);
+                ksb.addNewTopic("A", false).addNewPartition(0).isr(0, 1);
+                return kafkaAvailability.underReplicatedPartitions(2);
+            })
+            .compose(underReplicated -> {
+                context.verify(() -> {
+                    // B/0 was under-replicated before the restart already, so it is not counted
+                    assertThat(underReplicated, is(1));
+                    assertThat(kafkaAvailability.catchUpPartitions(2), is(1));
+                });
+                ksb.addNewTopic("A", false).addNewPartition(0).isr(0, 1, 2);
+                return kafkaAvailability.underReplicatedPartitions(2);
+            })
+            .onComplete(context.succeeding(underReplicated -> context.verify(() -> {
+                assertThat(underReplicated, is(0));
+                // Both topics are described again after the restart, but then only the one which was under-replicated
+                verify(ac, times(2)).describeTopics(new HashSet<>(Arrays.asList("A", "B")));
+                verify(ac).describeTopics(new HashSet<>(Arrays.asList("A")));
+                verify(ac, times(3)).describeTopics(any());
+                a.flag();
+            })));
+    }
+
+    @Test
+    public void testPartitionsLedByBrokersAreTakenFromTheTopicMetadata(VertxTestContext context) {
+        KSB ksb = new KSB()
+                .addNewTopic("A", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "1")
+                    .addNewPartition(0)
+                        .replicaOn(0, 1, 2)
+                        .leader(0)
+                        .isr(0, 1, 2)
+                    .endPartition()
+                    .addNewPartition(1)
+                        .replicaOn(0, 1, 2)
+                        .leader(1)
+                        .isr(0, 1, 2)
+                    .endPartition()
+                .endTopic()
+                .addNewTopic("B", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "1")
+                    .addNewPartition(0)
+                        .replicaOn(2, 3)
+                        .leader(3)
+                        .isr(2, 3)
+                    .endPartition()
+                .endTopic();
+
+        Admin ac = ksb.ac();
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ac);
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRoll(0)
+            .compose(canRoll -> {
+                context.verify(() -> assertTrue(canRoll, "broker 0 should be rollable"));
+                return kafkaAvailability.partitionsLedBy(asList(0, 3));
+            })
+            .onComplete(context.succeeding(led -> context.verify(() -> {
+                assertThat(led.keySet(), is(new HashSet<>(asList(new TopicPartition("A", 0), new TopicPartition("B", 0)))));
+                assertThat(led.get(new TopicPartition("B", 0)).leader().id(), is(3));
+                // The topics described for the rollability check are not described again
+                verify(ac, times(1)).listTopics(any());
+                verify(ac, times(1)).describeTopics(any());
+                a.flag();
+            })));
+    }
 }
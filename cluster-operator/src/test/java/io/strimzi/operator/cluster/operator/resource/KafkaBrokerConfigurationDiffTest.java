@@ -0,0 +1,89 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KafkaBrokerConfigurationDiffTest {
+
+    private static final Set<String> DYNAMICALLY_UPDATABLE = new HashSet<>(asList("num.io.threads", "log.retention.ms",
+            "log.cleanup.policy", "unclean.leader.election.enable", "num.network.threads"));
+
+    static ConfigEntry entry(String name, String value, ConfigEntry.ConfigSource source) {
+        // The constructor with the source is not public
+        ConfigEntry entry = mock(ConfigEntry.class);
+        when(entry.name()).thenReturn(name);
+        when(entry.value()).thenReturn(value);
+        when(entry.source()).thenReturn(source);
+        return entry;
+    }
+
+    private static Config current() {
+        return new Config(asList(
+                entry("num.io.threads", "8", ConfigEntry.ConfigSource.DEFAULT_CONFIG),
+                entry("log.retention.ms", "3600000", ConfigEntry.ConfigSource.STATIC_BROKER_CONFIG),
+                entry("log.cleanup.policy", "compact,delete", ConfigEntry.ConfigSource.STATIC_BROKER_CONFIG),
+                entry("unclean.leader.election.enable", "false", ConfigEntry.ConfigSource.STATIC_BROKER_CONFIG),
+                entry("num.network.threads", "5", ConfigEntry.ConfigSource.DYNAMIC_BROKER_CONFIG),
+                entry("broker.id", "0", ConfigEntry.ConfigSource.STATIC_BROKER_CONFIG)));
+    }
+
+    @Test
+    public void testNoDiffWhenTheValuesAreTheSame() {
+        Map<String, String> desired = new LinkedHashMap<>();
+        desired.put("log.retention.ms", "3600000");
+        desired.put("log.cleanup.policy", "compact, delete");
+        desired.put("unclean.leader.election.enable", "FALSE");
+        desired.put("num.network.threads", "5");
+
+        KafkaBrokerConfigurationDiff diff = new KafkaBrokerConfigurationDiff(current(), desired, DYNAMICALLY_UPDATABLE);
+        assertThat(diff.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testChangedAndAddedConfigsAreSet() {
+        Map<String, String> desired = new LinkedHashMap<>();
+        desired.put("num.io.threads", "16");
+        desired.put("log.retention.ms", "7200000");
+        desired.put("num.network.threads", "5");
+
+        KafkaBrokerConfigurationDiff diff = new KafkaBrokerConfigurationDiff(current(), desired, DYNAMICALLY_UPDATABLE);
+        Collection<AlterConfigOp> ops = diff.alterConfigOps();
+        assertThat(ops, is(asList(
+                new AlterConfigOp(new ConfigEntry("num.io.threads", "16"), AlterConfigOp.OpType.SET),
+                new AlterConfigOp(new ConfigEntry("log.retention.ms", "7200000"), AlterConfigOp.OpType.SET))));
+        assertThat(diff.toString(), is("num.io.threads=16, log.retention.ms=7200000"));
+    }
+
+    @Test
+    public void testDynamicConfigsWhichAreNotDesiredAnymoreAreDeleted() {
+        KafkaBrokerConfigurationDiff diff = new KafkaBrokerConfigurationDiff(current(), Collections.emptyMap(), DYNAMICALLY_UPDATABLE);
+        assertThat(diff.alterConfigOps(), is(asList(
+                new AlterConfigOp(new ConfigEntry("num.network.threads", null), AlterConfigOp.OpType.DELETE))));
+        assertThat(diff.toString(), is("-num.network.threads"));
+    }
+
+    @Test
+    public void testDynamicConfigsWhichAreNotDynamicallyUpdatableAreNotDeleted() {
+        KafkaBrokerConfigurationDiff diff = new KafkaBrokerConfigurationDiff(current(), Collections.emptyMap(), Collections.emptySet());
+        assertThat(diff.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.ElectionNotNeededException;
+import org.apache.kafka.common.errors.PreferredLeaderNotAvailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class KafkaLeadershipMigrationTest {
+
+    private static List<Node> nodes(Integer... ids) {
+        return Stream.of(ids).map(id -> new Node(id, "broker-" + id, 9091)).collect(Collectors.toList());
+    }
+
+    private static TopicPartitionInfo partition(List<Node> replicas, List<Node> isr) {
+        return new TopicPartitionInfo(0, replicas.get(0), replicas, isr);
+    }
+
+    @Test
+    public void testDemotedBrokerIsMovedAfterTheInSyncReplicas() {
+        TopicPartitionInfo partition = partition(nodes(1, 2, 3), nodes(1, 2, 3));
+        assertThat(KafkaLeadershipMigration.demotedReplicas(partition, singletonList(1)), is(asList(2, 3, 1)));
+    }
+
+    @Test
+    public void testOutOfSyncReplicasAreNotPreferred() {
+        TopicPartitionInfo partition = partition(nodes(1, 2, 3), nodes(1, 3));
+        assertThat(KafkaLeadershipMigration.demotedReplicas(partition, singletonList(1)), is(asList(3, 2, 1)));
+    }
+
+    @Test
+    public void testAllTheDemotedBrokersAreMovedToTheEnd() {
+        TopicPartitionInfo partition = partition(nodes(1, 2, 3, 4), nodes(1, 2, 3, 4));
+        assertThat(KafkaLeadershipMigration.demotedReplicas(partition, asList(1, 3)), is(asList(2, 4, 1, 3)));
+    }
+
+    @Test
+    public void testPartitionWithoutOtherInSyncReplicaIsNotMigrated() {
+        assertThat(KafkaLeadershipMigration.demotedReplicas(partition(nodes(1, 2), nodes(1)), singletonList(1)), is(nullValue()));
+        assertThat(KafkaLeadershipMigration.demotedReplicas(partition(nodes(1), nodes(1)), singletonList(1)), is(nullValue()));
+    }
+
+    @Test
+    public void testPartitionsWhosePreferredLeaderWasNotElectedAreNotRestored() {
+        Map<TopicPartition, Optional<Throwable>> results = new HashMap<>();
+        results.put(new TopicPartition("A", 0), Optional.empty());
+        results.put(new TopicPartition("A", 1), Optional.of(new ElectionNotNeededException("Leader is already the preferred replica")));
+        results.put(new TopicPartition("A", 2), Optional.of(new PreferredLeaderNotAvailableException("Preferred leader is not in-sync")));
+
+        assertThat(KafkaLeadershipMigration.electedPartitions(results),
+                is(new HashSet<>(asList(new TopicPartition("A", 0), new TopicPartition("A", 1)))));
+    }
+}
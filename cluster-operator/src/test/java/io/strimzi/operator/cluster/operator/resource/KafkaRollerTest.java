@@ -9,18 +9,31 @@ import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.strimzi.api.kafka.model.LeadershipMigration;
+import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import io.strimzi.operator.cluster.ResourceUtils;
+import io.strimzi.operator.cluster.model.KafkaConfiguration;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.strimzi.operator.common.AdminClientPool;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InvalidRequestException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.AfterAll;
@@ -33,11 +46,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -46,9 +65,11 @@ import static io.vertx.core.Future.succeededFuture;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -108,6 +129,30 @@ public class KafkaRollerTest {
                 asList(0, 1, 3, 4, 2));
     }
 
+    @Test
+    public void testRollInGroupsWithPod2AsController(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        List<Integer> checked = new CopyOnWriteArrayList<>();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            null, null, null, 3,
+            brokerId -> {
+                checked.add(brokerId);
+                return succeededFuture(true);
+            },
+            2);
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> "roll")
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                // Pods 0, 1 and 3 are restarted together, then pod 4 and the controller last
+                assertThat(restarted(), is(asList(0, 1, 3, 4, 2)));
+                assertThat(checked, is(asList(0, 4, 2)));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
     @Test
     public void tesRollWithtAControllerChange(VertxTestContext testContext) {
         PodOperator podOps = mockPodOps(podId -> succeededFuture());
@@ -341,6 +386,375 @@ public class KafkaRollerTest {
                 emptyList());
     }
 
+    @Test
+    public void testNextPodIsRolledOnceTheRestartedBrokerIsRegistered(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        AtomicInteger checks = new AtomicInteger();
+        List<List<Integer>> restartedWhenChecked = new CopyOnWriteArrayList<>();
+        kafkaRoller.brokerRegisteredFn = brokerId -> {
+            if (brokerId == 1) {
+                restartedWhenChecked.add(restarted());
+                // Broker 1 is registered only when checked for the second time
+                return succeededFuture(checks.getAndIncrement() > 0);
+            }
+            return succeededFuture(true);
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> "roll")
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(asList(0, 1, 2, 3, 4)));
+                // Pod 2 was not restarted before broker 1 was registered
+                assertThat(restartedWhenChecked, is(asList(asList(0, 1), asList(0, 1))));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testRollIsAbortedWhenTheRestartedBrokerIsNotRegistered(VertxTestContext testContext) throws InterruptedException {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, 2);
+        kafkaRoller.brokerRegisteredFn = brokerId -> succeededFuture(brokerId != 1);
+        doFailingRollingRestart(testContext, kafkaRoller,
+                asList(0, 1, 2, 3, 4),
+                KafkaRoller.FatalProblem.class, "Error while waiting for restarted pod c-kafka-1 to rejoin the cluster",
+                asList(0, 1));
+    }
+
+    @Test
+    public void testNextPodIsRolledOnceThePartitionsOfTheRestartedBrokerAreReplicated(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        AtomicInteger underReplicated = new AtomicInteger(2);
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+        List<List<Integer>> restartedWhenChecked = new CopyOnWriteArrayList<>();
+        kafkaRoller.underReplicatedFn = brokerId -> {
+            if (brokerId == 1) {
+                restartedWhenChecked.add(restarted());
+                progress.add(kafkaRoller.catchUpMetrics.progress(ssNamespace(), clusterName(), 1).get());
+                // Broker 1 catches up on one partition after each check
+                return succeededFuture(Math.max(underReplicated.getAndDecrement(), 0));
+            }
+            return succeededFuture(0);
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> "roll")
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(asList(0, 1, 2, 3, 4)));
+                // Pod 2 was not restarted before the partitions of broker 1 were replicated
+                assertThat(restartedWhenChecked, is(asList(asList(0, 1), asList(0, 1), asList(0, 1))));
+                // The gauge before each check, then after the last one
+                assertThat(progress, is(asList(0, 50, 75)));
+                assertThat(kafkaRoller.catchUpMetrics.progress(ssNamespace(), clusterName(), 1).get(), is(100));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testNextPodIsRolledWhenTheReplicationCatchUpTimesOut(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        AtomicInteger checks = new AtomicInteger();
+        kafkaRoller.underReplicatedFn = brokerId -> {
+            if (brokerId == 1) {
+                checks.incrementAndGet();
+                return succeededFuture(1);
+            }
+            return succeededFuture(0);
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> "roll")
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(asList(0, 1, 2, 3, 4)));
+                // Polled every 500ms for 5s
+                assertThat(checks.get() > 1, is(true));
+                assertThat(kafkaRoller.catchUpMetrics.progress(ssNamespace(), clusterName(), 1).get(), is(75));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testLeadershipIsMovedOffBrokersBeforeTheyAreRestartedAndBackAfterwards(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        kafkaRoller.withLeadershipMigration(new KafkaLeadershipMigration(LeadershipMigration.PREFERRED_REPLICA_ELECTION, 5_000, null, null, 0));
+        KafkaRollingRestartState state = KafkaRollingRestartState.inMemory();
+        kafkaRoller.withRestartState(state);
+        Map<Integer, AtomicInteger> leaders = new ConcurrentHashMap<>();
+        List<String> events = new CopyOnWriteArrayList<>();
+        kafkaRoller.demoteLeadersFn = brokerIds -> {
+            events.add("demote " + brokerIds + " restarted " + restarted());
+            // Each broker leads 2 partitions, whose leadership moves one partition at a time
+            state.reordered(reorderedPartitions(brokerIds.get(0), 2));
+            leaders.put(brokerIds.get(0), new AtomicInteger(2));
+            return succeededFuture(2);
+        };
+        kafkaRoller.leadersOnFn = brokerIds -> succeededFuture(Math.max(leaders.get(brokerIds.get(0)).getAndDecrement(), 0));
+        kafkaRoller.restoreLeadersFn = brokerIds -> {
+            events.add("restore " + brokerIds + " restarted " + restarted());
+            state.restored(state.reorderedPartitions().keySet());
+            return succeededFuture();
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> podName2Number(pod.getMetadata().getName()) <= 1 ? "roll" : null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(asList(0, 1)));
+                assertThat(events, is(asList(
+                        "demote [0] restarted []",
+                        "restore [0] restarted [0]",
+                        "demote [1] restarted [0]",
+                        "restore [1] restarted [0, 1]")));
+                assertThat(leaders.get(0).get() < 0, is(true));
+                assertThat(state.hasReorderedPartitions(), is(false));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testBrokerIsRestartedWhenItsLeadershipCannotBeMoved(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        kafkaRoller.withLeadershipMigration(new KafkaLeadershipMigration(LeadershipMigration.PREFERRED_REPLICA_ELECTION, 1_000, null, null, 0));
+        Set<List<Integer>> polled = ConcurrentHashMap.newKeySet();
+        kafkaRoller.demoteLeadersFn = brokerIds -> brokerIds.get(0) == 1 ?
+                failedFuture(new TimeoutException()) :
+                succeededFuture(1);
+        // The leadership of the other brokers never moves
+        kafkaRoller.leadersOnFn = brokerIds -> {
+            polled.add(brokerIds);
+            return succeededFuture(1);
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> podName2Number(pod.getMetadata().getName()) <= 1 ? "roll" : null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(asList(0, 1)));
+                // Broker 0 was restarted once the timeout elapsed, broker 1 right away
+                assertThat(polled, is(Collections.singleton(singletonList(0))));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testReorderedPartitionsAreRestoredWhenTheRollingRestartFails(VertxTestContext testContext) throws InterruptedException {
+        PodOperator podOps = mockPodOps(podId ->
+                podId == 1 ? failedFuture(new TimeoutException("Timeout")) : succeededFuture()
+        );
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, 2);
+        kafkaRoller.withLeadershipMigration(new KafkaLeadershipMigration(LeadershipMigration.PREFERRED_REPLICA_ELECTION, 1_000, null, null, 0));
+        KafkaRollingRestartState state = KafkaRollingRestartState.inMemory();
+        kafkaRoller.withRestartState(state);
+        List<String> events = new CopyOnWriteArrayList<>();
+        kafkaRoller.demoteLeadersFn = brokerIds -> {
+            events.add("demote " + brokerIds);
+            state.reordered(reorderedPartitions(brokerIds.get(0), 1));
+            return succeededFuture(0);
+        };
+        kafkaRoller.restoreLeadersFn = brokerIds -> {
+            events.add("restore " + brokerIds);
+            state.restored(state.reorderedPartitions().keySet());
+            return succeededFuture();
+        };
+
+        // Pod 1 does not become ready, so its partitions are restored once the rolling restart failed
+        doFailingRollingRestart(testContext, kafkaRoller,
+                asList(0, 1, 2, 3, 4),
+                KafkaRoller.FatalProblem.class, "Error while waiting for restarted pod c-kafka-1 to become ready",
+                singletonList(1));
+        assertThat(events, is(asList("demote [1]", "restore []")));
+        assertThat(state.hasReorderedPartitions(), is(false));
+    }
+
+    @Test
+    public void testReorderedPartitionsOfAnInterruptedRollingRestartAreRestoredFirst(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        // The rolling restart was interrupted while pod 0 was restarted, then the leadership migration was disabled
+        List<String> persisted = new CopyOnWriteArrayList<>();
+        kafkaRoller.withRestartState(new KafkaRollingRestartState(0, new JsonObject(),
+                new JsonObject().put("my-topic-0", new JsonArray(asList(0, 1, 2))),
+            value -> {
+                persisted.add(String.valueOf(value));
+                return succeededFuture();
+            }));
+        List<String> events = new CopyOnWriteArrayList<>();
+        kafkaRoller.restoreLeadersFn = brokerIds -> {
+            events.add("restore " + brokerIds + " restarted " + restarted());
+            return failedFuture(new InvalidRequestException("not yet"));
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> podName2Number(pod.getMetadata().getName()) == 1 ? "roll" : null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(singletonList(1)));
+                // Restored before any pod, then retried after the restart and by the end, as the attempts failed
+                assertThat(events, is(asList(
+                        "restore [] restarted []",
+                        "restore [1] restarted [1]",
+                        "restore [] restarted [1]")));
+                // The partition stays recorded until it is restored
+                assertThat(persisted.get(persisted.size() - 1).contains("my-topic-0"), is(true));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    private static Map<TopicPartition, List<Integer>> reorderedPartitions(int brokerId, int partitions) {
+        Map<TopicPartition, List<Integer>> reordered = new LinkedHashMap<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            reordered.put(new TopicPartition("topic-" + brokerId, partition), asList(brokerId, brokerId + 1));
+        }
+        return reordered;
+    }
+
+    private TestingKafkaRoller rollerWithDynamicConfiguration(StatefulSet sts, PodOperator podOps, Map<String, Object> brokerConfiguration) {
+        KafkaVersion kafkaVersion = KafkaVersionTestUtils.getKafkaVersionLookup().defaultVersion();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            null, null, null, 1, new BrokerCatchUpMetrics(ResourceUtils.metricsProvider()),
+            new KafkaBrokerDynamicConfiguration(new KafkaConfiguration(brokerConfiguration.entrySet()), kafkaVersion),
+            brokerId -> succeededFuture(true),
+            -1);
+        kafkaRoller.brokerConfigFn = brokerId -> succeededFuture(new Config(asList(
+                KafkaBrokerConfigurationDiffTest.entry("num.io.threads", "8", ConfigEntry.ConfigSource.DEFAULT_CONFIG),
+                KafkaBrokerConfigurationDiffTest.entry("num.network.threads", "5", ConfigEntry.ConfigSource.DYNAMIC_BROKER_CONFIG))));
+        return kafkaRoller;
+    }
+
+    @Test
+    public void testBrokersAreReconfigured(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithDynamicConfiguration(sts, podOps, singletonMap("num.io.threads", 16));
+        // The restarted broker reads the desired value from its configuration file, but keeps its dynamic override
+        Function<Integer, Future<Config>> describe = kafkaRoller.brokerConfigFn;
+        kafkaRoller.brokerConfigFn = brokerId -> brokerId == 1 && !restarted().isEmpty() ?
+                succeededFuture(new Config(asList(
+                        KafkaBrokerConfigurationDiffTest.entry("num.io.threads", "16", ConfigEntry.ConfigSource.STATIC_BROKER_CONFIG),
+                        KafkaBrokerConfigurationDiffTest.entry("num.network.threads", "5", ConfigEntry.ConfigSource.DYNAMIC_BROKER_CONFIG)))) :
+                describe.apply(brokerId);
+        Map<Integer, String> reconfigured = new ConcurrentHashMap<>();
+        kafkaRoller.alterBrokerConfigFn = (brokerId, diff) -> {
+            reconfigured.put(brokerId, diff.toString());
+            return succeededFuture();
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> podName2Number(pod.getMetadata().getName()) == 1 ? "roll" : null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(singletonList(1)));
+                assertThat(new TreeSet<>(reconfigured.keySet()), is(new TreeSet<>(asList(0, 1, 2, 3, 4))));
+                assertThat(reconfigured.get(0), is("num.io.threads=16, -num.network.threads"));
+                // Only the dynamic override which is not desired anymore is deleted from the restarted broker
+                assertThat(reconfigured.get(1), is("-num.network.threads"));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testBrokerWhichRejectsTheReconfigurationIsRestarted(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithDynamicConfiguration(sts, podOps, singletonMap("num.io.threads", 16));
+        kafkaRoller.alterBrokerConfigFn = (brokerId, diff) -> brokerId == 3 ?
+                failedFuture(new InvalidRequestException("Invalid config value")) :
+                succeededFuture();
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(singletonList(3)));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testBrokerWhoseConfigurationCannotBeDescribedIsNotReconfigured(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = rollerWithDynamicConfiguration(sts, podOps, singletonMap("num.io.threads", 16));
+        kafkaRoller.brokerConfigFn = brokerId -> failedFuture(new TimeoutException());
+        AtomicInteger reconfigured = new AtomicInteger();
+        kafkaRoller.alterBrokerConfigFn = (brokerId, diff) -> {
+            reconfigured.incrementAndGet();
+            return succeededFuture();
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(emptyList()));
+                assertThat(reconfigured.get(), is(0));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testInterruptedRollingRestartIsResumed(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        // Pod 0 was restarted (its UID changed) and pod 1 was about to be restarted when the rolling restart was interrupted
+        JsonObject pods = new JsonObject()
+                .put("0", new JsonObject().put("reason", "roll").put("uid", "before-restart").put("attempts", 0))
+                .put("1", new JsonObject().put("reason", "manual rolling update").putNull("uid").put("attempts", 1));
+        List<String> persisted = new CopyOnWriteArrayList<>();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, -1);
+        kafkaRoller.withRestartState(new KafkaRollingRestartState(0, pods, state -> {
+            persisted.add(state);
+            return succeededFuture();
+        }));
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> podName2Number(pod.getMetadata().getName()) % 2 == 0 ? "roll" : null)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(restarted(), is(asList(1, 2, 4)));
+                assertThat(persisted.get(0).contains("manual rolling update"), is(true));
+                assertThat(persisted.get(persisted.size() - 1), is(nullValue()));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testStateIsClearedWhenTheRollingRestartFails(VertxTestContext testContext) throws InterruptedException {
+        PodOperator podOps = mockPodOps(podId ->
+                podId == 1 ? failedFuture(new TimeoutException("Timeout")) : succeededFuture()
+        );
+        StatefulSet sts = buildStatefulSet();
+        List<String> persisted = new CopyOnWriteArrayList<>();
+        TestingKafkaRoller kafkaRoller = rollerWithControllers(sts, podOps, 2);
+        kafkaRoller.withRestartState(new KafkaRollingRestartState(0, new JsonObject(), state -> {
+            persisted.add(state);
+            return succeededFuture();
+        }));
+
+        doFailingRollingRestart(testContext, kafkaRoller,
+                asList(0, 1, 2, 3, 4),
+                KafkaRoller.FatalProblem.class, "Error while waiting for restarted pod c-kafka-1 to become ready",
+                singletonList(1));
+        // The restart of pod 1 was recorded, but the next rolling restart decides afresh which pods to restart
+        assertThat(persisted.get(0).contains("\"1\""), is(true));
+        assertThat(persisted.get(persisted.size() - 1), is(nullValue()));
+    }
+
     private TestingKafkaRoller rollerWithControllers(StatefulSet sts, PodOperator podOps, int... controllers) {
         return new TestingKafkaRoller(sts, null, null, podOps,
             null, null, null,
@@ -458,6 +872,14 @@ public class KafkaRollerTest {
         private final Function<Integer, Future<Boolean>> canRollFn;
         private final Throwable controllerException;
         private final int[] controllers;
+        private Function<Integer, Future<Boolean>> brokerRegisteredFn = brokerId -> succeededFuture(true);
+        private Function<Integer, Future<Integer>> underReplicatedFn = brokerId -> succeededFuture(0);
+        private Function<Integer, Future<Config>> brokerConfigFn = brokerId -> succeededFuture(new Config(emptyList()));
+        private BiFunction<Integer, KafkaBrokerConfigurationDiff, Future<Void>> alterBrokerConfigFn = (brokerId, diff) -> succeededFuture();
+        private Function<List<Integer>, Future<Integer>> demoteLeadersFn = brokerIds -> succeededFuture(0);
+        private Function<List<Integer>, Future<Integer>> leadersOnFn = brokerIds -> succeededFuture(0);
+        private Function<List<Integer>, Future<Void>> restoreLeadersFn = brokerIds -> succeededFuture();
+        private final BrokerCatchUpMetrics catchUpMetrics;
 
         private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
                                   PodOperator podOps,
@@ -465,9 +887,35 @@ public class KafkaRollerTest {
                                   Throwable controllerException,
                                   Function<Integer, Future<Boolean>> canRollFn,
                                   int... controllers) {
+            this(sts, clusterCaCertSecret, coKeySecret, podOps, acOpenException, acCloseException, controllerException,
+                    1, canRollFn, controllers);
+        }
+
+        private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                                  PodOperator podOps,
+                                  RuntimeException acOpenException, Throwable acCloseException,
+                                  Throwable controllerException,
+                                  int maxConcurrentRestarts,
+                                  Function<Integer, Future<Boolean>> canRollFn,
+                                  int... controllers) {
+            this(sts, clusterCaCertSecret, coKeySecret, podOps, acOpenException, acCloseException, controllerException,
+                    maxConcurrentRestarts, new BrokerCatchUpMetrics(ResourceUtils.metricsProvider()), null, canRollFn, controllers);
+        }
+
+        private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                                  PodOperator podOps,
+                                  RuntimeException acOpenException, Throwable acCloseException,
+                                  Throwable controllerException,
+                                  int maxConcurrentRestarts,
+                                  BrokerCatchUpMetrics catchUpMetrics,
+                                  KafkaBrokerDynamicConfiguration dynamicConfiguration,
+                                  Function<Integer, Future<Boolean>> canRollFn,
+                                  int... controllers) {
             super(KafkaRollerTest.vertx, podOps, 500, 1000,
                 () -> new BackOff(10L, 2, 4),
-                sts, clusterCaCertSecret, coKeySecret);
+                sts, clusterCaCertSecret, coKeySecret, new AdminClientPool(KafkaRollerTest.vertx, new DefaultAdminClientProvider()), maxConcurrentRestarts,
+                5_000, catchUpMetrics, dynamicConfiguration);
+            this.catchUpMetrics = catchUpMetrics;
             this.controllers = controllers;
             this.controllerCall = 0;
             this.acOpenException = acOpenException;
@@ -497,6 +945,11 @@ public class KafkaRollerTest {
             return ac;
         }
 
+        @Override
+        protected void releaseAdminClient(Admin adminClient) {
+            adminClient.close();
+        }
+
         @Override
         protected KafkaAvailability availability(Admin ac) {
             return new KafkaAvailability(null) {
@@ -514,6 +967,16 @@ public class KafkaRollerTest {
                 Future<Boolean> canRoll(int podId) {
                     return canRollFn.apply(podId);
                 }
+
+                @Override
+                Future<Integer> underReplicatedPartitions(int podId) {
+                    return underReplicatedFn.apply(podId);
+                }
+
+                @Override
+                synchronized int catchUpPartitions(int podId) {
+                    return 4;
+                }
             };
         }
 
@@ -533,6 +996,36 @@ public class KafkaRollerTest {
             }
         }
 
+        @Override
+        protected Future<Boolean> isBrokerRegistered(Admin adminClient, int podId) {
+            return brokerRegisteredFn.apply(podId);
+        }
+
+        @Override
+        protected Future<Config> brokerConfig(Admin adminClient, int podId) {
+            return brokerConfigFn.apply(podId);
+        }
+
+        @Override
+        protected Future<Void> alterBrokerConfig(Admin adminClient, int podId, KafkaBrokerConfigurationDiff diff) {
+            return alterBrokerConfigFn.apply(podId, diff);
+        }
+
+        @Override
+        protected Future<Integer> demoteLeaders(Admin adminClient, List<Integer> podIds) {
+            return demoteLeadersFn.apply(podIds);
+        }
+
+        @Override
+        protected Future<Integer> leadersOn(Admin adminClient, List<Integer> podIds) {
+            return leadersOnFn.apply(podIds);
+        }
+
+        @Override
+        protected Future<Void> restoreLeaders(Admin adminClient, List<Integer> podIds) {
+            return restoreLeadersFn.apply(podIds);
+        }
+
         @Override
         protected Future<Void> restart(Pod pod) {
             restarted.add(pod.getMetadata().getName());
@@ -0,0 +1,162 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.vertx.core.Future;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class KafkaRollingRestartStateTest {
+
+    private static Pod pod(String uid) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName("my-cluster-kafka-0")
+                    .withUid(uid)
+                .endMetadata()
+                .build();
+    }
+
+    private static StatefulSet sts(int generation, String state) {
+        StatefulSetBuilder builder = new StatefulSetBuilder()
+                .withNewMetadata()
+                    .withName("my-cluster-kafka")
+                    .withNamespace("my-namespace")
+                .endMetadata()
+                .withNewSpec()
+                    .withNewTemplate()
+                        .withNewMetadata()
+                            .addToAnnotations(StatefulSetOperator.ANNO_STRIMZI_IO_GENERATION, String.valueOf(generation))
+                        .endMetadata()
+                    .endTemplate()
+                .endSpec();
+        if (state != null) {
+            builder.editMetadata().addToAnnotations(KafkaRollingRestartState.ANNO_STRIMZI_IO_ROLLING_RESTART_STATE, state).endMetadata();
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testStateIsRoundTripped() {
+        List<String> persisted = new ArrayList<>();
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(sts(3, null), value -> {
+            persisted.add(value);
+            return Future.succeededFuture();
+        });
+        state.restarting(0, pod("a"), "Pod has old generation");
+        state.attemptFailed(0);
+        state.persist();
+
+        KafkaRollingRestartState resumed = KafkaRollingRestartState.fromStatefulSet(sts(3, persisted.get(0)), value -> Future.succeededFuture());
+        assertThat(resumed.pendingReason(0, pod("a")), is("Pod has old generation"));
+        assertThat(resumed.attempts(0), is(1));
+        assertThat(resumed.wasRestarted(0, pod("a"), "Pod has old generation"), is(false));
+        assertThat(resumed.pendingReason(0, pod("b")), is(nullValue()));
+        assertThat(resumed.wasRestarted(0, pod("b"), "Pod has old generation"), is(true));
+        assertThat(resumed.wasRestarted(0, pod("b"), "manual rolling update"), is(false));
+        assertThat(resumed.pendingReason(1, pod("a")), is(nullValue()));
+    }
+
+    @Test
+    public void testStateIsRemovedOnceCleared() {
+        List<String> persisted = new ArrayList<>();
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(
+                sts(3, "{\"generation\":3,\"pods\":{\"0\":{\"reason\":\"roll\",\"uid\":\"a\",\"attempts\":0}}}"),
+            value -> {
+                persisted.add(value);
+                return Future.succeededFuture();
+            });
+        assertThat(state.pendingReason(0, pod("a")), is("roll"));
+        state.clear();
+        assertThat(persisted.size(), is(1));
+        assertThat(persisted.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void testStateOfAnotherGenerationIsIgnored() {
+        List<String> persisted = new ArrayList<>();
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(
+                sts(4, "{\"generation\":3,\"pods\":{\"0\":{\"reason\":\"roll\",\"uid\":\"a\",\"attempts\":0}}}"),
+            value -> {
+                persisted.add(value);
+                return Future.succeededFuture();
+            });
+        assertThat(state.pendingReason(0, pod("a")), is(nullValue()));
+        assertThat(state.wasRestarted(0, pod("b"), "roll"), is(false));
+        state.clear();
+        assertThat(persisted.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void testReorderedPartitionsAreKeptUntilRestored() {
+        List<String> persisted = new ArrayList<>();
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(sts(3, null), value -> {
+            persisted.add(value);
+            return Future.succeededFuture();
+        });
+        TopicPartition partition = new TopicPartition("my-topic-a", 10);
+        state.restarting(0, pod("a"), "roll");
+        state.reordered(singletonMap(partition, asList(0, 1, 2)));
+        // The replicas recorded first are the original ones
+        state.reordered(singletonMap(partition, asList(1, 2, 0)));
+        state.persistOrFail();
+        state.clear();
+
+        // The reordered partitions survive the completion of the rolling restart and a new generation
+        KafkaRollingRestartState resumed = KafkaRollingRestartState.fromStatefulSet(sts(4, persisted.get(1)), value -> {
+            persisted.add(value);
+            return Future.succeededFuture();
+        });
+        assertThat(resumed.pendingReason(0, pod("a")), is(nullValue()));
+        assertThat(resumed.hasReorderedPartitions(), is(true));
+        assertThat(resumed.reorderedPartitions(), is(singletonMap(partition, asList(0, 1, 2))));
+
+        resumed.restored(singletonList(partition));
+        resumed.clear();
+        assertThat(resumed.hasReorderedPartitions(), is(false));
+        assertThat(persisted.get(persisted.size() - 1), is(nullValue()));
+    }
+
+    @Test
+    public void testFailureToPersistTheReorderedPartitionsIsReported() {
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(sts(3, null),
+            value -> Future.failedFuture(new RuntimeException("conflict")));
+        state.reordered(singletonMap(new TopicPartition("my-topic", 0), asList(0, 1, 2)));
+        assertThat(state.persistOrFail().failed(), is(true));
+        assertThat(state.persist().succeeded(), is(true));
+    }
+
+    @Test
+    public void testInvalidStateIsIgnored() {
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(sts(3, "{not json"), value -> Future.succeededFuture());
+        assertThat(state.pendingReason(0, pod("a")), is(nullValue()));
+        assertThat(state.attempts(0), is(0));
+    }
+
+    @Test
+    public void testNothingIsPersistedWithoutState() {
+        List<String> persisted = new ArrayList<>();
+        KafkaRollingRestartState state = KafkaRollingRestartState.fromStatefulSet(sts(3, null), value -> {
+            persisted.add(value);
+            return Future.succeededFuture();
+        });
+        state.clear();
+        assertThat(persisted.isEmpty(), is(true));
+    }
+}
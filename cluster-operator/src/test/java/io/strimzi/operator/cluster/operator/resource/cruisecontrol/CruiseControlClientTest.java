@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 
 import static io.strimzi.operator.cluster.operator.resource.cruisecontrol.CruiseControlApi.CC_REST_API_SUMMARY;
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.is;
@@ -169,4 +170,19 @@ public class CruiseControlClientTest {
         }));
     }
 
+    @Test
+    public void testCCDemoteBrokers(Vertx vertx, VertxTestContext context) throws IOException, URISyntaxException {
+
+        MockCruiseControl.setupCCDemoteResponse(ccServer);
+
+        CruiseControlApi client = new CruiseControlApiImpl(vertx);
+
+        Checkpoint checkpoint = context.checkpoint();
+        client.demoteBrokers(HOST, PORT, asList(1, 2)).onComplete(context.succeeding(result -> {
+            context.verify(() -> assertThat(result.getUserTaskId(), is("demoted")));
+            context.verify(() -> assertThat(result.getJson().getJsonObject(CC_REST_API_SUMMARY).getInteger("numLeaderMovements"), is(2)));
+            checkpoint.flag();
+        }));
+    }
+
 }
@@ -407,4 +407,24 @@ public class MockCruiseControl {
                                 .withDelay(TimeUnit.SECONDS, RESPONSE_DELAY_SEC));
 
     }
+
+    public static void setupCCDemoteResponse(ClientAndServer ccServer) throws IOException, URISyntaxException {
+
+        JsonBody jsonDemote = getJsonFromResource("CC-Demote.json");
+
+        ccServer
+                .when(
+                        request()
+                                .withMethod("POST")
+                                .withQueryStringParameter(Parameter.param(CruiseControlParameters.JSON.key, "true"))
+                                .withQueryStringParameter(Parameter.param(CruiseControlParameters.DRY_RUN.key, "false"))
+                                .withQueryStringParameter(Parameter.param(CruiseControlParameters.BROKER_ID.key, "1,2"))
+                                .withPath(CruiseControlEndpoints.DEMOTE_BROKER.path))
+                .respond(
+                        response()
+                                .withBody(jsonDemote)
+                                .withHeaders(header("User-Task-ID", "demoted"))
+                                .withDelay(TimeUnit.SECONDS, RESPONSE_DELAY_SEC));
+
+    }
 }
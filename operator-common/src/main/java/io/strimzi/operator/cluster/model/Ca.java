@@ -13,21 +13,21 @@ import io.strimzi.certs.CertManager;
 import io.strimzi.certs.SecretCertProvider;
 import io.strimzi.certs.Subject;
 import io.strimzi.operator.common.Annotations;
+import io.strimzi.operator.common.CertificateCache;
 import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.WorkerPools;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
-import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -41,8 +41,12 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -334,9 +338,69 @@ public abstract class Ca {
         return result;
     }
 
+    /**
+     * Generates certificates signed by this CA. The certificates are generated in parallel on the
+     * {@link WorkerPools.Pool#CRYPTO_BATCH} pool, while the calling thread waits for all of them.
+     *
+     * @param subjects The subjects of the certificates to be generated, by name (e.g. the pod name).
+     * @return The certificates, by name.
+     * @throws IOException If any of the certificates could not be generated.
+     */
+    public Map<String, CertAndKey> generateSignedCerts(Map<String, Subject> subjects) throws IOException {
+        if (subjects.isEmpty()) {
+            return new HashMap<>(0);
+        }
+
+        List<String> names = new ArrayList<>(subjects.keySet());
+        List<Callable<CertAndKey>> tasks = new ArrayList<>(names.size());
+        for (String name : names) {
+            Subject subject = subjects.get(name);
+            tasks.add(() -> {
+                File csrFile = File.createTempFile("tls", "csr");
+                File keyFile = File.createTempFile("tls", "key");
+                File certFile = File.createTempFile("tls", "cert");
+                File keyStoreFile = File.createTempFile("tls", "p12");
+
+                try {
+                    return generateSignedCert(subject, csrFile, keyFile, certFile, keyStoreFile);
+                } finally {
+                    delete(csrFile);
+                    delete(keyFile);
+                    delete(certFile);
+                    delete(keyStoreFile);
+                }
+            });
+        }
+
+        long startedAtNanos = System.nanoTime();
+        List<CertAndKey> results;
+        try {
+            results = WorkerPools.invokeAll(WorkerPools.Pool.CRYPTO_BATCH, tasks);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Failed to generate certificates " + names, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating certificates " + names);
+        }
+        log.debug("{}: Generated {} certificates in {}ms", this, names.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos));
+
+        Map<String, CertAndKey> certs = new HashMap<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            certs.put(names.get(i), results.get(i));
+        }
+        return certs;
+    }
+
     /**
      * Copy already existing certificates from provided Secret based on number of effective replicas
-     * and maybe generate new ones for new replicas (i.e. scale-up).
+     * and maybe generate new ones for new replicas (i.e. scale-up). The certificates which have to be generated are
+     * generated in one batch using {@link #generateSignedCerts(Map)}.
      */
     protected Map<String, CertAndKey> maybeCopyOrGenerateCerts(
            int replicas,
@@ -347,13 +411,10 @@ public abstract class Ca {
         int replicasInSecret = secret == null || this.certRenewed() ? 0 :
                 (int) secret.getData().keySet().stream().filter(k -> k.contains(".crt")).count();
 
-        File brokerCsrFile = File.createTempFile("tls", "broker-csr");
-        File brokerKeyFile = File.createTempFile("tls", "broker-key");
-        File brokerCertFile = File.createTempFile("tls", "broker-cert");
-        File brokerKeyStoreFile = File.createTempFile("tls", "broker-p12");
-
         int replicasInNewSecret = Math.min(replicasInSecret, replicas);
-        Map<String, CertAndKey> certs = new HashMap<>(replicasInNewSecret);
+        Map<String, CertAndKey> certs = new HashMap<>(replicas);
+        // LinkedHashMap so that the certificates are submitted in the order of the pods
+        Map<String, Subject> toGenerate = new LinkedHashMap<>(replicas);
         // copying the minimum number of certificates already existing in the secret
         // scale up -> it will copy all certificates
         // scale down -> it will copy just the requested number of replicas
@@ -380,7 +441,7 @@ public abstract class Ca {
 
             List<String> reasons = new ArrayList<>(2);
 
-            if (certSubjectChanged(certAndKey, subject, podName))   {
+            if (certSubjectChanged(secret, podName + ".crt", subject, podName))   {
                 reasons.add("DNS names changed");
             }
 
@@ -394,9 +455,7 @@ public abstract class Ca {
 
             if (!reasons.isEmpty())  {
                 log.debug("Certificate for pod {} need to be regenerated because: {}", podName, String.join(", ", reasons));
-
-                CertAndKey newCertAndKey = generateSignedCert(subject, brokerCsrFile, brokerKeyFile, brokerCertFile, brokerKeyStoreFile);
-                certs.put(podName, newCertAndKey);
+                toGenerate.put(podName, subject);
             }   else {
                 certs.put(podName, certAndKey);
             }
@@ -409,14 +468,10 @@ public abstract class Ca {
             String podName = podNameFn.apply(i);
 
             log.debug("Certificate for {} to generate", podName);
-            CertAndKey k = generateSignedCert(subjectFn.apply(i),
-                    brokerCsrFile, brokerKeyFile, brokerCertFile, brokerKeyStoreFile);
-            certs.put(podName, k);
+            toGenerate.put(podName, subjectFn.apply(i));
         }
-        delete(brokerCsrFile);
-        delete(brokerKeyFile);
-        delete(brokerCertFile);
-        delete(brokerKeyStoreFile);
+
+        certs.putAll(generateSignedCerts(toGenerate));
 
         return certs;
     }
@@ -445,14 +500,15 @@ public abstract class Ca {
     /**
      * Checks whether subject alternate names changed and certificate needs a renewal
      *
-     * @param certAndKey    Current certificate
+     * @param secret    Secret with the current certificate
+     * @param certKey   Key under which is the current certificate stored
      * @param desiredSubject    Desired subject alternate names
      * @param podName   Name of the pod to which this certificate belongs (used for log messages)
      * @return  True if the subjects are different, false otherwise
      */
-    /*test*/ boolean certSubjectChanged(CertAndKey certAndKey, Subject desiredSubject, String podName)    {
+    /*test*/ boolean certSubjectChanged(Secret secret, String certKey, Subject desiredSubject, String podName)    {
         Collection<String> desiredAltNames = desiredSubject.subjectAltNames().values();
-        Collection<String> currentAltNames = getSubjectAltNames(certAndKey.cert());
+        Collection<String> currentAltNames = getSubjectAltNames(secret, certKey);
 
         if (currentAltNames != null && desiredAltNames.containsAll(currentAltNames) && currentAltNames.containsAll(desiredAltNames))   {
             log.trace("Alternate subjects match. No need to refresh cert for pod {}.", podName);
@@ -466,14 +522,15 @@ public abstract class Ca {
     /**
      * Extracts the alternate subject names out of existing certificate
      *
-     * @param certificate Existing X509 certificate as a byte array
-     * @return
+     * @param secret    Secret with the existing certificate
+     * @param certKey   Key under which is the existing certificate stored
+     * @return The alternate subject names or null if the certificate could not be parsed
      */
-    protected List<String> getSubjectAltNames(byte[] certificate) {
+    protected List<String> getSubjectAltNames(Secret secret, String certKey) {
         List<String> subjectAltNames = null;
 
         try {
-            X509Certificate cert = x509Certificate(certificate);
+            X509Certificate cert = CertificateCache.instance().certificate(secret, certKey);
             Collection<List<?>> altNames = cert.getSubjectAlternativeNames();
             subjectAltNames = altNames.stream()
                     .filter(name -> name.get(1) instanceof String)
@@ -753,9 +810,13 @@ public abstract class Ca {
             Map.Entry<String, String> entry = iter.next();
             String certName = entry.getKey();
             String certText = entry.getValue();
+            // the stores and related password are never removed
+            if (certName.endsWith(".p12") || certName.endsWith(".password")) {
+                continue;
+            }
             boolean remove = false;
             try {
-                X509Certificate cert = x509Certificate(Base64.getDecoder().decode(certText));
+                X509Certificate cert = CertificateCache.instance().certificate(caCertSecret, certName, certText);
                 Instant expiryDate = cert.getNotAfter().toInstant();
                 remove = expiryDate.isBefore(Instant.now());
                 if (remove) {
@@ -763,13 +824,9 @@ public abstract class Ca {
                             certName.replace(".", "\\."), expiryDate);
                 }
             } catch (CertificateException e) {
-
-                // doesn't remove stores and related password
-                if (!certName.endsWith(".p12") && !certName.endsWith(".password")) {
-                    remove = true;
-                    log.debug("The certificate (data.{}) in Secret is not an X.509 certificate; removing it",
-                            certName.replace(".", "\\."));
-                }
+                remove = true;
+                log.debug("The certificate (data.{}) in Secret is not an X.509 certificate; removing it",
+                        certName.replace(".", "\\."));
             }
             if (remove) {
                 log.debug("Removing data.{} from Secret",
@@ -817,43 +874,19 @@ public abstract class Ca {
         return cert(secret, key);
     }
 
+    /**
+     * @param secret    Secret with a certificates
+     * @param key   Key under which the certificate is stored
+     * @return  The certificate from the {@link CertificateCache}, or null if the Secret does not have the key
+     */
     public static X509Certificate cert(Secret secret, String key)  {
-        if (secret == null || secret.getData() == null || secret.getData().get(key) == null) {
-            return null;
-        }
-        Base64.Decoder decoder = Base64.getDecoder();
-        byte[] bytes = decoder.decode(secret.getData().get(key));
         try {
-            return x509Certificate(bytes);
+            return CertificateCache.instance().certificate(secret, key);
         } catch (CertificateException e) {
             throw new RuntimeException("Failed to decode certificate in data." + key.replace(".", "\\.") + " of Secret " + secret.getMetadata().getName(), e);
         }
     }
 
-    static X509Certificate x509Certificate(byte[] bytes) throws CertificateException {
-        CertificateFactory factory = certificateFactory();
-        return x509Certificate(factory, bytes);
-    }
-
-    static X509Certificate x509Certificate(CertificateFactory factory, byte[] bytes) throws CertificateException {
-        Certificate certificate = factory.generateCertificate(new ByteArrayInputStream(bytes));
-        if (certificate instanceof X509Certificate) {
-            return (X509Certificate) certificate;
-        } else {
-            throw new CertificateException("Not an X509Certificate: " + certificate);
-        }
-    }
-
-    static CertificateFactory certificateFactory() {
-        CertificateFactory factory = null;
-        try {
-            factory = CertificateFactory.getInstance("X.509");
-        } catch (CertificateException e) {
-            throw new RuntimeException("No security provider with support for X.509 certificates", e);
-        }
-        return factory;
-    }
-
     private void addCertCaToTrustStore(String alias, Map<String, String> certData) {
         try {
             File certFile = File.createTempFile("tls", "-cert");
@@ -12,25 +12,29 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.strimzi.api.kafka.model.status.HasStatus;
+import io.strimzi.api.kafka.model.status.Status;
 import io.strimzi.operator.cluster.model.InvalidResourceException;
+import io.strimzi.operator.common.KeyedLock.UnableToAcquireLockException;
 import io.strimzi.operator.common.model.NamespaceAndName;
 import io.strimzi.operator.common.model.ResourceVisitor;
 import io.strimzi.operator.common.model.ValidationVisitor;
 import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
-import io.strimzi.operator.common.operator.resource.TimeoutException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.shareddata.Lock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.strimzi.operator.common.Util.async;
@@ -60,6 +64,7 @@ public abstract class AbstractOperator<
 
     protected static final int LOCK_TIMEOUT_MS = 10000;
     public static final String METRICS_PREFIX = "strimzi.";
+    public static final int DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT = 5;
 
     protected final Vertx vertx;
     protected final S resourceOperator;
@@ -73,8 +78,32 @@ public abstract class AbstractOperator<
     private final Counter lockedReconciliationsCounter;
     private final AtomicInteger resourceCounter;
     private final Timer reconciliationsTimer;
+    private final KeyedLock<NamespaceAndName> locks;
+    private final WorkQueue workQueue;
+    private final PeriodicReconciliationScheduler periodicScheduler;
+    private final Set<NamespaceAndName> pendingChanges = ConcurrentHashMap.newKeySet();
+    private volatile StepTracer stepTracer;
 
     public AbstractOperator(Vertx vertx, String kind, S resourceOperator, MetricsProvider metrics) {
+        this(vertx, kind, resourceOperator, metrics, WorkQueue.DEFAULT_WORKERS, WorkQueue.DEFAULT_RATE_LIMIT,
+                0, DEFAULT_PERIODIC_RECONCILIATIONS_IN_FLIGHT);
+    }
+
+    /**
+     * @param vertx The Vertx instance
+     * @param kind The kind of watched resource
+     * @param resourceOperator For operating on the desired resource
+     * @param metrics The metrics provider
+     * @param reconciliationWorkers The maximal number of reconciliations of this kind running at the same time
+     * @param reconciliationRateLimit The maximal number of reconciliations of this kind started per second
+     * @param periodicReconciliationSpreadMs The time window across which the reconciliations started by
+     *                                       {@link #reconcileAll(String, String, Handler)} are spread
+     * @param periodicReconciliationsInFlight The maximal number of reconciliations started by
+     *                                        {@link #reconcileAll(String, String, Handler)} which did not complete yet
+     */
+    public AbstractOperator(Vertx vertx, String kind, S resourceOperator, MetricsProvider metrics,
+                            int reconciliationWorkers, int reconciliationRateLimit,
+                            long periodicReconciliationSpreadMs, int periodicReconciliationsInFlight) {
         this.vertx = vertx;
         this.kind = kind;
         this.resourceOperator = resourceOperator;
@@ -110,6 +139,12 @@ public abstract class AbstractOperator<
         reconciliationsTimer = metrics.timer(METRICS_PREFIX + "reconciliations.duration",
                 "The time the reconciliation takes to complete",
                 metricTags);
+
+        locks = new KeyedLock<>(vertx, kind, metrics, METRICS_PREFIX);
+        workQueue = new WorkQueue(vertx, kind, metrics, METRICS_PREFIX, reconciliationWorkers, reconciliationRateLimit, this::reconcileNow);
+        periodicScheduler = new PeriodicReconciliationScheduler(vertx, kind, metrics, METRICS_PREFIX,
+                periodicReconciliationSpreadMs, periodicReconciliationsInFlight, workQueue::enqueue);
+        stepTracer = new MetricsStepTracer(metrics, METRICS_PREFIX);
     }
 
     @Override
@@ -118,14 +153,33 @@ public abstract class AbstractOperator<
     }
 
     /**
-     * Gets the name of the lock to be used for operating on the given {@code namespace} and
-     * cluster {@code name}
+     * @return  The tracer to which the reconciliations and their steps are reported
+     */
+    public StepTracer stepTracer() {
+        return stepTracer;
+    }
+
+    /**
+     * Replaces the tracer to which the reconciliations and their steps are reported. It can be used to plug in a
+     * distributed tracing system instead of the default {@link MetricsStepTracer}.
+     *
+     * @param stepTracer    The tracer
+     */
+    public void setStepTracer(StepTracer stepTracer) {
+        this.stepTracer = stepTracer;
+    }
+
+    /**
+     * Runs one step of the reconciliation and reports it to the {@link StepTracer}.
      *
-     * @param namespace The namespace containing the cluster
-     * @param name The name of the cluster
+     * @param reconciliation    The reconciliation
+     * @param step              The name of the step
+     * @param operation         The operation of the step
+     * @param <R>               The type of the result of the step
+     * @return  Future with the result of the step
      */
-    private String getLockName(String namespace, String name) {
-        return "lock::" + namespace + "::" + kind() + "::" + name;
+    protected <R> Future<R> step(Reconciliation reconciliation, String step, Supplier<Future<R>> operation) {
+        return stepTracer.trace(reconciliation, step, operation);
     }
 
     /**
@@ -155,16 +209,27 @@ public abstract class AbstractOperator<
      * Reconciliation works by getting the assembly resource (e.g. {@code KafkaUser})
      * in the given namespace with the given name and
      * comparing with the corresponding resource.
+     * The reconciliation is queued in the {@link WorkQueue} of this operator, which merges it with any other
+     * reconciliation of the same resource waiting in the queue and limits the number of concurrent reconciliations.
      * @param reconciliation The reconciliation.
      * @return A Future which is completed with the result of the reconciliation.
      */
     @Override
     public final Future<Void> reconcile(Reconciliation reconciliation) {
+        return workQueue.enqueue(reconciliation);
+    }
+
+    private Future<Void> reconcileNow(Reconciliation reconciliation) {
         String namespace = reconciliation.namespace();
         String name = reconciliation.name();
 
+        // The reconciliation reads the latest version of the resource, so it handles any pending change
+        pendingChanges.remove(new NamespaceAndName(namespace, name));
+
         reconciliationsCounter.increment();
         Timer.Sample reconciliationTimerSample = Timer.start(metrics.meterRegistry());
+        StepTracer tracer = stepTracer;
+        tracer.reconciliationStarted(reconciliation);
 
         Future<Void> handler = withLock(reconciliation, LOCK_TIMEOUT_MS, () -> {
             T cr = resourceOperator.get(namespace, name);
@@ -177,6 +242,7 @@ public abstract class AbstractOperator<
                 });
             } else {
                 log.info("{}: {} {} should be deleted", reconciliation, kind, name);
+                workQueue.forget(new NamespaceAndName(namespace, name));
                 return delete(reconciliation).map(deleteResult -> {
                     if (deleteResult) {
                         log.info("{}: {} {} deleted", reconciliation, kind, name);
@@ -193,6 +259,7 @@ public abstract class AbstractOperator<
 
         Promise<Void> result = Promise.promise();
         handler.onComplete(reconcileResult -> {
+            tracer.reconciliationCompleted(reconciliation, reconcileResult.failed() ? reconcileResult.cause() : null);
             handleResult(reconciliation, reconcileResult, reconciliationTimerSample);
             result.handle(reconcileResult);
         });
@@ -200,55 +267,45 @@ public abstract class AbstractOperator<
         return result.future();
     }
 
-    /**
-     * The exception by which Futures returned by {@link #withLock(Reconciliation, long, Callable)} are failed when
-     * the lock cannot be acquired within the timeout.
-     */
-    static class UnableToAcquireLockException extends TimeoutException { }
-
     /**
      * Acquire the lock for the resource implied by the {@code reconciliation}
      * and call the given {@code callable} with the lock held.
      * Once the callable returns (or if it throws) release the lock and complete the returned Future.
      * If the lock cannot be acquired the given {@code callable} is not called and the returned Future is completed with {@link UnableToAcquireLockException}.
+     * The locks are held in the {@link KeyedLock} of this operator, so they are local to this operator instance.
      * @param reconciliation
      * @param callable
      * @param <T>
      * @return
      */
     protected final <T> Future<T> withLock(Reconciliation reconciliation, long lockTimeoutMs, Callable<Future<T>> callable) {
-        Promise<T> handler = Promise.promise();
-        String namespace = reconciliation.namespace();
-        String name = reconciliation.name();
-        final String lockName = getLockName(namespace, name);
-        log.debug("{}: Try to acquire lock {}", reconciliation, lockName);
-        vertx.sharedData().getLockWithTimeout(lockName, lockTimeoutMs, res -> {
-            if (res.succeeded()) {
-                log.debug("{}: Lock {} acquired", reconciliation, lockName);
-                Lock lock = res.result();
-                try {
-                    callable.call().onComplete(callableRes -> {
-                        if (callableRes.succeeded()) {
-                            handler.complete(callableRes.result());
-                        } else {
-                            handler.fail(callableRes.cause());
-                        }
-
+        NamespaceAndName key = new NamespaceAndName(reconciliation.namespace(), reconciliation.name());
+        log.debug("{}: Try to acquire lock for {} {}", reconciliation, kind, key);
+
+        return locks.acquire(key, lockTimeoutMs)
+                .recover(error -> {
+                    log.warn("{}: Failed to acquire lock for {} {} within {}ms.", reconciliation, kind, key, lockTimeoutMs);
+                    return Future.failedFuture(error);
+                })
+                .compose(lock -> {
+                    log.debug("{}: Lock for {} {} acquired", reconciliation, kind, key);
+                    Promise<T> handler = Promise.promise();
+
+                    try {
+                        callable.call().onComplete(callableRes -> {
+                            lock.release();
+                            log.debug("{}: Lock for {} {} released", reconciliation, kind, key);
+                            handler.handle(callableRes);
+                        });
+                    } catch (Throwable ex) {
                         lock.release();
-                        log.debug("{}: Lock {} released", reconciliation, lockName);
-                    });
-                } catch (Throwable ex) {
-                    lock.release();
-                    log.debug("{}: Lock {} released", reconciliation, lockName);
-                    log.error("{}: Reconciliation failed", reconciliation, ex);
-                    handler.fail(ex);
-                }
-            } else {
-                log.warn("{}: Failed to acquire lock {} within {}ms.", reconciliation, lockName, lockTimeoutMs);
-                handler.fail(new UnableToAcquireLockException());
-            }
-        });
-        return handler.future();
+                        log.debug("{}: Lock for {} {} released", reconciliation, kind, key);
+                        log.error("{}: Reconciliation failed", reconciliation, ex);
+                        handler.fail(ex);
+                    }
+
+                    return handler.future();
+                });
     }
 
     /**
@@ -266,10 +323,65 @@ public abstract class AbstractOperator<
 
     public Future<Set<NamespaceAndName>> allResourceNames(String namespace) {
         return resourceOperator.listAsync(namespace, selector())
-                .map(resourceList ->
-                        resourceList.stream()
-                                .map(resource -> new NamespaceAndName(resource.getMetadata().getNamespace(), resource.getMetadata().getName()))
-                                .collect(Collectors.toSet()));
+                .map(resourceList -> {
+                    Set<NamespaceAndName> names = resourceList.stream()
+                            .map(resource -> {
+                                NamespaceAndName ref = new NamespaceAndName(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+
+                                if (hasPendingChanges(resource)) {
+                                    pendingChanges.add(ref);
+                                }
+
+                                return ref;
+                            })
+                            .collect(Collectors.toSet());
+
+                    // Resources deleted without their deletion being reconciled (e.g. while the watch was down)
+                    workQueue.forgetIf(ref -> isInNamespace(ref, namespace) && !names.contains(ref));
+
+                    return names;
+                });
+    }
+
+    private static boolean isInNamespace(NamespaceAndName ref, String namespace) {
+        return AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace) || namespace.equals(ref.getNamespace());
+    }
+
+    /**
+     * Checks whether the resource has changes which were not yet handled by the operator. Such resources are
+     * reconciled first and without any delay by {@link #reconcileAll(String, String, Handler)}.
+     *
+     * @param resource The custom resource
+     * @return True if the current generation of the resource was not yet observed by the operator.
+     */
+    protected boolean hasPendingChanges(T resource) {
+        if (resource instanceof HasStatus) {
+            Status status = ((HasStatus<?>) resource).getStatus();
+            Long generation = resource.getMetadata().getGeneration();
+
+            return status == null || (generation != null && status.getObservedGeneration() < generation);
+        }
+
+        return false;
+    }
+
+    /**
+     * Triggers the reconciliation of the given resources. The reconciliations are spread in time and the number of
+     * them which are in flight is limited by a {@link PeriodicReconciliationScheduler}. Resources with
+     * {@linkplain #hasPendingChanges(HasMetadata) pending changes} are reconciled first.
+     * @param trigger The cause of this reconciliation (for logging).
+     * @param desiredNames The resources to reconcile.
+     * @param handler Handler called on completion.
+     */
+    @Override
+    public void reconcileThese(String trigger, Set<NamespaceAndName> desiredNames, Handler<AsyncResult<Void>> handler) {
+        getResourceCounter().set(desiredNames.size());
+
+        if (desiredNames.size() > 0) {
+            periodicScheduler.schedule(trigger, desiredNames, pendingChanges::contains).onComplete(handler);
+        } else {
+            handler.handle(Future.succeededFuture());
+        }
     }
 
     /**
@@ -0,0 +1,380 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.strimzi.operator.cluster.model.Ca;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * <p>Pool of long-lived Kafka Admin clients shared by everything in the operator which talks to the Kafka clusters.
+ * Creating an Admin client costs the setup of its TLS key material, a new connection and TLS handshake and a metadata
+ * fetch, so the clients are created once per cluster and leased instead of being created and closed for each
+ * operation.</p>
+ *
+ * <ul>
+ * <li>The clients are keyed by the namespace and name of the cluster, the generation of the cluster CA certificate
+ *     and the generation of the key and certificate used for TLS client authentication.
+ * <li>Leases are reference-counted. A client is only closed once all its leases were released.
+ * <li>Leasing a client with a newer CA certificate or client key for a cluster retires the clients with the older
+ *     ones, so the clients do not outlive a CA rotation. {@link #invalidate(String, String)} retires all the clients
+ *     of a cluster.
+ * <li>Clients which are not leased for the idle timeout are closed.
+ * </ul>
+ *
+ * <p>The clients are closed by the provider which created them, so that it releases their TLS key material, in the
+ * {@link WorkerPools.Pool#KAFKA_ADMIN} pool, as closing a client can block until its pending requests time out.</p>
+ *
+ * <p>Instances are thread safe.</p>
+ */
+public class AdminClientPool {
+    private static final Logger log = LogManager.getLogger(AdminClientPool.class);
+
+    /**
+     * The default time after which a client which is not leased is closed
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Vertx vertx;
+    private final AdminClientProvider provider;
+    private final long idleTimeoutMs;
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    /**
+     * Handle of a leased Admin client.
+     */
+    public interface Lease {
+        /**
+         * @return  The Admin client. It must not be closed and must not be used after the lease was released.
+         */
+        Admin admin();
+
+        /**
+         * Releases the lease. Only the first call has an effect.
+         */
+        void release();
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx     The Vertx instance
+     * @param provider  The provider used to create the Admin clients
+     */
+    public AdminClientPool(Vertx vertx, AdminClientProvider provider) {
+        this(vertx, provider, DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx         The Vertx instance
+     * @param provider      The provider used to create the Admin clients
+     * @param idleTimeoutMs The time after which a client which is not leased is closed
+     */
+    public AdminClientPool(Vertx vertx, AdminClientProvider provider, long idleTimeoutMs) {
+        this.vertx = vertx;
+        this.provider = provider;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    /**
+     * Leases the Admin client for a Kafka cluster, creating it if there is none for the current CA certificate and
+     * client key yet.
+     *
+     * @param namespace             The namespace of the cluster
+     * @param cluster               The name of the cluster
+     * @param bootstrap             The bootstrap servers used if a new client has to be created
+     * @param clusterCaCertSecret   Secret containing the cluster CA certificate for TLS encryption
+     * @param keyCertSecret         Secret containing keystore for TLS client authentication
+     * @param keyCertName           Key inside the keyCertSecret for getting the keystore and the corresponding password
+     * @return  The lease
+     */
+    public Lease lease(String namespace, String cluster, String bootstrap,
+                       Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+        Key key = new Key(namespace, cluster,
+                generation(clusterCaCertSecret, Ca.ANNO_STRIMZI_IO_CA_CERT_GENERATION, Ca.CA_CRT),
+                generation(keyCertSecret, null, keyCertName + ".p12"));
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                return leaseLocked(entry);
+            }
+        }
+
+        // Creating the client resolves the bootstrap address and can block, so it is done without holding the lock.
+        // When another lease created a client for the same key in the meantime, the one created here is closed.
+        log.debug("Creating Admin client for {} with bootstrap {}", key, bootstrap);
+        Entry created = new Entry(key, provider.createAdminClient(bootstrap, clusterCaCertSecret, keyCertSecret, keyCertName));
+
+        List<Entry> retired = new ArrayList<>(0);
+        Lease lease;
+
+        synchronized (this) {
+            Entry entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+                    Entry other = it.next();
+                    if (other != created && other.key.isSameCluster(key)) {
+                        log.debug("Retiring Admin client for {}, superseded by {}", other.key, key);
+                        it.remove();
+                        other.retired = true;
+                        cancelIdleTimer(other);
+                        if (other.leases == 0) {
+                            retired.add(other);
+                        }
+                    }
+                }
+            } else {
+                log.debug("Admin client for {} was created concurrently", key);
+                created.retired = true;
+                retired.add(created);
+            }
+
+            lease = leaseLocked(entry);
+        }
+
+        retired.forEach(this::closeAdmin);
+        return lease;
+    }
+
+    private Lease leaseLocked(Entry entry) {
+        entry.leases++;
+        cancelIdleTimer(entry);
+        return new PooledLease(entry);
+    }
+
+    /**
+     * Retires all the Admin clients of a cluster, for example because it was deleted. The clients are closed once
+     * their leases are released.
+     *
+     * @param namespace The namespace of the cluster
+     * @param cluster   The name of the cluster
+     */
+    public void invalidate(String namespace, String cluster) {
+        retireAll(key -> key.namespace.equals(namespace) && key.cluster.equals(cluster));
+    }
+
+    /**
+     * Retires all the Admin clients. The clients are closed once their leases are released.
+     */
+    public void close() {
+        retireAll(key -> true);
+    }
+
+    /**
+     * @return  The number of Admin clients which are not retired
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void retireAll(Predicate<Key> predicate) {
+        List<Entry> retired = new ArrayList<>(0);
+
+        synchronized (this) {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+                Entry entry = it.next();
+                if (predicate.test(entry.key)) {
+                    it.remove();
+                    entry.retired = true;
+                    cancelIdleTimer(entry);
+                    if (entry.leases == 0) {
+                        retired.add(entry);
+                    }
+                }
+            }
+        }
+
+        retired.forEach(this::closeAdmin);
+    }
+
+    private void release(Entry entry) {
+        boolean close = false;
+
+        synchronized (this) {
+            entry.leases--;
+            if (entry.leases == 0) {
+                if (entry.retired) {
+                    close = true;
+                } else {
+                    entry.idleTimerId = vertx.setTimer(idleTimeoutMs, id -> evictIfIdle(entry, id));
+                }
+            }
+        }
+
+        if (close) {
+            closeAdmin(entry);
+        }
+    }
+
+    private void evictIfIdle(Entry entry, long timerId) {
+        synchronized (this) {
+            if (entry.idleTimerId != timerId || entry.leases > 0 || entry.retired) {
+                return;
+            }
+            log.debug("Evicting idle Admin client for {}", entry.key);
+            entries.remove(entry.key);
+            entry.retired = true;
+            entry.idleTimerId = -1;
+        }
+
+        closeAdmin(entry);
+    }
+
+    private void cancelIdleTimer(Entry entry) {
+        if (entry.idleTimerId != -1) {
+            vertx.cancelTimer(entry.idleTimerId);
+            entry.idleTimerId = -1;
+        }
+    }
+
+    private void closeAdmin(Entry entry) {
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KAFKA_ADMIN,
+            promise -> {
+                log.debug("Closing Admin client for {}", entry.key);
+                provider.closeAdminClient(entry.admin, CLOSE_TIMEOUT);
+                promise.complete();
+            },
+            false,
+            res -> {
+                if (res.failed()) {
+                    log.warn("Ignoring exception when closing Admin client for {}", entry.key, res.cause());
+                }
+            });
+    }
+
+    /**
+     * The generation of the certificate or key in a Secret: the value of the generation annotation if the Secret has
+     * it, otherwise a digest of the data, so that a client is never reused with other certificates or keys.
+     */
+    private static String generation(Secret secret, String annotation, String dataKey) {
+        if (secret == null) {
+            return null;
+        }
+
+        if (annotation != null) {
+            String generation = Annotations.stringAnnotation(secret, annotation, null);
+            if (generation != null) {
+                return generation;
+            }
+        }
+
+        String data = secret.getData() != null ? secret.getData().get(dataKey) : null;
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final class PooledLease implements Lease {
+        private final Entry entry;
+        private boolean released = false;
+
+        private PooledLease(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Admin admin() {
+            return entry.admin;
+        }
+
+        @Override
+        public void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            AdminClientPool.this.release(entry);
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final Admin admin;
+        // Guarded by the pool
+        private int leases = 0;
+        private boolean retired = false;
+        private long idleTimerId = -1;
+
+        private Entry(Key key, Admin admin) {
+            this.key = key;
+            this.admin = admin;
+        }
+    }
+
+    private static final class Key {
+        private final String namespace;
+        private final String cluster;
+        private final String caCertGeneration;
+        private final String keyGeneration;
+
+        private Key(String namespace, String cluster, String caCertGeneration, String keyGeneration) {
+            this.namespace = namespace;
+            this.cluster = cluster;
+            this.caCertGeneration = caCertGeneration;
+            this.keyGeneration = keyGeneration;
+        }
+
+        private boolean isSameCluster(Key other) {
+            return namespace.equals(other.namespace) && cluster.equals(other.cluster);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return namespace.equals(key.namespace)
+                    && cluster.equals(key.cluster)
+                    && Objects.equals(caCertGeneration, key.caCertGeneration)
+                    && Objects.equals(keyGeneration, key.keyGeneration);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namespace, cluster, caCertGeneration, keyGeneration);
+        }
+
+        @Override
+        public String toString() {
+            return namespace + "/" + cluster + " (CA certificate generation " + caCertGeneration + ")";
+        }
+    }
+}
@@ -7,6 +7,8 @@ package io.strimzi.operator.common;
 import io.fabric8.kubernetes.api.model.Secret;
 import org.apache.kafka.clients.admin.Admin;
 
+import java.time.Duration;
+
 /**
  * Interface to be implemented for returning an instance of Kafka Admin interface
  */
@@ -22,4 +24,14 @@ public interface AdminClientProvider {
      * @return Instance of Kafka Admin interface
      */
     Admin createAdminClient(String hostname, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName);
+
+    /**
+     * Closes a Kafka Admin interface instance created by this provider and releases what the provider holds for it
+     *
+     * @param admin The Admin client
+     * @param timeout The time to wait for the pending requests of the client to complete
+     */
+    default void closeAdminClient(Admin admin, Duration timeout) {
+        admin.close(timeout);
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Secret;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Process-wide cache of the certificates and keys decoded from the data of Secrets, so that the same Secret is not
+ * decoded and parsed again by every reconciliation and every client using it.</p>
+ *
+ * <p>The entries are keyed by the UID and the {@code resourceVersion} of the Secret and by the data key, so a new
+ * version of the Secret is parsed again. The value is compared with the cached one as well, because the operators
+ * modify copies of Secrets in memory without changing their metadata. Secrets without UID or
+ * {@code resourceVersion}, which are not stored in Kubernetes yet, are parsed on every call. The least recently used
+ * entries are evicted once the cache holds {@link #DEFAULT_MAX_ENTRIES} entries.</p>
+ */
+public class CertificateCache {
+    /**
+     * The number of entries kept by the cache
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private static final CertificateCache INSTANCE = new CertificateCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * @param maxEntries    The number of entries kept by the cache
+     */
+    /*test*/ CertificateCache(int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return  The cache shared by the whole process
+     */
+    public static CertificateCache instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param secret    The Secret
+     * @param key       The data key of the certificate
+     * @return  The X.509 certificate in the given data key of the Secret, or null if there is no such key
+     * @throws CertificateException if the data is not an X.509 certificate
+     */
+    public X509Certificate certificate(Secret secret, String key) throws CertificateException {
+        return certificate(secret, key, data(secret, key));
+    }
+
+    /**
+     * @param secret    The Secret
+     * @param key       The data key of the certificate
+     * @param value     The Base64 encoded certificate, e.g. from a modified copy of the data of the Secret
+     * @return  The X.509 certificate encoded in the given value, or null if the value is null
+     * @throws CertificateException if the value is not an X.509 certificate
+     */
+    public X509Certificate certificate(Secret secret, String key, String value) throws CertificateException {
+        return get(secret, key, "x509", value, CertificateCache::parseCertificate);
+    }
+
+    /**
+     * @param secret    The Secret
+     * @param key       The data key, e.g. of a PEM private key
+     * @return  The Base64 decoded data in the given data key of the Secret, or null if there is no such key
+     */
+    public byte[] decoded(Secret secret, String key) {
+        byte[] decoded = get(secret, key, "bytes", data(secret, key), value -> Base64.getDecoder().decode(value));
+        // Copied because arrays are mutable
+        return decoded != null ? decoded.clone() : null;
+    }
+
+    /**
+     * @param secret    The Secret
+     * @param key       The data key of a PEM certificate or key
+     * @return  The PEM in the given data key of the Secret, or null if there is no such key
+     */
+    public String pem(Secret secret, String key) {
+        return get(secret, key, "pem", data(secret, key),
+            value -> new String(Base64.getDecoder().decode(value), StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return  The number of entries in the cache
+     */
+    /*test*/ synchronized int size() {
+        return entries.size();
+    }
+
+    private static String data(Secret secret, String key) {
+        return secret != null && secret.getData() != null ? secret.getData().get(key) : null;
+    }
+
+    private <T, E extends Exception> T get(Secret secret, String key, String type, String value, Parser<T, E> parser) throws E {
+        if (value == null) {
+            return null;
+        }
+
+        String cacheKey = cacheKey(secret, key, type);
+        if (cacheKey != null) {
+            synchronized (this) {
+                Entry entry = entries.get(cacheKey);
+                if (entry != null && entry.value.equals(value)) {
+                    @SuppressWarnings("unchecked")
+                    T parsed = (T) entry.parsed;
+                    return parsed;
+                }
+            }
+        }
+
+        // Parsed outside of the lock, so that parsing different Secrets is not serialized
+        T parsed = parser.parse(value);
+
+        if (cacheKey != null) {
+            synchronized (this) {
+                entries.put(cacheKey, new Entry(value, parsed));
+            }
+        }
+
+        return parsed;
+    }
+
+    private static String cacheKey(Secret secret, String key, String type) {
+        ObjectMeta metadata = secret != null ? secret.getMetadata() : null;
+        if (metadata == null || metadata.getUid() == null || metadata.getResourceVersion() == null) {
+            return null;
+        }
+        return metadata.getUid() + "/" + metadata.getResourceVersion() + "/" + key + "/" + type;
+    }
+
+    private static X509Certificate parseCertificate(String value) throws CertificateException {
+        Certificate certificate = CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(Base64.getDecoder().decode(value)));
+        if (certificate instanceof X509Certificate) {
+            return (X509Certificate) certificate;
+        } else {
+            throw new CertificateException("Not an X509Certificate: " + certificate);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser<T, E extends Exception> {
+        T parse(String value) throws E;
+    }
+
+    private static class Entry {
+        private final String value;
+        private final Object parsed;
+
+        Entry(String value, Object parsed) {
+            this.value = value;
+            this.parsed = parsed;
+        }
+    }
+}
@@ -8,17 +8,15 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.strimzi.operator.cluster.model.Ca;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
-import org.apache.kafka.common.config.SslConfigs;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
-import java.io.File;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultAdminClientProvider implements AdminClientProvider {
-
-    private static final Logger LOGGER = LogManager.getLogger(DefaultAdminClientProvider.class);
+    // The configurations of the clients using material registered with the PemSslContextProvider
+    private final Map<Admin, Properties> pemConfigs = new ConcurrentHashMap<>();
 
     /**
      * Create a Kafka Admin interface instance handling the following different scenarios:
@@ -40,61 +38,61 @@ public class DefaultAdminClientProvider implements AdminClientProvider {
      * If {@code clusterCaCertSecret}, {@code keyCertSecret} and {@code keyCertName} are provided as not null, the returned
      * Admin Client instance is configured to connect to the Apache Kafka bootstrap (defined via {@code hostname}) on
      * TLS encrypted connection and with TLS client authentication.
+     *
+     * The certificates and the private key are taken as PEM from the {@code ca.crt}, {@code <keyCertName>.crt} and
+     * {@code <keyCertName>.key} entries of the Secrets, decoded once per version of the Secrets by the
+     * {@link CertificateCache}, and used from memory through the {@link PemSslContextProvider}. Clients using TLS should
+     * be closed with {@link #closeAdminClient(Admin, Duration)}, so that their material is released.
      */
     @Override
     public Admin createAdminClient(String hostname, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
-        Admin ac;
-        String trustStorePassword = null;
-        File truststoreFile = null;
+        Properties p = new Properties();
+        p.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, hostname);
+
         // provided Secret with cluster CA certificate for TLS encryption
         if (clusterCaCertSecret != null) {
-            PasswordGenerator pg = new PasswordGenerator(12);
-            trustStorePassword = pg.generate();
-            truststoreFile = Util.createFileTrustStore(getClass().getName(), "ts", Ca.cert(clusterCaCertSecret, Ca.CA_CRT), trustStorePassword.toCharArray());
-        }
+            p.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
 
-        try {
-            String keyStorePassword = null;
-            File keystoreFile = null;
+            CertificateCache cache = CertificateCache.instance();
+            String keyPem = null;
+            String certChainPem = null;
             // provided Secret and related key for getting the private key for TLS client authentication
             if (keyCertSecret != null && keyCertName != null && !keyCertName.isEmpty()) {
-                keyStorePassword = new String(Util.decodeFromSecret(keyCertSecret, keyCertName + ".password"), StandardCharsets.US_ASCII);
-                keystoreFile = Util.createFileStore(getClass().getName(), "ts", Util.decodeFromSecret(keyCertSecret, keyCertName + ".p12"));
+                keyPem = cache.pem(keyCertSecret, keyCertName + ".key");
+                certChainPem = cache.pem(keyCertSecret, keyCertName + ".crt");
             }
 
-            try {
-                Properties p = new Properties();
-                p.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, hostname);
-
-                // configuring TLS encryption if requested
-                if (truststoreFile != null && trustStorePassword != null) {
-                    p.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
+            PemSslContextProvider.configure(p, cache.pem(clusterCaCertSecret, Ca.CA_CRT), keyPem, certChainPem);
+        }
 
-                    p.setProperty(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, truststoreFile.getAbsolutePath());
-                    p.setProperty(SslConfigs.SSL_TRUSTSTORE_TYPE_CONFIG, "PKCS12");
-                    p.setProperty(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, trustStorePassword);
-                }
+        p.setProperty(AdminClientConfig.METADATA_MAX_AGE_CONFIG, "30000");
 
-                // configuring TLS client authentication
-                if (keystoreFile != null && keyStorePassword != null) {
-                    p.setProperty(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG, keystoreFile.getAbsolutePath());
-                    p.setProperty(SslConfigs.SSL_KEYSTORE_TYPE_CONFIG, "PKCS12");
-                    p.setProperty(SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG, keyStorePassword);
-                }
+        Admin admin;
+        try {
+            admin = Admin.create(p);
+        } catch (RuntimeException e) {
+            PemSslContextProvider.release(p);
+            throw e;
+        }
 
-                p.setProperty(AdminClientConfig.METADATA_MAX_AGE_CONFIG, "30000");
+        if (clusterCaCertSecret != null) {
+            pemConfigs.put(admin, p);
+        }
+        return admin;
+    }
 
-                ac = Admin.create(p);
-            } finally {
-                if (keystoreFile != null && !keystoreFile.delete()) {
-                    LOGGER.warn("Unable to delete keystore file {}", keystoreFile);
-                }
-            }
+    /**
+     * Closes the Admin client and releases its PEM key and trust material from the {@link PemSslContextProvider}.
+     */
+    @Override
+    public void closeAdminClient(Admin admin, Duration timeout) {
+        try {
+            admin.close(timeout);
         } finally {
-            if (truststoreFile != null && !truststoreFile.delete()) {
-                LOGGER.warn("Unable to delete truststore file {}", truststoreFile);
+            Properties p = pemConfigs.remove(admin);
+            if (p != null) {
+                PemSslContextProvider.release(p);
             }
         }
-        return ac;
     }
 }
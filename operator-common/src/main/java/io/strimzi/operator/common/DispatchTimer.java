@@ -0,0 +1,86 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Single Vert.x timer running a dispatch function at the earliest of the deadlines requested from it. A request for a
+ * later deadline than the one of the scheduled timer is ignored, a request for an earlier one replaces the timer.</p>
+ *
+ * <p>Vert.x drops the handler of a timer which fires before {@code setTimer()} returned. That can happen when the timer
+ * is set from another thread than the event loop which runs it, so the timer is always set from the event loop of the
+ * context which created this instance. A generation counter tracks which of the timers is the current one.</p>
+ */
+class DispatchTimer {
+    private final Vertx vertx;
+    private final Context context;
+    private final Runnable dispatch;
+
+    private long timerId = -1;
+    private long generation = 0;
+    private boolean scheduled = false;
+    private long deadlineNanos;
+
+    /**
+     * @param vertx     The Vertx instance
+     * @param dispatch  The function run when the timer fires
+     */
+    DispatchTimer(Vertx vertx, Runnable dispatch) {
+        this.vertx = vertx;
+        this.context = vertx.getOrCreateContext();
+        this.dispatch = dispatch;
+    }
+
+    /**
+     * Makes sure the dispatch function runs at the given time at the latest.
+     *
+     * @param now       The current {@link System#nanoTime()}
+     * @param atNanos   The {@link System#nanoTime()} at which the dispatch function should run
+     */
+    synchronized void schedule(long now, long atNanos) {
+        if (scheduled) {
+            if (deadlineNanos - atNanos <= 0) {
+                // The already scheduled dispatch is early enough
+                return;
+            }
+
+            if (timerId != -1) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+        }
+
+        long timerGeneration = ++generation;
+        long delayMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(atNanos - now) + 1);
+        scheduled = true;
+        deadlineNanos = atNanos;
+
+        context.runOnContext(v -> {
+            long id = vertx.setTimer(delayMs, ignored -> {
+                synchronized (this) {
+                    if (generation == timerGeneration) {
+                        scheduled = false;
+                        timerId = -1;
+                    }
+                }
+
+                dispatch.run();
+            });
+
+            synchronized (this) {
+                if (generation == timerGeneration) {
+                    timerId = id;
+                } else {
+                    // An earlier dispatch was scheduled in the meantime
+                    vertx.cancelTimer(id);
+                }
+            }
+        });
+    }
+}
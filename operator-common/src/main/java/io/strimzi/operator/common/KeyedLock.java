@@ -0,0 +1,267 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.operator.common.operator.resource.TimeoutException;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>In-process asynchronous mutex per key. It replaces the Vert.x shared data locks, which are meant for clustered
+ * Vert.x and cost a string key, a timer and a couple of callback hops per acquisition even when nobody else holds
+ * the lock.</p>
+ *
+ * <ul>
+ * <li>A lock which is free is acquired immediately and synchronously. No timer is set.
+ * <li>Waiters for a lock which is held are queued per key and get the lock in FIFO order. They are called back on
+ *     the Vert.x context from which they asked for the lock.
+ * <li>Waiters which do not get the lock within their timeout are removed from the queue and failed with
+ *     {@link UnableToAcquireLockException}.
+ * <li>Keys are only kept in the lock table while the lock is held or waited for.
+ * </ul>
+ *
+ * @param <K> The type of the keys. It has to implement {@code equals()} and {@code hashCode()}.
+ */
+public class KeyedLock<K> {
+    private final Vertx vertx;
+    private final ConcurrentHashMap<K, Entry> locks = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waitingGauge;
+    private final Timer waitTimer;
+    private final Counter timeoutsCounter;
+
+    /**
+     * The exception by which the Futures returned by this class are failed when the lock cannot be acquired within
+     * the timeout.
+     */
+    public static class UnableToAcquireLockException extends TimeoutException { }
+
+    /**
+     * Handle of an acquired lock.
+     */
+    public interface Lock {
+        /**
+         * Releases the lock and hands it over to the next waiter (if any). Only the first call has an effect.
+         */
+        void release();
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx         The Vertx instance
+     * @param kind          The kind of the locked resources (used as the kind tag of the metrics)
+     * @param metrics       The metrics provider or null if no metrics should be collected
+     * @param metricsPrefix The prefix of the metrics names
+     */
+    public KeyedLock(Vertx vertx, String kind, MetricsProvider metrics, String metricsPrefix) {
+        this.vertx = vertx;
+
+        if (metrics != null) {
+            Tags metricTags = Tags.of("kind", kind);
+
+            waitingGauge = metrics.gauge(metricsPrefix + "locks.waiting",
+                    "Number of reconciliations waiting for the lock of their resource",
+                    metricTags);
+
+            waitTimer = metrics.timer(metricsPrefix + "locks.wait",
+                    "The time reconciliations wait to acquire the lock of their resource",
+                    metricTags);
+
+            timeoutsCounter = metrics.counter(metricsPrefix + "locks.timeouts",
+                    "Number of reconciliations which did not acquire the lock of their resource within the timeout",
+                    metricTags);
+        } else {
+            waitingGauge = new AtomicInteger(0);
+            waitTimer = null;
+            timeoutsCounter = null;
+        }
+    }
+
+    /**
+     * Acquires the lock of the given key.
+     *
+     * @param key       The key
+     * @param timeoutMs The maximal time to wait for the lock
+     * @return  A Future completed with the acquired lock or failed with {@link UnableToAcquireLockException} when the
+     *          lock was not acquired within the timeout. The Future is already completed when the lock was free.
+     */
+    public Future<Lock> acquire(K key, long timeoutMs) {
+        Waiter waiter = new Waiter(key, vertx.getOrCreateContext());
+        boolean[] acquired = new boolean[1];
+
+        locks.compute(key, (k, entry) -> {
+            if (entry == null) {
+                acquired[0] = true;
+                return new Entry();
+            }
+
+            entry.waiters.add(waiter);
+            waitingGauge.incrementAndGet();
+            return entry;
+        });
+
+        if (acquired[0]) {
+            recordWait(waiter);
+            return Future.succeededFuture(waiter);
+        }
+
+        waiter.timerId = vertx.setTimer(Math.max(1, timeoutMs), id -> timeout(waiter));
+        if (waiter.granted) {
+            // The lock was handed over before the timer was set
+            vertx.cancelTimer(waiter.timerId);
+        }
+        return waiter.promise.future();
+    }
+
+    /**
+     * Acquires the lock of the given key and calls the given {@code callable} with the lock held. The lock is released
+     * once the Future returned by the callable completes (or if the callable throws).
+     *
+     * @param key       The key
+     * @param timeoutMs The maximal time to wait for the lock
+     * @param callable  The code to run with the lock held
+     * @param <T>       The type of the result
+     * @return  A Future completed with the result of the callable or failed with {@link UnableToAcquireLockException}
+     *          when the lock was not acquired within the timeout (in which case the callable is not called).
+     */
+    public <T> Future<T> withLock(K key, long timeoutMs, Callable<Future<T>> callable) {
+        return acquire(key, timeoutMs).compose(lock -> {
+            Future<T> result;
+
+            try {
+                result = callable.call();
+            } catch (Throwable t) {
+                lock.release();
+                return Future.failedFuture(t);
+            }
+
+            Promise<T> promise = Promise.promise();
+            result.onComplete(res -> {
+                lock.release();
+                promise.handle(res);
+            });
+            return promise.future();
+        });
+    }
+
+    /**
+     * @param key   The key
+     * @return  True if the lock of the given key is held or waited for
+     */
+    public boolean isLocked(K key) {
+        return locks.containsKey(key);
+    }
+
+    /**
+     * @return  The number of keys whose locks are held or waited for
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    /**
+     * @return  The number of waiters which did not get their lock yet
+     */
+    public int waiting() {
+        return waitingGauge.get();
+    }
+
+    private void release(K key) {
+        AtomicReference<Waiter> next = new AtomicReference<>();
+
+        locks.computeIfPresent(key, (k, entry) -> {
+            Waiter waiter = entry.waiters.poll();
+            if (waiter == null) {
+                return null;
+            }
+
+            waitingGauge.decrementAndGet();
+            next.set(waiter);
+            return entry;
+        });
+
+        if (next.get() != null) {
+            grant(next.get());
+        }
+    }
+
+    private void grant(Waiter waiter) {
+        waiter.granted = true;
+        if (waiter.timerId != -1) {
+            vertx.cancelTimer(waiter.timerId);
+        }
+        recordWait(waiter);
+        waiter.context.runOnContext(v -> waiter.promise.complete(waiter));
+    }
+
+    private void timeout(Waiter waiter) {
+        boolean[] removed = new boolean[1];
+
+        locks.computeIfPresent(waiter.key, (k, entry) -> {
+            removed[0] = entry.waiters.remove(waiter);
+            if (removed[0]) {
+                waitingGauge.decrementAndGet();
+            }
+            return entry;
+        });
+
+        if (removed[0]) {
+            if (timeoutsCounter != null) {
+                timeoutsCounter.increment();
+            }
+            waiter.promise.fail(new UnableToAcquireLockException());
+        }
+    }
+
+    private void recordWait(Waiter waiter) {
+        if (waitTimer != null) {
+            waitTimer.record(System.nanoTime() - waiter.waitingSinceNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A held lock with the queue of its waiters. It is only accessed from within the {@code compute} methods of the
+     * lock table, which serializes the access per key.
+     */
+    private class Entry {
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>(2);
+    }
+
+    private class Waiter implements Lock {
+        private final K key;
+        private final Promise<Lock> promise = Promise.promise();
+        private final long waitingSinceNanos = System.nanoTime();
+        private final Context context;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile boolean granted = false;
+        private volatile long timerId = -1;
+
+        Waiter(K key, Context context) {
+            this.key = key;
+            this.context = context;
+        }
+
+        @Override
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                KeyedLock.this.release(key);
+            }
+        }
+    }
+}
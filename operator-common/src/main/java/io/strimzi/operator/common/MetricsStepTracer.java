@@ -0,0 +1,82 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tracer which records the duration of the reconciliation steps in the {@code reconciliation.step.duration} timer
+ * tagged with the kind, the step name and the outcome ({@code success} or {@code failure}). At debug level, it also
+ * logs the duration of all steps when a reconciliation completes.
+ */
+public class MetricsStepTracer implements StepTracer {
+    private static final Logger log = LogManager.getLogger(MetricsStepTracer.class);
+
+    private final MetricsProvider metrics;
+    private final String metricsPrefix;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Reconciliation, Queue<String>> steps = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param metrics       The metrics provider
+     * @param metricsPrefix The prefix of the metrics names
+     */
+    public MetricsStepTracer(MetricsProvider metrics, String metricsPrefix) {
+        this.metrics = metrics;
+        this.metricsPrefix = metricsPrefix;
+    }
+
+    @Override
+    public void reconciliationStarted(Reconciliation reconciliation) {
+        if (log.isDebugEnabled()) {
+            steps.put(reconciliation, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    @Override
+    public void reconciliationCompleted(Reconciliation reconciliation, Throwable failure) {
+        Queue<String> completedSteps = steps.remove(reconciliation);
+
+        if (completedSteps != null && !completedSteps.isEmpty()) {
+            log.debug("{}: Durations of the reconciliation steps: {}", reconciliation, completedSteps.stream().collect(Collectors.joining(", ")));
+        }
+    }
+
+    @Override
+    public Span stepStarted(Reconciliation reconciliation, String step) {
+        long startNanos = System.nanoTime();
+
+        return failure -> {
+            long durationNanos = System.nanoTime() - startNanos;
+            String outcome = failure == null ? "success" : "failure";
+
+            timer(reconciliation.kind(), step, outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+
+            Queue<String> completedSteps = steps.get(reconciliation);
+            if (completedSteps != null) {
+                completedSteps.add(step + "=" + TimeUnit.NANOSECONDS.toMillis(durationNanos) + "ms" + (failure == null ? "" : " (failed)"));
+            }
+        };
+    }
+
+    private Timer timer(String kind, String step, String outcome) {
+        return timers.computeIfAbsent(kind + "/" + step + "/" + outcome,
+            key -> metrics.timer(metricsPrefix + "reconciliation.step.duration",
+                    "The time the steps of the reconciliations take",
+                    Tags.of("kind", kind, "step", step, "outcome", outcome)));
+    }
+}
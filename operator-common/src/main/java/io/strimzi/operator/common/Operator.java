@@ -60,6 +60,14 @@ public interface Operator {
         });
     }
 
+    /**
+     * Triggers the asynchronous reconciliation of the given resources. The reconciliations are started through
+     * {@link #reconcile(Reconciliation)}, so implementations which queue their reconciliations (such as
+     * {@link AbstractOperator}) apply their concurrency and rate limits to them as well.
+     * @param trigger The cause of this reconciliation (for logging).
+     * @param desiredNames The resources to reconcile.
+     * @param handler Handler called on completion.
+     */
     default void reconcileThese(String trigger, Set<NamespaceAndName> desiredNames, Handler<AsyncResult<Void>> handler) {
         if (desiredNames.size() > 0) {
             List<Future> futures = new ArrayList<>();
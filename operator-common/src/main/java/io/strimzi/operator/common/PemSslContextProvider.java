@@ -0,0 +1,371 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import org.apache.kafka.common.config.SslConfigs;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyManagementException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * <p>Security provider which lets Kafka clients use TLS key and trust material held in memory as PEM, instead of
+ * PKCS12 stores written to temporary files.</p>
+ *
+ * <p>{@code Provider} has no constructor which exists on Java 8 and is not deprecated on Java 9 and later. So the
+ * provider itself is implemented once for each of them ({@code PemSslContextProviderJdk8} and
+ * {@code PemSslContextProviderJdk9}), only the one for the Java version of the build is compiled (see the profiles of
+ * the operator-common pom) and it is loaded by name when it is first needed.</p>
+ *
+ * <p>The Kafka clients create their {@code SSLContext} with {@code SSLContext.getInstance(ssl.protocol, ssl.provider)}.
+ * {@link #configure(Properties, String, String, String)} registers the key material with this provider under a
+ * protocol name derived from a digest of the material, and sets {@code ssl.provider} and {@code ssl.protocol} so that
+ * the clients get an {@code SSLContext} which ignores the (empty) stores configured in Kafka and uses the registered
+ * material instead. The material is parsed once and shared by all the clients using it. The registrations are
+ * reference counted: {@link #release(Properties)} has to be called once a client is closed, so that the material is
+ * removed from this JVM-wide provider when no client uses it anymore.</p>
+ *
+ * <p>The private key has to be an unencrypted PKCS#8 key ({@code BEGIN PRIVATE KEY}), as created by OpenSSL for the
+ * certificates of the cluster.</p>
+ */
+public class PemSslContextProvider {
+    /**
+     * The name of the provider
+     */
+    public static final String NAME = "StrimziPem";
+
+    private static final String PROTOCOL_PREFIX = "STRIMZI-PEM-";
+    private static final String DELEGATE_PROTOCOL = "TLS";
+
+    /**
+     * The description of the provider
+     */
+    static final String INFO = "In-memory PEM key and trust material for Kafka clients";
+
+    /**
+     * The implementations of the provider, in order of preference. Only one of them is built.
+     */
+    private static final String[] PROVIDER_CLASSES = {
+        PemSslContextProvider.class.getName() + "Jdk9",
+        PemSslContextProvider.class.getName() + "Jdk8"
+    };
+
+    // Guarded by PemSslContextProvider.class
+    private static Provider provider;
+    private static final Map<String, Material> MATERIALS = new HashMap<>();
+
+    private PemSslContextProvider() { }
+
+    /**
+     * Configures a Kafka client to use the given PEM key and trust material from memory. The caller still has to set
+     * the {@code security.protocol}.
+     *
+     * @param props             The Kafka client configuration
+     * @param trustedCertsPem   The PEM certificates to trust
+     * @param keyPem            The PEM private key for TLS client authentication or null if the client does not
+     *                          authenticate
+     * @param certChainPem      The PEM certificate chain of the private key or null if the client does not
+     *                          authenticate
+     */
+    public static void configure(Properties props, String trustedCertsPem, String keyPem, String certChainPem) {
+        props.setProperty(SslConfigs.SSL_PROVIDER_CONFIG, NAME);
+        props.setProperty(SslConfigs.SSL_PROTOCOL_CONFIG, register(trustedCertsPem, keyPem, certChainPem));
+    }
+
+    /**
+     * Releases the PEM key and trust material registered by {@link #configure(Properties, String, String, String)}
+     * once the Kafka client using the configuration was closed. Configurations which do not use this provider are
+     * ignored.
+     *
+     * @param props The Kafka client configuration
+     */
+    public static void release(Properties props) {
+        if (NAME.equals(props.getProperty(SslConfigs.SSL_PROVIDER_CONFIG))) {
+            deregister(props.getProperty(SslConfigs.SSL_PROTOCOL_CONFIG));
+        }
+    }
+
+    /**
+     * Registers the PEM key and trust material unless it is registered already, and takes a reference to it.
+     *
+     * @param trustedCertsPem   The PEM certificates to trust
+     * @param keyPem            The PEM private key or null
+     * @param certChainPem      The PEM certificate chain of the private key or null
+     * @return  The protocol name under which the material is registered with this provider
+     */
+    static synchronized String register(String trustedCertsPem, String keyPem, String certChainPem) {
+        String protocol = PROTOCOL_PREFIX + digest(trustedCertsPem, keyPem, certChainPem);
+
+        Material material = MATERIALS.get(protocol);
+        if (material == null) {
+            material = new Material(trustedCertsPem, keyPem, certChainPem);
+            MATERIALS.put(protocol, material);
+            Provider provider = provider();
+            ((Services) provider).putService(new MaterialService(provider, protocol, material));
+        }
+        material.references++;
+
+        return protocol;
+    }
+
+    /**
+     * Drops a reference to registered material and removes the material once it is not referenced anymore.
+     *
+     * @param protocol  The protocol name under which the material is registered
+     */
+    static synchronized void deregister(String protocol) {
+        Material material = MATERIALS.get(protocol);
+        if (material != null && --material.references == 0) {
+            MATERIALS.remove(protocol);
+            Provider provider = provider();
+            ((Services) provider).removeService(provider.getService("SSLContext", protocol));
+        }
+    }
+
+    /**
+     * @param protocol  The protocol name
+     * @return  True if material is registered under the protocol name
+     */
+    static synchronized boolean isRegistered(String protocol) {
+        return MATERIALS.containsKey(protocol);
+    }
+
+    private static synchronized Provider provider() {
+        if (provider == null) {
+            provider = newProvider();
+            Security.addProvider(provider);
+        }
+        return provider;
+    }
+
+    private static Provider newProvider() {
+        for (String className : PROVIDER_CLASSES) {
+            try {
+                return (Provider) Class.forName(className).getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                // Not built for this Java version, try the next one
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create the " + NAME + " provider", e);
+            }
+        }
+        throw new IllegalStateException("No implementation of the " + NAME + " provider was built");
+    }
+
+    private static String digest(String... pems) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String pem : pems) {
+                if (pem != null) {
+                    digest.update(pem.getBytes(StandardCharsets.US_ASCII));
+                }
+                digest.update((byte) 0);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parses the certificates from PEM.
+     *
+     * @param pem   The PEM certificates
+     * @return  The certificates
+     */
+    static X509Certificate[] parseCertificates(String pem) throws GeneralSecurityException {
+        Collection<? extends Certificate> certs = CertificateFactory.getInstance("X.509")
+                .generateCertificates(new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII)));
+        return certs.toArray(new X509Certificate[0]);
+    }
+
+    /**
+     * Parses an unencrypted PKCS#8 private key from PEM.
+     *
+     * @param pem   The PEM private key
+     * @return  The private key
+     */
+    static PrivateKey parsePrivateKey(String pem) throws GeneralSecurityException {
+        String base64 = pem.replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "").replaceAll("\\s", "");
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64));
+
+        for (String algorithm : new String[] {"RSA", "EC"}) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+            } catch (InvalidKeySpecException e) {
+                // Try the next algorithm
+            }
+        }
+        throw new InvalidKeySpecException("The private key is neither an RSA nor an EC PKCS#8 key");
+    }
+
+    /**
+     * The parsed key and trust managers of registered material
+     */
+    private static class Material {
+        private final KeyManager[] keyManagers;
+        private final TrustManager[] trustManagers;
+        // Guarded by PemSslContextProvider.class
+        private int references = 0;
+
+        Material(String trustedCertsPem, String keyPem, String certChainPem) {
+            try {
+                char[] password = new PasswordGenerator(12).generate().toCharArray();
+
+                KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+                trustStore.load(null, password);
+                X509Certificate[] trustedCerts = parseCertificates(trustedCertsPem);
+                for (int i = 0; i < trustedCerts.length; i++) {
+                    trustStore.setCertificateEntry("ca-" + i, trustedCerts[i]);
+                }
+                TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                tmf.init(trustStore);
+                trustManagers = tmf.getTrustManagers();
+
+                if (keyPem != null && certChainPem != null) {
+                    KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+                    keyStore.load(null, password);
+                    keyStore.setKeyEntry("key", parsePrivateKey(keyPem), password, parseCertificates(certChainPem));
+                    KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                    kmf.init(keyStore, password);
+                    keyManagers = kmf.getKeyManagers();
+                } else {
+                    keyManagers = null;
+                }
+            } catch (GeneralSecurityException | IOException e) {
+                throw new RuntimeException("Invalid PEM key or certificates", e);
+            }
+        }
+    }
+
+    /**
+     * The methods of the provider implementations which register the services of the provider. They are protected in
+     * {@code Provider}.
+     */
+    interface Services {
+        /**
+         * @param service   The service to add to the provider
+         */
+        void putService(Provider.Service service);
+
+        /**
+         * @param service   The service to remove from the provider
+         */
+        void removeService(Provider.Service service);
+    }
+
+    /**
+     * The {@code SSLContext} service of registered material
+     */
+    private static class MaterialService extends Provider.Service {
+        private final Material material;
+
+        MaterialService(Provider provider, String protocol, Material material) {
+            super(provider, "SSLContext", protocol, MaterialSslContextSpi.class.getName(), null, null);
+            this.material = material;
+        }
+
+        @Override
+        public Object newInstance(Object constructorParameter) {
+            return new MaterialSslContextSpi(material);
+        }
+    }
+
+    /**
+     * {@code SSLContext} implementation which delegates to a TLS {@code SSLContext} of the default provider
+     * initialized with the registered material instead of the key and trust managers it is initialized with.
+     */
+    private static class MaterialSslContextSpi extends SSLContextSpi {
+        private final Material material;
+        private SSLContext delegate;
+
+        MaterialSslContextSpi(Material material) {
+            this.material = material;
+        }
+
+        @Override
+        protected void engineInit(KeyManager[] km, TrustManager[] tm, SecureRandom sr) throws KeyManagementException {
+            try {
+                delegate = SSLContext.getInstance(DELEGATE_PROTOCOL);
+            } catch (GeneralSecurityException e) {
+                throw new KeyManagementException(e);
+            }
+            delegate.init(material.keyManagers, material.trustManagers, sr);
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            return delegate.getSocketFactory();
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            return delegate.getServerSocketFactory();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            return delegate.createSSLEngine();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port) {
+            return delegate.createSSLEngine(host, port);
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            return delegate.getServerSessionContext();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            return delegate.getClientSessionContext();
+        }
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters() {
+            return delegate.getDefaultSSLParameters();
+        }
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters() {
+            return delegate.getSupportedSSLParameters();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import java.security.Provider;
+
+/**
+ * The provider of the {@link PemSslContextProvider} for Java 8, which has no {@code Provider} constructor taking the
+ * version as a string. It is only compiled on Java 8.
+ */
+class PemSslContextProviderJdk8 extends Provider implements PemSslContextProvider.Services {
+    private static final long serialVersionUID = 1L;
+
+    PemSslContextProviderJdk8() {
+        super(PemSslContextProvider.NAME, 1.0, PemSslContextProvider.INFO);
+    }
+
+    @Override
+    public synchronized void putService(Service service) {
+        super.putService(service);
+    }
+
+    @Override
+    public synchronized void removeService(Service service) {
+        super.removeService(service);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import java.security.Provider;
+
+/**
+ * The provider of the {@link PemSslContextProvider} for Java 9 and later, where the {@code Provider} constructor taking
+ * the version as a double is deprecated. It is only compiled on Java 9 and later.
+ */
+class PemSslContextProviderJdk9 extends Provider implements PemSslContextProvider.Services {
+    private static final long serialVersionUID = 1L;
+
+    PemSslContextProviderJdk9() {
+        super(PemSslContextProvider.NAME, "1.0", PemSslContextProvider.INFO);
+    }
+
+    @Override
+    public synchronized void putService(Service service) {
+        super.putService(service);
+    }
+
+    @Override
+    public synchronized void removeService(Service service) {
+        super.removeService(service);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * <p>Spreads the reconciliations of a periodic (or otherwise bulk) reconciliation of all resources of one kind across
+ * a time window instead of starting all of them at the same moment.</p>
+ *
+ * <ul>
+ * <li>Each resource is delayed by a jitter derived from the hash of its namespace and name, so that the resource is
+ *     reconciled at the same offset in every period and different resources (and kinds) are spread over the window.
+ * <li>Resources with pending changes (for example a spec which was not yet observed by the operator) are not delayed
+ *     and are started before any other resource.
+ * <li>At most {@code maxInFlight} reconciliations started by this scheduler are running or waiting in the
+ *     {@link WorkQueue} at the same time, so that bulk reconciliations do not crowd out the event driven ones.
+ * </ul>
+ */
+public class PeriodicReconciliationScheduler {
+    private static final Logger log = LogManager.getLogger(PeriodicReconciliationScheduler.class);
+
+    private static final Comparator<Pending> ORDER = Comparator.<Pending, Boolean>comparing(pending -> !pending.priority)
+            .thenComparingLong(pending -> pending.dueNanos)
+            .thenComparingLong(pending -> pending.sequence);
+
+    private final String kind;
+    private final long spreadMs;
+    private final int maxInFlight;
+    private final BiFunction<Reconciliation, Boolean, Future<Void>> reconciler;
+
+    private final PriorityQueue<Pending> pending = new PriorityQueue<>(ORDER);
+    private final Map<NamespaceAndName, Pending> pendingByKey = new HashMap<>();
+    private int inFlight = 0;
+    private long sequence = 0;
+    private final DispatchTimer dispatchTimer;
+
+    private final AtomicInteger pendingGauge;
+
+    /**
+     * Constructor
+     *
+     * @param vertx         The Vertx instance
+     * @param kind          The kind of the reconciled resources
+     * @param metrics       The metrics provider
+     * @param metricsPrefix The prefix of the metrics names
+     * @param spreadMs      The time window across which the reconciliations are spread. 0 starts them all immediately.
+     * @param maxInFlight   The maximal number of started reconciliations which did not complete yet
+     * @param reconciler    Starts the reconciliation. The second argument indicates whether the reconciliation should
+     *                      be prioritized.
+     */
+    public PeriodicReconciliationScheduler(Vertx vertx, String kind, MetricsProvider metrics, String metricsPrefix,
+                                           long spreadMs, int maxInFlight, BiFunction<Reconciliation, Boolean, Future<Void>> reconciler) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("The maximal number of reconciliations in flight has to be positive");
+        }
+
+        this.dispatchTimer = new DispatchTimer(vertx, this::dispatch);
+        this.kind = kind;
+        this.spreadMs = Math.max(0, spreadMs);
+        this.maxInFlight = maxInFlight;
+        this.reconciler = reconciler;
+
+        pendingGauge = metrics.gauge(metricsPrefix + "reconciliations.periodical.pending",
+                "Number of periodical reconciliations waiting to be started",
+                Tags.of("kind", kind));
+    }
+
+    /**
+     * Schedules the reconciliation of the given resources. Resources which are still pending from a previous call
+     * keep their place and the returned future completes together with them.
+     *
+     * @param trigger           The cause of the reconciliation (for logging)
+     * @param names             The resources to reconcile
+     * @param pendingChanges    Identifies the resources which should be reconciled first and without any delay
+     * @return  A future which completes when the reconciliations of all the given resources complete. It fails when
+     *          at least one of them fails.
+     */
+    public Future<Void> schedule(String trigger, Set<NamespaceAndName> names, Predicate<NamespaceAndName> pendingChanges) {
+        List<Future> futures = new ArrayList<>(names.size());
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            int priorities = 0;
+
+            for (NamespaceAndName name : names) {
+                boolean priority = pendingChanges.test(name);
+                Pending existing = pendingByKey.get(name);
+
+                if (existing != null) {
+                    if (priority && !existing.priority) {
+                        pending.remove(existing);
+                        existing.priority = true;
+                        existing.dueNanos = now;
+                        pending.add(existing);
+                    }
+
+                    futures.add(existing.promise.future());
+                } else {
+                    Pending entry = new Pending(new Reconciliation(trigger, kind, name.getNamespace(), name.getName()),
+                            priority, priority ? now : now + TimeUnit.MILLISECONDS.toNanos(jitterMs(name, spreadMs)), sequence++);
+                    pending.add(entry);
+                    pendingByKey.put(name, entry);
+                    futures.add(entry.promise.future());
+                }
+
+                if (priority) {
+                    priorities++;
+                }
+            }
+
+            pendingGauge.set(pending.size());
+            log.debug("Scheduled {} reconciliations of {} ({} with pending changes) across {}ms", names.size(), kind, priorities, spreadMs);
+        }
+
+        dispatch();
+
+        return CompositeFuture.join(futures).map((Void) null);
+    }
+
+    /**
+     * @return  The number of reconciliations which were not started yet
+     */
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    /**
+     * Stable jitter of the resource in the interval [0, spreadMs). The hash of the resource is mixed, so that resources
+     * with similar names are not scheduled close to each other.
+     */
+    /* test */ static long jitterMs(NamespaceAndName name, long spreadMs) {
+        if (spreadMs <= 0) {
+            return 0;
+        }
+
+        int hash = name.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+
+        return Math.floorMod((long) hash, spreadMs);
+    }
+
+    private void dispatch() {
+        List<Pending> toStart = new ArrayList<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+
+            while (inFlight < maxInFlight && !pending.isEmpty()) {
+                Pending head = pending.peek();
+
+                if (head.dueNanos - now > 0) {
+                    dispatchTimer.schedule(now, head.dueNanos);
+                    break;
+                }
+
+                pending.poll();
+                pendingByKey.remove(new NamespaceAndName(head.reconciliation.namespace(), head.reconciliation.name()));
+                inFlight++;
+                toStart.add(head);
+            }
+
+            pendingGauge.set(pending.size());
+        }
+
+        for (Pending entry : toStart) {
+            Future<Void> result;
+            try {
+                result = reconciler.apply(entry.reconciliation, entry.priority);
+            } catch (Throwable t) {
+                result = Future.failedFuture(t);
+            }
+
+            result.onComplete(res -> {
+                synchronized (this) {
+                    inFlight--;
+                }
+
+                entry.promise.handle(res);
+                dispatch();
+            });
+        }
+    }
+
+    private static class Pending {
+        private final Reconciliation reconciliation;
+        private final Promise<Void> promise = Promise.promise();
+        private final long sequence;
+        private boolean priority;
+        private long dueNanos;
+
+        Pending(Reconciliation reconciliation, boolean priority, long dueNanos, long sequence) {
+            this.reconciliation = reconciliation;
+            this.priority = priority;
+            this.dueNanos = dueNanos;
+            this.sequence = sequence;
+        }
+    }
+}
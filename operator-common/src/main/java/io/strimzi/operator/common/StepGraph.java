@@ -0,0 +1,227 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Function;
+
+/**
+ * <p>Dependency graph of the steps of a reconciliation. Each step is an asynchronous operation on the reconciliation
+ * state which is started once all the steps it depends on completed successfully. Steps which do not depend on each
+ * other run concurrently, but at most {@code maxConcurrency} of them at the same time.</p>
+ *
+ * <ul>
+ * <li>The dependencies of a step have to be declared before the step, so the graph cannot have cycles.
+ * <li>All steps are started on the Vert.x context from which the graph was executed, so they can share the
+ *     reconciliation state without further synchronization.
+ * <li>When a step fails, no further steps are started. The execution fails with the first failure once the steps
+ *     which are already running completed.
+ * <li>Each step is reported to the {@link StepTracer} passed to the execution.
+ * </ul>
+ *
+ * <p>The graph itself holds no per-execution state, so one instance can be executed for many reconciliations, also
+ * concurrently.</p>
+ *
+ * @param <S> The type of the reconciliation state
+ */
+public class StepGraph<S> {
+    private static final Logger log = LogManager.getLogger(StepGraph.class);
+
+    private final Vertx vertx;
+
+    private final Map<String, Step<S>> steps = new LinkedHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param vertx         The Vertx instance
+     */
+    public StepGraph(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * Adds a step to the graph.
+     *
+     * @param name          The name of the step. It has to be unique within the graph.
+     * @param operation     The operation of the step
+     * @param dependencies  The names of the steps which have to complete before this step starts
+     * @return  This graph
+     * @throws IllegalArgumentException if the name is already used or any of the dependencies was not declared yet
+     */
+    public StepGraph<S> step(String name, Function<S, Future<?>> operation, String... dependencies) {
+        if (steps.containsKey(name)) {
+            throw new IllegalArgumentException("Step " + name + " is already declared");
+        }
+
+        for (String dependency : dependencies) {
+            if (!steps.containsKey(dependency)) {
+                throw new IllegalArgumentException("Step " + name + " depends on step " + dependency + " which is not declared");
+            }
+
+            steps.get(dependency).dependents.add(name);
+        }
+
+        steps.put(name, new Step<>(name, operation, dependencies.length));
+
+        return this;
+    }
+
+    /**
+     * @return  The names of the steps in the order in which they were declared
+     */
+    public List<String> stepNames() {
+        return Collections.unmodifiableList(new ArrayList<>(steps.keySet()));
+    }
+
+    /**
+     * Executes the steps for the given reconciliation state.
+     *
+     * @param reconciliation    The reconciliation
+     * @param state             The reconciliation state passed to each step
+     * @param maxConcurrency    The maximum number of steps running at the same time
+     * @param tracer            The tracer to which the steps are reported
+     * @return  Future which completes when all steps completed or fails with the failure of the first failed step
+     */
+    public Future<Void> execute(Reconciliation reconciliation, S state, int maxConcurrency, StepTracer tracer) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("The maximum number of concurrent steps has to be positive");
+        }
+
+        return new Execution(reconciliation, state, maxConcurrency, tracer).start();
+    }
+
+    private static class Step<S> {
+        private final String name;
+        private final Function<S, Future<?>> operation;
+        private final int dependencies;
+        private final List<String> dependents = new ArrayList<>();
+
+        Step(String name, Function<S, Future<?>> operation, int dependencies) {
+            this.name = name;
+            this.operation = operation;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * State of one execution of the graph. It is accessed only from the context the execution was started from.
+     */
+    private class Execution {
+        private final Reconciliation reconciliation;
+        private final S state;
+        private final int maxConcurrency;
+        private final StepTracer tracer;
+        private final Context context;
+        private final Promise<Void> result = Promise.promise();
+
+        private final Map<String, Integer> pendingDependencies = new HashMap<>(steps.size());
+        private final Queue<Step<S>> ready = new ArrayDeque<>();
+        private int running = 0;
+        private int completed = 0;
+        private Throwable failure = null;
+
+        Execution(Reconciliation reconciliation, S state, int maxConcurrency, StepTracer tracer) {
+            this.reconciliation = reconciliation;
+            this.state = state;
+            this.maxConcurrency = maxConcurrency;
+            this.tracer = tracer;
+            this.context = vertx.getOrCreateContext();
+
+            for (Step<S> step : steps.values()) {
+                if (step.dependencies == 0) {
+                    ready.add(step);
+                } else {
+                    pendingDependencies.put(step.name, step.dependencies);
+                }
+            }
+        }
+
+        Future<Void> start() {
+            if (steps.isEmpty()) {
+                result.complete();
+            } else {
+                context.runOnContext(v -> startReadySteps());
+            }
+
+            return result.future();
+        }
+
+        private void startReadySteps() {
+            while (failure == null && running < maxConcurrency && !ready.isEmpty()) {
+                Step<S> step = ready.poll();
+                running++;
+
+                log.trace("{}: Starting step {}", reconciliation, step.name);
+                StepTracer.Span span = tracer.stepStarted(reconciliation, step.name);
+                Future<?> stepFuture;
+
+                try {
+                    stepFuture = step.operation.apply(state);
+                } catch (Throwable t) {
+                    stepFuture = Future.failedFuture(t);
+                }
+
+                stepFuture.onComplete(res -> {
+                    if (Vertx.currentContext() == context) {
+                        stepCompleted(step, span, res);
+                    } else {
+                        context.runOnContext(v -> stepCompleted(step, span, res));
+                    }
+                });
+            }
+        }
+
+        private void stepCompleted(Step<S> step, StepTracer.Span span, AsyncResult<?> res) {
+            running--;
+            span.end(res.failed() ? res.cause() : null);
+
+            if (res.succeeded()) {
+                log.trace("{}: Step {} completed", reconciliation, step.name);
+                completed++;
+
+                for (String dependent : step.dependents) {
+                    int pending = pendingDependencies.merge(dependent, -1, Integer::sum);
+
+                    if (pending == 0) {
+                        pendingDependencies.remove(dependent);
+                        ready.add(steps.get(dependent));
+                    }
+                }
+            } else {
+                log.debug("{}: Step {} failed", reconciliation, step.name);
+
+                if (failure == null) {
+                    failure = res.cause();
+                }
+            }
+
+            startReadySteps();
+
+            if (running == 0) {
+                if (failure != null) {
+                    result.fail(failure);
+                } else if (completed == steps.size()) {
+                    result.complete();
+                }
+            }
+        }
+    }
+}
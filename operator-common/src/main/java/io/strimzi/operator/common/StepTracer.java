@@ -0,0 +1,82 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>Instrumentation of the reconciliations and of their steps. The operators report to the tracer when a
+ * reconciliation starts and completes and when each of its steps starts and ends. Implementations can turn this into
+ * metrics, logs or into spans of a distributed tracing system (one trace per {@link Reconciliation} with one child span
+ * per step).</p>
+ *
+ * <p>The default implementation is {@link MetricsStepTracer}.</p>
+ */
+public interface StepTracer {
+    /**
+     * Tracer which does nothing
+     */
+    StepTracer NOOP = (reconciliation, step) -> failure -> { };
+
+    /**
+     * A started step
+     */
+    interface Span {
+        /**
+         * Ends the step.
+         *
+         * @param failure   The cause of the failure of the step or null if it succeeded
+         */
+        void end(Throwable failure);
+    }
+
+    /**
+     * Called when a reconciliation starts.
+     *
+     * @param reconciliation    The reconciliation
+     */
+    default void reconciliationStarted(Reconciliation reconciliation) { }
+
+    /**
+     * Called when a reconciliation completes.
+     *
+     * @param reconciliation    The reconciliation
+     * @param failure           The cause of the failure of the reconciliation or null if it succeeded
+     */
+    default void reconciliationCompleted(Reconciliation reconciliation, Throwable failure) { }
+
+    /**
+     * Called when a step of a reconciliation starts.
+     *
+     * @param reconciliation    The reconciliation
+     * @param step              The name of the step
+     * @return  The span which has to be ended when the step ends
+     */
+    Span stepStarted(Reconciliation reconciliation, String step);
+
+    /**
+     * Runs the operation of a step and traces it.
+     *
+     * @param reconciliation    The reconciliation
+     * @param step              The name of the step
+     * @param operation         The operation of the step
+     * @param <T>               The type of the result of the operation
+     * @return  Future with the result of the operation
+     */
+    default <T> Future<T> trace(Reconciliation reconciliation, String step, Supplier<Future<T>> operation) {
+        Span span = stepStarted(reconciliation, step);
+        Future<T> result;
+
+        try {
+            result = operation.get();
+        } catch (Throwable t) {
+            result = Future.failedFuture(t);
+        }
+
+        return result.onComplete(res -> span.end(res.failed() ? res.cause() : null));
+    }
+}
@@ -5,7 +5,12 @@
 package io.strimzi.operator.common;
 
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -28,7 +33,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -85,7 +93,7 @@ public class Util {
         Handler<Long> handler = new Handler<Long>() {
             @Override
             public void handle(Long timerId) {
-                vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+                WorkerPools.executeBlocking(vertx, WorkerPools.Pool.POLLING,
                     future -> {
                         try {
                             if (completed.getAsBoolean())   {
@@ -130,6 +138,191 @@ public class Util {
         return promise.future();
     }
 
+    /**
+     * Waits until the given {@code completed} supplier returns true or {@code timeoutMs} milliseconds have elapsed,
+     * like {@link #waitFor(Vertx, String, String, long, long, BooleanSupplier)}, but is driven by a watch instead of
+     * polling. The {@code completed} supplier is invoked once after the watch is opened. After that, each event
+     * received by the watch is tested using {@code watchCompleted} and the returned Future completes as soon as an
+     * event satisfies it. A deleted resource is passed to {@code watchCompleted} as null.
+     *
+     * Polling is kept only as a fallback: when the watch cannot be opened or when it is closed with an error, the
+     * {@code completed} supplier is polled every {@code pollIntervalMs} milliseconds for the rest of the timeout.
+     *
+     * @param vertx The vertx instance.
+     * @param logContext A string used for context in logging.
+     * @param logState The state we are waiting for use in log messages
+     * @param pollIntervalMs The poll interval in milliseconds used when falling back to polling.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @param completed Determines when the wait is complete by returning true.
+     * @param watchStarter Opens the watch delivering the events to the given watcher.
+     * @param watchCompleted Determines from the resource received in a watch event whether the wait is complete.
+     * @param <T> The type of the watched resource.
+     * @return A future that completes when the given {@code completed} or {@code watchCompleted} indicates readiness.
+     */
+    public static <T> Future<Void> watchFor(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs,
+                                            BooleanSupplier completed, Function<Watcher<T>, Watch> watchStarter, Predicate<T> watchCompleted) {
+        return new WatchingWaiter<>(vertx, logContext, logState, pollIntervalMs, timeoutMs, completed, watchStarter, watchCompleted).start();
+    }
+
+    /**
+     * The state of a single {@link #watchFor(Vertx, String, String, long, long, BooleanSupplier, Function, Predicate)}.
+     * The watch events are delivered on the threads of the Kubernetes client, so the returned Future is always
+     * completed on the context of the caller.
+     */
+    private static class WatchingWaiter<T> implements Watcher<T> {
+        private final Vertx vertx;
+        private final Context context;
+        private final String logContext;
+        private final String logState;
+        private final long pollIntervalMs;
+        private final long timeoutMs;
+        private final long deadline;
+        private final BooleanSupplier completed;
+        private final Function<Watcher<T>, Watch> watchStarter;
+        private final Predicate<T> watchCompleted;
+
+        private final Promise<Void> promise = Promise.promise();
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        private final AtomicBoolean pollingStarted = new AtomicBoolean(false);
+        private final AtomicReference<Watch> watch = new AtomicReference<>();
+        private volatile long timerId = -1;
+
+        WatchingWaiter(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs,
+                       BooleanSupplier completed, Function<Watcher<T>, Watch> watchStarter, Predicate<T> watchCompleted) {
+            this.vertx = vertx;
+            this.context = vertx.getOrCreateContext();
+            this.logContext = logContext;
+            this.logState = logState;
+            this.pollIntervalMs = pollIntervalMs;
+            this.timeoutMs = timeoutMs;
+            this.deadline = System.currentTimeMillis() + timeoutMs;
+            this.completed = completed;
+            this.watchStarter = watchStarter;
+            this.watchCompleted = watchCompleted;
+        }
+
+        Future<Void> start() {
+            LOGGER.debug("Watching for {} to get {}", logContext, logState);
+            timerId = vertx.setTimer(Math.max(1, timeoutMs), id -> {
+                String exceptionMessage = String.format("Exceeded timeout of %dms while waiting for %s to be %s", timeoutMs, logContext, logState);
+                if (finish(Future.failedFuture(new TimeoutException(exceptionMessage)))) {
+                    LOGGER.error(exceptionMessage);
+                }
+            });
+
+            WorkerPools.<Boolean>executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
+                future -> {
+                    Watch opened;
+                    try {
+                        opened = watchStarter.apply(this);
+                    } catch (Throwable e) {
+                        LOGGER.debug("Failed to open watch for {}, falling back to polling", logContext, e);
+                        opened = null;
+                    }
+
+                    if (opened == null) {
+                        future.complete(null);
+                        return;
+                    }
+
+                    watch.set(opened);
+                    if (done.get()) {
+                        // Completed by an event before the watch was stored
+                        closeWatch();
+                    }
+
+                    future.complete(test());
+                },
+                false,
+                res -> {
+                    if (res.failed() || res.result() == null) {
+                        startPolling();
+                    } else if (res.result()) {
+                        finish(Future.succeededFuture());
+                    }
+                });
+
+            return promise.future();
+        }
+
+        private boolean test() {
+            try {
+                return completed.getAsBoolean();
+            } catch (Throwable e) {
+                LOGGER.warn("Caught exception while waiting for {} to get {}", logContext, logState, e);
+                return false;
+            }
+        }
+
+        @Override
+        public void eventReceived(Action action, T resource) {
+            if (done.get() || action == Action.ERROR) {
+                return;
+            }
+
+            try {
+                if (watchCompleted.test(action == Action.DELETED ? null : resource)) {
+                    finish(Future.succeededFuture());
+                } else {
+                    LOGGER.trace("{} is not {}", logContext, logState);
+                }
+            } catch (Throwable e) {
+                LOGGER.warn("Caught exception while waiting for {} to get {}", logContext, logState, e);
+            }
+        }
+
+        @Override
+        public void onClose(KubernetesClientException cause) {
+            if (cause != null && !done.get()) {
+                LOGGER.debug("Watch for {} closed with exception, falling back to polling", logContext, cause);
+                context.runOnContext(v -> startPolling());
+            }
+        }
+
+        /**
+         * Polls for the rest of the timeout. The polling owns the timeout from now on.
+         */
+        private void startPolling() {
+            if (done.get() || !pollingStarted.compareAndSet(false, true)) {
+                return;
+            }
+
+            vertx.cancelTimer(timerId);
+            long timeLeft = Math.max(1, deadline - System.currentTimeMillis());
+            waitFor(vertx, logContext, logState, pollIntervalMs, timeLeft, completed).onComplete(this::finish);
+        }
+
+        private boolean finish(AsyncResult<Void> result) {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+
+            vertx.cancelTimer(timerId);
+            closeWatch();
+
+            if (result.succeeded()) {
+                LOGGER.debug("{} is {}", logContext, logState);
+            }
+            context.runOnContext(v -> promise.handle(result));
+            return true;
+        }
+
+        private void closeWatch() {
+            Watch toClose = watch.getAndSet(null);
+
+            if (toClose != null) {
+                // Closing the watch might wait for the Kubernetes client threads
+                WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
+                    future -> {
+                        toClose.close();
+                        future.complete();
+                    },
+                    false,
+                    res -> { });
+            }
+        }
+    }
+
     /**
      * Parse a map from String.
      * For example a map of images {@code 2.0.0=strimzi/kafka:latest-kafka-2.0.0, 2.1.0=strimzi/kafka:latest-kafka-2.1.0}
@@ -0,0 +1,362 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Queue of the reconciliations of a single operator. Reconciliations are passed to the worker function in the
+ * order in which they were queued, with the following rules:</p>
+ *
+ * <ul>
+ * <li>Each resource (identified by its {@link NamespaceAndName}) is queued at most once. Requests to reconcile a
+ *     resource which is already waiting in the queue are merged with the queued reconciliation and complete with it.
+ * <li>At most one reconciliation of a resource runs at a time. A request for a resource which is being reconciled
+ *     is queued and started only once the running reconciliation completes, so that it sees the latest state.
+ * <li>At most {@code workers} reconciliations run concurrently.
+ * <li>Prioritized reconciliations are started before all the other queued reconciliations.
+ * <li>Reconciliations are started at most at {@code rateLimit} per second (token bucket with a capacity of
+ *     {@code max(rateLimit, workers)} tokens). A rate limit of 0 or less disables the rate limiting.
+ * <li>After a failed reconciliation, the next reconciliation of the same resource is delayed using an exponential
+ *     back-off. The back-off is reset by the next successful reconciliation.
+ * </ul>
+ */
+public class WorkQueue {
+    private static final Logger log = LogManager.getLogger(WorkQueue.class);
+
+    public static final int DEFAULT_WORKERS = 10;
+    public static final int DEFAULT_RATE_LIMIT = 10;
+    /* test */ static final long DEFAULT_BACKOFF_INITIAL_MS = 200L;
+    /* test */ static final long DEFAULT_BACKOFF_MAX_MS = 60_000L;
+    private static final long RATE_LIMITED = Long.MIN_VALUE;
+
+    private final String kind;
+    private final Function<Reconciliation, Future<Void>> worker;
+    private final int workers;
+    private final int rateLimit;
+    private final int capacity;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+
+    private final LinkedHashMap<NamespaceAndName, Item> prioritized = new LinkedHashMap<>();
+    private final LinkedHashMap<NamespaceAndName, Item> queued = new LinkedHashMap<>();
+    private final Set<NamespaceAndName> running = new HashSet<>();
+    private final Map<NamespaceAndName, Failures> failures = new HashMap<>();
+    // Running reconciliations of resources which were deleted, their failures do not delay later reconciliations
+    private final Set<NamespaceAndName> forgotten = new HashSet<>();
+
+    private double tokens;
+    private long lastRefillNanos;
+    private final DispatchTimer dispatchTimer;
+
+    private final AtomicInteger queuedGauge;
+    private final AtomicInteger runningGauge;
+    private final Counter mergedCounter;
+    private final Timer lagTimer;
+
+    /**
+     * Constructor
+     *
+     * @param vertx         The Vertx instance
+     * @param kind          The kind of the reconciled resources
+     * @param metrics       The metrics provider
+     * @param metricsPrefix The prefix of the metrics names
+     * @param workers       The maximal number of reconciliations running at the same time
+     * @param rateLimit     The maximal number of reconciliations started per second
+     * @param worker        The function which does the reconciliation
+     */
+    public WorkQueue(Vertx vertx, String kind, MetricsProvider metrics, String metricsPrefix, int workers, int rateLimit,
+                     Function<Reconciliation, Future<Void>> worker) {
+        this(vertx, kind, metrics, metricsPrefix, workers, rateLimit, DEFAULT_BACKOFF_INITIAL_MS, DEFAULT_BACKOFF_MAX_MS, worker);
+    }
+
+    /* test */ WorkQueue(Vertx vertx, String kind, MetricsProvider metrics, String metricsPrefix, int workers, int rateLimit,
+                         long backoffInitialMs, long backoffMaxMs, Function<Reconciliation, Future<Void>> worker) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The number of workers has to be positive");
+        }
+
+        this.dispatchTimer = new DispatchTimer(vertx, this::dispatch);
+        this.kind = kind;
+        this.worker = worker;
+        this.workers = workers;
+        this.rateLimit = rateLimit;
+        this.capacity = Math.max(rateLimit, workers);
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+
+        Tags metricTags = Tags.of("kind", kind);
+
+        queuedGauge = metrics.gauge(metricsPrefix + "reconciliations.queued",
+                "Number of reconciliations waiting in the work queue of the operator",
+                metricTags);
+
+        runningGauge = metrics.gauge(metricsPrefix + "reconciliations.running",
+                "Number of reconciliations currently running",
+                metricTags);
+
+        mergedCounter = metrics.counter(metricsPrefix + "reconciliations.merged",
+                "Number of reconciliation requests merged with an already queued reconciliation of the same resource",
+                metricTags);
+
+        lagTimer = metrics.timer(metricsPrefix + "reconciliations.lag",
+                "The time reconciliations wait in the work queue before they are started",
+                metricTags);
+    }
+
+    /**
+     * Queues the reconciliation of a resource.
+     *
+     * @param reconciliation    The reconciliation
+     * @return  A Future which is completed with the result of the reconciliation which handles this request. When the
+     *          request is merged with an already queued reconciliation, this is the result of the queued one.
+     */
+    public Future<Void> enqueue(Reconciliation reconciliation) {
+        return enqueue(reconciliation, false);
+    }
+
+    /**
+     * Queues the reconciliation of a resource.
+     *
+     * @param reconciliation    The reconciliation
+     * @param priority          True if the reconciliation should be started before the not prioritized ones.
+     * @return  A Future which is completed with the result of the reconciliation which handles this request. When the
+     *          request is merged with an already queued reconciliation, this is the result of the queued one.
+     */
+    public Future<Void> enqueue(Reconciliation reconciliation, boolean priority) {
+        NamespaceAndName key = new NamespaceAndName(reconciliation.namespace(), reconciliation.name());
+        Future<Void> result;
+
+        synchronized (this) {
+            Item item = prioritized.get(key);
+
+            if (item == null) {
+                item = queued.get(key);
+
+                if (item != null && priority) {
+                    queued.remove(key);
+                    prioritized.put(key, item);
+                }
+            }
+
+            if (item != null) {
+                log.debug("{}: Merged with the queued reconciliation {}", reconciliation, item.reconciliation);
+                mergedCounter.increment();
+                return item.promise.future();
+            }
+
+            item = new Item(reconciliation);
+            (priority ? prioritized : queued).put(key, item);
+            queuedGauge.set(size());
+            result = item.promise.future();
+        }
+
+        dispatch();
+        return result;
+    }
+
+    /**
+     * @return  The number of queued reconciliations which did not start yet
+     */
+    public synchronized int size() {
+        return prioritized.size() + queued.size();
+    }
+
+    /**
+     * Starts as many queued reconciliations as the workers, the rate limit and the back-off allow. When some
+     * reconciliation cannot start because of the rate limit or the back-off, a timer is set to try again.
+     */
+    private void dispatch() {
+        List<Item> toStart = new ArrayList<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+
+            refill(now);
+
+            long retryAtNanos = take(prioritized, now, toStart);
+            if (retryAtNanos != RATE_LIMITED) {
+                retryAtNanos = Math.min(retryAtNanos, take(queued, now, toStart));
+            }
+
+            queuedGauge.set(size());
+            runningGauge.set(running.size());
+
+            if (retryAtNanos == RATE_LIMITED) {
+                retryAtNanos = now + (long) ((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / rateLimit);
+            }
+
+            if (retryAtNanos != Long.MAX_VALUE) {
+                dispatchTimer.schedule(now, retryAtNanos);
+            }
+
+            for (Item item : toStart) {
+                lagTimer.record(now - item.queuedNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        for (Item item : toStart) {
+            start(item);
+        }
+    }
+
+    /**
+     * Moves the reconciliations which can start from the given queue to the running ones.
+     *
+     * @return  The time when some reconciliation from the queue can start because its back-off ends, {@link #RATE_LIMITED}
+     *          if no token was left or {@code Long.MAX_VALUE} if there is no reason to dispatch again before some
+     *          reconciliation completes.
+     */
+    private long take(LinkedHashMap<NamespaceAndName, Item> queue, long now, List<Item> toStart) {
+        long retryAtNanos = Long.MAX_VALUE;
+
+        Iterator<Map.Entry<NamespaceAndName, Item>> iterator = queue.entrySet().iterator();
+        while (running.size() < workers && iterator.hasNext()) {
+            Map.Entry<NamespaceAndName, Item> entry = iterator.next();
+            NamespaceAndName key = entry.getKey();
+
+            if (running.contains(key)) {
+                // Started once the running reconciliation completes
+                continue;
+            }
+
+            Failures keyFailures = failures.get(key);
+            if (keyFailures != null && keyFailures.notBeforeNanos - now > 0) {
+                retryAtNanos = Math.min(retryAtNanos, keyFailures.notBeforeNanos);
+                continue;
+            }
+
+            if (rateLimit > 0) {
+                if (tokens < 1) {
+                    return RATE_LIMITED;
+                }
+
+                tokens--;
+            }
+
+            iterator.remove();
+            running.add(key);
+            toStart.add(entry.getValue());
+        }
+
+        return retryAtNanos;
+    }
+
+    private void refill(long now) {
+        if (rateLimit > 0) {
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillNanos) * rateLimit / TimeUnit.SECONDS.toNanos(1));
+        }
+
+        lastRefillNanos = now;
+    }
+
+    private void start(Item item) {
+        Reconciliation reconciliation = item.reconciliation;
+        NamespaceAndName key = new NamespaceAndName(reconciliation.namespace(), reconciliation.name());
+
+        Future<Void> result;
+        try {
+            result = worker.apply(reconciliation);
+        } catch (Throwable t) {
+            result = Future.failedFuture(t);
+        }
+
+        result.onComplete(res -> {
+            synchronized (this) {
+                running.remove(key);
+
+                if (forgotten.remove(key) || res.succeeded()) {
+                    failures.remove(key);
+                } else {
+                    Failures keyFailures = failures.computeIfAbsent(key, k -> new Failures());
+                    long delayMs = backoffMs(++keyFailures.count);
+                    keyFailures.notBeforeNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+                    log.debug("{}: Next reconciliation of {} {} will be delayed by {}ms after {} consecutive failures",
+                            reconciliation, kind, reconciliation.name(), delayMs, keyFailures.count);
+                }
+            }
+
+            item.promise.handle(res);
+            dispatch();
+        });
+    }
+
+    /**
+     * Drops the back-off of a resource which does not exist anymore. When the resource is being reconciled, a failure
+     * of that reconciliation does not delay later reconciliations of the resource either.
+     *
+     * @param key   The resource
+     */
+    public synchronized void forget(NamespaceAndName key) {
+        failures.remove(key);
+
+        if (running.contains(key)) {
+            forgotten.add(key);
+        }
+    }
+
+    /**
+     * Drops the back-off of all the resources matching the given predicate, e.g. because they were not found when
+     * listing the resources.
+     *
+     * @param gone  Matches the resources which do not exist anymore
+     */
+    public synchronized void forgetIf(Predicate<NamespaceAndName> gone) {
+        failures.keySet().removeIf(gone);
+    }
+
+    /* test */ synchronized int failures() {
+        return failures.size();
+    }
+
+    /* test */ long backoffMs(int failures) {
+        long delayMs = backoffInitialMs;
+
+        for (int i = 1; i < failures && delayMs < backoffMaxMs; i++) {
+            delayMs *= 2;
+        }
+
+        return Math.min(delayMs, backoffMaxMs);
+    }
+
+    private static class Item {
+        private final Reconciliation reconciliation;
+        private final Promise<Void> promise = Promise.promise();
+        private final long queuedNanos = System.nanoTime();
+
+        Item(Reconciliation reconciliation) {
+            this.reconciliation = reconciliation;
+        }
+    }
+
+    private static class Failures {
+        private int count = 0;
+        private long notBeforeNanos;
+    }
+}
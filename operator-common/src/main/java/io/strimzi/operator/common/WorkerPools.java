@@ -0,0 +1,398 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Registry of the named worker pools used for blocking operations. Each class of blocking operations has its own
+ * pool, so that for example slow certificate generation or a ZooKeeper which does not respond do not starve the
+ * reads from the Kubernetes API server.</p>
+ *
+ * <p>The pools are Vert.x shared worker executors. Their sizes are configured once per process using
+ * {@link #configure(Map, MetricsProvider)} before the first blocking operation is executed. Each pool has the
+ * following metrics (tagged with the pool name): number of tasks running ({@code worker.pool.active}) and queued
+ * ({@code worker.pool.queued}), the pool size ({@code worker.pool.size}), the time the tasks wait in the queue
+ * ({@code worker.pool.queue.wait}) and the time they run ({@code worker.pool.task.duration}).</p>
+ *
+ * <p>Blocking code which splits its work into independent tasks can run them in parallel using
+ * {@link #invokeAll(Pool, List)}. The time each such batch takes and its number of tasks are recorded as well
+ * ({@code worker.pool.batch.duration} and {@code worker.pool.batch.tasks}).</p>
+ */
+public class WorkerPools {
+    /**
+     * The time after which Vert.x warns about a blocked worker thread
+     */
+    private static final long MAX_EXECUTE_TIME_NS = TimeUnit.SECONDS.toNanos(120);
+
+    /**
+     * The classes of blocking operations
+     */
+    public enum Pool {
+        /**
+         * Reads from the Kubernetes API server
+         */
+        KUBE_READ("kube-read", 10),
+        /**
+         * Creates, updates, patches and deletes sent to the Kubernetes API server
+         */
+        KUBE_WRITE("kube-write", 10),
+        /**
+         * Generation of keys and certificates
+         */
+        CRYPTO("crypto", 2),
+        /**
+         * Keys and certificates generated in parallel for the blocking code of the {@link #CRYPTO} pool
+         */
+        CRYPTO_BATCH("crypto-batch", Math.max(2, Runtime.getRuntime().availableProcessors())),
+        /**
+         * Operations on ZooKeeper
+         */
+        ZOOKEEPER("zookeeper", 4),
+        /**
+         * Operations using the Kafka Admin APIs
+         */
+        KAFKA_ADMIN("kafka-admin", 4),
+        /**
+         * Waiting for resources to reach some state
+         */
+        POLLING("polling", 10);
+
+        private final String poolName;
+        private final int defaultSize;
+
+        Pool(String poolName, int defaultSize) {
+            this.poolName = poolName;
+            this.defaultSize = defaultSize;
+        }
+
+        /**
+         * @return  The name of the pool as used in the configuration and in the metrics
+         */
+        public String poolName() {
+            return poolName;
+        }
+
+        /**
+         * @return  The number of threads of the pool unless configured otherwise
+         */
+        public int defaultSize() {
+            return defaultSize;
+        }
+
+        /**
+         * @param poolName  The name of the pool
+         * @return  The pool with given name
+         * @throws IllegalArgumentException if there is no pool with the given name
+         */
+        public static Pool forName(String poolName) {
+            for (Pool pool : values()) {
+                if (pool.poolName.equals(poolName)) {
+                    return pool;
+                }
+            }
+
+            throw new IllegalArgumentException("Unknown worker pool " + poolName);
+        }
+    }
+
+    private static final Map<Pool, PoolMetrics> POOLS = new EnumMap<>(Pool.class);
+
+    static {
+        configure(Collections.emptyMap(), null);
+    }
+
+    private WorkerPools() { }
+
+    /**
+     * Configures the sizes and the metrics of the pools. The sizes are applied only to pools which were not used yet.
+     *
+     * @param sizes     The sizes of the pools. Pools missing in the map use their default size.
+     * @param metrics   The metrics provider or null if no metrics should be collected
+     */
+    public static synchronized void configure(Map<Pool, Integer> sizes, MetricsProvider metrics) {
+        for (Pool pool : Pool.values()) {
+            PoolMetrics previous = POOLS.put(pool, new PoolMetrics(pool, sizes.getOrDefault(pool, pool.defaultSize()), metrics));
+
+            if (previous != null) {
+                previous.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Parses the sizes of the pools from a comma separated list of {@code <pool>=<size>} pairs, e.g.
+     * {@code kube-read=20,crypto=4}.
+     *
+     * @param sizes The list of the pool sizes
+     * @return  Map with the sizes of the pools listed in the given string
+     * @throws IllegalArgumentException if the list is not valid
+     */
+    public static Map<Pool, Integer> parseSizes(String sizes) {
+        Map<Pool, Integer> result = new EnumMap<>(Pool.class);
+
+        if (sizes != null && !sizes.trim().isEmpty()) {
+            for (String pair : sizes.split(",")) {
+                String[] parts = pair.split("=");
+
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Worker pool size " + pair.trim() + " is not in the format <pool>=<size>");
+                }
+
+                Pool pool = Pool.forName(parts[0].trim());
+                int size;
+
+                try {
+                    size = Integer.parseInt(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Size of the worker pool " + pool.poolName() + " is not a number", e);
+                }
+
+                if (size <= 0) {
+                    throw new IllegalArgumentException("Size of the worker pool " + pool.poolName() + " has to be positive");
+                }
+
+                result.put(pool, size);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @param pool  The pool
+     * @return  The configured size of the pool
+     */
+    public static synchronized int size(Pool pool) {
+        return POOLS.get(pool).size;
+    }
+
+    /**
+     * Executes the blocking code in the given pool. The executions are ordered.
+     *
+     * @param vertx         The Vertx instance
+     * @param pool          The pool
+     * @param blockingCode  The blocking code
+     * @param resultHandler The handler called on the calling context with the result of the blocking code
+     * @param <T>           The type of the result
+     */
+    public static <T> void executeBlocking(Vertx vertx, Pool pool, Handler<Promise<T>> blockingCode, Handler<AsyncResult<T>> resultHandler) {
+        executeBlocking(vertx, pool, blockingCode, true, resultHandler);
+    }
+
+    /**
+     * Executes the blocking code in the given pool.
+     *
+     * @param vertx         The Vertx instance
+     * @param pool          The pool
+     * @param blockingCode  The blocking code
+     * @param ordered       If true then the executions from the same context are executed in order, one after another
+     * @param resultHandler The handler called on the calling context with the result of the blocking code
+     * @param <T>           The type of the result
+     */
+    public static <T> void executeBlocking(Vertx vertx, Pool pool, Handler<Promise<T>> blockingCode, boolean ordered, Handler<AsyncResult<T>> resultHandler) {
+        PoolMetrics poolMetrics;
+        synchronized (WorkerPools.class) {
+            poolMetrics = POOLS.get(pool);
+        }
+
+        long queuedAtNanos = System.nanoTime();
+        poolMetrics.queued.incrementAndGet();
+
+        Handler<Promise<T>> instrumented = promise -> {
+            long startedAtNanos = System.nanoTime();
+            poolMetrics.queued.decrementAndGet();
+            poolMetrics.active.incrementAndGet();
+            poolMetrics.record(poolMetrics.queueWait, startedAtNanos - queuedAtNanos);
+
+            try {
+                blockingCode.handle(promise);
+            } finally {
+                poolMetrics.active.decrementAndGet();
+                poolMetrics.record(poolMetrics.taskDuration, System.nanoTime() - startedAtNanos);
+            }
+        };
+
+        vertx.createSharedWorkerExecutor("strimzi-" + pool.poolName(), poolMetrics.size, MAX_EXECUTE_TIME_NS)
+                .executeBlocking(instrumented, ordered, resultHandler);
+    }
+
+    /**
+     * Runs the tasks in parallel on the threads of the given pool and waits until all of them completed. This is meant
+     * to be called from blocking code, for example from the worker thread of another pool which then only waits for the
+     * tasks. The tasks must not call this method for the same pool, otherwise they might wait for each other.
+     *
+     * @param pool  The pool
+     * @param tasks The tasks
+     * @param <T>   The type of the results
+     * @return  The results of the tasks, in the order of the tasks
+     * @throws ExecutionException if any of the tasks failed. The remaining tasks are cancelled.
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public static <T> List<T> invokeAll(Pool pool, List<Callable<T>> tasks) throws ExecutionException, InterruptedException {
+        PoolMetrics poolMetrics;
+        synchronized (WorkerPools.class) {
+            poolMetrics = POOLS.get(pool);
+        }
+
+        long startedAtNanos = System.nanoTime();
+        ExecutorService executor = poolMetrics.executor();
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<AtomicBoolean> dequeued = new ArrayList<>(tasks.size());
+
+        try {
+            for (Callable<T> task : tasks) {
+                long queuedAtNanos = System.nanoTime();
+                AtomicBoolean taskDequeued = new AtomicBoolean(false);
+                dequeued.add(taskDequeued);
+                poolMetrics.queued.incrementAndGet();
+
+                futures.add(executor.submit(() -> {
+                    long taskStartedAtNanos = System.nanoTime();
+                    if (taskDequeued.compareAndSet(false, true)) {
+                        poolMetrics.queued.decrementAndGet();
+                    }
+                    poolMetrics.active.incrementAndGet();
+                    poolMetrics.record(poolMetrics.queueWait, taskStartedAtNanos - queuedAtNanos);
+
+                    try {
+                        return task.call();
+                    } finally {
+                        poolMetrics.active.decrementAndGet();
+                        poolMetrics.record(poolMetrics.taskDuration, System.nanoTime() - taskStartedAtNanos);
+                    }
+                }));
+            }
+
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } finally {
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).cancel(true);
+
+                // A task cancelled before it started is still counted as queued
+                if (dequeued.get(i).compareAndSet(false, true)) {
+                    poolMetrics.queued.decrementAndGet();
+                }
+            }
+
+            poolMetrics.record(poolMetrics.batchDuration, System.nanoTime() - startedAtNanos);
+            if (poolMetrics.batchTasks != null) {
+                poolMetrics.batchTasks.increment(tasks.size());
+            }
+        }
+    }
+
+    private static class PoolMetrics {
+        private final Pool pool;
+        private final int size;
+        private final AtomicInteger active;
+        private final AtomicInteger queued;
+        private final Timer queueWait;
+        private final Timer taskDuration;
+        private final Timer batchDuration;
+        private final Counter batchTasks;
+        private ExecutorService executor;
+
+        PoolMetrics(Pool pool, int size, MetricsProvider metrics) {
+            this.pool = pool;
+            this.size = size;
+
+            if (metrics != null) {
+                Tags metricTags = Tags.of("pool", pool.poolName());
+
+                metrics.gauge(AbstractOperator.METRICS_PREFIX + "worker.pool.size",
+                        "Number of threads of the worker pool",
+                        metricTags).set(size);
+
+                active = metrics.gauge(AbstractOperator.METRICS_PREFIX + "worker.pool.active",
+                        "Number of tasks running in the worker pool",
+                        metricTags);
+
+                queued = metrics.gauge(AbstractOperator.METRICS_PREFIX + "worker.pool.queued",
+                        "Number of tasks waiting for a thread of the worker pool",
+                        metricTags);
+
+                queueWait = metrics.timer(AbstractOperator.METRICS_PREFIX + "worker.pool.queue.wait",
+                        "The time tasks wait for a thread of the worker pool",
+                        metricTags);
+
+                taskDuration = metrics.timer(AbstractOperator.METRICS_PREFIX + "worker.pool.task.duration",
+                        "The time tasks run in the worker pool",
+                        metricTags);
+
+                batchDuration = metrics.timer(AbstractOperator.METRICS_PREFIX + "worker.pool.batch.duration",
+                        "The time batches of tasks run in parallel in the worker pool take to complete",
+                        metricTags);
+
+                batchTasks = metrics.counter(AbstractOperator.METRICS_PREFIX + "worker.pool.batch.tasks",
+                        "Number of tasks run in batches in the worker pool",
+                        metricTags);
+            } else {
+                active = new AtomicInteger(0);
+                queued = new AtomicInteger(0);
+                queueWait = null;
+                taskDuration = null;
+                batchDuration = null;
+                batchTasks = null;
+            }
+        }
+
+        /**
+         * @return  The executor running the batches of the pool, created on first use
+         */
+        synchronized ExecutorService executor() {
+            if (executor == null) {
+                AtomicInteger threads = new AtomicInteger(0);
+                executor = Executors.newFixedThreadPool(size, runnable -> {
+                    Thread thread = new Thread(runnable, "strimzi-" + pool.poolName() + "-" + threads.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+
+            return executor;
+        }
+
+        /**
+         * Stops the threads of the executor once the tasks which were already submitted completed.
+         */
+        synchronized void shutdown() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        void record(Timer timer, long nanos) {
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
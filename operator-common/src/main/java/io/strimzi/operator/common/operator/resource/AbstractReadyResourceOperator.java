@@ -40,8 +40,19 @@ public abstract class AbstractReadyResourceOperator<C extends KubernetesClient,
         super(vertx, client, resourceKind);
     }
 
+    /**
+     * Returns a future that completes when the resource identified by the given {@code namespace} and {@code name}
+     * is ready. The resource is watched, so the future completes as soon as the resource is observed to be ready.
+     * The API server is polled every {@code pollIntervalMs} only when the watch cannot be used.
+     *
+     * @param namespace The namespace.
+     * @param name The resource name.
+     * @param pollIntervalMs The poll interval in milliseconds used when falling back to polling.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @return A future that completes when the resource is ready.
+     */
     public Future<Void> readiness(String namespace, String name, long pollIntervalMs, long timeoutMs) {
-        return waitFor(namespace, name, pollIntervalMs, timeoutMs, this::isReady);
+        return watchFor(namespace, name, "ready", pollIntervalMs, timeoutMs, this::isReady, this::isReady);
     }
 
     /**
@@ -64,4 +75,22 @@ public abstract class AbstractReadyResourceOperator<C extends KubernetesClient,
             return false;
         }
     }
+
+    /**
+     * Check if a resource received from a watch is in the Ready state.
+     *
+     * @param resource The resource or null if it does not exist.
+     * @return Whether the resource in in the Ready state.
+     */
+    protected boolean isReady(T resource) {
+        if (resource != null)   {
+            if (Readiness.isReadinessApplicable(resource.getClass())) {
+                return Readiness.isReady(resource);
+            } else {
+                return true;
+            }
+        } else {
+            return false;
+        }
+    }
 }
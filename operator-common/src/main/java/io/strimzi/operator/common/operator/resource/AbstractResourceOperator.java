@@ -8,6 +8,7 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.LabelSelector;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
@@ -15,7 +16,12 @@ import io.fabric8.kubernetes.client.dsl.FilterWatchListMultiDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -23,11 +29,22 @@ import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static io.fabric8.kubernetes.client.internal.PatchUtils.patchMapper;
 
 /**
  * Abstract resource creation, for a generic resource type {@code R}.
@@ -47,6 +64,32 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
     protected final C client;
     protected final String resourceKind;
 
+    private static final Pattern DEFAULT_IGNORABLE_PATHS = ResourceDiff.ignorablePaths(ResourceDiff.DEFAULT_IGNORABLE_FIELDS);
+
+    private final Map<String, ResourceCache<T>> caches = new ConcurrentHashMap<>();
+
+    private volatile ReconcileMetrics metrics;
+
+    /**
+     * The number of fingerprints kept by each resource operator
+     */
+    /* test */ static final int MAX_FINGERPRINTS = 10_000;
+
+    /**
+     * The fingerprints of the desired resources and the resource versions of the resources as they were last
+     * reconciled by this operator, by namespace and name. Fingerprints of resources deleted by this operator or
+     * seen deleted by a cache watch are removed. The least recently used ones are evicted when there are too many
+     * of them, since resources garbage collected or deleted by others without a cache are never seen deleted.
+     */
+    private final Map<String, Fingerprint> fingerprints = Collections.synchronizedMap(new LinkedHashMap<String, Fingerprint>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Fingerprint> eldest) {
+            return size() > MAX_FINGERPRINTS;
+        }
+    });
+
     /**
      * Constructor.
      * @param vertx The vertx instance.
@@ -90,12 +133,29 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
             return Future.failedFuture("Given name " + name + " incompatible with desired name " + desired.getMetadata().getName());
         }
 
+        String fingerprint = desired != null ? fingerprint(desired) : null;
+
+        ResourceCache<T> cache = cache(namespace);
+        if (cache != null && fingerprint != null) {
+            T current = cache.get(namespace, name);
+
+            if (isUnchanged(namespace, name, current, fingerprint)) {
+                log.debug("{} {}/{} is unchanged since it was last reconciled, noop", resourceKind, namespace, name);
+                ReconcileResult<T> result = ReconcileResult.noop(current);
+                recordResult(result);
+                return Future.succeededFuture(result);
+            }
+        }
+
         Promise<ReconcileResult<T>> promise = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_WRITE,
             future -> {
                 T current = operation().inNamespace(namespace).withName(name).get();
                 if (desired != null) {
-                    if (current == null) {
+                    if (isUnchanged(namespace, name, current, fingerprint)) {
+                        log.debug("{} {}/{} is unchanged since it was last reconciled, noop", resourceKind, namespace, name);
+                        future.complete(ReconcileResult.noop(current));
+                    } else if (current == null) {
                         log.debug("{} {}/{} does not exist, creating it", resourceKind, namespace, name);
                         internalCreate(namespace, name, desired).onComplete(future);
                     } else {
@@ -117,7 +177,133 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
             false,
             promise
         );
-        return promise.future();
+        return promise.future().map(result -> {
+            updateCache(namespace, name, result);
+            updateFingerprint(namespace, name, fingerprint, result);
+            recordResult(result);
+            return result;
+        }).recover(error -> {
+            forgetFingerprint(namespace, name);
+            return Future.failedFuture(error);
+        });
+    }
+
+    /**
+     * Checks whether the desired resource is the same as the one which was last reconciled and whether the current
+     * resource was not changed by anyone else since then. Such resources do not need to be diffed or patched.
+     *
+     * @param namespace     The namespace of the resource
+     * @param name          The name of the resource
+     * @param current       The current resource
+     * @param fingerprint   The fingerprint of the desired resource
+     *
+     * @return  True if the current resource is the one written by the last reconciliation of the same desired resource
+     */
+    private boolean isUnchanged(String namespace, String name, T current, String fingerprint) {
+        if (current == null || current.getMetadata() == null || fingerprint == null) {
+            return false;
+        }
+
+        Fingerprint last = fingerprints.get(namespace + "/" + name);
+
+        return last != null
+                && last.hash.equals(fingerprint)
+                && Objects.equals(last.resourceVersion, current.getMetadata().getResourceVersion());
+    }
+
+    private void updateFingerprint(String namespace, String name, String fingerprint, ReconcileResult<T> result) {
+        String key = namespace + "/" + name;
+        T resource = result.resourceOpt().orElse(null);
+
+        if (fingerprint != null && resource != null && resource.getMetadata() != null && resource.getMetadata().getResourceVersion() != null) {
+            fingerprints.put(key, new Fingerprint(fingerprint, resource.getMetadata().getResourceVersion()));
+        } else {
+            fingerprints.remove(key);
+        }
+    }
+
+    private void forgetFingerprint(String namespace, String name) {
+        fingerprints.remove(namespace + "/" + name);
+    }
+
+    /* test */ int fingerprints() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Computes the fingerprint of the desired resource. It is a hash of its JSON representation, so it changes whenever
+     * any of the inputs the resource was generated from (the custom resource, the CA certificates, the referenced
+     * ConfigMaps and Secrets or the operator version) changes the resource.
+     *
+     * @param desired   The desired resource
+     *
+     * @return  The fingerprint or null if it cannot be computed
+     */
+    private String fingerprint(T desired) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(patchMapper().writeValueAsBytes(desired));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.debug("Failed to compute the fingerprint of {} {}", resourceKind, desired.getMetadata().getName(), e);
+            return null;
+        }
+    }
+
+    private static class Fingerprint {
+        private final String hash;
+        private final String resourceVersion;
+
+        Fingerprint(String hash, String resourceVersion) {
+            this.hash = hash;
+            this.resourceVersion = resourceVersion;
+        }
+    }
+
+    /**
+     * Counts the results of the reconciliations of this kind of resources in the
+     * {@code strimzi.resource.reconciliations} metric tagged with the kind and the result (created, patched, noop or
+     * deleted).
+     *
+     * @param metricsProvider The metrics provider
+     */
+    public void enableMetrics(MetricsProvider metricsProvider) {
+        this.metrics = new ReconcileMetrics(metricsProvider, resourceKind);
+    }
+
+    private void recordResult(ReconcileResult<T> result) {
+        ReconcileMetrics metrics = this.metrics;
+
+        if (metrics != null) {
+            if (result instanceof ReconcileResult.Noop) {
+                metrics.noop.increment();
+            } else if (result instanceof ReconcileResult.Patched) {
+                metrics.patched.increment();
+            } else if (result instanceof ReconcileResult.Created) {
+                metrics.created.increment();
+            } else {
+                metrics.deleted.increment();
+            }
+        }
+    }
+
+    private static class ReconcileMetrics {
+        private final Counter created;
+        private final Counter patched;
+        private final Counter noop;
+        private final Counter deleted;
+
+        ReconcileMetrics(MetricsProvider metricsProvider, String resourceKind) {
+            created = counter(metricsProvider, resourceKind, "created");
+            patched = counter(metricsProvider, resourceKind, "patched");
+            noop = counter(metricsProvider, resourceKind, "noop");
+            deleted = counter(metricsProvider, resourceKind, "deleted");
+        }
+
+        private static Counter counter(MetricsProvider metricsProvider, String resourceKind, String result) {
+            return metricsProvider.counter(AbstractOperator.METRICS_PREFIX + "resource.reconciliations",
+                    "Number of reconciliations of Kubernetes resources by their result",
+                    Tags.of("kind", resourceKind, "result", result));
+        }
     }
 
     /**
@@ -164,6 +350,11 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     protected Future<ReconcileResult<T>> internalPatch(String namespace, String name, T current, T desired, boolean cascading) {
         try {
+            if (new ResourceDiff(resourceKind, name, current, desired, ignorablePaths()).isEmpty()) {
+                log.debug("{} {} in namespace {} has not been patched because resources are equivalent", resourceKind, name, namespace);
+                return Future.succeededFuture(ReconcileResult.noop(current));
+            }
+
             T result = operation().inNamespace(namespace).withName(name).cascading(cascading).patch(desired);
             log.debug("{} {} in namespace {} has been patched", resourceKind, name, namespace);
             return Future.succeededFuture(wasChanged(current, result) ? ReconcileResult.patched(result) : ReconcileResult.noop(result));
@@ -173,6 +364,16 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
         }
     }
 
+    /**
+     * The JSON paths which are ignored when comparing the current and desired resource to decide whether it needs to
+     * be patched. Subclasses can extend it with the fields which are defaulted by the Kubernetes API server.
+     *
+     * @return  The pattern matching the ignorable paths
+     */
+    protected Pattern ignorablePaths() {
+        return DEFAULT_IGNORABLE_PATHS;
+    }
+
     protected boolean wasChanged(T oldVersion, T newVersion) {
         if (oldVersion != null
                 && oldVersion.getMetadata() != null
@@ -200,6 +401,143 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
         }
     }
 
+    /**
+     * Enables serving of reads ({@code get}, {@code getAsync}, {@code list} and {@code listAsync}) from a local
+     * watch-fed cache of the resources in the given namespace instead of from the Kubernetes API server.
+     * Writes are always sent to the Kubernetes API server.
+     * Until the returned future completes, reads continue to go to the Kubernetes API server.
+     *
+     * @param namespace The namespace which should be cached or {@code *} for all namespaces.
+     * @return A future which completes when the cache is synced.
+     */
+    public Future<Void> enableCache(String namespace) {
+        Promise<Void> result = Promise.promise();
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
+            future -> {
+                ResourceCache<T> cache = caches.computeIfAbsent(namespace, ns -> new ResourceCache<>(resourceKind, ns,
+                    () -> listForCache(ns),
+                    (resourceVersion, watcher) -> watchForCache(ns, resourceVersion, watcher),
+                    task -> WorkerPools.<Void>executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
+                        resync -> {
+                            task.run();
+                            resync.complete();
+                        },
+                        ignored -> { })));
+
+                try {
+                    if (!cache.isSynced()) {
+                        cache.start();
+                    }
+
+                    log.info("Reads of {} in namespace {} are served from a cache", resourceKind, namespace);
+                    future.complete();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to sync the cache of {} in namespace {}", resourceKind, namespace, e);
+                    caches.remove(namespace);
+                    future.fail(e);
+                }
+            }, false, result
+        );
+        return result.future();
+    }
+
+    @SuppressWarnings("unchecked") // due to L extends KubernetesResourceList/*<T>*/
+    private KubernetesResourceList<T> listForCache(String namespace) {
+        return AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace) ? operation().inAnyNamespace().list() : operation().inNamespace(namespace).list();
+    }
+
+    private Watch watchForCache(String namespace, String resourceVersion, Watcher<T> cache) {
+        Watcher<T> watcher = new Watcher<T>() {
+            @Override
+            public void eventReceived(Action action, T resource) {
+                if (action == Action.DELETED && resource != null && resource.getMetadata() != null) {
+                    forgetFingerprint(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+                }
+
+                cache.eventReceived(action, resource);
+            }
+
+            @Override
+            public void onClose(KubernetesClientException e) {
+                cache.onClose(e);
+            }
+        };
+
+        FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation = AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace) ? operation().inAnyNamespace() : operation().inNamespace(namespace);
+        return resourceVersion != null ? operation.withResourceVersion(resourceVersion).watch(watcher) : operation.watch(watcher);
+    }
+
+    /**
+     * Stops the cache of resources in the given namespace. Subsequent reads go to the Kubernetes API server.
+     *
+     * @param namespace The namespace or {@code *} for all namespaces.
+     */
+    public void disableCache(String namespace) {
+        ResourceCache<T> cache = caches.remove(namespace);
+
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * Finds a synced cache holding the resources of the given namespace.
+     *
+     * @param namespace The namespace or {@code *} for all namespaces.
+     * @return The cache or null if reads for the namespace cannot be served from a cache.
+     */
+    protected ResourceCache<T> cache(String namespace) {
+        if (caches.isEmpty()) {
+            return null;
+        }
+
+        ResourceCache<T> cache = caches.get(AbstractWatchableResourceOperator.ANY_NAMESPACE);
+
+        if (cache == null) {
+            cache = caches.get(namespace);
+        }
+
+        return cache != null && cache.isSynced() && cache.covers(namespace) ? cache : null;
+    }
+
+    /**
+     * Updates the cache with the outcome of a write, so that subsequent reads from the cache reflect it.
+     *
+     * @param namespace The namespace.
+     * @param name The name.
+     * @param result The result of the write.
+     */
+    protected void updateCache(String namespace, String name, ReconcileResult<T> result) {
+        ResourceCache<T> cache = cache(namespace);
+
+        if (cache != null && result != null) {
+            if (result.resourceOpt().isPresent()) {
+                cache.update(result.resource());
+            } else {
+                // The resource was deleted or did not exist in the first place
+                cache.remove(namespace, name);
+            }
+        }
+    }
+
+    /**
+     * Updates the cache with a resource returned by a write, so that subsequent reads from the cache reflect it.
+     *
+     * @param resource The resource returned by the Kubernetes API server.
+     * @return The same resource.
+     */
+    protected T updateCache(T resource) {
+        if (resource != null && resource.getMetadata() != null) {
+            ResourceCache<T> cache = cache(resource.getMetadata().getNamespace());
+
+            if (cache != null) {
+                cache.update(resource);
+            }
+        }
+
+        return resource;
+    }
+
     /**
      * Synchronously gets the resource with the given {@code name} in the given {@code namespace}.
      * @param namespace The namespace.
@@ -207,6 +545,12 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      * @return The resource, or null if it doesn't exist.
      */
     public T get(String namespace, String name) {
+        ResourceCache<T> cache = cache(namespace);
+
+        if (cache != null) {
+            return cache.get(namespace, name);
+        }
+
         return operation().inNamespace(namespace).withName(name).get();
     }
 
@@ -217,8 +561,14 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      * @return A Future for the result.
      */
     public Future<T> getAsync(String namespace, String name) {
+        ResourceCache<T> cache = cache(namespace);
+
+        if (cache != null) {
+            return Future.succeededFuture(cache.get(namespace, name));
+        }
+
         Promise<T> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
             future -> {
                 T resource = get(namespace, name);
                 future.complete(resource);
@@ -235,6 +585,12 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      */
     @SuppressWarnings("unchecked")
     public List<T> list(String namespace, Labels selector) {
+        ResourceCache<T> cache = cache(namespace);
+
+        if (cache != null) {
+            return cache.list(namespace, resource -> ResourceCache.matches(resource, selector != null ? selector.toMap() : null));
+        }
+
         if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
             return listInAnyNamespace(selector);
         } else {
@@ -283,8 +639,14 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      * @return A Future with a list of matching resources.
      */
     public Future<List<T>> listAsync(String namespace, Labels selector) {
+        ResourceCache<T> cache = cache(namespace);
+
+        if (cache != null) {
+            return Future.succeededFuture(cache.list(namespace, resource -> ResourceCache.matches(resource, selector != null ? selector.toMap() : null)));
+        }
+
         Promise<List<T>> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
             future -> {
                 List<T> resources;
 
@@ -302,8 +664,14 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     @SuppressWarnings("unchecked")
     public Future<List<T>> listAsync(String namespace, Optional<LabelSelector> selector) {
+        ResourceCache<T> cache = cache(namespace);
+
+        if (cache != null) {
+            return Future.succeededFuture(cache.list(namespace, resource -> ResourceCache.matches(resource, selector.orElse(null))));
+        }
+
         Promise<List<T>> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_READ,
             future -> {
                 FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation;
                 if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
@@ -357,4 +725,33 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
             timeoutMs,
             () -> predicate.test(namespace, name));
     }
+
+    /**
+     * Returns a future that completes when the resource identified by the given {@code namespace} and {@code name}
+     * gets to the given state. Unlike {@link #waitFor(String, String, String, long, long, BiPredicate)}, the resource
+     * is watched and the future completes as soon as a watch event satisfies {@code watchPredicate}. The
+     * {@code predicate} is checked once when the watch is opened and it is polled every {@code pollIntervalMs} only
+     * when the watch cannot be used.
+     *
+     * @param namespace The namespace.
+     * @param name The resource name.
+     * @param logState The state we are waiting for use in log messages
+     * @param pollIntervalMs The poll interval in milliseconds used when falling back to polling.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @param predicate The predicate checking the state of the resource in the Kubernetes API server.
+     * @param watchPredicate The predicate checking the resource received in a watch event (null when it was deleted).
+     * @return A future that completes when the resource identified by the given {@code namespace} and {@code name}
+     * gets to the given state.
+     */
+    public Future<Void> watchFor(String namespace, String name, String logState, long pollIntervalMs, final long timeoutMs,
+                                 BiPredicate<String, String> predicate, Predicate<T> watchPredicate) {
+        return Util.watchFor(vertx,
+            String.format("%s resource %s in namespace %s", resourceKind, name, namespace),
+            logState,
+            pollIntervalMs,
+            timeoutMs,
+            () -> predicate.test(namespace, name),
+            watcher -> operation().inNamespace(namespace).withName(name).watch(watcher),
+            watchPredicate);
+    }
 }
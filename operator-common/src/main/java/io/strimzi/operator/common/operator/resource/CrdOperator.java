@@ -16,6 +16,7 @@ import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.base.OperationSupport;
 import io.fabric8.kubernetes.client.utils.Serialization;
+import io.strimzi.operator.common.WorkerPools;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -73,7 +74,7 @@ public class CrdOperator<C extends KubernetesClient,
     public Future<T> patchAsync(T resource, boolean cascading) {
         Promise<T> blockingPromise = Promise.promise();
 
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(future -> {
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_WRITE, future -> {
             String namespace = resource.getMetadata().getNamespace();
             String name = resource.getMetadata().getName();
             try {
@@ -86,13 +87,13 @@ public class CrdOperator<C extends KubernetesClient,
             }
         }, true, blockingPromise);
 
-        return blockingPromise.future();
+        return blockingPromise.future().map(this::updateCache);
     }
 
     public Future<T> updateStatusAsync(T resource) {
         Promise<T> blockingPromise = Promise.promise();
 
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(future -> {
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.KUBE_WRITE, future -> {
             try {
 
                 OkHttpClient client = this.client.adapt(OkHttpClient.class);
@@ -147,6 +148,6 @@ public class CrdOperator<C extends KubernetesClient,
             }
         }, true, blockingPromise);
 
-        return blockingPromise.future();
+        return blockingPromise.future().map(this::updateCache);
     }
 }
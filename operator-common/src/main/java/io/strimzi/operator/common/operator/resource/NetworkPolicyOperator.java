@@ -12,7 +12,11 @@ import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.vertx.core.Vertx;
 
+import java.util.regex.Pattern;
+
 public class NetworkPolicyOperator extends AbstractResourceOperator<KubernetesClient, NetworkPolicy, NetworkPolicyList, DoneableNetworkPolicy, Resource<NetworkPolicy, DoneableNetworkPolicy>> {
+    private static final Pattern IGNORABLE_PATHS = ResourceDiff.ignorablePaths(ResourceDiff.DEFAULT_IGNORABLE_FIELDS
+            + "|/spec/policyTypes");
 
     public NetworkPolicyOperator(Vertx vertx, KubernetesClient client) {
         super(vertx, client, "NetworkPolicy");
@@ -23,4 +27,12 @@ public class NetworkPolicyOperator extends AbstractResourceOperator<KubernetesCl
     protected MixedOperation<NetworkPolicy, NetworkPolicyList, DoneableNetworkPolicy, Resource<NetworkPolicy, DoneableNetworkPolicy>> operation() {
         return client.network().networkPolicies();
     }
+
+    /**
+     * The policy types are defaulted by the Kubernetes API server based on the rules.
+     */
+    @Override
+    protected Pattern ignorablePaths() {
+        return IGNORABLE_PATHS;
+    }
 }
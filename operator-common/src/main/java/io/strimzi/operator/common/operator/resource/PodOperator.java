@@ -71,15 +71,10 @@ public class PodOperator extends AbstractReadyResourceOperator<KubernetesClient,
         log.debug("{}: Waiting for pod {} to be deleted", logContext, podName);
         Future<Void> podReconcileFuture =
                 reconcile(namespace, podName, null).compose(ignore -> {
-                    Future<Void> del = waitFor(namespace, podName, "deleted", pollingIntervalMs, timeoutMs, (ignore1, ignore2) -> {
-                        // predicate - changed generation means pod has been updated
-                        String newUid = getPodUid(get(namespace, podName));
-                        boolean done = !deleted.equals(newUid);
-                        if (done) {
-                            log.debug("Rolling pod {} finished", podName);
-                        }
-                        return done;
-                    });
+                    // predicate - changed generation means pod has been updated
+                    Future<Void> del = watchFor(namespace, podName, "deleted", pollingIntervalMs, timeoutMs,
+                        (ignore1, ignore2) -> isRecreated(podName, deleted, get(namespace, podName)),
+                        current -> isRecreated(podName, deleted, current));
                     return del;
                 });
 
@@ -92,6 +87,14 @@ public class PodOperator extends AbstractReadyResourceOperator<KubernetesClient,
         return deleteFinished.future();
     }
 
+    private boolean isRecreated(String podName, String deletedUid, Pod current) {
+        boolean done = !deletedUid.equals(getPodUid(current));
+        if (done) {
+            log.debug("Rolling pod {} finished", podName);
+        }
+        return done;
+    }
+
     private static String getPodUid(Pod resource) {
         if (resource == null || resource.getMetadata() == null) {
             return NO_UID;
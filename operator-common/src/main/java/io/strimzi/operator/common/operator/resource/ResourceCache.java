@@ -0,0 +1,362 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorRequirement;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A local, watch-fed store of resources of a single kind in a single namespace (or in all namespaces).
+ * The store is populated by an initial list and kept up to date by a watch started from the resource version
+ * of that list. When the watch is closed with an error (for example because the resource version is too old)
+ * the store is re-listed and the watch restarted. The re-list is run by the given executor, so that it does not
+ * block the thread delivering the watch events.
+ *
+ * Resources are indexed by namespace and then by name, so that lookups of single resources and listing of resources
+ * in one namespace do not need to scan the whole store. Label selectors are evaluated against the resources of
+ * the namespace.
+ *
+ * The cache is only used for reads and always hands out copies of the cached resources. Until the initial list
+ * has completed {@link #isSynced()} returns false and callers should go to the Kubernetes API server instead.
+ *
+ * @param <T> The Kubernetes resource type.
+ */
+public class ResourceCache<T extends HasMetadata> implements Watcher<T> {
+    private static final Logger log = LogManager.getLogger(ResourceCache.class);
+
+    private final String resourceKind;
+    private final String namespace;
+    private final Supplier<KubernetesResourceList<T>> lister;
+    private final BiFunction<String, Watcher<T>, Watch> watcher;
+    private final Executor resyncExecutor;
+
+    private final Map<String, Map<String, T>> store = new ConcurrentHashMap<>();
+    private volatile boolean synced = false;
+    private volatile boolean closed = false;
+    private volatile Watch watch;
+
+    /**
+     * Constructor
+     *
+     * @param resourceKind  The kind of the resources (used for logging).
+     * @param namespace     The namespace which is cached or {@code *} for all namespaces.
+     * @param lister        Lists all the resources which should be cached.
+     * @param watcher       Starts a watch from the given resource version using the given watcher.
+     * @param resyncExecutor    Runs the re-lists after the watch failed.
+     */
+    public ResourceCache(String resourceKind, String namespace, Supplier<KubernetesResourceList<T>> lister,
+                         BiFunction<String, Watcher<T>, Watch> watcher, Executor resyncExecutor) {
+        this.resourceKind = resourceKind;
+        this.namespace = namespace;
+        this.lister = lister;
+        this.watcher = watcher;
+        this.resyncExecutor = resyncExecutor;
+    }
+
+    /**
+     * Constructor which re-lists on the thread which noticed the failure of the watch.
+     *
+     * @param resourceKind  The kind of the resources (used for logging).
+     * @param namespace     The namespace which is cached or {@code *} for all namespaces.
+     * @param lister        Lists all the resources which should be cached.
+     * @param watcher       Starts a watch from the given resource version using the given watcher.
+     */
+    /* test */ ResourceCache(String resourceKind, String namespace, Supplier<KubernetesResourceList<T>> lister, BiFunction<String, Watcher<T>, Watch> watcher) {
+        this(resourceKind, namespace, lister, watcher, Runnable::run);
+    }
+
+    /**
+     * Synchronously lists the resources, replaces the content of the cache with them and starts the watch.
+     * This method blocks and should not be called from the event loop.
+     */
+    public synchronized void start() {
+        if (closed) {
+            return;
+        }
+
+        KubernetesResourceList<T> list = lister.get();
+
+        store.clear();
+        for (T resource : list.getItems()) {
+            put(resource);
+        }
+
+        String resourceVersion = list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null;
+        watch = watcher.apply(resourceVersion, this);
+        synced = true;
+
+        log.debug("Cache of {} in namespace {} synced with {} resources at resource version {}", resourceKind, namespace, list.getItems().size(), resourceVersion);
+    }
+
+    /**
+     * Stops the watch and empties the cache.
+     */
+    public synchronized void close() {
+        closed = true;
+        synced = false;
+
+        if (watch != null) {
+            watch.close();
+            watch = null;
+        }
+
+        store.clear();
+    }
+
+    /**
+     * @return  True when the initial list has completed and the cache can be used for reads.
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * @param namespace The namespace.
+     * @return  True if resources from the given namespace are held in this cache.
+     */
+    public boolean covers(String namespace) {
+        return AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(this.namespace) || this.namespace.equals(namespace);
+    }
+
+    /**
+     * Gets the cached resource.
+     *
+     * @param namespace The namespace.
+     * @param name      The name.
+     * @return  The resource or null if it does not exist.
+     */
+    public T get(String namespace, String name) {
+        return copy(getCached(namespace, name));
+    }
+
+    private T getCached(String namespace, String name) {
+        Map<String, T> inNamespace = store.get(namespace);
+        return inNamespace != null ? inNamespace.get(name) : null;
+    }
+
+    /**
+     * Lists the cached resources matching the given predicate.
+     *
+     * @param namespace The namespace or {@code *} for all namespaces.
+     * @param predicate The predicate which the resources have to match.
+     * @return  List of matching resources.
+     */
+    public List<T> list(String namespace, Predicate<T> predicate) {
+        List<T> result = new ArrayList<>();
+
+        if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace)) {
+            for (Map<String, T> inNamespace : store.values()) {
+                collect(inNamespace, predicate, result);
+            }
+        } else {
+            collect(store.getOrDefault(namespace, Collections.emptyMap()), predicate, result);
+        }
+
+        return result;
+    }
+
+    private void collect(Map<String, T> inNamespace, Predicate<T> predicate, List<T> result) {
+        for (T resource : inNamespace.values()) {
+            if (predicate.test(resource)) {
+                result.add(copy(resource));
+            }
+        }
+    }
+
+    /**
+     * The callers are free to modify the resources they get (e.g. to update their status), so they always get
+     * a deep copy of the cached resource.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends HasMetadata> T copy(T resource) {
+        return resource != null ? (T) Serialization.jsonMapper().convertValue(resource, resource.getClass()) : null;
+    }
+
+    /**
+     * Updates the cache with a resource returned by a write to the Kubernetes API server, so that subsequent reads
+     * see the write even before the corresponding watch event arrives. Resources older than the cached ones are
+     * ignored.
+     *
+     * @param resource  The resource as returned by the API server.
+     */
+    public void update(T resource) {
+        if (resource != null && resource.getMetadata() != null) {
+            putIfNewer(copy(resource));
+        }
+    }
+
+    /**
+     * Removes a deleted resource from the cache.
+     *
+     * @param namespace The namespace.
+     * @param name      The name.
+     */
+    public void remove(String namespace, String name) {
+        Map<String, T> inNamespace = store.get(namespace);
+
+        if (inNamespace != null) {
+            inNamespace.remove(name);
+        }
+    }
+
+    private void put(T resource) {
+        store.computeIfAbsent(resource.getMetadata().getNamespace(), ns -> new ConcurrentHashMap<>())
+                .put(resource.getMetadata().getName(), resource);
+    }
+
+    /**
+     * Stores the resource unless the cached one is newer. Writes and watch events race, so a late watch event must not
+     * replace the resource returned by a later write.
+     */
+    private void putIfNewer(T resource) {
+        store.computeIfAbsent(resource.getMetadata().getNamespace(), ns -> new ConcurrentHashMap<>())
+                .merge(resource.getMetadata().getName(), resource, (cached, updated) -> isNewer(updated, cached) ? updated : cached);
+    }
+
+    /**
+     * Resource versions are opaque strings, but they are numeric in all current Kubernetes versions. When they
+     * cannot be compared, the given resource is assumed to be the newer one.
+     */
+    private static boolean isNewer(HasMetadata resource, HasMetadata than) {
+        try {
+            return Long.parseLong(resource.getMetadata().getResourceVersion()) >= Long.parseLong(than.getMetadata().getResourceVersion());
+        } catch (NumberFormatException | NullPointerException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+        switch (action) {
+            case ADDED:
+            case MODIFIED:
+                putIfNewer(resource);
+                break;
+            case DELETED:
+                remove(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+                break;
+            case ERROR:
+            default:
+                log.warn("Cache of {} in namespace {} received unexpected {} event, it will be resynced", resourceKind, namespace, action);
+                resyncExecutor.execute(this::resync);
+        }
+    }
+
+    @Override
+    public void onClose(KubernetesClientException e) {
+        if (e != null) {
+            log.warn("Cache watch of {} in namespace {} closed with exception, it will be resynced", resourceKind, namespace, e);
+            resyncExecutor.execute(this::resync);
+        } else {
+            log.debug("Cache watch of {} in namespace {} closed", resourceKind, namespace);
+        }
+    }
+
+    private synchronized void resync() {
+        synced = false;
+
+        if (watch != null) {
+            watch.close();
+            watch = null;
+        }
+
+        try {
+            start();
+        } catch (RuntimeException e) {
+            // Reads fall back to the API server until the next successful resync
+            log.error("Failed to resync the cache of {} in namespace {}", resourceKind, namespace, e);
+        }
+    }
+
+    /**
+     * Checks whether the resource matches the given label selector. Both {@code matchLabels} and
+     * {@code matchExpressions} are supported.
+     *
+     * @param resource  The resource.
+     * @param selector  The label selector.
+     * @return  True if the resource labels match the selector.
+     */
+    public static boolean matches(HasMetadata resource, LabelSelector selector) {
+        if (selector == null) {
+            return true;
+        }
+
+        Map<String, String> labels = resource.getMetadata() != null && resource.getMetadata().getLabels() != null
+                ? resource.getMetadata().getLabels() : Collections.emptyMap();
+
+        if (!matches(resource, selector.getMatchLabels())) {
+            return false;
+        }
+
+        if (selector.getMatchExpressions() != null) {
+            for (LabelSelectorRequirement requirement : selector.getMatchExpressions()) {
+                String value = labels.get(requirement.getKey());
+                List<String> values = requirement.getValues() != null ? requirement.getValues() : Collections.emptyList();
+
+                switch (requirement.getOperator()) {
+                    case "In":
+                        if (value == null || !values.contains(value)) {
+                            return false;
+                        }
+                        break;
+                    case "NotIn":
+                        if (value != null && values.contains(value)) {
+                            return false;
+                        }
+                        break;
+                    case "Exists":
+                        if (!labels.containsKey(requirement.getKey())) {
+                            return false;
+                        }
+                        break;
+                    case "DoesNotExist":
+                        if (labels.containsKey(requirement.getKey())) {
+                            return false;
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported label selector operator " + requirement.getOperator());
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the resource has all the given labels.
+     *
+     * @param resource  The resource.
+     * @param selector  The labels. Null or empty map matches all resources.
+     * @return  True if the resource labels match the selector.
+     */
+    public static boolean matches(HasMetadata resource, Map<String, String> selector) {
+        if (selector == null || selector.isEmpty()) {
+            return true;
+        }
+
+        Map<String, String> labels = resource.getMetadata() != null ? resource.getMetadata().getLabels() : null;
+
+        return labels != null && labels.entrySet().containsAll(selector.entrySet());
+    }
+}
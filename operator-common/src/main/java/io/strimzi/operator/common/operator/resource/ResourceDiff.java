@@ -0,0 +1,109 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.zjsonpatch.JsonDiff;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.regex.Pattern;
+
+import static io.fabric8.kubernetes.client.internal.PatchUtils.patchMapper;
+
+/**
+ * Structural diff of the current and desired state of a Kubernetes resource. It is used to skip writes of resources
+ * which did not change. Differences in the fields matching the ignorable pattern (fields maintained by the Kubernetes
+ * API server, the status and fields defaulted by the API server) do not count as changes.
+ */
+public class ResourceDiff extends AbstractResourceDiff {
+    private static final Logger log = LogManager.getLogger(ResourceDiff.class.getName());
+
+    /**
+     * Fields which are maintained by the Kubernetes API server and never sent by the operator
+     */
+    public static final String DEFAULT_IGNORABLE_FIELDS = "/metadata/creationTimestamp"
+            + "|/metadata/deletionGracePeriodSeconds"
+            + "|/metadata/deletionTimestamp"
+            + "|/metadata/generation"
+            + "|/metadata/managedFields"
+            + "|/metadata/resourceVersion"
+            + "|/metadata/selfLink"
+            + "|/metadata/uid"
+            + "|/status";
+
+    private static final Pattern DEFAULT_IGNORABLE_PATHS = ignorablePaths(DEFAULT_IGNORABLE_FIELDS);
+
+    private final boolean isEmpty;
+
+    /**
+     * Diffs the resources ignoring only the fields maintained by the Kubernetes API server.
+     *
+     * @param resourceKind  The kind of the resource (used for logging)
+     * @param resourceName  The name of the resource (used for logging)
+     * @param current       The current resource
+     * @param desired       The desired resource
+     */
+    public ResourceDiff(String resourceKind, String resourceName, HasMetadata current, HasMetadata desired) {
+        this(resourceKind, resourceName, current, desired, DEFAULT_IGNORABLE_PATHS);
+    }
+
+    /**
+     * Diffs the resources ignoring the fields matching the given pattern.
+     *
+     * @param resourceKind      The kind of the resource (used for logging)
+     * @param resourceName      The name of the resource (used for logging)
+     * @param current           The current resource
+     * @param desired           The desired resource
+     * @param ignorablePaths    The pattern of the JSON paths which should be ignored
+     */
+    public ResourceDiff(String resourceKind, String resourceName, HasMetadata current, HasMetadata desired, Pattern ignorablePaths) {
+        JsonNode source = patchMapper().valueToTree(current == null ? "{}" : current);
+        JsonNode target = patchMapper().valueToTree(desired == null ? "{}" : desired);
+        JsonNode diff = JsonDiff.asJson(source, target);
+
+        int num = 0;
+
+        for (JsonNode d : diff) {
+            String pathValue = d.get("path").asText();
+
+            if (ignorablePaths.matcher(pathValue).matches()) {
+                log.trace("{} {} differs in ignorable path {}", resourceKind, resourceName, d);
+                continue;
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("{} {} differs: {}", resourceKind, resourceName, d);
+                log.debug("Current {} {} path {} has value {}", resourceKind, resourceName, pathValue, lookupPath(source, pathValue));
+                log.debug("Desired {} {} path {} has value {}", resourceKind, resourceName, pathValue, lookupPath(target, pathValue));
+            }
+
+            num++;
+        }
+
+        this.isEmpty = num == 0;
+    }
+
+    /**
+     * Builds the pattern matching the given fields and everything nested in them.
+     *
+     * @param fields    The JSON paths of the fields separated by {@code |}
+     * @return  The pattern which can be passed to {@link #ResourceDiff(String, String, HasMetadata, HasMetadata, Pattern)}
+     */
+    public static Pattern ignorablePaths(String fields) {
+        return Pattern.compile("^(" + fields + ")(/.*)?$");
+    }
+
+    /**
+     * Returns whether the Diff is empty or not
+     *
+     * @return true when the diffed resources are equivalent
+     */
+    @Override
+    public boolean isEmpty() {
+        return isEmpty;
+    }
+}
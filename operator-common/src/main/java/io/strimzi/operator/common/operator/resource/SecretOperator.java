@@ -12,10 +12,14 @@ import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.vertx.core.Vertx;
 
+import java.util.regex.Pattern;
+
 /**
  * Operations for {@code Secret}s.
  */
 public class SecretOperator extends AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> {
+    private static final Pattern IGNORABLE_PATHS = ResourceDiff.ignorablePaths(ResourceDiff.DEFAULT_IGNORABLE_FIELDS
+            + "|/type");
 
     /**
      * Constructor
@@ -30,4 +34,12 @@ public class SecretOperator extends AbstractResourceOperator<KubernetesClient, S
     protected MixedOperation<Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> operation() {
         return client.secrets();
     }
+
+    /**
+     * The type of the Secrets is defaulted by the Kubernetes API server.
+     */
+    @Override
+    protected Pattern ignorablePaths() {
+        return IGNORABLE_PATHS;
+    }
 }
@@ -14,10 +14,15 @@ import io.fabric8.kubernetes.client.dsl.ServiceResource;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
+import java.util.regex.Pattern;
+
 /**
  * Operations for {@code Service}s.
  */
 public class ServiceOperator extends AbstractResourceOperator<KubernetesClient, Service, ServiceList, DoneableService, ServiceResource<Service, DoneableService>> {
+    private static final Pattern IGNORABLE_PATHS = ResourceDiff.ignorablePaths(ResourceDiff.DEFAULT_IGNORABLE_FIELDS
+            + "|/spec/clusterIP"
+            + "|/spec/sessionAffinity");
 
     private final EndpointOperator endpointOperations;
     /**
@@ -35,6 +40,14 @@ public class ServiceOperator extends AbstractResourceOperator<KubernetesClient,
         return client.services();
     }
 
+    /**
+     * The cluster IP and the session affinity are set by the Kubernetes API server.
+     */
+    @Override
+    protected Pattern ignorablePaths() {
+        return IGNORABLE_PATHS;
+    }
+
     /**
      * Patches the resource with the given namespace and name to match the given desired resource
      * and completes the given future accordingly.
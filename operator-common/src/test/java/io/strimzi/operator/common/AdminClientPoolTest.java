@@ -0,0 +1,187 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.strimzi.operator.cluster.model.Ca;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.Admin;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class AdminClientPoolTest {
+    private static Vertx vertx;
+
+    private final List<Admin> created = new CopyOnWriteArrayList<>();
+    private final AdminClientProvider provider = (hostname, clusterCaCertSecret, keyCertSecret, keyCertName) -> {
+        Admin admin = mock(Admin.class);
+        created.add(admin);
+        return admin;
+    };
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Secret caCertSecret(int generation) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName("my-cluster-cluster-ca-cert")
+                    .addToAnnotations(Ca.ANNO_STRIMZI_IO_CA_CERT_GENERATION, String.valueOf(generation))
+                .endMetadata()
+                .build();
+    }
+
+    private static Secret coKeySecret(String keystore) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName("my-cluster-cluster-operator-certs")
+                .endMetadata()
+                .addToData("cluster-operator.p12", keystore)
+                .build();
+    }
+
+    private static AdminClientPool.Lease lease(AdminClientPool pool, String cluster, Secret caCertSecret, Secret coKeySecret) {
+        return pool.lease("my-namespace", cluster, cluster + "-kafka-bootstrap:9091", caCertSecret, coKeySecret, "cluster-operator");
+    }
+
+    @Test
+    public void testLeasesOfAClusterShareTheClientUntilItIsIdle() {
+        AdminClientPool pool = new AdminClientPool(vertx, provider, 100);
+
+        AdminClientPool.Lease lease1 = lease(pool, "my-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        AdminClientPool.Lease lease2 = lease(pool, "my-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        AdminClientPool.Lease other = lease(pool, "my-other-cluster", caCertSecret(0), coKeySecret("a2V5"));
+
+        assertThat(lease1.admin(), is(sameInstance(lease2.admin())));
+        assertThat(other.admin(), is(not(sameInstance(lease1.admin()))));
+        assertThat(created.size(), is(2));
+
+        // Releasing twice has no effect, so the client is still leased by lease2
+        lease1.release();
+        lease1.release();
+        verify(lease1.admin(), timeout(500).times(0)).close(any(Duration.class));
+
+        lease2.release();
+        verify(lease2.admin(), timeout(5_000)).close(any(Duration.class));
+        assertThat(pool.size(), is(1));
+
+        // A new client is created once the idle one was closed
+        AdminClientPool.Lease lease3 = lease(pool, "my-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        assertThat(lease3.admin(), is(not(sameInstance(lease1.admin()))));
+        assertThat(created.size(), is(3));
+
+        lease3.release();
+        other.release();
+        pool.close();
+    }
+
+    @Test
+    public void testNewCaCertGenerationRetiresTheClient() {
+        AdminClientPool pool = new AdminClientPool(vertx, provider);
+
+        AdminClientPool.Lease oldLease = lease(pool, "my-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        AdminClientPool.Lease newLease = lease(pool, "my-cluster", caCertSecret(1), coKeySecret("a2V5"));
+
+        assertThat(newLease.admin(), is(not(sameInstance(oldLease.admin()))));
+        assertThat(pool.size(), is(1));
+
+        // The old client is still leased, so it is only closed once released
+        verify(oldLease.admin(), timeout(500).times(0)).close(any(Duration.class));
+        oldLease.release();
+        verify(oldLease.admin(), timeout(5_000)).close(any(Duration.class));
+
+        // A new client key retires the client as well
+        newLease.release();
+        AdminClientPool.Lease newKeyLease = lease(pool, "my-cluster", caCertSecret(1), coKeySecret("bmV3LWtleQ=="));
+        assertThat(newKeyLease.admin(), is(not(sameInstance(newLease.admin()))));
+        verify(newLease.admin(), timeout(5_000)).close(any(Duration.class));
+
+        newKeyLease.release();
+        pool.close();
+        verify(newKeyLease.admin(), timeout(5_000)).close(any(Duration.class));
+    }
+
+    @Test
+    public void testInvalidateRetiresTheClientsOfTheCluster() {
+        AdminClientPool pool = new AdminClientPool(vertx, provider);
+
+        AdminClientPool.Lease lease = lease(pool, "my-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        AdminClientPool.Lease other = lease(pool, "my-other-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        other.release();
+
+        pool.invalidate("my-namespace", "my-cluster");
+        assertThat(pool.size(), is(1));
+
+        lease.release();
+        verify(lease.admin(), timeout(5_000)).close(any(Duration.class));
+        verify(other.admin(), never()).close(any(Duration.class));
+
+        pool.close();
+        verify(other.admin(), timeout(5_000)).close(any(Duration.class));
+    }
+
+    @Test
+    public void testCreatingAClientDoesNotBlockLeasesOfOtherClusters() throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch resolved = new CountDownLatch(1);
+        AdminClientProvider slowProvider = (hostname, clusterCaCertSecret, keyCertSecret, keyCertName) -> {
+            if (hostname.startsWith("my-slow-cluster")) {
+                creating.countDown();
+                try {
+                    // Like a slow DNS resolution of the bootstrap address
+                    resolved.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return provider.createAdminClient(hostname, clusterCaCertSecret, keyCertSecret, keyCertName);
+        };
+        AdminClientPool pool = new AdminClientPool(vertx, slowProvider);
+
+        CompletableFuture<AdminClientPool.Lease> slowLease = CompletableFuture.supplyAsync(
+            () -> lease(pool, "my-slow-cluster", caCertSecret(0), coKeySecret("a2V5")));
+        assertThat(creating.await(5, TimeUnit.SECONDS), is(true));
+
+        AdminClientPool.Lease other = lease(pool, "my-other-cluster", caCertSecret(0), coKeySecret("a2V5"));
+        assertThat(slowLease.isDone(), is(false));
+
+        resolved.countDown();
+        AdminClientPool.Lease slow = slowLease.get(5, TimeUnit.SECONDS);
+        assertThat(slow.admin(), is(not(sameInstance(other.admin()))));
+        assertThat(pool.size(), is(2));
+
+        slow.release();
+        other.release();
+        pool.close();
+    }
+}
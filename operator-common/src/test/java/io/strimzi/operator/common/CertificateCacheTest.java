@@ -0,0 +1,97 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.strimzi.operator.common.operator.MockCertManager;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CertificateCacheTest {
+
+    private static Secret secret(String uid, String resourceVersion, String cert) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName("my-secret")
+                    .withNamespace("my-namespace")
+                    .withUid(uid)
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .addToData("ca.crt", cert)
+                .build();
+    }
+
+    @Test
+    public void testCertificateIsParsedOncePerVersion() throws CertificateException {
+        CertificateCache cache = new CertificateCache(10);
+        String cert = MockCertManager.clusterCaCert();
+
+        X509Certificate first = cache.certificate(secret("uid", "1", cert), "ca.crt");
+        assertThat(cache.certificate(secret("uid", "1", cert), "ca.crt"), is(sameInstance(first)));
+        assertThat(cache.size(), is(1));
+
+        // A new version of the Secret is parsed again
+        assertThat(cache.certificate(secret("uid", "2", cert), "ca.crt"), is(first));
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void testModifiedValueIsParsedAgain() throws CertificateException {
+        CertificateCache cache = new CertificateCache(10);
+        Secret secret = secret("uid", "1", MockCertManager.clusterCaCert());
+
+        X509Certificate cluster = cache.certificate(secret, "ca.crt");
+        X509Certificate clients = cache.certificate(secret, "ca.crt", MockCertManager.clientsCaCert());
+        assertThat(clients.getSubjectDN(), is(not(cluster.getSubjectDN())));
+    }
+
+    @Test
+    public void testSecretWithoutUidIsNotCached() throws CertificateException {
+        CertificateCache cache = new CertificateCache(10);
+        Secret secret = secret(null, null, MockCertManager.clusterCaCert());
+
+        assertThat(cache.certificate(secret, "ca.crt"), is(not(nullValue())));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        CertificateCache cache = new CertificateCache(2);
+        String cert = MockCertManager.clusterCaCert();
+
+        String first = cache.pem(secret("uid-1", "1", cert), "ca.crt");
+        String second = cache.pem(secret("uid-2", "1", cert), "ca.crt");
+        // Makes uid-2 the least recently used entry
+        cache.pem(secret("uid-1", "1", cert), "ca.crt");
+        cache.pem(secret("uid-3", "1", cert), "ca.crt");
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.pem(secret("uid-1", "1", cert), "ca.crt"), is(sameInstance(first)));
+        assertThat(cache.pem(secret("uid-2", "1", cert), "ca.crt"), is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void testMissingAndInvalidData() {
+        CertificateCache cache = new CertificateCache(10);
+        Secret secret = secret("uid", "1", Base64.getEncoder().encodeToString("invalid".getBytes(StandardCharsets.US_ASCII)));
+
+        assertThrows(CertificateException.class, () -> cache.certificate(secret, "ca.crt"));
+        assertThat(cache.pem(secret, "ca.key"), is(nullValue()));
+        assertThat(cache.decoded(secret, "ca.key"), is(nullValue()));
+        assertThat(cache.pem(secret, "ca.crt"), is("invalid"));
+    }
+}
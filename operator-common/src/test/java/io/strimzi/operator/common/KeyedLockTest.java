@@ -0,0 +1,138 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(VertxExtension.class)
+public class KeyedLockTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @Test
+    public void testFreeLockIsAcquiredImmediately(VertxTestContext context) {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        KeyedLock<String> locks = new KeyedLock<>(vertx, "TestResource", metrics, "test.");
+
+        Future<KeyedLock.Lock> a = locks.acquire("a", 1_000);
+        Future<KeyedLock.Lock> b = locks.acquire("b", 1_000);
+
+        assertThat(a.succeeded(), is(true));
+        assertThat(b.succeeded(), is(true));
+        assertThat(locks.size(), is(2));
+
+        a.result().release();
+        // Only the first release has an effect
+        a.result().release();
+        assertThat(locks.isLocked("a"), is(false));
+        assertThat(locks.isLocked("b"), is(true));
+
+        b.result().release();
+        assertThat(locks.size(), is(0));
+        assertThat(metrics.meterRegistry().get("test.locks.wait").tag("kind", "TestResource").timer().count(), is(2L));
+        context.completeNow();
+    }
+
+    @Test
+    public void testWaitersGetTheLockInOrder(VertxTestContext context) {
+        KeyedLock<String> locks = new KeyedLock<>(vertx, "TestResource", MetricsTestUtils.createCleanMetricsProvider(), "test.");
+        List<String> order = new CopyOnWriteArrayList<>();
+        Promise<Void> first = Promise.promise();
+
+        Checkpoint async = context.checkpoint();
+
+        vertx.runOnContext(v -> {
+            locks.withLock("a", 1_000, () -> {
+                order.add("first");
+                return first.future();
+            });
+            Future<Void> second = locks.withLock("a", 1_000, () -> {
+                order.add("second");
+                return Future.succeededFuture();
+            });
+            Future<Void> third = locks.withLock("a", 1_000, () -> {
+                order.add("third");
+                return Future.succeededFuture();
+            });
+
+            context.verify(() -> {
+                assertThat(order, is(asList("first")));
+                assertThat(locks.waiting(), is(2));
+            });
+
+            first.complete();
+
+            third.onComplete(context.succeeding(x -> context.verify(() -> {
+                assertThat(second.succeeded(), is(true));
+                assertThat(order, is(asList("first", "second", "third")));
+                assertThat(locks.waiting(), is(0));
+                assertThat(locks.size(), is(0));
+                async.flag();
+            })));
+        });
+    }
+
+    @Test
+    public void testTimeout(VertxTestContext context) {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        KeyedLock<String> locks = new KeyedLock<>(vertx, "TestResource", metrics, "test.");
+        KeyedLock.Lock held = locks.acquire("a", 1_000).result();
+
+        Checkpoint async = context.checkpoint();
+        locks.withLock("a", 100, () -> {
+            context.failNow(new RuntimeException("Callable should not be called without the lock"));
+            return Future.succeededFuture();
+        }).onComplete(context.failing(e -> context.verify(() -> {
+            assertThat(e, instanceOf(KeyedLock.UnableToAcquireLockException.class));
+            assertThat(locks.waiting(), is(0));
+            assertThat(metrics.meterRegistry().get("test.locks.timeouts").tag("kind", "TestResource").counter().count(), is(1.0));
+
+            // The lock is still held by the first owner and free after it is released
+            assertThat(locks.isLocked("a"), is(true));
+            held.release();
+            assertThat(locks.isLocked("a"), is(false));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testLockIsReleasedWhenCallableThrows(VertxTestContext context) {
+        KeyedLock<String> locks = new KeyedLock<>(vertx, "TestResource", null, "test.");
+
+        Future<Void> result = locks.withLock("a", 1_000, () -> {
+            throw new RuntimeException("failed");
+        });
+
+        assertThat(result.failed(), is(true));
+        assertThat(locks.isLocked("a"), is(false));
+        context.completeNow();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MetricsStepTracerTest {
+    private static final Reconciliation RECONCILIATION = new Reconciliation("test", "TestResource", "my-namespace", "my-resource");
+
+    @Test
+    public void testStepsAreTimedByOutcome() {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        StepTracer tracer = new MetricsStepTracer(metrics, "test.");
+
+        tracer.reconciliationStarted(RECONCILIATION);
+
+        Future<String> succeeded = tracer.trace(RECONCILIATION, "service", () -> Future.succeededFuture("done"));
+        Future<String> failed = tracer.trace(RECONCILIATION, "service", () -> Future.failedFuture("failed"));
+        Future<String> thrown = tracer.trace(RECONCILIATION, "deployment", () -> {
+            throw new RuntimeException("thrown");
+        });
+
+        tracer.reconciliationCompleted(RECONCILIATION, thrown.cause());
+
+        assertThat(succeeded.result(), is("done"));
+        assertThat(failed.failed(), is(true));
+        assertThat(thrown.cause().getMessage(), is("thrown"));
+
+        assertThat(metrics.meterRegistry().get("test.reconciliation.step.duration")
+                .tag("kind", "TestResource").tag("step", "service").tag("outcome", "success").timer().count(), is(1L));
+        assertThat(metrics.meterRegistry().get("test.reconciliation.step.duration")
+                .tag("kind", "TestResource").tag("step", "service").tag("outcome", "failure").timer().count(), is(1L));
+        assertThat(metrics.meterRegistry().get("test.reconciliation.step.duration")
+                .tag("kind", "TestResource").tag("step", "deployment").tag("outcome", "failure").timer().count(), is(1L));
+    }
+}
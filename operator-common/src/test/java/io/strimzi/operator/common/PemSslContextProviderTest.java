@@ -0,0 +1,168 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.config.internals.BrokerSecurityConfigs;
+import org.apache.kafka.common.network.Mode;
+import org.apache.kafka.common.security.ssl.SslFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Security;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Scanner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PemSslContextProviderTest {
+    private static final String CLUSTER_CERT = resource("CLUSTER_CERT.pem");
+    private static final String CLUSTER_KEY = resource("CLUSTER_KEY.pem");
+    private static final String CLIENTS_CERT = resource("CLIENTS_CERT.pem");
+
+    private static String resource(String name) {
+        try (InputStream is = PemSslContextProviderTest.class.getClassLoader().getResourceAsStream(name);
+             Scanner scanner = new Scanner(is, StandardCharsets.US_ASCII.name())) {
+            return scanner.useDelimiter("\\A").next();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static SslFactory sslFactory(Mode mode, String trustedCertsPem, String keyPem, String certChainPem) {
+        Properties props = new Properties();
+        props.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9091");
+        props.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
+        props.setProperty(SslConfigs.SSL_ENDPOINT_IDENTIFICATION_ALGORITHM_CONFIG, "");
+        PemSslContextProvider.configure(props, trustedCertsPem, keyPem, certChainPem);
+
+        Map<String, Object> configs = new HashMap<>(new AdminClientConfig(props).values());
+        configs.put(BrokerSecurityConfigs.SSL_CLIENT_AUTH_CONFIG, "required");
+
+        SslFactory sslFactory = new SslFactory(mode);
+        sslFactory.configure(configs);
+        return sslFactory;
+    }
+
+    /**
+     * Runs the TLS handshake between the engines in memory.
+     */
+    private static void handshake(SSLEngine client, SSLEngine server) throws SSLException {
+        int bufferSize = client.getSession().getPacketBufferSize() * 4;
+        ByteBuffer clientToServer = ByteBuffer.allocate(bufferSize);
+        ByteBuffer serverToClient = ByteBuffer.allocate(bufferSize);
+        ByteBuffer empty = ByteBuffer.allocate(0);
+        ByteBuffer appData = ByteBuffer.allocate(bufferSize);
+
+        client.beginHandshake();
+        server.beginHandshake();
+
+        for (int i = 0; i < 1000; i++) {
+            if (isDone(client) && isDone(server)) {
+                return;
+            }
+            step(client, empty, clientToServer, serverToClient, appData);
+            step(server, empty, serverToClient, clientToServer, appData);
+        }
+        throw new SSLException("The handshake did not complete");
+    }
+
+    private static boolean isDone(SSLEngine engine) {
+        SSLEngineResult.HandshakeStatus status = engine.getHandshakeStatus();
+        return status == SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING || status == SSLEngineResult.HandshakeStatus.FINISHED;
+    }
+
+    private static void step(SSLEngine engine, ByteBuffer empty, ByteBuffer out, ByteBuffer in, ByteBuffer appData) throws SSLException {
+        switch (engine.getHandshakeStatus()) {
+            case NEED_WRAP:
+                engine.wrap(empty, out);
+                break;
+            case NEED_UNWRAP:
+                in.flip();
+                engine.unwrap(in, appData);
+                in.compact();
+                appData.clear();
+                break;
+            case NEED_TASK:
+                Runnable task;
+                while ((task = engine.getDelegatedTask()) != null) {
+                    task.run();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Test
+    public void testMaterialIsRegisteredOnce() {
+        String protocol = PemSslContextProvider.register(CLUSTER_CERT, CLUSTER_KEY, CLUSTER_CERT);
+
+        assertThat(protocol, startsWith("STRIMZI-PEM-"));
+        assertThat(PemSslContextProvider.register(CLUSTER_CERT, CLUSTER_KEY, CLUSTER_CERT), is(protocol));
+        assertThat(PemSslContextProvider.register(CLUSTER_CERT, null, null), is(not(protocol)));
+    }
+
+    @Test
+    public void testMaterialIsRemovedOnceReleasedByAllClients() {
+        // The material is not registered by the other tests, which do not release theirs
+        Properties client1 = new Properties();
+        PemSslContextProvider.configure(client1, CLIENTS_CERT, null, null);
+        Properties client2 = new Properties();
+        PemSslContextProvider.configure(client2, CLIENTS_CERT, null, null);
+        String protocol = client1.getProperty(SslConfigs.SSL_PROTOCOL_CONFIG);
+
+        PemSslContextProvider.release(client1);
+        assertThat(PemSslContextProvider.isRegistered(protocol), is(true));
+        assertThat(Security.getProvider(PemSslContextProvider.NAME).getService("SSLContext", protocol), is(notNullValue()));
+
+        PemSslContextProvider.release(client2);
+        assertThat(PemSslContextProvider.isRegistered(protocol), is(false));
+        assertThat(Security.getProvider(PemSslContextProvider.NAME).getService("SSLContext", protocol), is(nullValue()));
+    }
+
+    @Test
+    public void testKafkaClientAuthenticatesWithMaterialFromMemory() throws SSLException {
+        SslFactory server = sslFactory(Mode.SERVER, CLUSTER_CERT, CLUSTER_KEY, CLUSTER_CERT);
+        SslFactory client = sslFactory(Mode.CLIENT, CLUSTER_CERT, CLUSTER_KEY, CLUSTER_CERT);
+
+        SSLEngine clientEngine = client.createSslEngine("localhost", 9091);
+        SSLEngine serverEngine = server.createSslEngine("localhost", 9091);
+        handshake(clientEngine, serverEngine);
+
+        assertThat(serverEngine.getSession().getPeerPrincipal().getName(), is(clientEngine.getSession().getLocalPrincipal().getName()));
+    }
+
+    @Test
+    public void testKafkaClientWithoutKeyIsRejected() {
+        SslFactory server = sslFactory(Mode.SERVER, CLUSTER_CERT, CLUSTER_KEY, CLUSTER_CERT);
+        SslFactory client = sslFactory(Mode.CLIENT, CLUSTER_CERT, null, null);
+
+        assertThrows(SSLException.class, () -> handshake(client.createSslEngine("localhost", 9091), server.createSslEngine("localhost", 9091)));
+    }
+
+    @Test
+    public void testKafkaClientRejectsUntrustedServer() {
+        SslFactory server = sslFactory(Mode.SERVER, CLUSTER_CERT, CLUSTER_KEY, CLUSTER_CERT);
+        SslFactory client = sslFactory(Mode.CLIENT, CLIENTS_CERT, CLUSTER_KEY, CLUSTER_CERT);
+
+        assertThrows(SSLException.class, () -> handshake(client.createSslEngine("localhost", 9091), server.createSslEngine("localhost", 9091)));
+    }
+}
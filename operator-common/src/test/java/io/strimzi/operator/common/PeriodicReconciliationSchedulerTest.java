@@ -0,0 +1,167 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+@ExtendWith(VertxExtension.class)
+public class PeriodicReconciliationSchedulerTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Set<NamespaceAndName> names(String... names) {
+        Set<NamespaceAndName> result = new HashSet<>();
+        for (String name : names) {
+            result.add(new NamespaceAndName("my-namespace", name));
+        }
+        return result;
+    }
+
+    /**
+     * Reconciler which completes the reconciliations only when the test completes their promises
+     */
+    private static class ControlledReconciler {
+        private final Map<String, Promise<Void>> running = new ConcurrentHashMap<>();
+        private final List<String> started = new CopyOnWriteArrayList<>();
+        private final List<String> prioritized = new CopyOnWriteArrayList<>();
+
+        Future<Void> reconcile(Reconciliation reconciliation, boolean priority) {
+            Promise<Void> promise = Promise.promise();
+            running.put(reconciliation.name(), promise);
+            started.add(reconciliation.name());
+            if (priority) {
+                prioritized.add(reconciliation.name());
+            }
+            return promise.future();
+        }
+
+        void complete(String name) {
+            running.remove(name).complete();
+        }
+    }
+
+    @Test
+    public void testMaxInFlight(VertxTestContext context) {
+        ControlledReconciler reconciler = new ControlledReconciler();
+        PeriodicReconciliationScheduler scheduler = new PeriodicReconciliationScheduler(vertx, "TestResource",
+                MetricsTestUtils.createCleanMetricsProvider(), "test.", 0, 2, reconciler::reconcile);
+
+        Future<Void> result = scheduler.schedule("test", names("a", "b", "c", "d"), name -> false);
+
+        assertThat(reconciler.started.size(), is(2));
+        assertThat(scheduler.pending(), is(2));
+
+        reconciler.complete(reconciler.started.get(0));
+        assertThat(reconciler.started.size(), is(3));
+
+        reconciler.complete(reconciler.started.get(1));
+        reconciler.complete(reconciler.started.get(2));
+        assertThat(reconciler.started.size(), is(4));
+        assertThat(result.isComplete(), is(false));
+
+        reconciler.complete(reconciler.started.get(3));
+        assertThat(result.succeeded(), is(true));
+        assertThat(scheduler.pending(), is(0));
+        context.completeNow();
+    }
+
+    @Test
+    public void testPendingChangesAreNotDelayed(VertxTestContext context) {
+        ControlledReconciler reconciler = new ControlledReconciler();
+        PeriodicReconciliationScheduler scheduler = new PeriodicReconciliationScheduler(vertx, "TestResource",
+                MetricsTestUtils.createCleanMetricsProvider(), "test.", 60_000, 10, reconciler::reconcile);
+
+        scheduler.schedule("test", names("a", "b", "c"), name -> "b".equals(name.getName()));
+
+        assertThat(reconciler.started, is(asList("b")));
+        assertThat(reconciler.prioritized, is(asList("b")));
+        assertThat(scheduler.pending(), is(2));
+
+        // A pending resource which gets changed is prioritized and started immediately
+        Future<Void> result = scheduler.schedule("test", names("a"), name -> true);
+        assertThat(reconciler.started, is(asList("b", "a")));
+        assertThat(scheduler.pending(), is(1));
+
+        reconciler.complete("a");
+        assertThat(result.succeeded(), is(true));
+        context.completeNow();
+    }
+
+    @Test
+    public void testReconciliationsAreSpread(VertxTestContext context) {
+        List<String> started = new CopyOnWriteArrayList<>();
+        BiFunction<Reconciliation, Boolean, Future<Void>> reconciler = (reconciliation, priority) -> {
+            started.add(reconciliation.name());
+            return Future.succeededFuture();
+        };
+        PeriodicReconciliationScheduler scheduler = new PeriodicReconciliationScheduler(vertx, "TestResource",
+                MetricsTestUtils.createCleanMetricsProvider(), "test.", 500, 10, reconciler);
+
+        Set<NamespaceAndName> names = names("a", "b", "c", "d", "e", "f", "g", "h");
+        long expectedLastMs = 0;
+        for (NamespaceAndName name : names) {
+            expectedLastMs = Math.max(expectedLastMs, PeriodicReconciliationScheduler.jitterMs(name, 500));
+        }
+        long lastMs = expectedLastMs;
+
+        long start = System.currentTimeMillis();
+        Checkpoint async = context.checkpoint();
+        Future<Void> result = scheduler.schedule("test", names, name -> false);
+        assertThat(scheduler.pending(), greaterThanOrEqualTo(1));
+
+        result.onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(started.size(), is(names.size()));
+            assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(lastMs));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testJitterIsStableAndWithinTheSpread() {
+        for (int i = 0; i < 1000; i++) {
+            NamespaceAndName name = new NamespaceAndName("my-namespace", "my-cluster-" + i);
+            long jitter = PeriodicReconciliationScheduler.jitterMs(name, 120_000);
+
+            assertThat(jitter, greaterThanOrEqualTo(0L));
+            assertThat(jitter, lessThan(120_000L));
+            assertThat(PeriodicReconciliationScheduler.jitterMs(new NamespaceAndName("my-namespace", "my-cluster-" + i), 120_000), is(jitter));
+        }
+
+        assertThat(PeriodicReconciliationScheduler.jitterMs(new NamespaceAndName("my-namespace", "my-cluster"), 0), is(0L));
+    }
+}
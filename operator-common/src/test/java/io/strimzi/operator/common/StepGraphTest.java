@@ -0,0 +1,130 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(VertxExtension.class)
+public class StepGraphTest {
+    private static Vertx vertx;
+    private static final Reconciliation RECONCILIATION = new Reconciliation("test", "TestResource", "my-namespace", "my-resource");
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private Future<Void> delayed(List<String> log, String name) {
+        Promise<Void> promise = Promise.promise();
+        log.add(name + "-start");
+        vertx.setTimer(10, t -> {
+            log.add(name + "-end");
+            promise.complete();
+        });
+        return promise.future();
+    }
+
+    @Test
+    public void testStepsRunAfterTheirDependencies(VertxTestContext context) {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        StepGraph<List<String>> graph = new StepGraph<List<String>>(vertx)
+                .step("a", log -> delayed(log, "a"))
+                .step("b", log -> delayed(log, "b"), "a")
+                .step("c", log -> delayed(log, "c"), "a")
+                .step("d", log -> delayed(log, "d"), "b", "c");
+
+        List<String> log = new CopyOnWriteArrayList<>();
+
+        Checkpoint async = context.checkpoint();
+        graph.execute(RECONCILIATION, log, 4, new MetricsStepTracer(metrics, "test.")).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(log.subList(0, 2), is(asList("a-start", "a-end")));
+            // b and c run concurrently
+            assertThat(log.subList(2, 4), is(asList("b-start", "c-start")));
+            assertThat(log.subList(6, 8), is(asList("d-start", "d-end")));
+            assertThat(metrics.meterRegistry().get("test.reconciliation.step.duration").tag("kind", "TestResource").tag("step", "d").tag("outcome", "success").timer().count(), is(1L));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testConcurrencyIsBounded(VertxTestContext context) {
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+
+        StepGraph<Void> graph = new StepGraph<>(vertx);
+        for (int i = 0; i < 10; i++) {
+            graph.step("step-" + i, ignored -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Promise<Void> promise = Promise.promise();
+                vertx.setTimer(5, t -> {
+                    running.decrementAndGet();
+                    promise.complete();
+                });
+                return promise.future();
+            });
+        }
+
+        Checkpoint async = context.checkpoint();
+        graph.execute(RECONCILIATION, null, 3, StepTracer.NOOP).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(maxRunning.get(), is(3));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testFailureStopsTheExecution(VertxTestContext context) {
+        List<String> log = new CopyOnWriteArrayList<>();
+        RuntimeException failure = new RuntimeException("failed");
+
+        StepGraph<List<String>> graph = new StepGraph<List<String>>(vertx)
+                .step("a", l -> delayed(l, "a"))
+                .step("b", l -> Future.failedFuture(failure))
+                .step("c", l -> delayed(l, "c"), "a", "b")
+                .step("d", l -> {
+                    throw new IllegalStateException("Should not be called");
+                }, "c");
+
+        Checkpoint async = context.checkpoint();
+        graph.execute(RECONCILIATION, log, 4, StepTracer.NOOP).onComplete(context.failing(e -> context.verify(() -> {
+            assertThat(e, is(failure));
+            // The running step completes before the execution fails
+            assertThat(log, is(asList("a-start", "a-end")));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testInvalidGraph() {
+        StepGraph<Void> graph = new StepGraph<Void>(vertx)
+                .step("a", ignored -> Future.succeededFuture());
+
+        assertThrows(IllegalArgumentException.class, () -> graph.step("a", ignored -> Future.succeededFuture()));
+        assertThrows(IllegalArgumentException.class, () -> graph.step("b", ignored -> Future.succeededFuture(), "c"));
+        assertThat(graph.stepNames(), is(asList("a")));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.strimzi.operator.common.MetricsTestUtils.createCleanMetricsProvider;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@ExtendWith(VertxExtension.class)
+public class WorkQueueTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Reconciliation reconciliation(String name) {
+        return new Reconciliation("test", "TestResource", "my-namespace", name);
+    }
+
+    /**
+     * Worker which completes the reconciliations only when the test completes their promises
+     */
+    private static class ControlledWorker {
+        private final Map<String, Promise<Void>> running = new ConcurrentHashMap<>();
+        private final List<String> started = new CopyOnWriteArrayList<>();
+
+        Future<Void> reconcile(Reconciliation reconciliation) {
+            Promise<Void> promise = Promise.promise();
+            running.put(reconciliation.name(), promise);
+            started.add(reconciliation.name());
+            return promise.future();
+        }
+
+        void complete(String name) {
+            running.remove(name).complete();
+        }
+
+        void fail(String name) {
+            running.remove(name).fail(new RuntimeException("failed"));
+        }
+    }
+
+    @Test
+    public void testDuplicatesAreMerged(VertxTestContext context) {
+        MetricsProvider metrics = createCleanMetricsProvider();
+        ControlledWorker worker = new ControlledWorker();
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", metrics, "test.", 10, 0, worker::reconcile);
+
+        Future<Void> first = queue.enqueue(reconciliation("a"));
+        // "a" is running, so these wait for the first one to complete and are merged together
+        Future<Void> second = queue.enqueue(reconciliation("a"));
+        Future<Void> third = queue.enqueue(reconciliation("a"));
+
+        assertThat(worker.started.size(), is(1));
+        assertThat(queue.size(), is(1));
+
+        worker.complete("a");
+
+        assertThat(first.succeeded(), is(true));
+        assertThat(second.isComplete(), is(false));
+        assertThat(worker.started.size(), is(2));
+        assertThat(queue.size(), is(0));
+
+        worker.complete("a");
+
+        assertThat(second.succeeded(), is(true));
+        assertThat(third.succeeded(), is(true));
+        assertThat(worker.started.size(), is(2));
+        assertThat(metrics.meterRegistry().get("test.reconciliations.merged").tag("kind", "TestResource").counter().count(), is(1.0));
+        context.completeNow();
+    }
+
+    @Test
+    public void testWorkersLimitConcurrentReconciliations(VertxTestContext context) {
+        ControlledWorker worker = new ControlledWorker();
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", createCleanMetricsProvider(), "test.", 2, 0, worker::reconcile);
+
+        queue.enqueue(reconciliation("a"));
+        queue.enqueue(reconciliation("b"));
+        queue.enqueue(reconciliation("c"));
+        queue.enqueue(reconciliation("d"));
+
+        assertThat(worker.started, is(asList("a", "b")));
+        assertThat(queue.size(), is(2));
+
+        worker.complete("b");
+        assertThat(worker.started, is(asList("a", "b", "c")));
+
+        worker.fail("a");
+        assertThat(worker.started, is(asList("a", "b", "c", "d")));
+        assertThat(queue.size(), is(0));
+        context.completeNow();
+    }
+
+    @Test
+    public void testPrioritizedReconciliationsStartFirst(VertxTestContext context) {
+        MetricsProvider metrics = createCleanMetricsProvider();
+        ControlledWorker worker = new ControlledWorker();
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", metrics, "test.", 1, 0, worker::reconcile);
+
+        queue.enqueue(reconciliation("a"));
+        queue.enqueue(reconciliation("b"));
+        queue.enqueue(reconciliation("c"), true);
+        // Merged with the queued reconciliation, which becomes prioritized
+        queue.enqueue(reconciliation("d"));
+        queue.enqueue(reconciliation("d"), true);
+
+        worker.complete("a");
+        assertThat(worker.started, is(asList("a", "c")));
+
+        worker.complete("c");
+        assertThat(worker.started, is(asList("a", "c", "d")));
+
+        worker.complete("d");
+        assertThat(worker.started, is(asList("a", "c", "d", "b")));
+
+        assertThat(metrics.meterRegistry().get("test.reconciliations.lag").tag("kind", "TestResource").timer().count(), is(4L));
+        context.completeNow();
+    }
+
+    @Test
+    public void testFailedResourcesAreBackedOff(VertxTestContext context) {
+        ControlledWorker worker = new ControlledWorker();
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", createCleanMetricsProvider(), "test.", 10, 0, 200, 1_000, worker::reconcile);
+
+        queue.enqueue(reconciliation("a"));
+        worker.fail("a");
+
+        long start = System.currentTimeMillis();
+        Checkpoint async = context.checkpoint();
+
+        queue.enqueue(reconciliation("a")).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(200L));
+            async.flag();
+        })));
+
+        // Other resources are not affected by the back-off
+        queue.enqueue(reconciliation("b"));
+        assertThat(worker.started, is(asList("a", "b")));
+        worker.complete("b");
+
+        vertx.setTimer(500, id -> context.verify(() -> {
+            assertThat(worker.started, is(asList("a", "b", "a")));
+            worker.complete("a");
+        }));
+    }
+
+    @Test
+    public void testRateLimit(VertxTestContext context) {
+        AtomicInteger started = new AtomicInteger(0);
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", createCleanMetricsProvider(), "test.", 1, 5, reconciliation -> {
+            started.incrementAndGet();
+            return Future.succeededFuture();
+        });
+
+        long start = System.currentTimeMillis();
+        List<Future> futures = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            futures.add(queue.enqueue(reconciliation("resource-" + i)));
+        }
+
+        // The bucket starts full with 5 tokens
+        assertThat(started.get(), is(5));
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.join(futures).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(started.get(), is(7));
+            // 2 more tokens at 5 per second
+            assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(400L));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testFailuresOfDeletedResourcesAreForgotten(VertxTestContext context) {
+        ControlledWorker worker = new ControlledWorker();
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", createCleanMetricsProvider(), "test.", 3, 0, worker::reconcile);
+
+        queue.enqueue(reconciliation("a"));
+        queue.enqueue(reconciliation("b"));
+        queue.enqueue(reconciliation("c"));
+        worker.fail("a");
+        worker.fail("b");
+        assertThat(queue.failures(), is(2));
+
+        queue.forget(new NamespaceAndName("my-namespace", "a"));
+        assertThat(queue.failures(), is(1));
+
+        queue.forgetIf(ref -> "b".equals(ref.getName()));
+        assertThat(queue.failures(), is(0));
+
+        // "c" was deleted while it was being reconciled
+        queue.forget(new NamespaceAndName("my-namespace", "c"));
+        worker.fail("c");
+        assertThat(queue.failures(), is(0));
+        context.completeNow();
+    }
+
+    @Test
+    public void testBackoff() {
+        WorkQueue queue = new WorkQueue(vertx, "TestResource", createCleanMetricsProvider(), "test.", 1, 0, 200, 1_000, reconciliation -> Future.succeededFuture());
+
+        assertThat(queue.backoffMs(1), is(200L));
+        assertThat(queue.backoffMs(2), is(400L));
+        assertThat(queue.backoffMs(3), is(800L));
+        assertThat(queue.backoffMs(4), is(1_000L));
+        assertThat(queue.backoffMs(100), is(1_000L));
+    }
+}
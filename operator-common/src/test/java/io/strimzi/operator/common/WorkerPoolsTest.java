@@ -0,0 +1,129 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(VertxExtension.class)
+public class WorkerPoolsTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @AfterEach
+    public void resetPools() {
+        WorkerPools.configure(Collections.emptyMap(), null);
+    }
+
+    @Test
+    public void testParseSizes() {
+        assertThat(WorkerPools.parseSizes(null).isEmpty(), is(true));
+        assertThat(WorkerPools.parseSizes(" ").isEmpty(), is(true));
+
+        Map<WorkerPools.Pool, Integer> sizes = WorkerPools.parseSizes("kube-read=20, crypto = 4");
+        assertThat(sizes.size(), is(2));
+        assertThat(sizes.get(WorkerPools.Pool.KUBE_READ), is(20));
+        assertThat(sizes.get(WorkerPools.Pool.CRYPTO), is(4));
+
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parseSizes("kube-read"));
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parseSizes("kube-read=many"));
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parseSizes("kube-read=-1"));
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parseSizes("unknown=1"));
+    }
+
+    @Test
+    public void testConfigure() {
+        WorkerPools.configure(WorkerPools.parseSizes("zookeeper=7"), null);
+
+        assertThat(WorkerPools.size(WorkerPools.Pool.ZOOKEEPER), is(7));
+        assertThat(WorkerPools.size(WorkerPools.Pool.KUBE_READ), is(WorkerPools.Pool.KUBE_READ.defaultSize()));
+    }
+
+    @Test
+    public void testExecuteBlockingRunsInNamedPoolAndRecordsMetrics(VertxTestContext context) {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        WorkerPools.configure(Collections.emptyMap(), metrics);
+
+        Checkpoint async = context.checkpoint();
+        WorkerPools.<String>executeBlocking(vertx, WorkerPools.Pool.KAFKA_ADMIN,
+            future -> future.complete(Thread.currentThread().getName()),
+            context.succeeding(threadName -> context.verify(() -> {
+                assertThat(threadName, startsWith("strimzi-kafka-admin"));
+                assertThat(metrics.meterRegistry().get("strimzi.worker.pool.task.duration").tag("pool", "kafka-admin").timer().count(), is(1L));
+                assertThat(metrics.meterRegistry().get("strimzi.worker.pool.queue.wait").tag("pool", "kafka-admin").timer().count(), is(1L));
+                assertThat(metrics.meterRegistry().get("strimzi.worker.pool.active").tag("pool", "kafka-admin").gauge().value(), is(0.0));
+                assertThat(metrics.meterRegistry().get("strimzi.worker.pool.queued").tag("pool", "kafka-admin").gauge().value(), is(0.0));
+                assertThat(metrics.meterRegistry().get("strimzi.worker.pool.size").tag("pool", "kafka-admin").gauge().value(), is(4.0));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testInvokeAllRunsTasksInParallelAndRecordsMetrics() throws Exception {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        WorkerPools.configure(WorkerPools.parseSizes("crypto-batch=3"), metrics);
+
+        // Each task waits for the other ones, so this completes only when all of them run at the same time
+        CountDownLatch running = new CountDownLatch(3);
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String result = "task-" + i;
+            tasks.add(() -> {
+                running.countDown();
+                assertThat(running.await(10, TimeUnit.SECONDS), is(true));
+                assertThat(Thread.currentThread().getName(), startsWith("strimzi-crypto-batch"));
+                return result;
+            });
+        }
+
+        assertThat(WorkerPools.invokeAll(WorkerPools.Pool.CRYPTO_BATCH, tasks), is(asList("task-0", "task-1", "task-2")));
+        assertThat(metrics.meterRegistry().get("strimzi.worker.pool.batch.duration").tag("pool", "crypto-batch").timer().count(), is(1L));
+        assertThat(metrics.meterRegistry().get("strimzi.worker.pool.batch.tasks").tag("pool", "crypto-batch").counter().count(), is(3.0));
+        assertThat(metrics.meterRegistry().get("strimzi.worker.pool.task.duration").tag("pool", "crypto-batch").timer().count(), is(3L));
+        assertThat(metrics.meterRegistry().get("strimzi.worker.pool.queued").tag("pool", "crypto-batch").gauge().value(), is(0.0));
+    }
+
+    @Test
+    public void testInvokeAllFailsWhenATaskFails() {
+        List<Callable<String>> tasks = asList(() -> "ok", () -> {
+            throw new IOException("failed");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> WorkerPools.invokeAll(WorkerPools.Pool.CRYPTO_BATCH, tasks));
+        assertThat(e.getCause().getMessage(), is("failed"));
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -86,8 +87,11 @@ public abstract class AbstractResourceOperatorTest<C extends KubernetesClient, T
 
     public void createWhenExistsIsAPatch(VertxTestContext context, boolean cascade) {
         T resource = resource();
+        // Equivalent resources are not patched, so the current resource has to differ
+        T current = resource();
+        current.getMetadata().setAnnotations(singletonMap("test.strimzi.io/changed", "true"));
         Resource mockResource = mock(resourceType());
-        when(mockResource.get()).thenReturn(resource);
+        when(mockResource.get()).thenReturn(current);
         when(mockResource.cascading(cascade)).thenReturn(mockResource);
         when(mockResource.patch(any())).thenReturn(resource);
 
@@ -11,7 +11,11 @@ import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.openshift.client.server.mock.OpenShiftServer;
@@ -22,12 +26,20 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PodOperatorTest extends
@@ -97,6 +109,100 @@ public class PodOperatorTest extends
         });
     }
 
+    @Test
+    public void testReadinessCompletesOnWatchEvent(VertxTestContext context) {
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(resource());
+        when(mockResource.isReady()).thenReturn(Boolean.FALSE);
+
+        AtomicReference<Watcher<Pod>> watcher = new AtomicReference<>();
+        Watch mockWatch = mock(Watch.class);
+        when(mockResource.watch(any())).thenAnswer(invocation -> {
+            watcher.set(invocation.getArgument(0));
+            return mockWatch;
+        });
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        mocker(mockClient, mockCms);
+
+        PodOperator op = createResourceOperations(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        // The poll interval is longer than the timeout, so only the watch can complete the readiness
+        op.readiness(NAMESPACE, RESOURCE_NAME, 60_000, 10_000)
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                // Checked only once when the watch was opened
+                verify(mockResource, times(1)).isReady();
+                verify(mockWatch, timeout(1_000)).close();
+                async.flag();
+            })));
+
+        vertx.setPeriodic(20, timerId -> {
+            if (watcher.get() != null) {
+                vertx.cancelTimer(timerId);
+                watcher.get().eventReceived(Watcher.Action.MODIFIED, resource());
+                watcher.get().eventReceived(Watcher.Action.MODIFIED, readyPod());
+            }
+        });
+    }
+
+    @Test
+    public void testReadinessFallsBackToPollingWhenWatchFails(VertxTestContext context) {
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(resource());
+        AtomicInteger count = new AtomicInteger();
+        when(mockResource.isReady()).then(invocation -> count.getAndIncrement() >= 2);
+
+        AtomicReference<Watcher<Pod>> watcher = new AtomicReference<>();
+        when(mockResource.watch(any())).thenAnswer(invocation -> {
+            watcher.set(invocation.getArgument(0));
+            return mock(Watch.class);
+        });
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        mocker(mockClient, mockCms);
+
+        PodOperator op = createResourceOperations(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        op.readiness(NAMESPACE, RESOURCE_NAME, 20, 10_000)
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                verify(mockResource, times(3)).isReady();
+                async.flag();
+            })));
+
+        vertx.setPeriodic(20, timerId -> {
+            // Close the watch once the initial check was done
+            if (watcher.get() != null && count.get() > 0) {
+                vertx.cancelTimer(timerId);
+                watcher.get().onClose(new KubernetesClientException("Watch closed"));
+            }
+        });
+    }
+
+    private Pod readyPod() {
+        return new PodBuilder(resource())
+                .withNewStatus()
+                    .addNewCondition()
+                        .withType("Ready")
+                        .withStatus("True")
+                    .endCondition()
+                .endStatus()
+                .build();
+    }
+
     @Override
     protected Class clientType() {
         return KubernetesClient.class;
@@ -0,0 +1,225 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapList;
+import io.fabric8.kubernetes.api.model.ConfigMapListBuilder;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ResourceCacheTest {
+    private static ConfigMap configMap(String namespace, String name, String resourceVersion, String app) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                    .withNamespace(namespace)
+                    .withName(name)
+                    .withResourceVersion(resourceVersion)
+                    .withLabels(singletonMap("app", app))
+                .endMetadata()
+                .addToData("key", "value-" + resourceVersion)
+                .build();
+    }
+
+    private static ConfigMapList list(String resourceVersion, ConfigMap... items) {
+        return new ConfigMapListBuilder()
+                .withNewMetadata()
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .withItems(items)
+                .build();
+    }
+
+    @Test
+    public void testStartListsAndWatchesFromListVersion() {
+        List<String> watchedFrom = new ArrayList<>();
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> list("10", configMap("ns", "a", "5", "foo"), configMap("ns", "b", "6", "bar")),
+            (resourceVersion, watcher) -> {
+                watchedFrom.add(resourceVersion);
+                return mock(Watch.class);
+            });
+
+        assertThat(cache.isSynced(), is(false));
+        cache.start();
+
+        assertThat(cache.isSynced(), is(true));
+        assertThat(watchedFrom.get(0), is("10"));
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-5"));
+        assertThat(cache.get("ns", "b").getData().get("key"), is("value-6"));
+        assertThat(cache.get("ns", "c"), is(nullValue()));
+        assertThat(cache.get("other", "a"), is(nullValue()));
+        assertThat(cache.covers("ns"), is(true));
+        assertThat(cache.covers("other"), is(false));
+    }
+
+    @Test
+    public void testWatchEventsUpdateTheCache() {
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "*",
+            () -> list("10", configMap("ns", "a", "5", "foo")),
+            (resourceVersion, watcher) -> mock(Watch.class));
+        cache.start();
+
+        cache.eventReceived(Watcher.Action.ADDED, configMap("ns2", "b", "11", "foo"));
+        cache.eventReceived(Watcher.Action.MODIFIED, configMap("ns", "a", "12", "foo"));
+
+        assertThat(cache.covers("ns2"), is(true));
+        assertThat(cache.get("ns2", "b").getData().get("key"), is("value-11"));
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-12"));
+        assertThat(cache.list("*", cm -> true).size(), is(2));
+        assertThat(cache.list("ns", cm -> true).size(), is(1));
+
+        cache.eventReceived(Watcher.Action.DELETED, configMap("ns", "a", "13", "foo"));
+        assertThat(cache.get("ns", "a"), is(nullValue()));
+        assertThat(cache.list("*", cm -> true).size(), is(1));
+    }
+
+    @Test
+    public void testUpdateIgnoresOlderVersions() {
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> list("10", configMap("ns", "a", "8", "foo")),
+            (resourceVersion, watcher) -> mock(Watch.class));
+        cache.start();
+
+        cache.update(configMap("ns", "a", "7", "foo"));
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-8"));
+
+        cache.update(configMap("ns", "a", "9", "foo"));
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-9"));
+
+        cache.remove("ns", "a");
+        assertThat(cache.get("ns", "a"), is(nullValue()));
+    }
+
+    @Test
+    public void testWatchEventsIgnoreOlderVersions() {
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> list("10", configMap("ns", "a", "8", "foo")),
+            (resourceVersion, watcher) -> mock(Watch.class));
+        cache.start();
+
+        // The write returned a newer version than the late watch event
+        cache.update(configMap("ns", "a", "12", "foo"));
+        cache.eventReceived(Watcher.Action.MODIFIED, configMap("ns", "a", "11", "foo"));
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-12"));
+
+        cache.eventReceived(Watcher.Action.MODIFIED, configMap("ns", "a", "13", "foo"));
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-13"));
+    }
+
+    @Test
+    public void testCallersGetCopies() {
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> list("10", configMap("ns", "a", "8", "foo")),
+            (resourceVersion, watcher) -> mock(Watch.class));
+        cache.start();
+
+        cache.get("ns", "a").getData().put("key", "modified");
+        cache.list("ns", cm -> true).get(0).getData().put("key", "modified");
+
+        assertThat(cache.get("ns", "a").getData().get("key"), is("value-8"));
+    }
+
+    @Test
+    public void testWatchClosedWithErrorResyncs() {
+        AtomicInteger lists = new AtomicInteger(0);
+        Watch watch = mock(Watch.class);
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> lists.incrementAndGet() == 1 ? list("10", configMap("ns", "a", "8", "foo")) : list("20", configMap("ns", "b", "15", "foo")),
+            (resourceVersion, watcher) -> watch);
+        cache.start();
+
+        cache.onClose(new KubernetesClientException("Too old resource version"));
+
+        verify(watch).close();
+        assertThat(lists.get(), is(2));
+        assertThat(cache.isSynced(), is(true));
+        assertThat(cache.get("ns", "a"), is(nullValue()));
+        assertThat(cache.get("ns", "b").getData().get("key"), is("value-15"));
+    }
+
+    @Test
+    public void testResyncRunsOnTheResyncExecutor() {
+        AtomicInteger lists = new AtomicInteger(0);
+        List<Runnable> resyncs = new ArrayList<>();
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> lists.incrementAndGet() == 1 ? list("10", configMap("ns", "a", "8", "foo")) : list("20", configMap("ns", "b", "15", "foo")),
+            (resourceVersion, watcher) -> mock(Watch.class),
+            resyncs::add);
+        cache.start();
+
+        cache.onClose(new KubernetesClientException("Too old resource version"));
+
+        // Not re-listed on the thread of the watch
+        assertThat(lists.get(), is(1));
+        assertThat(resyncs.size(), is(1));
+
+        resyncs.get(0).run();
+        assertThat(lists.get(), is(2));
+        assertThat(cache.get("ns", "b").getData().get("key"), is("value-15"));
+    }
+
+    @Test
+    public void testClose() {
+        Watch watch = mock(Watch.class);
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> list("10", configMap("ns", "a", "8", "foo")),
+            (resourceVersion, watcher) -> watch);
+        cache.start();
+        cache.close();
+
+        verify(watch).close();
+        assertThat(cache.isSynced(), is(false));
+        assertThat(cache.get("ns", "a"), is(nullValue()));
+    }
+
+    @Test
+    public void testLabelSelectors() {
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap", "ns",
+            () -> list("10", configMap("ns", "a", "5", "foo"), configMap("ns", "b", "6", "bar"), configMap("ns", "c", "7", "baz")),
+            (resourceVersion, watcher) -> mock(Watch.class));
+        cache.start();
+
+        assertThat(cache.list("ns", cm -> ResourceCache.matches(cm, singletonMap("app", "foo"))).size(), is(1));
+        assertThat(cache.list("ns", cm -> ResourceCache.matches(cm, (LabelSelector) null)).size(), is(3));
+
+        LabelSelector in = new LabelSelectorBuilder()
+                .addNewMatchExpression().withKey("app").withOperator("In").withValues("foo", "bar").endMatchExpression()
+                .build();
+        assertThat(cache.list("ns", cm -> ResourceCache.matches(cm, in)).size(), is(2));
+
+        LabelSelector notIn = new LabelSelectorBuilder()
+                .addNewMatchExpression().withKey("app").withOperator("NotIn").withValues("foo", "bar").endMatchExpression()
+                .build();
+        assertThat(cache.list("ns", cm -> ResourceCache.matches(cm, notIn)).size(), is(1));
+
+        LabelSelector doesNotExist = new LabelSelectorBuilder()
+                .addNewMatchExpression().withKey("app").withOperator("DoesNotExist").endMatchExpression()
+                .build();
+        assertThat(cache.list("ns", cm -> ResourceCache.matches(cm, doesNotExist)).size(), is(0));
+
+        LabelSelector labelsAndExists = new LabelSelectorBuilder()
+                .withMatchLabels(singletonMap("app", "baz"))
+                .addNewMatchExpression().withKey("app").withOperator("Exists").endMatchExpression()
+                .build();
+        assertThat(cache.list("ns", cm -> ResourceCache.matches(cm, labelsAndExists)).size(), is(1));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ResourceDiffTest {
+    private Service service() {
+        return new ServiceBuilder()
+                .withNewMetadata()
+                    .withName("my-service")
+                    .withNamespace("my-namespace")
+                    .withLabels(singletonMap("app", "kafka"))
+                .endMetadata()
+                .withNewSpec()
+                    .withType("ClusterIP")
+                    .addNewPort()
+                        .withName("tcp")
+                        .withPort(9092)
+                        .withProtocol("TCP")
+                    .endPort()
+                .endSpec()
+                .build();
+    }
+
+    private Service fromServer() {
+        return new ServiceBuilder(service())
+                .editMetadata()
+                    .withResourceVersion("1234")
+                    .withUid("2a4f5bb8-1d4c-4c7a-9f43-2a7a3d3b0c1e")
+                    .withSelfLink("/api/v1/namespaces/my-namespace/services/my-service")
+                    .withCreationTimestamp("2020-06-01T00:00:00Z")
+                .endMetadata()
+                .editSpec()
+                    .withClusterIP("10.0.0.1")
+                    .withSessionAffinity("None")
+                .endSpec()
+                .withNewStatus()
+                    .withNewLoadBalancer()
+                    .endLoadBalancer()
+                .endStatus()
+                .build();
+    }
+
+    @Test
+    public void testEqualResources() {
+        assertThat(new ResourceDiff("Service", "my-service", service(), service()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testFieldsMaintainedByServerAreIgnored() {
+        Service current = fromServer();
+        current.getSpec().setClusterIP(null);
+        current.getSpec().setSessionAffinity(null);
+
+        assertThat(new ResourceDiff("Service", "my-service", current, service()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDefaultedFieldsAreIgnoredOnlyWhenListed() {
+        assertThat(new ResourceDiff("Service", "my-service", fromServer(), service()).isEmpty(), is(false));
+        assertThat(new ResourceDiff("Service", "my-service", fromServer(), service(),
+                ResourceDiff.ignorablePaths(ResourceDiff.DEFAULT_IGNORABLE_FIELDS + "|/spec/clusterIP|/spec/sessionAffinity")).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testChangesAreDetected() {
+        Service desired = service();
+        desired.getMetadata().setLabels(singletonMap("app", "zookeeper"));
+        assertThat(new ResourceDiff("Service", "my-service", fromServer(), desired).isEmpty(), is(false));
+
+        desired = service();
+        desired.getSpec().getPorts().get(0).setPort(9093);
+        assertThat(new ResourceDiff("Service", "my-service", fromServer(), desired).isEmpty(), is(false));
+
+        // Removed annotation
+        Service current = service();
+        current.getMetadata().setAnnotations(singletonMap("foo", "bar"));
+        assertThat(new ResourceDiff("Service", "my-service", current, service()).isEmpty(), is(false));
+    }
+}
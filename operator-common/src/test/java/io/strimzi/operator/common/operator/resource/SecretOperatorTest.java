@@ -9,15 +9,187 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.Deletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MetricsTestUtils;
 import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
 
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SecretOperatorTest extends AbstractResourceOperatorTest<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> {
 
+    @Test
+    public void testReconcileOfEquivalentResourceIsANoop(VertxTestContext context) {
+        // The fields set by the Kubernetes API server do not make a difference
+        Secret current = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("42")
+                    .withUid("9c3c7a83-e0b8-4d6b-a1a6-ff2d5d4a3a5e")
+                    .withCreationTimestamp("2020-06-01T00:00:00Z")
+                .endMetadata()
+                .withType("Opaque")
+                .build();
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(current);
+        when(mockResource.cascading(anyBoolean())).thenReturn(mockResource);
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        mocker(mockClient, mockCms);
+
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> op = createResourceOperations(vertx, mockClient);
+        op.enableMetrics(metrics);
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource()).onComplete(context.succeeding(rr -> context.verify(() -> {
+            assertThat(rr, instanceOf(ReconcileResult.Noop.class));
+            verify(mockResource, never()).patch(any());
+            assertThat(metrics.meterRegistry().get("strimzi.resource.reconciliations")
+                    .tag("kind", "Secret").tag("result", "noop").counter().count(), is(1.0));
+            assertThat(metrics.meterRegistry().get("strimzi.resource.reconciliations")
+                    .tag("kind", "Secret").tag("result", "patched").counter().count(), is(0.0));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testReconcileOfUnchangedDesiredResourceIsANoopUntilChangedByOthers(VertxTestContext context) {
+        Secret current = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("1")
+                    .withAnnotations(singletonMap("test.strimzi.io/changed", "true"))
+                .endMetadata()
+                .build();
+
+        // An admission webhook added an annotation which the operator does not know about
+        Secret patched = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("2")
+                    .withAnnotations(singletonMap("test.strimzi.io/webhook", "true"))
+                .endMetadata()
+                .build();
+
+        Secret changedByOthers = new SecretBuilder(patched)
+                .editMetadata()
+                    .withResourceVersion("3")
+                .endMetadata()
+                .build();
+
+        Secret repatched = new SecretBuilder(patched)
+                .editMetadata()
+                    .withResourceVersion("4")
+                .endMetadata()
+                .build();
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(current, patched, changedByOthers);
+        when(mockResource.cascading(anyBoolean())).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenReturn(patched, repatched);
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        mocker(mockClient, mockCms);
+
+        AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> op = createResourceOperations(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .compose(rr -> {
+                context.verify(() -> assertThat(rr, instanceOf(ReconcileResult.Patched.class)));
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .compose(rr -> {
+                // The resource version did not change since the last patch => the diff is skipped
+                context.verify(() -> {
+                    assertThat(rr, instanceOf(ReconcileResult.Noop.class));
+                    verify(mockResource, times(1)).patch(any());
+                });
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .onComplete(context.succeeding(rr -> context.verify(() -> {
+                // The resource was changed by someone else => it is diffed and patched again
+                assertThat(rr, instanceOf(ReconcileResult.Patched.class));
+                verify(mockResource, times(2)).patch(any());
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testFingerprintIsForgottenWhenResourceIsDeleted(VertxTestContext context) {
+        Secret current = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("1")
+                    .withAnnotations(singletonMap("test.strimzi.io/changed", "true"))
+                .endMetadata()
+                .build();
+
+        Secret patched = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("2")
+                .endMetadata()
+                .build();
+
+        Deletable mockDeletable = mock(Deletable.class);
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(current, patched);
+        when(mockResource.cascading(anyBoolean())).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenReturn(patched);
+        when(mockResource.withGracePeriod(anyLong())).thenReturn(mockDeletable);
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        mocker(mockClient, mockCms);
+
+        AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> op = createResourceOperations(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .compose(rr -> {
+                context.verify(() -> assertThat(op.fingerprints(), is(1)));
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, null);
+            })
+            .onComplete(context.succeeding(rr -> context.verify(() -> {
+                verify(mockDeletable).delete();
+                assertThat(op.fingerprints(), is(0));
+                async.flag();
+            })));
+    }
 
     @Override
     protected Class<KubernetesClient> clientType() {
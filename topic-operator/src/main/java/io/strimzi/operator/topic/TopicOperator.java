@@ -17,6 +17,7 @@ import io.strimzi.api.kafka.model.KafkaTopicBuilder;
 import io.strimzi.api.kafka.model.status.KafkaTopicStatus;
 import io.strimzi.operator.cluster.model.StatusDiff;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.KeyedLock;
 import io.strimzi.operator.common.MaxAttemptsExceededException;
 import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.operator.resource.StatusUtils;
@@ -39,9 +40,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.disjoint;
@@ -60,7 +59,7 @@ class TopicOperator {
     private final String namespace;
     private TopicStore topicStore;
     private final Config config;
-    private final ConcurrentHashMap<TopicName, Integer> inflight = new ConcurrentHashMap<>();
+    private final KeyedLock<TopicName> topicLocks;
 
     protected final MetricsProvider metrics;
     private Counter periodicReconciliationsCounter;
@@ -384,6 +383,7 @@ class TopicOperator {
         this.namespace = namespace;
         this.config = config;
         this.metrics = metrics;
+        this.topicLocks = new KeyedLock<>(vertx, "KafkaTopic", metrics, METRICS_PREFIX);
 
         initMetrics();
     }
@@ -438,39 +438,15 @@ class TopicOperator {
      * which will complete the returned future
      */
     public Future<Void> executeWithTopicLockHeld(LogContext logContext, TopicName key, Reconciliation action) {
-        String lockName = key.toString();
         int timeoutMs = 30 * 1_000;
         Promise<Void> result = Promise.promise();
-        BiFunction<TopicName, Integer, Integer> decrement = (topicName, waiters) -> {
-            if (waiters != null) {
-                if (waiters == 1) {
-                    LOGGER.debug("{}: Removing last waiter {}", logContext, action);
-                    return null;
-                } else {
-                    LOGGER.debug("{}: Removing waiter {}, {} waiters left", logContext, action, waiters - 1);
-                    return waiters - 1;
-                }
-            } else {
-                LOGGER.error("{}: Assertion failure. topic {}, action {}", logContext, lockName, action);
-                return null;
-            }
-        };
-        LOGGER.debug("{}: Queuing action {} on topic {}", logContext, action, lockName);
-        inflight.compute(key, (topicName, waiters) -> {
-            if (waiters == null) {
-                LOGGER.debug("{}: Adding first waiter {}", logContext, action);
-                return 1;
-            } else {
-                LOGGER.debug("{}: Adding waiter {}: {}", logContext, action, waiters + 1);
-                return waiters + 1;
-            }
-        });
-        vertx.sharedData().getLockWithTimeout(lockName, timeoutMs, lockResult -> {
+        LOGGER.debug("{}: Queuing action {} on topic {}", logContext, action, key);
+        topicLocks.acquire(key, timeoutMs).onComplete(lockResult -> {
             if (lockResult.succeeded()) {
                 LOGGER.debug("{}: Lock acquired", logContext);
-                LOGGER.debug("{}: Executing action {} on topic {}", logContext, action, lockName);
+                LOGGER.debug("{}: Executing action {} on topic {}", logContext, action, key);
                 action.execute().onComplete(actionResult -> {
-                    LOGGER.debug("{}: Executing handler for action {} on topic {}", logContext, action, lockName);
+                    LOGGER.debug("{}: Executing handler for action {} on topic {}", logContext, action, key);
                     action.result = actionResult;
                     // Update status with lock held so that event is ignored via statusUpdateGeneration
                     action.updateStatus(logContext).onComplete(statusResult -> {
@@ -488,18 +464,13 @@ class TopicOperator {
                         } finally {
                             lockResult.result().release();
                             LOGGER.debug("{}: Lock released", logContext);
-                            inflight.compute(key, decrement);
                         }
                     });
                 });
             } else {
                 lockedReconciliationsCounter.increment();
                 LOGGER.warn("{}: Lock not acquired within {}ms: action {} will not be run", logContext, timeoutMs, action);
-                try {
-                    result.handle(Future.failedFuture("Failed to acquire lock for topic " + lockName + " after " + timeoutMs + "ms. Not executing action " + action));
-                } finally {
-                    inflight.compute(key, decrement);
-                }
+                result.handle(Future.failedFuture("Failed to acquire lock for topic " + key + " after " + timeoutMs + "ms. Not executing action " + action));
             }
         });
         return result.future();
@@ -1173,8 +1144,8 @@ class TopicOperator {
     }
 
     public boolean isWorkInflight() {
-        LOGGER.debug("Outstanding: {}", inflight);
-        return inflight.size() > 0;
+        LOGGER.debug("Outstanding: {}", topicLocks.size());
+        return topicLocks.size() > 0;
     }
 
     /**
@@ -0,0 +1,161 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.MetricsProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.security.KeyPair;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <p>A bounded pool of key pairs generated in advance by a background thread, so that issuing the certificate of a
+ * user only has to sign it instead of generating an RSA key first. The thread refills the pool as soon as a key pair is
+ * taken. When the pool is empty (e.g. when many users are created at once), the key pair is generated by the caller.
+ * When the generation of a key pair fails, the thread retries it after an exponentially increasing delay of up to a
+ * minute, and the key pairs are generated by the callers in the meantime.</p>
+ *
+ * <p>The pool has the following metrics: the number of key pairs available ({@code key.pair.pool.available}), the
+ * number of key pairs taken from the pool ({@code key.pair.pool.requests} tagged with {@code result=hit}) and
+ * generated by the caller because the pool was empty ({@code result=miss}), and the time between a key pair being
+ * taken and its replacement being available ({@code key.pair.pool.refill.lag}).</p>
+ */
+public class KeyPairPool implements Supplier<KeyPair> {
+    private static final Logger log = LogManager.getLogger(KeyPairPool.class);
+
+    static final String METRICS_PREFIX = AbstractOperator.METRICS_PREFIX + "key.pair.pool.";
+    static final long INITIAL_RETRY_DELAY_MS = 1_000;
+    static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final Supplier<KeyPair> generator;
+    private final BlockingQueue<KeyPair> keyPairs;
+    private final Queue<Long> takenAtNanos = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger available;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refillLag;
+    private final Thread refiller;
+    private final long initialRetryDelayMs;
+    private final long maxRetryDelayMs;
+
+    /**
+     * @param size      The maximum number of key pairs in the pool
+     * @param generator Generates the key pairs
+     * @param metrics   The metrics provider
+     */
+    public KeyPairPool(int size, Supplier<KeyPair> generator, MetricsProvider metrics) {
+        this(size, generator, metrics, INITIAL_RETRY_DELAY_MS, MAX_RETRY_DELAY_MS);
+    }
+
+    /**
+     * @param size                  The maximum number of key pairs in the pool
+     * @param generator             Generates the key pairs
+     * @param metrics               The metrics provider
+     * @param initialRetryDelayMs   The delay before retrying a failed generation
+     * @param maxRetryDelayMs       The maximum delay before retrying a generation which failed repeatedly
+     */
+    KeyPairPool(int size, Supplier<KeyPair> generator, MetricsProvider metrics, long initialRetryDelayMs, long maxRetryDelayMs) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The size of the key pair pool has to be positive");
+        }
+
+        this.generator = generator;
+        this.keyPairs = new ArrayBlockingQueue<>(size);
+        this.available = metrics.gauge(METRICS_PREFIX + "available",
+                "Number of key pairs available in the pool",
+                Tags.empty());
+        this.hits = metrics.counter(METRICS_PREFIX + "requests",
+                "Number of key pairs requested from the pool",
+                Tags.of("result", "hit"));
+        this.misses = metrics.counter(METRICS_PREFIX + "requests",
+                "Number of key pairs requested from the pool",
+                Tags.of("result", "miss"));
+        this.refillLag = metrics.timer(METRICS_PREFIX + "refill.lag",
+                "The time between a key pair being taken from the pool and its replacement being available",
+                Tags.empty());
+        this.refiller = new Thread(this::refill, "strimzi-key-pair-pool");
+        this.refiller.setDaemon(true);
+        this.initialRetryDelayMs = initialRetryDelayMs;
+        this.maxRetryDelayMs = maxRetryDelayMs;
+    }
+
+    /**
+     * Starts filling the pool in the background.
+     */
+    public void start() {
+        log.info("Starting the key pair pool with up to {} key pairs", keyPairs.remainingCapacity() + keyPairs.size());
+        refiller.start();
+    }
+
+    /**
+     * Stops filling the pool. The key pairs which are already in the pool are still used.
+     */
+    public void stop() {
+        refiller.interrupt();
+    }
+
+    private void refill() {
+        long retryDelayMs = initialRetryDelayMs;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                KeyPair keyPair;
+                try {
+                    keyPair = generator.get();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to generate a key pair, retrying in {}ms", retryDelayMs, e);
+                    Thread.sleep(retryDelayMs);
+                    retryDelayMs = Math.min(retryDelayMs * 2, maxRetryDelayMs);
+                    continue;
+                }
+                retryDelayMs = initialRetryDelayMs;
+
+                // Blocks while the pool is full
+                keyPairs.put(keyPair);
+
+                Long takenAt = takenAtNanos.poll();
+                if (takenAt != null) {
+                    refillLag.record(System.nanoTime() - takenAt, TimeUnit.NANOSECONDS);
+                }
+                available.set(keyPairs.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("Stopped refilling the key pair pool");
+    }
+
+    /**
+     * @return  A key pair from the pool, or a newly generated one if the pool is empty
+     */
+    @Override
+    public KeyPair get() {
+        // Recorded before the key pair is taken, so that the refill of its slot always finds it
+        Long takenAt = System.nanoTime();
+        takenAtNanos.add(takenAt);
+        KeyPair keyPair = keyPairs.poll();
+
+        if (keyPair != null) {
+            available.set(keyPairs.size());
+            hits.increment();
+            return keyPair;
+        } else {
+            takenAtNanos.remove(takenAt);
+            log.debug("The key pair pool is empty, generating a key pair");
+            misses.increment();
+            return generator.get();
+        }
+    }
+}
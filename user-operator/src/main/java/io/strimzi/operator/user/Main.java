@@ -12,10 +12,15 @@ import io.strimzi.api.kafka.Crds;
 import io.strimzi.api.kafka.KafkaUserList;
 import io.strimzi.api.kafka.model.DoneableKafkaUser;
 import io.strimzi.api.kafka.model.KafkaUser;
+import io.strimzi.certs.CertManager;
+import io.strimzi.certs.JavaCertManager;
 import io.strimzi.certs.OpenSslCertManager;
 import io.strimzi.operator.common.AdminClientProvider;
 import io.strimzi.operator.common.DefaultAdminClientProvider;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
 import io.strimzi.operator.common.operator.resource.SecretOperator;
 import io.strimzi.operator.user.operator.KafkaUserOperator;
@@ -34,6 +39,7 @@ import org.apache.kafka.clients.admin.Admin;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.security.SecureRandom;
 import java.security.Security;
 
 @SuppressFBWarnings("DM_EXIT")
@@ -81,9 +87,26 @@ public class Main {
         Util.printEnvInfo();
         String dnsCacheTtl = System.getenv("STRIMZI_DNS_CACHE_TTL") == null ? "30" : System.getenv("STRIMZI_DNS_CACHE_TTL");
         Security.setProperty("networkaddress.cache.ttl", dnsCacheTtl);
-
-        OpenSslCertManager certManager = new OpenSslCertManager();
+        MetricsProvider metricsProvider = new MicrometerMetricsProvider();
+        WorkerPools.configure(config.getWorkerPoolSizes(), metricsProvider);
+
+        CertManager certManager;
+        if (!config.isJavaCertManagerEnabled()) {
+            if (config.getKeyPairPoolSize() > 0) {
+                log.warn("{} is ignored, the key pair pool is only used when {} is true",
+                        UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE, UserOperatorConfig.STRIMZI_JAVA_CERT_MANAGER_ENABLED);
+            }
+            certManager = new OpenSslCertManager();
+        } else if (config.getKeyPairPoolSize() > 0) {
+            SecureRandom random = new SecureRandom();
+            KeyPairPool keyPairPool = new KeyPairPool(config.getKeyPairPoolSize(), () -> JavaCertManager.newKeyPair(random), metricsProvider);
+            keyPairPool.start();
+            certManager = new JavaCertManager(keyPairPool);
+        } else {
+            certManager = new JavaCertManager();
+        }
         SecretOperator secretOperations = new SecretOperator(vertx, client);
+        secretOperations.enableMetrics(metricsProvider);
         CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperations = new CrdOperator<>(vertx, client, KafkaUser.class, KafkaUserList.class, DoneableKafkaUser.class, Crds.kafkaUser());
         return createAdminClient(adminClientProvider, config, secretOperations)
                 .compose(adminClient -> {
@@ -95,7 +118,8 @@ public class Main {
                     KafkaUserOperator kafkaUserOperations = new KafkaUserOperator(vertx,
                             certManager, crdOperations,
                             config.getLabels(),
-                            secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace());
+                            secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace(),
+                            config.getReconciliationIntervalMs());
 
                     Promise<String> promise = Promise.promise();
                     UserOperator operator = new UserOperator(config.getNamespace(),
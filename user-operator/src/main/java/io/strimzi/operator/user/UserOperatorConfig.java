@@ -6,6 +6,7 @@ package io.strimzi.operator.user;
 
 import io.strimzi.api.kafka.model.CertificateAuthority;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 
 import java.util.Map;
@@ -28,11 +29,16 @@ public class UserOperatorConfig {
     public static final String STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS = "STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS";
     public static final String STRIMZI_CLIENTS_CA_VALIDITY = "STRIMZI_CA_VALIDITY";
     public static final String STRIMZI_CLIENTS_CA_RENEWAL = "STRIMZI_CA_RENEWAL";
+    public static final String STRIMZI_WORKER_POOL_SIZES = "STRIMZI_WORKER_POOL_SIZES";
+    public static final String STRIMZI_KEY_PAIR_POOL_SIZE = "STRIMZI_KEY_PAIR_POOL_SIZE";
+    public static final String STRIMZI_JAVA_CERT_MANAGER_ENABLED = "STRIMZI_JAVA_CERT_MANAGER_ENABLED";
 
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final String DEFAULT_KAFKA_BOOTSTRAP_SERVERS = "localhost:9091";
     public static final String DEFAULT_ZOOKEEPER_CONNECT = "localhost:2181";
     public static final long DEFAULT_ZOOKEEPER_SESSION_TIMEOUT_MS = 6_000;
+    public static final int DEFAULT_KEY_PAIR_POOL_SIZE = 0;
+    public static final boolean DEFAULT_JAVA_CERT_MANAGER_ENABLED = false;
 
     private final String namespace;
     private final long reconciliationIntervalMs;
@@ -45,6 +51,9 @@ public class UserOperatorConfig {
     private final String clusterCaCertSecretName;
     private final String eoKeySecretName;
     private final String caNamespace;
+    private final Map<WorkerPools.Pool, Integer> workerPoolSizes;
+    private final int keyPairPoolSize;
+    private final boolean javaCertManagerEnabled;
 
     /**
      * Constructor
@@ -60,6 +69,11 @@ public class UserOperatorConfig {
      * @param clusterCaCertSecretName Name of the secret containing the cluster Certification Authority certificate.
      * @param eoKeySecretName The name of the secret containing the Entity Operator key and certificate
      * @param caNamespace Namespace with the CA secret.
+     * @param workerPoolSizes Sizes of the worker pools used for blocking operations which differ from the defaults
+     * @param keyPairPoolSize Number of key pairs of user certificates generated in advance (0 to generate them on demand).
+     *                        Only used when the keys and certificates are generated in the JVM, the OpenSSL
+     *                        certificates manager always generates the keys on demand.
+     * @param javaCertManagerEnabled true to generate the keys and certificates in the JVM instead of with OpenSSL
      */
     @SuppressWarnings({"checkstyle:ParameterNumber"}) //TODO: to remove when removing the zookeeper related parameters
     public UserOperatorConfig(String namespace,
@@ -71,7 +85,10 @@ public class UserOperatorConfig {
                               String caKeySecretName,
                               String clusterCaCertSecretName,
                               String eoKeySecretName,
-                              String caNamespace) {
+                              String caNamespace,
+                              Map<WorkerPools.Pool, Integer> workerPoolSizes,
+                              int keyPairPoolSize,
+                              boolean javaCertManagerEnabled) {
         this.namespace = namespace;
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.kafkaBootstrapServers = kafkaBootstrapServers;
@@ -83,6 +100,9 @@ public class UserOperatorConfig {
         this.clusterCaCertSecretName = clusterCaCertSecretName;
         this.eoKeySecretName = eoKeySecretName;
         this.caNamespace = caNamespace;
+        this.workerPoolSizes = workerPoolSizes;
+        this.keyPairPoolSize = keyPairPoolSize;
+        this.javaCertManagerEnabled = javaCertManagerEnabled;
     }
 
     /**
@@ -150,8 +170,36 @@ public class UserOperatorConfig {
             caNamespace = namespace;
         }
 
+        Map<WorkerPools.Pool, Integer> workerPoolSizes;
+        try {
+            workerPoolSizes = WorkerPools.parseSizes(map.get(UserOperatorConfig.STRIMZI_WORKER_POOL_SIZES));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_WORKER_POOL_SIZES + " is not valid: " + e.getMessage(), e);
+        }
+
+        int keyPairPoolSize = DEFAULT_KEY_PAIR_POOL_SIZE;
+        String keyPairPoolSizeEnvVar = map.get(UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE);
+        if (keyPairPoolSizeEnvVar != null && !keyPairPoolSizeEnvVar.isEmpty()) {
+            try {
+                keyPairPoolSize = Integer.parseInt(keyPairPoolSizeEnvVar);
+            } catch (NumberFormatException e) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE + " is not a number", e);
+            }
+
+            if (keyPairPoolSize < 0) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE + " cannot be negative");
+            }
+        }
+
+        boolean javaCertManagerEnabled = DEFAULT_JAVA_CERT_MANAGER_ENABLED;
+        String javaCertManagerEnabledEnvVar = map.get(UserOperatorConfig.STRIMZI_JAVA_CERT_MANAGER_ENABLED);
+        if (javaCertManagerEnabledEnvVar != null) {
+            javaCertManagerEnabled = Boolean.parseBoolean(javaCertManagerEnabledEnvVar);
+        }
+
         return new UserOperatorConfig(namespace, reconciliationInterval, kafkaBootstrapServers, zookeeperConnect, zookeeperSessionTimeoutMs, labels,
-                caCertSecretName, caKeySecretName, clusterCaCertSecretName, eoKeySecretName, caNamespace);
+                caCertSecretName, caKeySecretName, clusterCaCertSecretName, eoKeySecretName, caNamespace, workerPoolSizes, keyPairPoolSize,
+                javaCertManagerEnabled);
     }
 
     public static int getClientsCaValidityDays() {
@@ -248,6 +296,28 @@ public class UserOperatorConfig {
         return zookeeperSessionTimeoutMs;
     }
 
+    /**
+     * @return  Sizes of the worker pools used for blocking operations which differ from the defaults
+     */
+    public Map<WorkerPools.Pool, Integer> getWorkerPoolSizes() {
+        return workerPoolSizes;
+    }
+
+    /**
+     * @return  Number of key pairs of user certificates generated in advance (0 if they are generated on demand).
+     *          Only used when the keys and certificates are generated in the JVM.
+     */
+    public int getKeyPairPoolSize() {
+        return keyPairPoolSize;
+    }
+
+    /**
+     * @return  Indicates whether the keys and certificates should be generated in the JVM instead of with OpenSSL
+     */
+    public boolean isJavaCertManagerEnabled() {
+        return javaCertManagerEnabled;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -261,6 +331,9 @@ public class UserOperatorConfig {
                 ",clusterCaCertSecretName=" + clusterCaCertSecretName +
                 ",eoKeySecretName=" + eoKeySecretName +
                 ",caNamespace=" + caNamespace +
+                ",workerPoolSizes=" + workerPoolSizes +
+                ",keyPairPoolSize=" + keyPairPoolSize +
+                ",javaCertManagerEnabled=" + javaCertManagerEnabled +
                 ")";
     }
 }
@@ -4,6 +4,7 @@
  */
 package io.strimzi.operator.user.operator;
 
+import io.strimzi.operator.common.WorkerPools;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -23,7 +24,7 @@ public class ScramShaCredentialsOperator {
 
     Future<Void> reconcile(String username, String password) {
         Promise<Void> promise = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.executeBlocking(vertx, WorkerPools.Pool.ZOOKEEPER,
             future -> {
                 boolean exists = credsManager.exists(username);
                 if (password != null) {
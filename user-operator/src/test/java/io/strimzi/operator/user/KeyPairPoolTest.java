@@ -0,0 +1,102 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user;
+
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MetricsTestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KeyPairPoolTest {
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat("Pool was not refilled in time", System.nanoTime() < deadline, is(true));
+            Thread.sleep(10);
+        }
+    }
+
+    private static double requests(MetricsProvider metrics, String result) {
+        return metrics.meterRegistry().get(KeyPairPool.METRICS_PREFIX + "requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    public void testKeyPairsAreTakenFromThePoolAndRefilled() throws InterruptedException {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        AtomicInteger generated = new AtomicInteger(0);
+        KeyPairPool pool = new KeyPairPool(2, () -> {
+            generated.incrementAndGet();
+            return new KeyPair(null, null);
+        }, metrics);
+
+        pool.start();
+        try {
+            await(() -> metrics.meterRegistry().get(KeyPairPool.METRICS_PREFIX + "available").gauge().value() == 2);
+            // The pool does not generate more key pairs than it can hold, plus the one waiting for room
+            assertThat(generated.get() <= 3, is(true));
+
+            pool.get();
+            pool.get();
+            assertThat(requests(metrics, "hit"), is(2.0));
+            assertThat(requests(metrics, "miss"), is(0.0));
+
+            // Each key pair taken is replaced
+            await(() -> metrics.meterRegistry().get(KeyPairPool.METRICS_PREFIX + "refill.lag").timer().count() == 2L);
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    public void testFailedGenerationIsRetried() throws InterruptedException {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        AtomicInteger attempts = new AtomicInteger(0);
+        KeyPairPool pool = new KeyPairPool(2, () -> {
+            if (attempts.incrementAndGet() <= 3) {
+                throw new IllegalStateException("No entropy");
+            }
+            return new KeyPair(null, null);
+        }, metrics, 1, 4);
+
+        pool.start();
+        try {
+            // The refiller survives the failures and fills the pool once the generation works again
+            await(() -> metrics.meterRegistry().get(KeyPairPool.METRICS_PREFIX + "available").gauge().value() == 2);
+            assertThat(attempts.get() >= 5, is(true));
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    public void testKeyPairIsGeneratedWhenThePoolIsEmpty() {
+        MetricsProvider metrics = MetricsTestUtils.createCleanMetricsProvider();
+        AtomicInteger generated = new AtomicInteger(0);
+        // Not started, so the pool stays empty
+        KeyPairPool pool = new KeyPairPool(2, () -> {
+            generated.incrementAndGet();
+            return new KeyPair(null, null);
+        }, metrics);
+
+        pool.get();
+        assertThat(generated.get(), is(1));
+        assertThat(requests(metrics, "hit"), is(0.0));
+        assertThat(requests(metrics, "miss"), is(1.0));
+    }
+
+    @Test
+    public void testSizeHasToBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyPairPool(0, () -> new KeyPair(null, null), MetricsTestUtils.createCleanMetricsProvider()));
+    }
+}
@@ -107,4 +107,29 @@ public class UserOperatorConfigTest {
 
         assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
     }
+
+    @Test
+    public void testFromMapKeyPairPoolSize()  {
+        // The key pairs are generated on demand by default, because the pool needs the Java certificates manager
+        assertThat(UserOperatorConfig.fromMap(envVars).getKeyPairPoolSize(), is(0));
+
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE, "10");
+        assertThat(UserOperatorConfig.fromMap(envVars).getKeyPairPoolSize(), is(10));
+
+        envVars.put(UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE, "-1");
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+
+        envVars.put(UserOperatorConfig.STRIMZI_KEY_PAIR_POOL_SIZE, "many");
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
+
+    @Test
+    public void testFromMapJavaCertManagerEnabled()  {
+        assertThat(UserOperatorConfig.fromMap(envVars).isJavaCertManagerEnabled(), is(false));
+
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_JAVA_CERT_MANAGER_ENABLED, "true");
+        assertThat(UserOperatorConfig.fromMap(envVars).isJavaCertManagerEnabled(), is(true));
+    }
 }